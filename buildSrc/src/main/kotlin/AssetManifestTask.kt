@@ -0,0 +1,72 @@
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.*
+import java.io.File
+import java.net.URLConnection
+
+/** The path of the asset manifest inside the jar. */
+const val assetManifestPath: String = "META-INF/mayonez/assets.manifest"
+
+/**
+ * Writes the path, size, and content type of every file in the assets
+ * folder to a manifest inside the jar, so the engine can look up its
+ * resources at startup instead of scanning the classpath.
+ *
+ * Each line of the manifest holds one file as `path<TAB>size<TAB>type`,
+ * sorted by path. Lines starting with `#` are comments.
+ */
+abstract class AssetManifestTask : DefaultTask() {
+
+    /** The resource folders to search, which may come from other projects. */
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val resourceDirs: ConfigurableFileCollection
+
+    /** The folder inside the resources to list, "assets" by default. */
+    @get:Input
+    abstract val assetsDirectory: Property<String>
+
+    /** The folder the manifest is written to, which is added to the resources. */
+    @get:OutputDirectory
+    abstract val outputDirectory: DirectoryProperty
+
+    init {
+        assetsDirectory.convention("assets")
+        outputDirectory.convention(project.layout.buildDirectory.dir("generated/assetManifest"))
+    }
+
+    @TaskAction
+    fun writeManifest() {
+        val entries = sortedMapOf<String, File>() // Earlier folders take priority
+        for (resourceDir in resourceDirs.files) {
+            val assetsDir = resourceDir.resolve(assetsDirectory.get())
+            if (!assetsDir.isDirectory) continue
+            assetsDir.walkTopDown()
+                .filter { it.isFile && it.name != ".DS_Store" }
+                .forEach { entries.putIfAbsent(it.relativeTo(resourceDir).invariantSeparatorsPath, it) }
+        }
+
+        val manifest = outputDirectory.file(assetManifestPath).get().asFile
+        manifest.parentFile.mkdirs()
+        manifest.bufferedWriter().use { writer ->
+            writer.appendLine("# Mayonez asset manifest: path, size in bytes, content type")
+            entries.forEach { (path, file) ->
+                writer.appendLine("$path\t${file.length()}\t${getContentType(file.name)}")
+            }
+        }
+        logger.info("Wrote ${entries.size} assets to $manifest")
+    }
+
+    private fun getContentType(filename: String): String {
+        return when (filename.substringAfterLast('.').lowercase()) {
+            "csv" -> "text/csv"
+            "glsl" -> "text/x-glsl"
+            "json" -> "application/json"
+            "txt" -> "text/plain"
+            else -> URLConnection.guessContentTypeFromName(filename) ?: "application/octet-stream"
+        }
+    }
+
+}
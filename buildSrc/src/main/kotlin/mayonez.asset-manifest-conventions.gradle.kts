@@ -0,0 +1,15 @@
+// Plugin for listing a project's assets in a manifest inside the jar
+plugins {
+    id("mayonez.java-conventions")
+}
+
+val generateAssetManifest by tasks.registering(AssetManifestTask::class) {
+    resourceDirs.from(layout.projectDirectory.dir("src/main/resources"))
+}
+
+// Add the manifest to the main resources
+sourceSets {
+    main {
+        resources.srcDir(generateAssetManifest)
+    }
+}
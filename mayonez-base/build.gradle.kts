@@ -2,6 +2,7 @@ import org.jetbrains.kotlin.gradle.tasks.KotlinCompile
 
 plugins {
     id("mayonez.library-conventions")
+    id("mayonez.asset-manifest-conventions")
 
     id(kotlinPlugin)
     id(dokkaPlugin)
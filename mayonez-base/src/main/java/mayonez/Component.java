@@ -1,8 +1,10 @@
 package mayonez;
 
+import mayonez.renderer.*;
 import mayonez.util.*;
 
 import java.util.*;
+import java.util.concurrent.atomic.*;
 
 /**
  * Defines traits and behaviors of a {@link mayonez.GameObject}. Each component can be
@@ -24,9 +26,9 @@ import java.util.*;
  *
  * @author SlavSquatSuperstar
  */
-public abstract class Component {
+public abstract class Component implements RenderStateSource {
 
-    private static long componentCounter = 0L; // total number of components created across all scenes
+    private static final AtomicLong componentCounter = new AtomicLong(); // total number of components created across all scenes
     final long componentID; // internal UUID for this component
 
     /**
@@ -40,18 +42,21 @@ public abstract class Component {
     protected Transform transform; // use blank transform in case no parent
 
     private boolean enabled; // whether this component is being updated
+    private Runnable renderStateListener; // re-orders this component if it is drawn
 
     private final UpdateOrder updateOrder;
+    private final boolean parallelSafe; // whether this component can be updated on a worker thread
 
     protected Component() {
         this(UpdateOrder.SCRIPT);
     }
 
     public Component(UpdateOrder updateOrder) {
-        componentID = componentCounter++;
+        componentID = componentCounter.getAndIncrement();
         transform = new Transform();
         enabled = true;
         this.updateOrder = updateOrder;
+        parallelSafe = getClass().isAnnotationPresent(ParallelSafe.class);
     }
 
     // Game Loop Methods
@@ -100,6 +105,7 @@ public abstract class Component {
     void destroy() {
         gameObject = null;
         transform = null;
+        markRenderStateChanged();
     }
 
     /**
@@ -120,10 +126,26 @@ public abstract class Component {
      */
     @SuppressWarnings("unchecked")
     public <T extends Component> T setEnabled(boolean enabled) {
-        this.enabled = enabled;
+        if (this.enabled != enabled) {
+            this.enabled = enabled;
+            markRenderStateChanged(); // Update enabled sprite count
+        }
         return (T) this;
     }
 
+    @Override
+    public final void setRenderStateListener(Runnable listener) {
+        renderStateListener = listener;
+    }
+
+    /**
+     * Tells the renderer storing this component that its z-index or enabled state changed.
+     */
+    protected final void markRenderStateChanged() {
+        var listener = renderStateListener;
+        if (listener != null) listener.run();
+    }
+
     // Getters and Setters
 
     /**
@@ -167,6 +189,10 @@ public abstract class Component {
         return updateOrder.order;
     }
 
+    boolean isParallelSafe() {
+        return parallelSafe;
+    }
+
     // Object Overrides
 
     @Override
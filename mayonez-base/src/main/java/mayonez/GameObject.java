@@ -5,6 +5,7 @@ import mayonez.physics.*;
 import mayonez.util.*;
 
 import java.util.*;
+import java.util.concurrent.atomic.*;
 import java.util.stream.*;
 
 /**
@@ -21,6 +22,10 @@ import java.util.stream.*;
  * {@link #transform}. To remove the object from the scene, call {@link #destroy} from any
  * of its components.
  * <p>
+ * Objects may also be nested inside another object with {@link #addChild}. A child's
+ * {@link #localTransform} stores its offset from the parent, and its {@link #transform}
+ * is recalculated from the parent's whenever either of them moves.
+ * <p>
  * See {@link mayonez.Component} and {@link mayonez.Scene} for more information.
  *
  * @author SlavSquatSuperstar
@@ -28,15 +33,15 @@ import java.util.stream.*;
 // TODO enable/disable object
 public class GameObject {
 
-    private static long objectCounter = 0L; // total number of game objects created across all scenes
+    private static final AtomicLong objectCounter = new AtomicLong(); // total number of game objects created across all scenes
 
     // Object Information and State
     final long objectID; // UUID for this game object
     private final String name;
     public final Transform transform; // transform in world
-//    final Transform localTransform; // transform offset from parent
+    public final Transform localTransform; // transform offset from parent
     private Scene scene;
-    private boolean destroyed;
+    private volatile boolean destroyed; // may be set from a parallel update
     private int zIndex; // controls 3D "layering" of objects
     private SceneLayer layer;
 
@@ -44,8 +49,9 @@ public class GameObject {
     private final List<Component> components;
 
     // Connected Objects
-//    private GameObject parent; // parent object
-//    private final List<GameObject> children; // child (nested) objects
+    private GameObject parent; // parent object
+    private final List<GameObject> children; // child (nested) objects
+    private boolean hierarchyChanged; // if parent was set or removed since the last update
 
     public GameObject(String name) {
         this(name, new Vec2());
@@ -60,19 +66,20 @@ public class GameObject {
     }
 
     public GameObject(String name, Transform transform, int zIndex) {
-        objectID = objectCounter++;
+        objectID = objectCounter.getAndIncrement(); // objects may be created during parallel updates
 
         this.name = (name == null) ? "GameObject" : name;
         this.transform = transform;
-//        localTransform = new Transform();
+        localTransform = new Transform();
         this.zIndex = zIndex;
         this.layer = null;
 
         destroyed = false;
 
         components = new ArrayList<>();
-//        parent = null;
-//        children = new LinkedList<>();
+        parent = null;
+        children = new ArrayList<>();
+        hierarchyChanged = false;
     }
 
     // Game Loop Methods
@@ -86,7 +93,6 @@ public class GameObject {
         // Add all components
         init();
         // TODO Maybe separate init from start
-//        children.forEach(getScene()::addObject);
         // Start all components
         components.sort(Comparator.comparingInt(Component::getUpdateOrder));
         components.forEach(Component::start);
@@ -98,14 +104,54 @@ public class GameObject {
      * @param dt seconds since the last frame
      */
     final void update(float dt) {
-        // Combine with parent transform
-//        Transform oldXf = transform.copy();
-//        if (parent != null) transform.set(parent.transform.combine(localTransform));
-        // Update
         components.stream()
                 .filter(Component::isEnabled)
                 .forEach(c -> c.update(dt));
-//        transform.set(oldXf); // Reset transform
+    }
+
+    /**
+     * Updates all enabled components not marked {@link mayonez.ParallelSafe}.
+     *
+     * @param dt seconds since the last frame
+     */
+    final void updateSerial(float dt) {
+        components.stream()
+                .filter(c -> c.isEnabled() && !c.isParallelSafe())
+                .forEach(c -> c.update(dt));
+    }
+
+    /**
+     * Updates all enabled components marked {@link mayonez.ParallelSafe}. May be
+     * called from a worker thread.
+     *
+     * @param dt seconds since the last frame
+     */
+    final void updateParallel(float dt) {
+        for (var comp : components) {
+            if (comp.isEnabled() && comp.isParallelSafe()) comp.update(dt);
+        }
+    }
+
+    /**
+     * Recalculates the world transforms of this object and its children if they have
+     * moved. A child's world transform is only recalculated if its local transform
+     * or any of its ancestors' transforms has changed since the last update.
+     *
+     * @param parentChanged if the parent's world transform was just recalculated
+     */
+    final void updateWorldTransform(boolean parentChanged) {
+        var changed = parentChanged || hierarchyChanged;
+        if (parent == null) {
+            changed |= transform.isDirty();
+        } else {
+            changed |= localTransform.isDirty();
+            if (changed) transform.setCombined(parent.transform, localTransform);
+            localTransform.markClean();
+        }
+        transform.markClean();
+        hierarchyChanged = false;
+
+        for (var child : children) child.updateWorldTransform(changed);
     }
 
     /**
@@ -164,6 +210,18 @@ public class GameObject {
 //        }
 //    }
 
+    /**
+     * Whether any of this object's components are marked {@link mayonez.ParallelSafe}.
+     *
+     * @return if the object has parallel-safe components
+     */
+    boolean hasParallelComponents() {
+        for (var comp : components) {
+            if (comp.isParallelSafe()) return true;
+        }
+        return false;
+    }
+
     /**
      * Counts how many components this object has.
      *
@@ -216,51 +274,84 @@ public class GameObject {
 
     // Child Object Methods
 
-//    /**
-//     * Adds a child GameObject, connecting its transform to this object's transform and setting its parent as this.
-//     *
-//     * @param child the child object
-//     */
-//    public void addChild(GameObject child) {
-//        children.add(child.setParent(this));
-//        if (scene != null) scene.addObject(child);
-//    }
+    /**
+     * Adds a child GameObject, connecting its transform to this object's transform and
+     * setting its parent as this. The child's current transform becomes its offset from
+     * this object. The child will be added to this object's scene now, or when this object
+     * is added to a scene. The child will not be added if it already has a parent or is an
+     * ancestor of this object.
+     *
+     * @param child the child object
+     */
+    public void addChild(GameObject child) {
+        if (child == null || child.parent != null || child == this || isDescendantOf(child)) return;
+        children.add(child.setParent(this));
+        child.transform.setCombined(transform, child.localTransform); // Place child before it is updated
+        if (scene != null) scene.addObject(child);
+    }
 
-//    public void removeChild(GameObject child) {
-//        children.remove(child.setParent(null));
-//        if (scene != null) scene.addObject(child);
-//    }
+    /**
+     * Disconnects a child GameObject from this object without removing it from the scene.
+     * The child will keep its current world transform.
+     *
+     * @param child the child object
+     */
+    public void removeChild(GameObject child) {
+        if (child == null || child.parent != this) return;
+        children.remove(child.setParent(null));
+    }
 
-//    /**
-//     * Finds the child GameObject at the given index, or null if the index is invalid.
-//     * The index is the same as the order the child was added.
-//     *
-//     * @param index the child index
-//     * @return the child object
-//     */
-//    public GameObject getChild(int index) {
-//        if (index < 0 || index >= children.size()) return null;
-//        else return children.get(index);
-//    }
+    /**
+     * Finds the child GameObject at the given index, or null if the index is invalid.
+     * The index is the same as the order the child was added.
+     *
+     * @param index the child index
+     * @return the child object
+     */
+    public GameObject getChild(int index) {
+        if (index < 0 || index >= children.size()) return null;
+        else return children.get(index);
+    }
 
-//    /**
-//     * Finds the first child GameObject with the given name, or null if none exists.
-//     *
-//     * @param name the child name
-//     * @return the child object
-//     */
-//    public GameObject getChild(String name) {
-//        for (var child : children) {
-//            if (child.name.equals(name)) return child;
-//        }
-//        return null;
-//    }
+    /**
+     * Finds the first child GameObject with the given name, or null if none exists.
+     *
+     * @param name the child name
+     * @return the child object
+     */
+    public GameObject getChild(String name) {
+        for (var child : children) {
+            if (child.name.equals(name)) return child;
+        }
+        return null;
+    }
+
+    /**
+     * Get a copy of the list of all this object's children.
+     *
+     * @return the list of children
+     */
+    public List<GameObject> getChildren() {
+        return List.copyOf(children);
+    }
+
+    /**
+     * Counts how many direct children this object has.
+     *
+     * @return the number of children
+     */
+    public int numChildren() {
+        return children.size();
+    }
 
     // Callback Methods
 
     final void onDestroy() {
         components.forEach(Component::destroy);
         components.clear();
+        if (parent != null) parent.removeChild(this);
+        for (var child : children) child.parent = null;
+        children.clear();
         layer = null;
         scene = null;
     }
@@ -318,22 +409,41 @@ public class GameObject {
      */
     public void destroy() {
         destroyed = true;
+        for (var child : children) child.destroy();
     }
 
-//    public GameObject getParent() {
-//        return parent;
-//    }
+    /**
+     * Get the object this object is nested inside, or null if it is not a child.
+     *
+     * @return the parent object
+     */
+    public GameObject getParent() {
+        return parent;
+    }
 
-//    final GameObject setParent(GameObject parent) {
-//        this.parent = parent;
-//        if (parent != null) localTransform.set(transform);
-//        else localTransform.set(new Transform());
-//        return this;
-//    }
+    private GameObject setParent(GameObject parent) {
+        this.parent = parent;
+        if (parent != null) localTransform.set(transform);
+        else localTransform.set(new Transform());
+        hierarchyChanged = true;
+        return this;
+    }
 
-//    final boolean isChild() {
-//        return parent != null;
-//    }
+    /**
+     * Whether this object is nested inside another object.
+     *
+     * @return if the object has a parent
+     */
+    public boolean isChild() {
+        return parent != null;
+    }
+
+    private boolean isDescendantOf(GameObject ancestor) {
+        for (var obj = parent; obj != null; obj = obj.parent) {
+            if (obj == ancestor) return true;
+        }
+        return false;
+    }
 
 
     /**
@@ -403,7 +513,10 @@ public class GameObject {
     }
 
     public GameObject setZIndex(int zIndex) {
-        this.zIndex = zIndex;
+        if (this.zIndex != zIndex) {
+            this.zIndex = zIndex;
+            components.forEach(Component::markRenderStateChanged); // Re-order sprites
+        }
         return this;
     }
 
@@ -0,0 +1,25 @@
+package mayonez;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a {@link mayonez.Component} whose {@link mayonez.Component#update} method may be
+ * run on a worker thread at the same time as the same component on other objects.
+ * <p>
+ * Usage: A parallel-safe component should only modify its own {@link mayonez.GameObject},
+ * its components, and its children, and only read from other objects. Adding objects with
+ * {@link mayonez.Scene#addObject} and calling {@link mayonez.GameObject#destroy} are
+ * allowed, since they are buffered until the parallel phase finishes.
+ * <p>
+ * Parallel-safe components on an object are updated before any of the object's other
+ * components, regardless of their {@link mayonez.UpdateOrder}. Components without this
+ * annotation are always updated serially on the game thread.
+ *
+ * @author SlavSquatSuperstar
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ParallelSafe {
+}
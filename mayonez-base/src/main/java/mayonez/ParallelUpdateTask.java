@@ -0,0 +1,47 @@
+package mayonez;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Updates the {@link mayonez.ParallelSafe} components of a range of game objects,
+ * splitting the range in half until each task has few enough objects.
+ *
+ * @author SlavSquatSuperstar
+ */
+final class ParallelUpdateTask extends RecursiveAction {
+
+    private static final int MAX_OBJECTS_PER_TASK = 32;
+
+    private final List<GameObject> objects;
+    private final int start, end; // Object index range, end exclusive
+    private final float dt;
+
+    ParallelUpdateTask(List<GameObject> objects, float dt) {
+        this(objects, 0, objects.size(), dt);
+    }
+
+    private ParallelUpdateTask(List<GameObject> objects, int start, int end, float dt) {
+        this.objects = objects;
+        this.start = start;
+        this.end = end;
+        this.dt = dt;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start <= MAX_OBJECTS_PER_TASK) {
+            for (var i = start; i < end; i++) {
+                var obj = objects.get(i);
+                if (!obj.isDestroyed()) obj.updateParallel(dt);
+            }
+        } else {
+            var mid = (start + end) >>> 1;
+            invokeAll(
+                    new ParallelUpdateTask(objects, start, mid, dt),
+                    new ParallelUpdateTask(objects, mid, end, dt)
+            );
+        }
+    }
+
+}
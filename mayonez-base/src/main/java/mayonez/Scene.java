@@ -1,5 +1,7 @@
 package mayonez;
 
+import mayonez.assets.*;
+import mayonez.ecs.*;
 import mayonez.graphics.*;
 import mayonez.graphics.camera.*;
 import mayonez.graphics.debug.*;
@@ -15,6 +17,7 @@ import mayonez.util.*;
 
 import java.awt.Graphics2D;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * An in-game world or level that holds multiple {@link mayonez.GameObject}s. Each scene
@@ -34,6 +37,7 @@ public abstract class Scene {
 
     // Static Fields
     private static final boolean LOG_SCENE_CHANGES = false;
+    private static final int MIN_PARALLEL_OBJECTS = 64; // fewer objects are updated serially
     private static int sceneCounter = 0; // total number of scenes created
 
     // Scene Information
@@ -46,6 +50,13 @@ public abstract class Scene {
     // Scene Objects
     private final BufferedList<GameObject> objects;
     private final SceneLayer[] layers;
+    private final EntityWorld entities;
+
+    // Parallel Updates
+    private final List<GameObject> parallelObjects; // objects with parallel-safe components
+    private final Queue<Runnable> parallelChanges; // changes requested during the parallel phase
+    private volatile boolean updatingInParallel;
+    private boolean parallelUpdatesEnabled;
 
     // Renderers
     private Camera camera;
@@ -55,6 +66,9 @@ public abstract class Scene {
     // Physics
     private final PhysicsWorld physics;
 
+    // Assets
+    private final Set<String> referencedAssets; // assets kept loaded while this scene exists
+
     /**
      * Creates an empty scene with size of 0x0 and a scale of 1.
      */
@@ -81,8 +95,14 @@ public abstract class Scene {
         // Initialize layers
         objects = new BufferedList<>();
         layers = new SceneLayer[SceneLayer.NUM_LAYERS];
+        entities = new EntityWorld();
+        parallelObjects = new ArrayList<>();
+        parallelChanges = new ConcurrentLinkedQueue<>();
+        updatingInParallel = false;
+        parallelUpdatesEnabled = true;
         renderLayer = RendererFactory.createRenderLayer(background, size, scale);
         physics = new DefaultPhysicsWorld();
+        referencedAssets = ConcurrentHashMap.newKeySet(); // assets may be retrieved off the game thread
     }
 
     // Initialization Methods
@@ -101,6 +121,11 @@ public abstract class Scene {
         camera = CameraFactory.createCamera(scale);
         addObject(CameraFactory.createCameraObject(camera));
 
+        // Add entity renderer
+        var entityRenderer = new GameObject("Entity Renderer");
+        entityRenderer.addComponent(new EntitySpriteRenderer(entities));
+        addObject(entityRenderer);
+
         // Add objects
         init();
 
@@ -108,6 +133,7 @@ public abstract class Scene {
         state = SceneState.RUNNING;
         objects.forEach(this::startObject);
         objects.processBuffer();
+        updateWorldTransforms();
     }
 
     /**
@@ -123,6 +149,44 @@ public abstract class Scene {
     protected void init() {
     }
 
+    /**
+     * Declare the files this scene uses so they can be loaded in the background by
+     * {@link SceneManager#preloadScene} before the scene starts. Images are decoded
+     * as textures in the background, while shaders are compiled and all other files
+     * are registered as plain assets on the game thread.
+     * <p>
+     * Usage: Subclasses may override this method and add file paths to the list.
+     *
+     * @param assets the list of asset filenames
+     */
+    protected void declareAssets(List<String> assets) {
+    }
+
+    final List<String> getDeclaredAssets() {
+        var assets = new ArrayList<String>();
+        declareAssets(assets);
+        return assets;
+    }
+
+    /**
+     * Marks an asset as used by this scene so it is not evicted from
+     * {@link mayonez.assets.Assets} until the scene stops.
+     *
+     * @param filename the asset location
+     */
+    final void referenceAsset(String filename) {
+        if (referencedAssets.add(filename)) Assets.retainAsset(filename);
+    }
+
+    /**
+     * Releases all the assets this scene used, so they can be evicted once the
+     * asset pool is over budget.
+     */
+    final void releaseAssets() {
+        referencedAssets.forEach(Assets::releaseAsset);
+        referencedAssets.clear();
+    }
+
     // Update Methods
 
     /**
@@ -145,14 +209,51 @@ public abstract class Scene {
     }
 
     private void updateSceneObjects(float dt) {
-        objects.forEach(obj -> {
-            obj.update(dt);
-            if (obj.isDestroyed()) removeObject(obj);
-        });
+        if (parallelUpdatesEnabled && parallelObjects.size() >= MIN_PARALLEL_OBJECTS) {
+            updateObjectsInParallel(dt);
+            objects.forEach(obj -> {
+                obj.updateSerial(dt);
+                if (obj.isDestroyed()) removeObject(obj);
+            });
+        } else {
+            objects.forEach(obj -> {
+                obj.update(dt);
+                if (obj.isDestroyed()) removeObject(obj);
+            });
+        }
+        entities.update(dt);
+        updateWorldTransforms(); // Let physics see moved children
         physics.step(dt);
+        updateWorldTransforms(); // Let renderer see children of moved bodies
         camera.gameObject.update(dt); // Update camera last
     }
 
+    /**
+     * Updates all {@link ParallelSafe} components across the common fork-join pool,
+     * then applies any objects added during the parallel phase.
+     *
+     * @param dt seconds since the last frame
+     */
+    private void updateObjectsInParallel(float dt) {
+        updatingInParallel = true;
+        try {
+            ForkJoinPool.commonPool().invoke(new ParallelUpdateTask(parallelObjects, dt));
+        } finally {
+            updatingInParallel = false;
+        }
+        while (!parallelChanges.isEmpty()) parallelChanges.poll().run();
+    }
+
+    /**
+     * Propagates transform changes from parent objects to their children. Only objects
+     * whose transforms or ancestors' transforms changed are recalculated.
+     */
+    private void updateWorldTransforms() {
+        objects.forEach(obj -> {
+            if (!obj.isChild()) obj.updateWorldTransform(false);
+        });
+    }
+
     // Render Methods
 
     /**
@@ -166,6 +267,33 @@ public abstract class Scene {
         renderLayer.render(g2);
     }
 
+    /**
+     * Copies everything needed to draw the current frame out of the scene, including
+     * debug shapes, without drawing it yet.
+     */
+    final void extractRender() {
+        onUserRender();
+        objects.forEach(GameObject::debugRender);
+        renderLayer.extractFrame();
+    }
+
+    /**
+     * Draws the frame last copied by {@link #extractRender}, which may happen while
+     * the scene is updating.
+     */
+    final void drawRender() {
+        renderLayer.drawFrame();
+    }
+
+    /**
+     * Whether the scene's frames can be extracted and drawn in separate steps.
+     *
+     * @return if the render layer is pipelined
+     */
+    final boolean isRenderPipelined() {
+        return renderLayer.isPipelined();
+    }
+
     /**
      * Provide user-defined draw behavior for this scene.
      */
@@ -184,6 +312,9 @@ public abstract class Scene {
 
         // Clear all objects
         objects.clear();
+        parallelObjects.clear();
+        parallelChanges.clear();
+        entities.clear();
         renderLayer.clear();
         physics.clear();
 
@@ -194,12 +325,17 @@ public abstract class Scene {
 
     /**
      * Adds an object to this scene and initializes the object if the scene is
-     * running. The object will not be added if it already has a parent scene.
+     * running. Any children the object already has are also added. The object will
+     * not be added if it already has a parent scene.
      *
      * @param obj a {@link GameObject}
      */
     public final void addObject(GameObject obj) {
         if (obj == null || obj.getScene() != null) return;
+        if (updatingInParallel) { // Wait until back on the game thread
+            parallelChanges.offer(() -> addObject(obj));
+            return;
+        }
         if (isStopped()) { // Static add: when not loaded
             objects.addUnbuffered(obj);
             addObjectToScene(obj);
@@ -209,12 +345,14 @@ public abstract class Scene {
     }
 
     private void addObjectToScene(GameObject obj) {
+        var children = obj.getChildren(); // Children added on start add themselves
         obj.setScene(this);
         if (!isStopped()) startObject(obj);
         if (LOG_SCENE_CHANGES) {
             Logger.debug("Added object \"%s\" to scene \"%s\"",
                     obj.getNameAndID(), this.name);
         }
+        children.forEach(this::addObject); // Attached before the parent joined the scene
     }
 
     private void startObject(GameObject obj) {
@@ -224,6 +362,7 @@ public abstract class Scene {
             if (comp instanceof PhysicsBody b) physics.addPhysicsBody(b);
             if (comp instanceof CollisionBody b) physics.addCollisionBody(b);
         }
+        if (obj.hasParallelComponents()) parallelObjects.add(obj);
     }
 
     /**
@@ -242,6 +381,7 @@ public abstract class Scene {
             if (comp instanceof PhysicsBody b) physics.removePhysicsBody(b);
             if (comp instanceof CollisionBody b) physics.removeCollisionBody(b);
         }
+        parallelObjects.remove(obj);
         obj.onDestroy();
         if (LOG_SCENE_CHANGES) {
             Logger.debug("Removed object \"%s\" from scene \"%s\"",
@@ -277,6 +417,17 @@ public abstract class Scene {
         return objects.size();
     }
 
+    /**
+     * Get the scene's {@link mayonez.ecs.EntityWorld}, which stores lightweight entities
+     * that are not {@link GameObject}s. Entities are updated after all objects and
+     * before physics.
+     *
+     * @return the entity world
+     */
+    public EntityWorld getEntities() {
+        return entities;
+    }
+
     // Scene Layer Methods
 
     /**
@@ -388,6 +539,25 @@ public abstract class Scene {
         physics.setGravity(gravity);
     }
 
+    /**
+     * Whether {@link ParallelSafe} components are updated across multiple threads.
+     *
+     * @return if parallel updates are enabled
+     */
+    public boolean isParallelUpdatesEnabled() {
+        return parallelUpdatesEnabled;
+    }
+
+    /**
+     * Sets whether {@link ParallelSafe} components are updated across multiple threads,
+     * true by default. If disabled, all components are updated on the game thread.
+     *
+     * @param parallelUpdatesEnabled if parallel updates are enabled
+     */
+    public void setParallelUpdatesEnabled(boolean parallelUpdatesEnabled) {
+        this.parallelUpdatesEnabled = parallelUpdatesEnabled;
+    }
+
     boolean isRunning() {
         return state == SceneState.RUNNING;
     }
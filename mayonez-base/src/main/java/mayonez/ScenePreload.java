@@ -0,0 +1,161 @@
+package mayonez;
+
+import mayonez.assets.*;
+import mayonez.graphics.textures.*;
+import mayonez.renderer.shader.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Loads the assets declared by a {@link mayonez.Scene} ahead of time so the scene
+ * does not stall the game loop when it starts. Only textures are loaded in the
+ * background: image files are read and decoded on worker threads, then uploaded to
+ * the GPU on the game thread a few at a time. All other declared assets, such as
+ * shaders and text files, are loaded on the game thread within the same budget.
+ * <p>
+ * Usage: Call {@link mayonez.SceneManager#preloadScene} to begin preloading, and check
+ * the returned preload's {@link #getProgress()} or wait for {@link #getFuture()} to
+ * complete before switching scenes.
+ *
+ * @author SlavSquatSuperstar
+ */
+public final class ScenePreload {
+
+    // Constants
+    private static final ExecutorService LOADER_POOL = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            task -> {
+                var thread = new Thread(task, "Scene Preloader");
+                thread.setDaemon(true);
+                return thread;
+            }
+    );
+
+    // Preload Fields
+    private final Scene scene;
+    private final int numAssets;
+    private final Queue<PreloadedAsset> pendingUploads;
+    private final AtomicInteger numDecoded;
+    private int numUploaded;
+    private final CompletableFuture<Scene> future;
+
+    ScenePreload(Scene scene) {
+        this.scene = scene;
+        var filenames = scene.getDeclaredAssets();
+        numAssets = filenames.size();
+        pendingUploads = new ConcurrentLinkedQueue<>();
+        numDecoded = new AtomicInteger();
+        numUploaded = 0;
+        future = new CompletableFuture<>();
+
+        for (var filename : filenames) {
+            scene.referenceAsset(filename); // Keep loaded until the scene stops
+            LOADER_POOL.execute(() -> {
+                pendingUploads.offer(decodeAsset(filename));
+                numDecoded.incrementAndGet();
+            });
+        }
+        if (numAssets == 0) future.complete(scene);
+    }
+
+    // Preload Methods
+
+    private static PreloadedAsset decodeAsset(String filename) {
+        try {
+            var textureClass = getTextureClass();
+            if (isImageFile(filename) && !Assets.hasAsset(filename, textureClass)) {
+                return new PreloadedAsset(filename, Assets.readAsset(filename, textureClass));
+            }
+        } catch (Exception e) {
+            Logger.error("Could not preload asset \"%s\"", filename);
+            Logger.printStackTrace(e);
+        }
+        return new PreloadedAsset(filename, null); // finish on the game thread
+    }
+
+    /**
+     * Uploads decoded assets to the GPU and stores them in {@link mayonez.assets.Assets}
+     * until the time budget runs out. At least one asset is processed every call so
+     * the preload always makes progress. Must be called on the game thread.
+     *
+     * @param budgetNanos the maximum time to spend, in nanoseconds
+     */
+    void uploadAssets(long budgetNanos) {
+        var startNanos = System.nanoTime();
+        PreloadedAsset preloaded;
+        while ((preloaded = pendingUploads.poll()) != null) {
+            uploadAsset(preloaded);
+            numUploaded++;
+            if (System.nanoTime() - startNanos >= budgetNanos) break;
+        }
+        if (numUploaded == numAssets && !future.isDone()) {
+            Logger.debug("Preloaded %d assets for scene \"%s\"", numAssets, scene.getName());
+            future.complete(scene);
+        }
+    }
+
+    private static void uploadAsset(PreloadedAsset preloaded) {
+        var filename = preloaded.filename();
+        var asset = preloaded.asset();
+        try {
+            if (asset != null && Assets.hasAsset(filename, asset.getClass())) {
+                asset.free(); // Loaded by the current scene while decoding
+                return;
+            }
+            if (asset instanceof GLTexture tex) tex.uploadTexture();
+            if (asset != null) Assets.addAsset(asset);
+            else if (filename.endsWith(".glsl")) Assets.getAsset(filename, Shader.class);
+            else if (!isImageFile(filename) && !Assets.hasAsset(filename)) Assets.createAsset(filename);
+        } catch (Exception e) {
+            Logger.error("Could not preload asset \"%s\"", filename);
+            Logger.printStackTrace(e);
+        }
+    }
+
+    private static Class<? extends Texture> getTextureClass() {
+        return Mayonez.getUseGL() ? GLTexture.class : JTexture.class;
+    }
+
+    private static boolean isImageFile(String filename) {
+        var lowercase = filename.toLowerCase();
+        return lowercase.endsWith(".png") || lowercase.endsWith(".jpg")
+                || lowercase.endsWith(".jpeg") || lowercase.endsWith(".bmp");
+    }
+
+    // Getters
+
+    public Scene getScene() {
+        return scene;
+    }
+
+    /**
+     * How much of the scene has been preloaded, counting both the background and
+     * the game thread stages.
+     *
+     * @return the progress, between 0 and 1
+     */
+    public float getProgress() {
+        if (numAssets == 0) return 1f;
+        return (numDecoded.get() + numUploaded) / (2f * numAssets);
+    }
+
+    /**
+     * A future that completes with the scene once all its assets are loaded. The
+     * future is completed on the game thread.
+     *
+     * @return the completion future
+     */
+    public CompletableFuture<Scene> getFuture() {
+        return future;
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    private record PreloadedAsset(String filename, Asset asset) {
+    }
+
+}
@@ -15,6 +15,8 @@ import java.io.IOException;
  */
 public class AWTImageData extends ImageData {
 
+    private static final float NORMALIZE = 1f / 255f; // Converts color components to [0, 1]
+
     private final BufferedImage image;
 
     public AWTImageData(String filename) throws IOException {
@@ -57,16 +59,30 @@ public class AWTImageData extends ImageData {
 
     // Pixel Methods
 
+    /**
+     * Multiplies every pixel in the image by a color.
+     *
+     * @param color the color to combine with
+     */
     public void recolor(Color color) {
+        int r = color.getRed(), g = color.getGreen(), b = color.getBlue(), a = color.getAlpha();
+        var row = new int[getWidth()]; // Reuse the row for the whole image
         for (var y = 0; y < getHeight(); y++) {
-            for (var x = 0; x < getWidth(); x++) {
-                var pixelColor = getPixelColor(x, y);
-                var combinedColor = pixelColor.combine(color);
-                setPixelColor(x, y, combinedColor);
+            getPixelRow(y, row);
+            for (var x = 0; x < row.length; x++) {
+                var argb = row[x];
+                row[x] = (combine(argb >>> 24, a) << 24) | (combine((argb >> 16) & 0xFF, r) << 16)
+                        | (combine((argb >> 8) & 0xFF, g) << 8) | combine(argb & 0xFF, b);
             }
+            setPixelRow(y, row);
         }
     }
 
+    // Same as Color.combine()
+    private static int combine(int component, int other) {
+        return (int) (component * other * NORMALIZE);
+    }
+
     @Override
     public Color getPixelColor(int x, int y) {
         return new Color(image.getRGB(x, y));
@@ -80,12 +96,99 @@ public class AWTImageData extends ImageData {
 
     public int[] getPixels() {
         int[] pixels = new int[getWidth() * getHeight()];
-        image.getRGB(0, 0, getWidth(), getHeight(), pixels, 0, getWidth());
+        getPixels(0, 0, getWidth(), getHeight(), pixels, 0);
         return pixels;
     }
 
     public void setPixels(int[] pixels) {
-        image.setRGB(0, 0, getWidth(), getHeight(), pixels, 0, getWidth());
+        setPixels(0, 0, getWidth(), getHeight(), pixels, 0);
+    }
+
+    // Bulk Pixel Methods
+
+    /*
+     * Common image types are read from the raster's data buffer with getElem()/setElem(),
+     * which unlike getData() keep the image eligible for hardware acceleration. Other
+     * types fall back to BufferedImage.getRGB()/setRGB().
+     */
+
+    @Override
+    public void getPixels(int x, int y, int width, int height, int[] pixels, int offset) {
+        checkRegion(x, y, width, height);
+        var raster = image.getRaster();
+        switch (image.getType()) {
+            case BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB -> {
+                var data = raster.getDataBuffer();
+                var stride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+                var alphaMask = hasAlpha() ? 0 : OPAQUE_ALPHA;
+                for (var row = 0; row < height; row++) {
+                    var index = getRasterIndex(raster, x, y + row, stride, 1);
+                    for (var col = 0; col < width; col++) {
+                        pixels[offset++] = data.getElem(index + col) | alphaMask;
+                    }
+                }
+            }
+            case BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_3BYTE_BGR -> {
+                var data = raster.getDataBuffer();
+                var sampleModel = (ComponentSampleModel) raster.getSampleModel();
+                var bands = sampleModel.getBandOffsets(); // R, G, B, (A)
+                var pixelStride = sampleModel.getPixelStride();
+                var alpha = hasAlpha();
+                for (var row = 0; row < height; row++) {
+                    var index = getRasterIndex(raster, x, y + row, sampleModel.getScanlineStride(), pixelStride);
+                    for (var col = 0; col < width; col++, index += pixelStride) {
+                        var a = alpha ? data.getElem(index + bands[3]) : 0xFF;
+                        pixels[offset++] = (a << 24) | (data.getElem(index + bands[0]) << 16)
+                                | (data.getElem(index + bands[1]) << 8) | data.getElem(index + bands[2]);
+                    }
+                }
+            }
+            default -> image.getRGB(x, y, width, height, pixels, offset, width);
+        }
+    }
+
+    @Override
+    public void setPixels(int x, int y, int width, int height, int[] pixels, int offset) {
+        checkRegion(x, y, width, height);
+        var raster = image.getRaster();
+        switch (image.getType()) {
+            case BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB -> {
+                var data = raster.getDataBuffer();
+                var stride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+                var colorMask = hasAlpha() ? 0xFFFFFFFF : ~OPAQUE_ALPHA;
+                for (var row = 0; row < height; row++) {
+                    var index = getRasterIndex(raster, x, y + row, stride, 1);
+                    for (var col = 0; col < width; col++) {
+                        data.setElem(index + col, pixels[offset++] & colorMask);
+                    }
+                }
+            }
+            case BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_3BYTE_BGR -> {
+                var data = raster.getDataBuffer();
+                var sampleModel = (ComponentSampleModel) raster.getSampleModel();
+                var bands = sampleModel.getBandOffsets(); // R, G, B, (A)
+                var pixelStride = sampleModel.getPixelStride();
+                var alpha = hasAlpha();
+                for (var row = 0; row < height; row++) {
+                    var index = getRasterIndex(raster, x, y + row, sampleModel.getScanlineStride(), pixelStride);
+                    for (var col = 0; col < width; col++, index += pixelStride) {
+                        var argb = pixels[offset++];
+                        data.setElem(index + bands[0], (argb >> 16) & 0xFF);
+                        data.setElem(index + bands[1], (argb >> 8) & 0xFF);
+                        data.setElem(index + bands[2], argb & 0xFF);
+                        if (alpha) data.setElem(index + bands[3], argb >>> 24);
+                    }
+                }
+            }
+            default -> image.setRGB(x, y, width, height, pixels, offset, width);
+        }
+    }
+
+    /** Finds the data buffer index of a pixel, including any sub-image offset. */
+    private static int getRasterIndex(WritableRaster raster, int x, int y, int scanlineStride, int pixelStride) {
+        var sampleX = x - raster.getSampleModelTranslateX();
+        var sampleY = y - raster.getSampleModelTranslateY();
+        return sampleY * scanlineStride + sampleX * pixelStride;
     }
 
     // Sub-Image Methods
@@ -0,0 +1,229 @@
+package mayonez.assets.image;
+
+import mayonez.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Saves the decoded pixels of {@link STBImageData} images to disk, so later runs can
+ * map them straight into memory instead of decompressing the image file again. Each
+ * cache file holds a small header and the raw pixels as STB decoded them, and is named
+ * after the image's path. The header stores the length and hash of the image file, so
+ * the cached pixels are only used while the file is unchanged.
+ * <p>
+ * The cache may be used from several loader threads without locking. Each file is
+ * written under a unique temporary name and moved into place in one step, so readers
+ * see either the old file or the new one.
+ * <p>
+ * Usage: The cache is disabled by default. Set the {@code cache_images} preference or
+ * call {@link #setDefault} to enable it.
+ *
+ * @author SlavSquatSuperstar
+ */
+public final class DecodedImageCache {
+
+    // Header Constants
+    private static final int MAGIC = 0x4D594943; // "MYIC"
+    private static final int VERSION = 1;
+    static final int HEADER_BYTES = 2 * Integer.BYTES + 2 * Long.BYTES + 3 * Integer.BYTES;
+    private static final String FILE_EXTENSION = ".pixels";
+
+    private static DecodedImageCache defaultCache = null; // Disabled
+
+    // Cache Fields
+    private final Path directory;
+    private final AtomicInteger numHits;
+    private final AtomicInteger numMisses;
+
+    /**
+     * Create a cache that stores decoded images in the given folder, which is created if
+     * it does not exist.
+     *
+     * @param directory the cache folder
+     */
+    public DecodedImageCache(Path directory) {
+        this.directory = directory;
+        numHits = new AtomicInteger();
+        numMisses = new AtomicInteger();
+    }
+
+    // Cache Methods
+
+    /**
+     * Maps the cached pixels of an image into memory if they were saved from the same
+     * file contents.
+     *
+     * @param filename  the image's path
+     * @param fileBytes the contents of the image file
+     * @return the cached image, or null if it is missing or outdated
+     */
+    CachedImage read(String filename, byte[] fileBytes) {
+        var cacheFile = getCacheFile(filename);
+        if (!Files.isRegularFile(cacheFile)) {
+            numMisses.incrementAndGet();
+            return null;
+        }
+
+        try (var channel = FileChannel.open(cacheFile, READ, WRITE)) {
+            var header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) break; // File too short
+            }
+            header.flip();
+            var image = readHeader(header, fileBytes, channel.size());
+            if (image == null) {
+                numMisses.incrementAndGet();
+                return null;
+            }
+
+            // Copy-on-write, so editing pixels does not change the file
+            var pixels = channel.map(FileChannel.MapMode.PRIVATE, HEADER_BYTES, image.numBytes());
+            numHits.incrementAndGet();
+            return new CachedImage(pixels, image.width(), image.height(), image.channels());
+        } catch (IOException e) {
+            Logger.warn("Could not read cached image %s", cacheFile);
+            numMisses.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static CachedImage readHeader(ByteBuffer header, byte[] fileBytes, long cacheFileSize) {
+        if (header.remaining() < HEADER_BYTES) return null;
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) return null;
+        if (header.getLong() != fileBytes.length || header.getLong() != hashContents(fileBytes)) {
+            return null; // Image file changed
+        }
+
+        int width = header.getInt(), height = header.getInt(), channels = header.getInt();
+        var image = new CachedImage(null, width, height, channels);
+        if (width <= 0 || height <= 0 || cacheFileSize != HEADER_BYTES + image.numBytes()) return null;
+        return image;
+    }
+
+    /**
+     * Saves the decoded pixels of an image. The file is written under a temporary name
+     * first, so a partially written file is never read.
+     *
+     * @param filename  the image's path
+     * @param fileBytes the contents of the image file
+     * @param pixels    the decoded pixels
+     * @param width     the image width
+     * @param height    the image height
+     * @param channels  the number of bytes per pixel
+     */
+    void write(String filename, byte[] fileBytes, ByteBuffer pixels, int width, int height, int channels) {
+        var cacheFile = getCacheFile(filename);
+        var fileHash = hashContents(fileBytes);
+        try {
+            Files.createDirectories(directory);
+            var tempFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+            try (var channel = FileChannel.open(tempFile, WRITE, TRUNCATE_EXISTING)) {
+                var header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC).putInt(VERSION)
+                        .putLong(fileBytes.length).putLong(fileHash)
+                        .putInt(width).putInt(height).putInt(channels)
+                        .flip();
+                var pixelData = pixels.duplicate().clear().limit(width * height * channels);
+                while (header.hasRemaining()) channel.write(header);
+                while (pixelData.hasRemaining()) channel.write(pixelData);
+            }
+            moveReplacing(tempFile, cacheFile);
+        } catch (IOException e) {
+            Logger.warn("Could not save cached image %s", cacheFile);
+        }
+    }
+
+    private static void moveReplacing(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Helper Methods
+
+    private Path getCacheFile(String filename) {
+        var name = UUID.nameUUIDFromBytes(filename.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(name + FILE_EXTENSION);
+    }
+
+    private static long hashContents(byte[] fileBytes) {
+        var crc = new CRC32C();
+        crc.update(fileBytes);
+        return crc.getValue();
+    }
+
+    // Getters
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * The number of images read from the cache.
+     *
+     * @return the hit count
+     */
+    public int getNumHits() {
+        return numHits.get();
+    }
+
+    /**
+     * The number of images that were missing or outdated in the cache.
+     *
+     * @return the miss count
+     */
+    public int getNumMisses() {
+        return numMisses.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Decoded Image Cache (%s, Hits: %d, Misses: %d)", directory, getNumHits(), getNumMisses());
+    }
+
+    // Default Cache
+
+    /**
+     * The cache used when loading images, or null if caching is disabled.
+     *
+     * @return the default cache
+     */
+    public static DecodedImageCache getDefault() {
+        return defaultCache;
+    }
+
+    /**
+     * Sets the cache used when loading images.
+     *
+     * @param cache the cache, or null to disable caching
+     */
+    public static void setDefault(DecodedImageCache cache) {
+        defaultCache = cache;
+    }
+
+    /**
+     * The pixels and size of a cached image.
+     *
+     * @param pixels   the mapped pixel buffer
+     * @param width    the image width
+     * @param height   the image height
+     * @param channels the number of bytes per pixel
+     */
+    record CachedImage(ByteBuffer pixels, int width, int height, int channels) {
+        long numBytes() {
+            return (long) width * height * channels;
+        }
+    }
+
+}
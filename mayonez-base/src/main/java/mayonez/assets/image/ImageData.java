@@ -4,6 +4,8 @@ import mayonez.assets.*;
 import mayonez.graphics.*;
 import mayonez.math.*;
 
+import java.nio.ByteBuffer;
+
 /**
  * Stores the rasterized image contents of an image file used by the program.
  *
@@ -14,6 +16,7 @@ public abstract class ImageData extends Asset {
 
     protected static final int RGB_CHANNELS = 3;
     protected static final int RGBA_CHANNELS = 4;
+    protected static final int OPAQUE_ALPHA = 0xFF000000; // Packed alpha for images without alpha
 
     public ImageData(String filename) {
         super(filename);
@@ -50,6 +53,16 @@ public abstract class ImageData extends Asset {
      */
     public abstract boolean hasAlpha();
 
+    /**
+     * Get the memory used by the image's pixels, width × height × channels.
+     *
+     * @return the size in bytes
+     */
+    @Override
+    public long getApproximateSize() {
+        return (long) getWidth() * getHeight() * getChannels();
+    }
+
     // Pixel Methods
     // TODO bounds checking
 
@@ -75,6 +88,121 @@ public abstract class ImageData extends Asset {
      */
     public abstract void setPixelColor(int x, int y, Color color);
 
+    // Bulk Pixel Methods
+
+    /**
+     * Copies a region of pixels into an array as packed ARGB values, in the same
+     * format as {@link mayonez.graphics.Color#getRGBAValue}, without creating any
+     * colors. Rows are copied from the top left, and pixels in images without alpha
+     * are opaque.
+     *
+     * @param x      the region's left coordinate, in pixels
+     * @param y      the region's top coordinate, in pixels
+     * @param width  the region width, in pixels
+     * @param height the region height, in pixels
+     * @param pixels the array to copy into, with room for width * height pixels
+     * @param offset the index in the array of the first pixel
+     */
+    public abstract void getPixels(int x, int y, int width, int height, int[] pixels, int offset);
+
+    /**
+     * Overwrites a region of pixels from an array of packed ARGB values, in the same
+     * format as {@link mayonez.graphics.Color#getRGBAValue}. Rows are copied from the
+     * top left, and alpha is ignored in images without alpha.
+     *
+     * @param x      the region's left coordinate, in pixels
+     * @param y      the region's top coordinate, in pixels
+     * @param width  the region width, in pixels
+     * @param height the region height, in pixels
+     * @param pixels the array to copy from, with width * height pixels
+     * @param offset the index in the array of the first pixel
+     */
+    public abstract void setPixels(int x, int y, int width, int height, int[] pixels, int offset);
+
+    /**
+     * Copies one row of pixels into an array as packed ARGB values.
+     *
+     * @param y   the row's coordinate, from the top, in pixels
+     * @param row the array to copy into, with room for the image width
+     */
+    public void getPixelRow(int y, int[] row) {
+        getPixels(0, y, getWidth(), 1, row, 0);
+    }
+
+    /**
+     * Overwrites one row of pixels from an array of packed ARGB values.
+     *
+     * @param y   the row's coordinate, from the top, in pixels
+     * @param row the array to copy from, with the image width
+     */
+    public void setPixelRow(int y, int[] row) {
+        setPixels(0, y, getWidth(), 1, row, 0);
+    }
+
+    /**
+     * Copies a region of pixels into a buffer as four RGBA bytes per pixel, starting
+     * at the buffer's position and advancing it. Rows are copied from the top left,
+     * and pixels in images without alpha are opaque.
+     *
+     * @param x      the region's left coordinate, in pixels
+     * @param y      the region's top coordinate, in pixels
+     * @param width  the region width, in pixels
+     * @param height the region height, in pixels
+     * @param dest   the buffer to copy into, with room for width * height * 4 bytes
+     */
+    public void getPixelBytes(int x, int y, int width, int height, ByteBuffer dest) {
+        checkRegion(x, y, width, height);
+        var row = new int[width]; // One row at a time
+        for (var rowY = y; rowY < y + height; rowY++) {
+            getPixels(x, rowY, width, 1, row, 0);
+            for (var argb : row) putRGBA(dest, argb);
+        }
+    }
+
+    /**
+     * Overwrites a region of pixels from a buffer of four RGBA bytes per pixel,
+     * starting at the buffer's position and advancing it. Rows are copied from the
+     * top left, and alpha is ignored in images without alpha.
+     *
+     * @param x      the region's left coordinate, in pixels
+     * @param y      the region's top coordinate, in pixels
+     * @param width  the region width, in pixels
+     * @param height the region height, in pixels
+     * @param src    the buffer to copy from, with width * height * 4 bytes
+     */
+    public void setPixelBytes(int x, int y, int width, int height, ByteBuffer src) {
+        checkRegion(x, y, width, height);
+        var row = new int[width];
+        for (var rowY = y; rowY < y + height; rowY++) {
+            for (var i = 0; i < width; i++) row[i] = getRGBA(src);
+            setPixels(x, rowY, width, 1, row, 0);
+        }
+    }
+
+    // Bulk Pixel Helper Methods
+
+    /**
+     * Checks that a pixel region lies inside the image.
+     *
+     * @throws IndexOutOfBoundsException if the region is outside the image
+     */
+    protected final void checkRegion(int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || width < 0 || height < 0 || x + width > getWidth() || y + height > getHeight()) {
+            throw new IndexOutOfBoundsException("Region (%d, %d, %dx%d) is outside %dx%d image %s"
+                    .formatted(x, y, width, height, getWidth(), getHeight(), getFilename()));
+        }
+    }
+
+    // Write bytes one at a time so the buffer's byte order doesn't matter
+    private static void putRGBA(ByteBuffer dest, int argb) {
+        dest.put((byte) (argb >> 16)).put((byte) (argb >> 8)).put((byte) argb).put((byte) (argb >>> 24));
+    }
+
+    private static int getRGBA(ByteBuffer src) {
+        int r = src.get() & 0xFF, g = src.get() & 0xFF, b = src.get() & 0xFF, a = src.get() & 0xFF;
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
     // Sub-Image Methods
 
     /**
@@ -86,6 +214,4 @@ public abstract class ImageData extends Asset {
      */
     public abstract ImageData getSubImageData(Vec2 topLeft, Vec2 size);
 
-    // TODO Copy Methods
-
 }
@@ -26,12 +26,22 @@ public class STBImageData extends ImageData {
     private final ByteBuffer buffer;
     private int width, height, channels;
     private boolean alpha, imageFreed;
+    private final boolean allocatedBySTB; // Only free buffers that STB created
 
     public STBImageData(String filename) throws IOException {
         super(filename);
         try {
-            var fileBuffer = readImageBytes();
-            buffer = loadImage(fileBuffer);
+            var imageBytes = readImageBytes();
+            var cache = DecodedImageCache.getDefault();
+            var cachedImage = (cache != null) ? cache.read(filename, imageBytes) : null;
+            if (cachedImage != null) {
+                buffer = loadCachedImage(cachedImage);
+                allocatedBySTB = false; // Unmapped by the garbage collector
+            } else {
+                buffer = loadImage(toDirectBuffer(imageBytes));
+                allocatedBySTB = true;
+                if (cache != null) cache.write(filename, imageBytes, buffer, width, height, channels);
+            }
         } catch (ImageReadException | IOException e) {
             throw new IOException("Error reading STB image");
         }
@@ -42,6 +52,7 @@ public class STBImageData extends ImageData {
         this.buffer = buffer;
         this.width = width;
         this.height = height;
+        allocatedBySTB = false;
         try {
             channels = buffer.capacity() / (width * height);
             alpha = getAlphaFromChannels(channels);
@@ -53,16 +64,28 @@ public class STBImageData extends ImageData {
 
     // Read Image Methods
 
-    private ByteBuffer readImageBytes() throws ImageReadException, IOException {
+    private byte[] readImageBytes() throws ImageReadException, IOException {
         var imageBytes = new ImageIOManager().read(openInputStream());
         if (imageBytes == null) {
             throw new ImageReadException("Image byte array is null");
         }
+        return imageBytes;
+    }
 
+    private static ByteBuffer toDirectBuffer(byte[] imageBytes) {
         var imageBuffer = BufferUtils.createByteBuffer(imageBytes.length);
         return memSlice(imageBuffer.put(imageBytes).flip());
     }
 
+    private ByteBuffer loadCachedImage(DecodedImageCache.CachedImage image) throws ImageReadException {
+        width = image.width();
+        height = image.height();
+        channels = image.channels();
+        alpha = getAlphaFromChannels(channels);
+        imageFreed = false;
+        return image.pixels();
+    }
+
     private ByteBuffer loadImage(ByteBuffer fileBuffer) throws ImageReadException {
         var widthBuff = BufferUtils.createIntBuffer(1);
         var heightBuff = BufferUtils.createIntBuffer(1);
@@ -101,7 +124,7 @@ public class STBImageData extends ImageData {
 
     public void freeImage() {
         if (!imageFreed) { // stop Java from crashing if memory freed
-            stbi_image_free(buffer);
+            if (allocatedBySTB) stbi_image_free(buffer);
             imageFreed = true;
         }
     }
@@ -111,6 +134,10 @@ public class STBImageData extends ImageData {
         freeImage();
     }
 
+    public boolean isImageFreed() {
+        return imageFreed;
+    }
+
     // Image Getters
 
     @Override
@@ -151,11 +178,77 @@ public class STBImageData extends ImageData {
         var flippedY = (height - 1) - y;
         var index = (x + flippedY * width) * channels;
         buffer.put(index, (byte) color.getRed());
-        buffer.put(index + 1, (byte) color.getRed());
+        buffer.put(index + 1, (byte) color.getGreen());
         buffer.put(index + 2, (byte) color.getBlue());
         if (alpha) buffer.put(index + 3, (byte) color.getAlpha());
     }
 
+    // Bulk Pixel Methods
+
+    @Override
+    public void getPixels(int x, int y, int width, int height, int[] pixels, int offset) {
+        checkRegion(x, y, width, height);
+        for (var row = y; row < y + height; row++) {
+            var index = getBufferIndex(x, row);
+            for (var col = 0; col < width; col++, index += channels) {
+                int r = buffer.get(index) & SELECT_8_BYTES;
+                int g = buffer.get(index + 1) & SELECT_8_BYTES;
+                int b = buffer.get(index + 2) & SELECT_8_BYTES;
+                int a = alpha ? buffer.get(index + 3) & SELECT_8_BYTES : SELECT_8_BYTES;
+                pixels[offset++] = (a << 24) | (r << 16) | (g << 8) | b;
+            }
+        }
+    }
+
+    @Override
+    public void setPixels(int x, int y, int width, int height, int[] pixels, int offset) {
+        checkRegion(x, y, width, height);
+        for (var row = y; row < y + height; row++) {
+            var index = getBufferIndex(x, row);
+            for (var col = 0; col < width; col++, index += channels) {
+                var argb = pixels[offset++];
+                buffer.put(index, (byte) (argb >> 16));
+                buffer.put(index + 1, (byte) (argb >> 8));
+                buffer.put(index + 2, (byte) argb);
+                if (alpha) buffer.put(index + 3, (byte) (argb >>> 24));
+            }
+        }
+    }
+
+    @Override
+    public void getPixelBytes(int x, int y, int width, int height, ByteBuffer dest) {
+        if (!alpha) {
+            super.getPixelBytes(x, y, width, height, dest); // Need to add alpha
+            return;
+        }
+        checkRegion(x, y, width, height);
+        var rowBytes = width * RGBA_CHANNELS;
+        for (var row = y; row < y + height; row++) {
+            dest.put(dest.position(), buffer, getBufferIndex(x, row), rowBytes); // Copy whole row
+            dest.position(dest.position() + rowBytes);
+        }
+    }
+
+    @Override
+    public void setPixelBytes(int x, int y, int width, int height, ByteBuffer src) {
+        if (!alpha) {
+            super.setPixelBytes(x, y, width, height, src); // Need to skip alpha
+            return;
+        }
+        checkRegion(x, y, width, height);
+        var rowBytes = width * RGBA_CHANNELS;
+        for (var row = y; row < y + height; row++) {
+            buffer.put(getBufferIndex(x, row), src, src.position(), rowBytes);
+            src.position(src.position() + rowBytes);
+        }
+    }
+
+    /** Finds the buffer index of a pixel, since STB stores rows from the bottom up. */
+    private int getBufferIndex(int x, int y) {
+        var flippedY = (height - 1) - y;
+        return (x + flippedY * width) * channels;
+    }
+
     // Sub-Image Methods
 
     public ByteBuffer getBuffer() {
@@ -168,18 +261,14 @@ public class STBImageData extends ImageData {
         var subImgWidth = (int) size.x;
         var subImgHeight = (int) size.y;
 
-        var buffer = BufferUtils.createByteBuffer(subImgWidth * subImgHeight * channels);
-        for (var y = subImgY; y < subImgY + subImgHeight; y++) {
-            for (var x = subImgX; x < subImgX + subImgWidth; x++) {
-                var flippedY = (height - 1) - y;
-                var color = getPixelColor(x, flippedY);
-                buffer.put((byte) color.getRed());
-                buffer.put((byte) color.getGreen());
-                buffer.put((byte) color.getBlue());
-                if (alpha) buffer.put((byte) color.getAlpha());
-            }
+        // Copy stored rows directly, which are already flipped
+        var rowBytes = subImgWidth * channels;
+        var subBuffer = BufferUtils.createByteBuffer(rowBytes * subImgHeight);
+        for (var row = 0; row < subImgHeight; row++) {
+            var srcIndex = (subImgX + (subImgY + row) * width) * channels;
+            subBuffer.put(row * rowBytes, buffer, srcIndex, rowBytes);
         }
-        return buffer;
+        return subBuffer;
     }
 
     @Override
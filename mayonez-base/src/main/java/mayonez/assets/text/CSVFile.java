@@ -5,11 +5,15 @@ import mayonez.assets.*;
 import mayonez.io.text.*;
 import mayonez.util.Record;
 
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
- * A comma-separated value (.csv) file that stores tabular data.
+ * A comma-separated value (.csv) file that stores tabular data. The file is parsed
+ * one row at a time by a {@link mayonez.io.text.CSVReader}, so values may be quoted.
+ * Large tables should be read with {@link #readRows(CSVReader.RowMapper)}, which
+ * binds each row to an object instead of a {@link mayonez.util.Record}.
  *
  * @author SlavSquatSuperstar
  */
@@ -27,30 +31,49 @@ public class CSVFile extends Asset {
      * @return the records, empty if the file does not exist
      */
     public List<Record> readCSV() {
-        var records = new ArrayList<Record>();
-        try {
-            var lines = new LinesIOManager().read(openInputStream());
-            this.headers = lines[0].split(","); // Get headers
-            for (var row = 1; row < lines.length; row++) {
-                records.add(addRecordFromLine(lines[row]));
-            }
-            return records;
-        } catch (IOException e) {
-            Logger.error("Could not read file %s", getFilename());
-            return records;
-        }
+        return readRows(this::getRecordFromRow);
     }
 
-    private Record addRecordFromLine(String line) {
-        var csvVals = line.split(",");
-        var numCols = Math.min(headers.length, csvVals.length);
+    private Record getRecordFromRow(CSVReader row) {
+        var numCols = Math.min(headers.length, row.getFieldCount());
         var rec = new Record();
-        for (var cols = 0; cols < numCols; cols++) {
-            rec.set(headers[cols], csvVals[cols]);
+        for (var col = 0; col < numCols; col++) {
+            rec.set(headers[col], row.getField(col));
         }
         return rec;
     }
 
+    /**
+     * Parses the CSV data in this file and binds each row after the headers to an object.
+     * Use {@link CSVReader#getColumn(String)} to find a value's column by its header.
+     *
+     * @param mapper creates an object from each row
+     * @param <T>    the row type
+     * @return the row objects, empty if the file does not exist or a row is invalid
+     */
+    public <T> List<T> readRows(CSVReader.RowMapper<T> mapper) {
+        try (var csv = openCSVReader()) {
+            this.headers = csv.readHeaders();
+            return csv.readRows(mapper);
+        } catch (IOException e) {
+            Logger.error("Could not read file %s", getFilename());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Opens a reader to stream the CSV data in this file one row at a time. The
+     * reader should be closed after use.
+     *
+     * @return the CSV reader
+     * @throws IOException if the file does not exist
+     */
+    public CSVReader openCSVReader() throws IOException {
+        var input = openInputStream();
+        if (input == null) throw new FileNotFoundException("File does not exist");
+        return new CSVReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
     /**
      * Saves records as CSV data to this file.
      *
@@ -59,7 +82,7 @@ public class CSVFile extends Asset {
      */
     public void saveCSV(List<Record> records, String[] headers) {
         var csvLines = new String[records.size() + 1];
-        csvLines[0] = String.join(",", headers); // add headers
+        csvLines[0] = getCSVLine(headers); // add headers
 
         for (var row = 0; row < records.size(); row++) {
             csvLines[row + 1] = getCSVLineFromRecord(records, headers, row);
@@ -77,7 +100,20 @@ public class CSVFile extends Asset {
         for (var col = 0; col < headers.length; col++) {
             csvVals[col] = rec.getString(headers[col]);
         }
-        return String.join(",", csvVals);
+        return getCSVLine(csvVals);
+    }
+
+    private static String getCSVLine(String[] values) {
+        var line = new StringJoiner(",");
+        for (var value : values) {
+            // Quote values with special characters
+            if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+                line.add("\"" + value.replace("\"", "\"\"") + "\"");
+            } else {
+                line.add(value);
+            }
+        }
+        return line.toString();
     }
 
     public String[] getHeaders() {
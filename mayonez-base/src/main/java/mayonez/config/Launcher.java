@@ -1,6 +1,7 @@
 package mayonez.config;
 
 import mayonez.*;
+import mayonez.input.*;
 import mayonez.util.Record;
 
 /**
@@ -13,6 +14,12 @@ import mayonez.util.Record;
  * of scenes using {@link #loadScenesToManager(Scene...)} and then start the game with
  * {@link #startGame(Scene)} or {@link #startGame(String)}.
  * <p>
+ * To run without a window, such as on a server or in CI, pass "--engine headless".
+ * Headless runs may also pass "--updates" with how many updates to run before
+ * exiting, "--throttle yes" to wait for real time between updates, and
+ * "--render image" to draw frames to an offscreen image. Input can be fed with
+ * {@link #setInputScript(InputScript)}.
+ * <p>
  * See {@link mayonez.SceneManager} for more information.
  *
  * @author SlavSquatSuperstar
@@ -51,7 +58,19 @@ public class Launcher {
     }
 
     private RunConfig getRunConfigFromArgs() {
-        return new RunConfig(getUseGL());
+        return new RunConfig(getUseGL(), isHeadless(), getMaxUpdates(), isThrottled(), isRenderOffscreen());
+    }
+
+    /**
+     * Feed input from a script instead of the keyboard and mouse when running in
+     * headless mode.
+     *
+     * @param script the input script
+     * @return this object
+     */
+    public Launcher setInputScript(InputScript script) {
+        Mayonez.setInputScript(script);
+        return this;
     }
 
     boolean getUseGL() throws IllegalArgumentException {
@@ -61,11 +80,36 @@ public class Launcher {
         return switch (engineArg) {
             case "" -> throw new IllegalArgumentException("Missing value for option \"engine\"");
             case "gl" -> true;
-            case "awt" -> false;
+            case "awt", "headless" -> false;
             default -> throw new IllegalArgumentException("Invalid value for option \"engine\"");
         };
     }
 
+    boolean isHeadless() {
+        return programArgs.getString("engine").equals("headless");
+    }
+
+    int getMaxUpdates() throws IllegalArgumentException {
+        var maxUpdates = programArgs.getInt("updates");
+        if (maxUpdates < 0) throw new IllegalArgumentException("Invalid value for option \"updates\"");
+        return maxUpdates;
+    }
+
+    boolean isThrottled() {
+        return programArgs.getBoolean("throttle");
+    }
+
+    boolean isRenderOffscreen() throws IllegalArgumentException {
+        if (!programArgs.contains("render")) return false;
+
+        var renderArg = programArgs.getString("render");
+        return switch (renderArg) {
+            case "image" -> true;
+            case "none" -> false;
+            default -> throw new IllegalArgumentException("Invalid value for option \"render\"");
+        };
+    }
+
     // Scene Manager Methods
 
     /**
@@ -0,0 +1,86 @@
+package mayonez.ecs;
+
+import java.util.*;
+
+/**
+ * A unique combination of {@link mayonez.ecs.EntityData} shared by a group of entities.
+ * The entities are stored together in {@link mayonez.ecs.ArchetypeChunk}s.
+ *
+ * @author SlavSquatSuperstar
+ */
+public final class Archetype {
+
+    private final Set<EntityData> data;
+    private final int chunkCapacity;
+    private final List<ArchetypeChunk> chunks;
+
+    Archetype(Set<EntityData> data, int chunkCapacity) {
+        this.data = Collections.unmodifiableSet(EnumSet.copyOf(data));
+        this.chunkCapacity = chunkCapacity;
+        chunks = new ArrayList<>();
+    }
+
+    // Chunk Methods
+
+    /**
+     * Finds the last chunk if it has room, or creates a new chunk.
+     *
+     * @return a chunk with room for another entity
+     */
+    ArchetypeChunk getChunkWithRoom() {
+        if (!chunks.isEmpty()) {
+            var last = chunks.get(chunks.size() - 1);
+            if (last.hasRoom()) return last;
+        }
+        var chunk = new ArchetypeChunk(this, chunkCapacity);
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    List<ArchetypeChunk> getChunks() {
+        return chunks;
+    }
+
+    void clear() {
+        chunks.clear();
+    }
+
+    // Archetype Getters
+
+    /**
+     * Whether entities of this archetype store the given data.
+     *
+     * @param data the entity data
+     * @return if the data is present
+     */
+    public boolean has(EntityData data) {
+        return this.data.contains(data);
+    }
+
+    /**
+     * Whether entities of this archetype store all the given data.
+     *
+     * @param data the entity data
+     * @return if all the data is present
+     */
+    public boolean hasAll(Set<EntityData> data) {
+        return this.data.containsAll(data);
+    }
+
+    /**
+     * Counts the entities stored with this archetype.
+     *
+     * @return the number of entities
+     */
+    public int numEntities() {
+        var count = 0;
+        for (var chunk : chunks) count += chunk.size();
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "Archetype %s".formatted(data);
+    }
+
+}
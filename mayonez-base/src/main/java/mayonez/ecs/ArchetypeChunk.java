@@ -0,0 +1,182 @@
+package mayonez.ecs;
+
+import java.util.*;
+
+/**
+ * A fixed-size block of entities that all share the same {@link mayonez.ecs.Archetype}.
+ * Each piece of entity data is stored in its own packed array, so systems can iterate
+ * through the first {@link #size()} elements without following references. Arrays for
+ * data the archetype does not have are null.
+ *
+ * @author SlavSquatSuperstar
+ */
+public final class ArchetypeChunk {
+
+    // Chunk Fields
+    private final Archetype archetype;
+    private final int[] entityIDs;
+    private int size; // Current number of entities
+
+    // Transform Data
+    private final float[] positionX, positionY, rotation, scaleX, scaleY;
+
+    // Velocity Data
+    private final float[] velocityX, velocityY, angularVelocity;
+
+    // Sprite Data
+    private final int[] spriteIndex;
+
+    ArchetypeChunk(Archetype archetype, int capacity) {
+        this.archetype = archetype;
+        entityIDs = new int[capacity];
+        size = 0;
+
+        var hasTransform = archetype.has(EntityData.TRANSFORM);
+        positionX = hasTransform ? new float[capacity] : null;
+        positionY = hasTransform ? new float[capacity] : null;
+        rotation = hasTransform ? new float[capacity] : null;
+        scaleX = hasTransform ? new float[capacity] : null;
+        scaleY = hasTransform ? new float[capacity] : null;
+
+        var hasVelocity = archetype.has(EntityData.VELOCITY);
+        velocityX = hasVelocity ? new float[capacity] : null;
+        velocityY = hasVelocity ? new float[capacity] : null;
+        angularVelocity = hasVelocity ? new float[capacity] : null;
+
+        spriteIndex = archetype.has(EntityData.SPRITE) ? new int[capacity] : null;
+    }
+
+    // Entity Methods
+
+    /**
+     * Appends an entity to the end of this chunk and sets its data to the defaults.
+     *
+     * @param entityID the entity's ID
+     * @return the entity's slot in the chunk
+     */
+    int add(int entityID) {
+        var slot = size++;
+        entityIDs[slot] = entityID;
+        if (positionX != null) {
+            positionX[slot] = 0f;
+            positionY[slot] = 0f;
+            rotation[slot] = 0f;
+            scaleX[slot] = 1f;
+            scaleY[slot] = 1f;
+        }
+        if (velocityX != null) {
+            velocityX[slot] = 0f;
+            velocityY[slot] = 0f;
+            angularVelocity[slot] = 0f;
+        }
+        if (spriteIndex != null) spriteIndex[slot] = 0;
+        return slot;
+    }
+
+    /**
+     * Removes the entity in the given slot by moving the last entity into its place.
+     *
+     * @param slot the removed entity's slot
+     * @return the ID of the entity moved into the slot, or -1 if no entity was moved
+     */
+    int remove(int slot) {
+        var last = --size;
+        if (slot == last) return -1;
+
+        entityIDs[slot] = entityIDs[last];
+        if (positionX != null) {
+            positionX[slot] = positionX[last];
+            positionY[slot] = positionY[last];
+            rotation[slot] = rotation[last];
+            scaleX[slot] = scaleX[last];
+            scaleY[slot] = scaleY[last];
+        }
+        if (velocityX != null) {
+            velocityX[slot] = velocityX[last];
+            velocityY[slot] = velocityY[last];
+            angularVelocity[slot] = angularVelocity[last];
+        }
+        if (spriteIndex != null) spriteIndex[slot] = spriteIndex[last];
+        return entityIDs[slot];
+    }
+
+    // Chunk Getters
+
+    public Archetype getArchetype() {
+        return archetype;
+    }
+
+    /**
+     * The number of entities stored in this chunk. Only the first {@code size()}
+     * elements of each data array are valid.
+     *
+     * @return the entity count
+     */
+    public int size() {
+        return size;
+    }
+
+    boolean hasRoom() {
+        return size < entityIDs.length;
+    }
+
+    /**
+     * The ID of the entity in the given slot.
+     *
+     * @param slot the slot index
+     * @return the entity ID
+     */
+    public int getEntityID(int slot) {
+        Objects.checkIndex(slot, size);
+        return entityIDs[slot];
+    }
+
+    // Data Array Getters
+
+    public float[] getPositionX() {
+        return positionX;
+    }
+
+    public float[] getPositionY() {
+        return positionY;
+    }
+
+    /**
+     * The rotation of each entity, in degrees.
+     *
+     * @return the rotation array
+     */
+    public float[] getRotation() {
+        return rotation;
+    }
+
+    public float[] getScaleX() {
+        return scaleX;
+    }
+
+    public float[] getScaleY() {
+        return scaleY;
+    }
+
+    public float[] getVelocityX() {
+        return velocityX;
+    }
+
+    public float[] getVelocityY() {
+        return velocityY;
+    }
+
+    /**
+     * The angular velocity of each entity, in degrees per second.
+     *
+     * @return the angular velocity array
+     */
+    public float[] getAngularVelocity() {
+        return angularVelocity;
+    }
+
+    public int[] getSpriteIndex() {
+        return spriteIndex;
+    }
+
+}
@@ -0,0 +1,20 @@
+package mayonez.ecs;
+
+/**
+ * A type of data that an entity in an {@link mayonez.ecs.EntityWorld} can store.
+ * Each type is stored in its own packed arrays inside an {@link mayonez.ecs.ArchetypeChunk}.
+ *
+ * @author SlavSquatSuperstar
+ */
+public enum EntityData {
+
+    /** The position (x, y), rotation, and scale (x, y) of an entity. */
+    TRANSFORM,
+
+    /** The linear velocity (x, y) and angular velocity of an entity. */
+    VELOCITY,
+
+    /** The index of the {@link mayonez.graphics.sprites.Sprite} an entity is drawn with. */
+    SPRITE
+
+}
@@ -0,0 +1,205 @@
+package mayonez.ecs;
+
+import mayonez.*;
+import mayonez.graphics.*;
+import mayonez.graphics.textures.*;
+import mayonez.math.*;
+import mayonez.renderer.*;
+import mayonez.renderer.awt.*;
+import mayonez.renderer.batch.*;
+import mayonez.renderer.gl.*;
+
+import java.awt.Graphics2D;
+import java.util.function.*;
+
+/**
+ * Draws every entity in an {@link mayonez.ecs.EntityWorld} that has a
+ * {@link EntityData#TRANSFORM} and a {@link EntityData#SPRITE}, using the texture
+ * and color of the entity's registered sprite. Entities are read straight from
+ * their chunks, and a single reused view object pushes each entity to the GL renderer,
+ * which draws them as instances of a shared quad. The AWT renderer draws each entity
+ * straight to the screen, filling a quad for entities without a texture.
+ *
+ * @author SlavSquatSuperstar
+ */
+public final class EntitySpriteRenderer extends Component implements GLRenderableGroup, JRenderable {
+
+    private final EntityWorld world;
+    private final EntityView view;
+    private final Transform entityXf; // reused for AWT drawing
+    private final int[] quadX, quadY; // reused for AWT drawing
+    private Color lastColor;
+    private java.awt.Color lastAWTColor;
+
+    /**
+     * Create a renderer that draws the sprites of all entities in a world.
+     *
+     * @param world the entity world
+     */
+    public EntitySpriteRenderer(EntityWorld world) {
+        super(UpdateOrder.RENDER);
+        this.world = world;
+        view = new EntityView();
+        entityXf = new Transform();
+        quadX = new int[4];
+        quadY = new int[4];
+        world.setZIndexListener(this::markRenderStateChanged);
+    }
+
+    // Renderer Methods
+
+    @Override
+    public void forEachRenderable(Consumer<? super GLRenderable> action) {
+        var sceneScale = getScene().getScale();
+        world.forEachChunk(chunk -> {
+            for (var i = 0; i < chunk.size(); i++) {
+                view.set(chunk, i, sceneScale);
+                action.accept(view);
+            }
+        }, EntityData.TRANSFORM, EntityData.SPRITE);
+    }
+
+    @Override
+    public void render(Graphics2D g2) {
+        var scene = getScene();
+        world.forEachChunk(chunk -> {
+            for (var i = 0; i < chunk.size(); i++) {
+                var sprite = world.getSprite(chunk.getSpriteIndex()[i]);
+                entityXf.getPosition().set(chunk.getPositionX()[i], chunk.getPositionY()[i]);
+                entityXf.setRotation(chunk.getRotation()[i]);
+                entityXf.getScale().set(chunk.getScaleX()[i], chunk.getScaleY()[i]);
+
+                if (sprite.getTexture() instanceof JTexture tex) {
+                    tex.draw(g2, entityXf, null, sprite.getColor(), scene.getScale());
+                } else {
+                    fillQuad(g2, chunk, i, sprite.getColor(), scene.getScale());
+                }
+            }
+        }, EntityData.TRANSFORM, EntityData.SPRITE);
+    }
+
+    /**
+     * Fills a color-only entity's rotated quad directly, without creating a shape.
+     */
+    private void fillQuad(Graphics2D g2, ArchetypeChunk chunk, int slot, Color color, float sceneScale) {
+        var centerX = chunk.getPositionX()[slot] * sceneScale;
+        var centerY = chunk.getPositionY()[slot] * sceneScale;
+        var halfWidth = chunk.getScaleX()[slot] * sceneScale * 0.5f;
+        var halfHeight = chunk.getScaleY()[slot] * sceneScale * 0.5f;
+        var cos = MathUtils.cos(chunk.getRotation()[slot]);
+        var sin = MathUtils.sin(chunk.getRotation()[slot]);
+
+        // Corners from the bottom left, counterclockwise
+        for (var i = 0; i < 4; i++) {
+            var x = (i == 0 || i == 3) ? -halfWidth : halfWidth;
+            var y = (i < 2) ? -halfHeight : halfHeight;
+            quadX[i] = Math.round(centerX + x * cos - y * sin);
+            quadY[i] = Math.round(centerY + x * sin + y * cos);
+        }
+
+        if (!color.equals(lastColor)) { // Entities with the same sprite are usually drawn together
+            lastColor = color;
+            lastAWTColor = new java.awt.Color(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+        }
+        g2.setColor(lastAWTColor);
+        g2.fillPolygon(quadX, quadY, 4);
+    }
+
+    // Renderable Methods
+
+    @Override
+    public int getZIndex() {
+        return world.getZIndex();
+    }
+
+    @Override
+    public boolean isInUI() {
+        return false;
+    }
+
+    /**
+     * A flyweight that presents one entity at a time as a {@link GLRenderable} sprite.
+     */
+    private class EntityView implements GLRenderable {
+
+        private ArchetypeChunk chunk;
+        private int slot;
+        private float sceneScale;
+
+        private void set(ArchetypeChunk chunk, int slot, float sceneScale) {
+            this.chunk = chunk;
+            this.slot = slot;
+            this.sceneScale = sceneScale;
+        }
+
+        @Override
+        public void pushToBatch(RenderBatch batch) {
+            var sprite = world.getSprite(chunk.getSpriteIndex()[slot]);
+            var texture = getTexture();
+            var texCoords = (texture != null) ? texture.getTexCoords() : GLTexture.DEFAULT_TEX_COORDS;
+            var texID = batch.getTextureSlot(texture);
+            BatchPushHelper.pushSprite(batch,
+                    chunk.getPositionX()[slot] * sceneScale, chunk.getPositionY()[slot] * sceneScale,
+                    chunk.getScaleX()[slot] * sceneScale, chunk.getScaleY()[slot] * sceneScale,
+                    chunk.getRotation()[slot], sprite.getColor(), texCoords, texID);
+        }
+
+        @Override
+        public boolean isInstanced() {
+            return true;
+        }
+
+        @Override
+        public void pushToInstanceBatch(InstancedSpriteBatch batch) {
+            var sprite = world.getSprite(chunk.getSpriteIndex()[slot]);
+            var texture = getTexture();
+            var texCoords = (texture != null) ? texture.getTexCoords() : GLTexture.DEFAULT_TEX_COORDS;
+            batch.pushInstance(chunk.getPositionX()[slot] * sceneScale, chunk.getPositionY()[slot] * sceneScale,
+                    chunk.getRotation()[slot], chunk.getScaleX()[slot] * sceneScale, chunk.getScaleY()[slot] * sceneScale,
+                    sprite.getColor(), texCoords, batch.getTextureSlot(texture));
+        }
+
+        @Override
+        public int getBatchSize() {
+            return RenderBatch.MAX_SPRITES;
+        }
+
+        @Override
+        public DrawPrimitive getPrimitive() {
+            return DrawPrimitive.SPRITE;
+        }
+
+        @Override
+        public GLTexture getTexture() {
+            var texture = world.getSprite(chunk.getSpriteIndex()[slot]).getTexture();
+            return (texture instanceof GLTexture glTex) ? glTex : null;
+        }
+
+        @Override
+        public int getZIndex() {
+            return world.getZIndex();
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isInUI() {
+            return false;
+        }
+
+        @Override
+        public boolean getRenderBounds(RenderBounds bounds) {
+            var halfWidth = 0.5f * chunk.getScaleX()[slot];
+            var halfHeight = 0.5f * chunk.getScaleY()[slot];
+            var radius = (float) Math.sqrt(halfWidth * halfWidth + halfHeight * halfHeight) * sceneScale;
+            bounds.setCenter(chunk.getPositionX()[slot] * sceneScale, chunk.getPositionY()[slot] * sceneScale,
+                    radius, radius);
+            return true;
+        }
+
+    }
+
+}
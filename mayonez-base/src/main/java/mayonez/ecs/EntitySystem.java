@@ -0,0 +1,21 @@
+package mayonez.ecs;
+
+/**
+ * Updates the data of every entity in an {@link mayonez.ecs.EntityWorld} that
+ * matches a set of {@link mayonez.ecs.EntityData}, usually by iterating through
+ * {@link mayonez.ecs.ArchetypeChunk}s with {@link mayonez.ecs.EntityWorld#forEachChunk}.
+ *
+ * @author SlavSquatSuperstar
+ */
+@FunctionalInterface
+public interface EntitySystem {
+
+    /**
+     * Updates all matching entities in the world.
+     *
+     * @param world the entity world
+     * @param dt    seconds since the last frame
+     */
+    void update(EntityWorld world, float dt);
+
+}
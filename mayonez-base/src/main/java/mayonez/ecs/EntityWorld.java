@@ -0,0 +1,366 @@
+package mayonez.ecs;
+
+import mayonez.*;
+import mayonez.annotations.*;
+import mayonez.graphics.sprites.*;
+import mayonez.math.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Stores simple entities in packed arrays grouped by their {@link mayonez.ecs.Archetype},
+ * without creating a {@link mayonez.GameObject} or any {@link mayonez.Component}s.
+ * Entities are identified by an integer ID, and their data is updated in bulk by
+ * {@link mayonez.ecs.EntitySystem}s, which iterate through each
+ * {@link mayonez.ecs.ArchetypeChunk} directly.
+ * <p>
+ * Usage: Get a scene's entity world with {@link mayonez.Scene#getEntities()}, register
+ * sprites with {@link #addSprite}, and create entities with {@link #spawn}. Entities
+ * with a {@link EntityData#VELOCITY} are moved by a {@link mayonez.ecs.MovementSystem}
+ * every frame, and entities with a {@link EntityData#SPRITE} are drawn by the scene.
+ * Individual entities can be read or modified through {@link #getTransform} and
+ * {@link #setTransform}, which copy between the packed arrays and a {@link mayonez.Transform}.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class EntityWorld {
+
+    // Constants
+    public static final int CHUNK_CAPACITY = 1024;
+    private static final int INITIAL_ENTITIES = 256;
+
+    // Entity Storage
+    private final Map<Set<EntityData>, Archetype> archetypes;
+    private final List<Archetype> archetypeList; // for iteration without allocating
+    private ArchetypeChunk[] entityChunks; // the chunk storing each entity ID
+    private int[] entitySlots; // the slot in the chunk of each entity ID
+    private int nextID;
+    private final Deque<Integer> freeIDs;
+    private int numEntities;
+
+    // Systems
+    private final List<EntitySystem> systems;
+    private final EntitySystem movementSystem; // kept when the world is cleared
+
+    // Rendering
+    private final List<Sprite> sprites;
+    private int zIndex;
+    private Runnable zIndexListener; // re-orders the entity renderer
+
+    /**
+     * Creates an empty entity world with a {@link mayonez.ecs.MovementSystem}.
+     */
+    public EntityWorld() {
+        archetypes = new HashMap<>();
+        archetypeList = new ArrayList<>();
+        entityChunks = new ArchetypeChunk[INITIAL_ENTITIES];
+        entitySlots = new int[INITIAL_ENTITIES];
+        nextID = 0;
+        freeIDs = new ArrayDeque<>();
+        numEntities = 0;
+
+        systems = new ArrayList<>();
+        systems.add(new MovementSystem());
+        movementSystem = systems.get(0);
+        sprites = new ArrayList<>();
+        zIndex = 0;
+    }
+
+    // Entity Methods
+
+    /**
+     * Creates an entity storing the given data. Transforms start at the origin with
+     * a scale of 1, velocities start at zero, and sprites start at index 0.
+     *
+     * @param data the entity's data types
+     * @return the entity's ID
+     */
+    public int spawn(EntityData... data) {
+        var archetype = getArchetype(data);
+        var id = freeIDs.isEmpty() ? nextID++ : freeIDs.pop();
+        ensureIDCapacity(id);
+
+        var chunk = archetype.getChunkWithRoom();
+        entityChunks[id] = chunk;
+        entitySlots[id] = chunk.add(id);
+        numEntities++;
+        return id;
+    }
+
+    /**
+     * Removes an entity from the world and frees its ID for reuse. The last entity in
+     * the same chunk is moved into the removed entity's slot.
+     *
+     * @param entityID the entity's ID
+     */
+    public void destroy(int entityID) {
+        if (!isAlive(entityID)) return;
+        var chunk = entityChunks[entityID];
+        var movedID = chunk.remove(entitySlots[entityID]);
+        if (movedID >= 0) entitySlots[movedID] = entitySlots[entityID];
+
+        entityChunks[entityID] = null;
+        freeIDs.push(entityID);
+        numEntities--;
+    }
+
+    /**
+     * Whether the entity with the given ID exists in this world.
+     *
+     * @param entityID the entity's ID
+     * @return if the entity exists
+     */
+    public boolean isAlive(int entityID) {
+        return entityID >= 0 && entityID < nextID && entityChunks[entityID] != null;
+    }
+
+    /**
+     * Removes all entities, archetypes, and sprites from the world, and removes all
+     * systems except the {@link mayonez.ecs.MovementSystem}, since a scene adds its
+     * systems again when it is reloaded.
+     */
+    public void clear() {
+        archetypes.clear();
+        archetypeList.clear();
+        Arrays.fill(entityChunks, null);
+        nextID = 0;
+        freeIDs.clear();
+        numEntities = 0;
+        sprites.clear();
+        systems.clear();
+        systems.add(movementSystem);
+    }
+
+    private void ensureIDCapacity(int id) {
+        if (id < entityChunks.length) return;
+        var newLength = Math.max(entityChunks.length * 2, id + 1);
+        entityChunks = Arrays.copyOf(entityChunks, newLength);
+        entitySlots = Arrays.copyOf(entitySlots, newLength);
+    }
+
+    // Archetype Methods
+
+    /**
+     * Gets the archetype with exactly the given data, or creates it if none exists.
+     *
+     * @param data the data types
+     * @return the archetype
+     */
+    public Archetype getArchetype(EntityData... data) {
+        var dataSet = toSet(data);
+        var archetype = archetypes.get(dataSet);
+        if (archetype == null) {
+            archetype = new Archetype(dataSet, CHUNK_CAPACITY);
+            archetypes.put(dataSet, archetype);
+            archetypeList.add(archetype);
+        }
+        return archetype;
+    }
+
+    /**
+     * Runs an action on every non-empty chunk whose archetype has all the required data.
+     *
+     * @param action   the action to perform
+     * @param required the required data types
+     */
+    public void forEachChunk(Consumer<ArchetypeChunk> action, EntityData... required) {
+        var requiredSet = toSet(required);
+        for (var archetype : archetypeList) {
+            if (!archetype.hasAll(requiredSet)) continue;
+            for (var chunk : archetype.getChunks()) {
+                if (chunk.size() > 0) action.accept(chunk);
+            }
+        }
+    }
+
+    private static Set<EntityData> toSet(EntityData... data) {
+        var set = EnumSet.noneOf(EntityData.class);
+        Collections.addAll(set, data);
+        return set;
+    }
+
+    // System Methods
+
+    /**
+     * Updates the world by running every system in the order they were added.
+     *
+     * @param dt seconds since the last frame
+     */
+    public void update(float dt) {
+        if (numEntities == 0) return;
+        for (var system : systems) system.update(this, dt);
+    }
+
+    /**
+     * Adds a system that is run every frame after the existing systems. Systems are
+     * removed when the scene stops, so scenes should add them in {@link mayonez.Scene#init()}.
+     *
+     * @param system the system
+     */
+    public void addSystem(EntitySystem system) {
+        if (system != null) systems.add(system);
+    }
+
+    public void removeSystem(EntitySystem system) {
+        systems.remove(system);
+    }
+
+    public int numSystems() {
+        return systems.size();
+    }
+
+    // Entity Getters and Setters
+
+    /**
+     * Copies an entity's position, rotation, and scale into a transform.
+     *
+     * @param entityID the entity's ID
+     * @param out      the transform to store the result in
+     * @return the output transform
+     */
+    @Mutating
+    public Transform getTransform(int entityID, Transform out) {
+        var chunk = getChunk(entityID, EntityData.TRANSFORM);
+        var slot = entitySlots[entityID];
+        out.getPosition().set(chunk.getPositionX()[slot], chunk.getPositionY()[slot]);
+        out.setRotation(chunk.getRotation()[slot]);
+        out.getScale().set(chunk.getScaleX()[slot], chunk.getScaleY()[slot]);
+        return out;
+    }
+
+    /**
+     * Copies a transform's position, rotation, and scale into an entity.
+     *
+     * @param entityID  the entity's ID
+     * @param transform the transform to copy
+     */
+    public void setTransform(int entityID, Transform transform) {
+        var position = transform.getPosition();
+        var scale = transform.getScale();
+        setPosition(entityID, position.x, position.y);
+        setRotation(entityID, transform.getRotation());
+        setScale(entityID, scale.x, scale.y);
+    }
+
+    public Vec2 getPosition(int entityID) {
+        var chunk = getChunk(entityID, EntityData.TRANSFORM);
+        var slot = entitySlots[entityID];
+        return new Vec2(chunk.getPositionX()[slot], chunk.getPositionY()[slot]);
+    }
+
+    public void setPosition(int entityID, float x, float y) {
+        var chunk = getChunk(entityID, EntityData.TRANSFORM);
+        var slot = entitySlots[entityID];
+        chunk.getPositionX()[slot] = x;
+        chunk.getPositionY()[slot] = y;
+    }
+
+    public float getRotation(int entityID) {
+        return getChunk(entityID, EntityData.TRANSFORM).getRotation()[entitySlots[entityID]];
+    }
+
+    public void setRotation(int entityID, float rotation) {
+        getChunk(entityID, EntityData.TRANSFORM).getRotation()[entitySlots[entityID]] = rotation;
+    }
+
+    public void setScale(int entityID, float scaleX, float scaleY) {
+        var chunk = getChunk(entityID, EntityData.TRANSFORM);
+        var slot = entitySlots[entityID];
+        chunk.getScaleX()[slot] = scaleX;
+        chunk.getScaleY()[slot] = scaleY;
+    }
+
+    public Vec2 getVelocity(int entityID) {
+        var chunk = getChunk(entityID, EntityData.VELOCITY);
+        var slot = entitySlots[entityID];
+        return new Vec2(chunk.getVelocityX()[slot], chunk.getVelocityY()[slot]);
+    }
+
+    public void setVelocity(int entityID, float velocityX, float velocityY) {
+        var chunk = getChunk(entityID, EntityData.VELOCITY);
+        var slot = entitySlots[entityID];
+        chunk.getVelocityX()[slot] = velocityX;
+        chunk.getVelocityY()[slot] = velocityY;
+    }
+
+    public void setAngularVelocity(int entityID, float angularVelocity) {
+        getChunk(entityID, EntityData.VELOCITY).getAngularVelocity()[entitySlots[entityID]] = angularVelocity;
+    }
+
+    /**
+     * Sets which registered sprite an entity is drawn with.
+     *
+     * @param entityID    the entity's ID
+     * @param spriteIndex the index returned by {@link #addSprite}
+     */
+    public void setSprite(int entityID, int spriteIndex) {
+        Objects.checkIndex(spriteIndex, sprites.size());
+        getChunk(entityID, EntityData.SPRITE).getSpriteIndex()[entitySlots[entityID]] = spriteIndex;
+    }
+
+    private ArchetypeChunk getChunk(int entityID, EntityData data) {
+        if (!isAlive(entityID)) {
+            throw new IllegalArgumentException("Entity %d does not exist".formatted(entityID));
+        }
+        var chunk = entityChunks[entityID];
+        if (!chunk.getArchetype().has(data)) {
+            throw new IllegalArgumentException("Entity %d does not have %s".formatted(entityID, data));
+        }
+        return chunk;
+    }
+
+    // Sprite Methods
+
+    /**
+     * Registers a sprite that entities can be drawn with. The sprite is not added to
+     * any object and only its texture and color are used.
+     *
+     * @param sprite the sprite
+     * @return the sprite's index
+     */
+    public int addSprite(Sprite sprite) {
+        sprites.add(sprite);
+        return sprites.size() - 1;
+    }
+
+    public Sprite getSprite(int spriteIndex) {
+        return sprites.get(spriteIndex);
+    }
+
+    public int numSprites() {
+        return sprites.size();
+    }
+
+    // World Getters and Setters
+
+    public int numEntities() {
+        return numEntities;
+    }
+
+    /**
+     * The vertical layering all entity sprites are drawn at, 0 by default.
+     *
+     * @return the z-index
+     */
+    public int getZIndex() {
+        return zIndex;
+    }
+
+    public void setZIndex(int zIndex) {
+        if (this.zIndex != zIndex) {
+            this.zIndex = zIndex;
+            if (zIndexListener != null) zIndexListener.run();
+        }
+    }
+
+    /**
+     * Sets the action to run after the z-index changes, used by the entity renderer.
+     *
+     * @param listener the action to run
+     */
+    void setZIndexListener(Runnable listener) {
+        zIndexListener = listener;
+    }
+
+}
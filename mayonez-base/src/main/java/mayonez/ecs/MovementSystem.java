@@ -0,0 +1,29 @@
+package mayonez.ecs;
+
+/**
+ * Moves and rotates all entities with a {@link mayonez.ecs.EntityData#TRANSFORM}
+ * and {@link mayonez.ecs.EntityData#VELOCITY} by their velocity.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class MovementSystem implements EntitySystem {
+
+    @Override
+    public void update(EntityWorld world, float dt) {
+        world.forEachChunk(chunk -> {
+            var posX = chunk.getPositionX();
+            var posY = chunk.getPositionY();
+            var rotation = chunk.getRotation();
+            var velX = chunk.getVelocityX();
+            var velY = chunk.getVelocityY();
+            var angVel = chunk.getAngularVelocity();
+
+            for (var i = 0; i < chunk.size(); i++) {
+                posX[i] += velX[i] * dt;
+                posY[i] += velY[i] * dt;
+                rotation[i] += angVel[i] * dt;
+            }
+        }, EntityData.TRANSFORM, EntityData.VELOCITY);
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Stores large numbers of simple entities in packed arrays grouped by archetype,
+ * as a lightweight alternative to {@link mayonez.GameObject}s and {@link mayonez.Component}s.
+ *
+ * @author SlavSquatSuperstar
+ */
+package mayonez.ecs;
@@ -26,6 +26,22 @@ public final class EngineFactory {
         return useGL ? new GLGameEngine() : new JGameEngine();
     }
 
+    /**
+     * Creates a new {@link mayonez.engine.GameEngine} object that runs without a
+     * window, display, or OpenGL context.
+     *
+     * @param maxUpdates      how many updates to run before exiting, or 0 to run until stopped
+     * @param throttled       whether to wait for real time instead of updating as fast as possible
+     * @param renderOffscreen whether to draw frames to an offscreen image instead of skipping them
+     * @return the game engine
+     */
+    public static GameEngine createHeadlessGameEngine(int maxUpdates, boolean throttled, boolean renderOffscreen) {
+        var title = String.format("%s (Headless) %s", Preferences.getTitle(), Preferences.getVersion());
+        var window = new HeadlessWindow(title, Preferences.getScreenWidth(), Preferences.getScreenHeight(),
+                maxUpdates, renderOffscreen);
+        return new HeadlessGameEngine(window, throttled);
+    }
+
     // Window Methods
 
     /**
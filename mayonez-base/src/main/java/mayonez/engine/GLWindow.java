@@ -90,6 +90,23 @@ final class GLWindow implements Window {
         glfwSwapBuffers(windowID);
     }
 
+    @Override
+    public boolean supportsPipelining() {
+        return SceneManager.isScenePipelined();
+    }
+
+    @Override
+    public void extractFrame() {
+        SceneManager.extractScene();
+    }
+
+    @Override
+    public void drawFrame() {
+        GLHelper.clearScreen(1f, 1f, 1f, 1f);
+        SceneManager.drawScene();
+        glfwSwapBuffers(windowID);
+    }
+
     @Override
     public void endFrame() {
         keyboard.updateKeys();
@@ -3,21 +3,36 @@ package mayonez.engine;
 import mayonez.*;
 import mayonez.input.*;
 
+import java.util.concurrent.*;
+
 /**
  * An application that displays a window, receives input, and continuously updates and renders a scene.
+ * <p>
+ * If pipelined rendering is enabled in the preferences and the window supports it, each frame is copied
+ * out of the scene after updating, and then drawn on the main thread while the next update runs on a
+ * separate update thread. The frame then takes as long as the slower of updating and drawing, instead of
+ * both together.
  *
  * @author SlavSquatSuperstar
  */
-public abstract sealed class GameEngine permits JGameEngine, GLGameEngine {
+public abstract sealed class GameEngine permits JGameEngine, GLGameEngine, HeadlessGameEngine {
 
     // Constants
     private static final float DEBUG_INTERVAL_SECS = 1f;
     private static final boolean LOG_FRAME_COUNTS = false;
+    private static final int NO_EXIT_STATUS = Integer.MIN_VALUE;
 
     // Engine Fields
     private final Window window;
     private boolean running;
 
+    // Pipeline Fields
+    private final boolean pipelined; // If updates may run while drawing
+    private ExecutorService updateExecutor; // Created when the first frame is pipelined
+    private Thread updateThread;
+    private boolean hasExtractedFrame; // If a frame is waiting to be drawn
+    private int queuedExitStatus; // Stop requested from the update thread
+
     // Time Fields (Seconds)
     private final boolean frameSkip;
     private final float timeStepSecs; // Target delta time
@@ -32,10 +47,13 @@ public abstract sealed class GameEngine permits JGameEngine, GLGameEngine {
     private int updateCount;
     private int averageUPS;
     private int averageFPS;
+    private int frameCount;
 
     protected GameEngine(Window window) {
         this.window = window;
         frameSkip = Preferences.getFrameSkip();
+        pipelined = Preferences.getPipelinedRender();
+        queuedExitStatus = NO_EXIT_STATUS;
         timeStepSecs = Time.getTimeStepSecs();
         halfTimeStepSecs = timeStepSecs * 0.5f;
 
@@ -67,7 +85,8 @@ public abstract sealed class GameEngine permits JGameEngine, GLGameEngine {
         debugTimerSecs = 0f;
         averageFPS = 0;
         updateCount = 0;
-        int frameCount = 0;
+        frameCount = 0;
+        hasExtractedFrame = false;
 
         while (running && window.notClosedByUser()) {
             hasUpdatedThisFrame = false;
@@ -75,8 +94,13 @@ public abstract sealed class GameEngine permits JGameEngine, GLGameEngine {
 
             // Render if updated
             if (hasUpdatedThisFrame) {
-                window.render();
-                frameCount += 1;
+                if (pipelined && window.supportsPipelining()) {
+                    window.extractFrame(); // Draw during the next update
+                    hasExtractedFrame = true;
+                } else {
+                    window.render();
+                    frameCount += 1;
+                }
             }
 
             // Print frame count
@@ -102,6 +126,7 @@ public abstract sealed class GameEngine permits JGameEngine, GLGameEngine {
     public final void stop() {
         if (running) {
             running = false;
+            if (updateExecutor != null) updateExecutor.shutdownNow();
             window.stop();
             Logger.debug("Closed window");
         }
@@ -109,12 +134,18 @@ public abstract sealed class GameEngine permits JGameEngine, GLGameEngine {
 
     // Game Loop Helper Methods
 
-    /*
+    /**
+     * Updates the scene as many times as the real time passed since the last loop allows.
+     * Engines that do not follow a real clock may override this method and call
+     * {@link #updateFixedStep(float)} instead.
+     * <p>
      * Sources:
-     * - https://gafferongames.com/post/fix_your_timestep/
-     * - https://gameprogrammingpatterns.com/game-loop.html
+     * <ul>
+     *     <li><a href="https://gafferongames.com/post/fix_your_timestep/">Fix Your Timestep!</a></li>
+     *     <li><a href="https://gameprogrammingpatterns.com/game-loop.html">Game Loop</a></li>
+     * </ul>
      */
-    private void updateGame() {
+    protected void updateGame() {
         // Calculate frame time
         var currentLoopTimeSecs = getCurrentTimeSecs();
         var frameElapsedTimeSecs = currentLoopTimeSecs - lastLoopTimeSecs; // Time since last update
@@ -123,19 +154,83 @@ public abstract sealed class GameEngine permits JGameEngine, GLGameEngine {
         lastLoopTimeSecs = currentLoopTimeSecs;  // Reset last time
 
         while (unprocessedTime > halfTimeStepSecs) { // Carry small slivers of time to next frame
-            deltaTimeSecs = Math.min(unprocessedTime, timeStepSecs);
+            updateFrame(Math.min(unprocessedTime, timeStepSecs));
+            unprocessedTime -= deltaTimeSecs;
+            if (!frameSkip) break;
+        }
+    }
 
-            // TODO multi-thread physics with shorter fixed time step
-            window.beginFrame();
-            SceneManager.updateScene(deltaTimeSecs);
-            window.endFrame();
-            updateCount += 1;
+    /**
+     * Updates the scene once by exactly the given time step, without reading the clock.
+     *
+     * @param dt the time step in seconds
+     */
+    protected final void updateFixedStep(float dt) {
+        debugTimerSecs += dt;
+        updateFrame(dt);
+    }
 
-            unprocessedTime -= deltaTimeSecs;
-            hasUpdatedThisFrame = true;
+    private void updateFrame(float dt) {
+        deltaTimeSecs = dt;
 
-            if (!frameSkip) break;
+        // TODO multi-thread physics with shorter fixed time step
+        window.beginFrame();
+        if (hasExtractedFrame) updateWhileDrawing(deltaTimeSecs);
+        else SceneManager.updateScene(deltaTimeSecs);
+        window.endFrame();
+        updateCount += 1;
+        hasUpdatedThisFrame = true;
+    }
+
+    /**
+     * Updates the scene on the update thread while drawing the last extracted frame on
+     * this thread, then waits for the update to finish. Scene switches and stop requests
+     * made during the update are carried out afterward on this thread.
+     */
+    private void updateWhileDrawing(float dt) {
+        SceneManager.uploadPreloadedAssets(); // Needs the GL context
+        var update = getUpdateExecutor().submit(() -> SceneManager.updateSceneOffThread(dt));
+        window.drawFrame();
+        hasExtractedFrame = false;
+        frameCount += 1;
+
+        try {
+            update.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new RuntimeException(e.getCause());
+        }
+
+        SceneManager.applyDeferredChanges();
+        if (queuedExitStatus != NO_EXIT_STATUS) Mayonez.stop(queuedExitStatus);
+    }
+
+    private ExecutorService getUpdateExecutor() {
+        if (updateExecutor == null) {
+            updateExecutor = Executors.newSingleThreadExecutor(task -> {
+                updateThread = new Thread(task, "Update Thread");
+                updateThread.setDaemon(true);
+                return updateThread;
+            });
         }
+        return updateExecutor;
+    }
+
+    /**
+     * Queues a request to stop the application if it was made while the scene is updating
+     * on the update thread, so the scene and window are stopped on the main thread once the
+     * update finishes.
+     *
+     * @param status the exit code
+     * @return if the request was queued, or false if the caller may stop now
+     */
+    public final boolean queueStopFromUpdate(int status) {
+        if (Thread.currentThread() != updateThread) return false;
+        if (queuedExitStatus == NO_EXIT_STATUS) queuedExitStatus = status;
+        return true;
     }
 
     // Engine Getters
@@ -0,0 +1,58 @@
+package mayonez.engine;
+
+import mayonez.*;
+
+/**
+ * An instance of this game that runs without a window, display, or OpenGL context,
+ * for running scenes on a server or benchmarking them in CI. By default, the game
+ * advances by one fixed time step every loop instead of waiting for real time, so
+ * scenes run as fast as the CPU allows.
+ *
+ * @author SlavSquatSuperstar
+ */
+final class HeadlessGameEngine extends GameEngine {
+
+    private final boolean throttled;
+    private long numTicks; // Simulated time steps
+
+    HeadlessGameEngine(HeadlessWindow window, boolean throttled) {
+        super(window);
+        this.throttled = throttled;
+        numTicks = 0;
+    }
+
+    // Game Engine Methods
+
+    /**
+     * Advances the game by exactly one time step if not throttled, instead of measuring
+     * the time since the last loop, so the time step stays exact however long the game
+     * runs.
+     */
+    @Override
+    protected void updateGame() {
+        if (throttled) {
+            super.updateGame();
+            return;
+        }
+        updateFixedStep(Time.getTimeStepSecs());
+        numTicks++;
+    }
+
+    /**
+     * Gets the real program time if throttled, or else the simulated time from the
+     * number of time steps run so far. Reading the time does not advance it.
+     *
+     * @return the time in seconds
+     */
+    @Override
+    public float getCurrentTimeSecs() {
+        if (throttled) return Time.getTotalProgramSeconds();
+        return (float) (numTicks * (double) Time.getTimeStepSecs());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Headless Game (%s)", getRunningString());
+    }
+
+}
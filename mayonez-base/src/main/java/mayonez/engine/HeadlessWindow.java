@@ -0,0 +1,152 @@
+package mayonez.engine;
+
+import mayonez.*;
+import mayonez.input.keyboard.*;
+import mayonez.input.mouse.*;
+
+import java.awt.*;
+import java.awt.geom.*;
+import java.awt.image.*;
+
+/**
+ * A stand-in for the game window that never displays anything. Frames are either
+ * skipped or drawn to an offscreen image with the AWT renderers, and input is read
+ * from the {@link mayonez.input.InputScript} set in {@link mayonez.config.Launcher}.
+ *
+ * @author SlavSquatSuperstar
+ */
+final class HeadlessWindow implements Window {
+
+    // Constants
+    private final static AffineTransform FLIP_XF = AffineTransform.getScaleInstance(1.0, -1.0);
+
+    // Window Fields
+    private final String title;
+    private final int width, height;
+    private final int maxUpdates; // 0 if unlimited
+    private final boolean renderOffscreen;
+    private BufferedImage image;
+
+    // Run Fields
+    private int numUpdates;
+    private long startTimeNanos;
+
+    // Input Fields
+    private KeyManager keyboard;
+    private MouseManager mouse;
+
+    HeadlessWindow(String title, int width, int height, int maxUpdates, boolean renderOffscreen) {
+        this.title = title;
+        this.width = width;
+        this.height = height;
+        this.maxUpdates = maxUpdates;
+        this.renderOffscreen = renderOffscreen;
+        numUpdates = 0;
+    }
+
+    // Engine Methods
+
+    @Override
+    public void start() {
+        if (renderOffscreen) image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        startTimeNanos = System.nanoTime();
+    }
+
+    @Override
+    public void stop() {
+        var elapsedSecs = (System.nanoTime() - startTimeNanos) * 1e-9;
+        Logger.log("Ran %d headless updates in %.2f seconds (%.1f updates per second)",
+                numUpdates, elapsedSecs, numUpdates / Math.max(elapsedSecs, 1e-9));
+        image = null;
+    }
+
+    // Game Loop Methods
+
+    @Override
+    public boolean notClosedByUser() {
+        return maxUpdates <= 0 || numUpdates < maxUpdates;
+    }
+
+    @Override
+    public void beginFrame() {
+        var script = Mayonez.getInputScript();
+        if (script != null && keyboard instanceof ScriptedKeyManager scriptedKeys
+                && mouse instanceof ScriptedMouseManager scriptedMouse) {
+            script.onUpdate(numUpdates, scriptedKeys, scriptedMouse);
+        }
+    }
+
+    @Override
+    public void endFrame() {
+        keyboard.updateKeys();
+        mouse.updateMouse();
+        numUpdates++;
+    }
+
+    // Render Methods
+
+    @Override
+    public void render() {
+        if (image == null) return; // Skip rendering
+        var g2 = image.createGraphics();
+        g2.setBackground(new Color(0, 0, 0, 0));
+        g2.clearRect(0, 0, width, height);
+        g2.transform(FLIP_XF);
+        g2.translate(0, -height);
+        SceneManager.renderScene(g2);
+        g2.dispose();
+    }
+
+    // Input Methods
+
+    @Override
+    public void setKeyInput(KeyManager keyboard) {
+        this.keyboard = keyboard;
+    }
+
+    @Override
+    public void setMouseInput(MouseManager mouse) {
+        this.mouse = mouse;
+    }
+
+    // Getters
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * The number of updates run since the window started.
+     *
+     * @return the update count
+     */
+    int getNumUpdates() {
+        return numUpdates;
+    }
+
+    /**
+     * The offscreen image the last frame was drawn to.
+     *
+     * @return the frame image, or null if not rendering
+     */
+    BufferedImage getImage() {
+        return image;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Headless Window (%s, %dx%d)", getTitle(), getWidth(), getHeight());
+    }
+
+}
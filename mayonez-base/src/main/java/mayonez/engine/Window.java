@@ -9,7 +9,7 @@ import mayonez.input.mouse.*;
  *
  * @author SlavSquatSuperstar
  */
-public sealed interface Window permits JWindow, GLWindow {
+public sealed interface Window permits JWindow, GLWindow, HeadlessWindow {
 
     // Property Getters
 
@@ -55,6 +55,33 @@ public sealed interface Window permits JWindow, GLWindow {
      */
     void endFrame();
 
+    // Pipelined Render Methods
+
+    /**
+     * Whether the window can draw a frame in two steps with {@link #extractFrame} and
+     * {@link #drawFrame}, so the next update can run while the frame is drawn. False
+     * by default.
+     *
+     * @return if the window supports pipelined rendering
+     */
+    default boolean supportsPipelining() {
+        return false;
+    }
+
+    /**
+     * Copy the current frame out of the scene without drawing it. Only called if
+     * {@link #supportsPipelining} is true and the scene is not updating.
+     */
+    default void extractFrame() {
+    }
+
+    /**
+     * Draw the frame copied by the last {@link #extractFrame} to the screen, which
+     * may happen while the scene is updating on another thread.
+     */
+    default void drawFrame() {
+    }
+
     // Input Methods
 
     /**
@@ -37,6 +37,11 @@ public record GlyphSprite(
         }
     }
 
+    @Override
+    public boolean isParallelSafe() {
+        return true;
+    }
+
     @Override
     public int getBatchSize() {
         return RenderBatch.MAX_GLYPHS;
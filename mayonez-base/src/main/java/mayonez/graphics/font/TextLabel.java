@@ -145,6 +145,18 @@ public abstract class TextLabel extends Script implements Renderable {
         return new GlyphSprite(spritePos, spriteScale, glyph.getTexture(), color, this);
     }
 
+    // Renderable Methods
+
+    @Override
+    public boolean getRenderBounds(RenderBounds renderBounds) {
+        if (isInUI()) return false;
+        var sceneScale = getScene().getScale();
+        var center = bounds.getCenter();
+        renderBounds.setCenter(center.x * sceneScale, center.y * sceneScale,
+                0.5f * bounds.getWidth() * sceneScale, 0.5f * bounds.getHeight() * sceneScale);
+        return true;
+    }
+
     // Text Methods
 
     public String getMessage() {
@@ -0,0 +1,178 @@
+package mayonez.graphics.textures;
+
+import mayonez.math.*;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * The page size and image regions of a packed texture atlas. The layout can be saved
+ * as text lines so a packed atlas can be cached and reloaded without packing again.
+ *
+ * @author SlavSquatSuperstar
+ */
+public final class AtlasLayout {
+
+    // Constants
+    private static final int RGBA_CHANNELS = 4;
+    private static final String SEPARATOR = "\t";
+
+    // Layout Fields
+    private final int pageWidth, pageHeight;
+    private final int numPages;
+    private final Map<String, AtlasRegion> regions;
+
+    /**
+     * Create a layout from already placed regions.
+     *
+     * @param pageWidth  the width of each page in pixels
+     * @param pageHeight the height of each page in pixels
+     * @param numPages   the number of pages
+     * @param regions    the packed images
+     */
+    public AtlasLayout(int pageWidth, int pageHeight, int numPages, Collection<AtlasRegion> regions) {
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.numPages = numPages;
+        this.regions = new LinkedHashMap<>();
+        for (var region : regions) this.regions.put(region.filename(), region);
+    }
+
+    // Page Methods
+
+    /**
+     * Copy each image on a page into one RGBA pixel buffer. Image buffers are read as
+     * rows starting from the bottom, as loaded by STB, and may have three or four
+     * channels. Pixels not covered by an image are left transparent.
+     *
+     * @param page   the page index
+     * @param images the image data for each filename
+     * @return the page's pixels
+     */
+    public ByteBuffer createPageBuffer(int page, Map<String, ImageBuffer> images) {
+        var pageBuffer = ByteBuffer.allocateDirect(pageWidth * pageHeight * RGBA_CHANNELS);
+        for (var region : regions.values()) {
+            if (region.page() != page) continue;
+            var image = images.get(region.filename());
+            if (image != null) copyImage(image, region, pageBuffer);
+        }
+        return pageBuffer;
+    }
+
+    private void copyImage(ImageBuffer image, AtlasRegion region, ByteBuffer pageBuffer) {
+        var source = image.buffer();
+        var channels = image.channels();
+        for (var y = 0; y < region.height(); y++) {
+            var srcIndex = y * region.width() * channels;
+            var dstIndex = ((region.y() + y) * pageWidth + region.x()) * RGBA_CHANNELS;
+            if (channels == RGBA_CHANNELS) { // Same layout, so copy the whole row
+                pageBuffer.put(dstIndex, source, srcIndex, region.width() * RGBA_CHANNELS);
+                continue;
+            }
+            for (var x = 0; x < region.width(); x++) {
+                pageBuffer.put(dstIndex, source.get(srcIndex));
+                pageBuffer.put(dstIndex + 1, source.get(srcIndex + 1));
+                pageBuffer.put(dstIndex + 2, source.get(srcIndex + 2));
+                pageBuffer.put(dstIndex + 3, (channels == RGBA_CHANNELS) ? source.get(srcIndex + 3) : (byte) 0xFF);
+                srcIndex += channels;
+                dstIndex += RGBA_CHANNELS;
+            }
+        }
+    }
+
+    // Serialization Methods
+
+    /**
+     * Save this layout as text lines, starting with a key identifying the packed images.
+     *
+     * @param key the cache key
+     * @return the layout lines
+     */
+    public List<String> toLines(String key) {
+        var lines = new ArrayList<String>(regions.size() + 2);
+        lines.add(key);
+        lines.add(String.join(SEPARATOR, String.valueOf(pageWidth), String.valueOf(pageHeight),
+                String.valueOf(numPages)));
+        for (var region : regions.values()) {
+            lines.add(String.join(SEPARATOR, String.valueOf(region.page()),
+                    String.valueOf(region.x()), String.valueOf(region.y()),
+                    String.valueOf(region.width()), String.valueOf(region.height()),
+                    region.filename()));
+        }
+        return lines;
+    }
+
+    /**
+     * Read a layout saved with {@link #toLines} if its key matches.
+     *
+     * @param lines the layout lines
+     * @param key   the expected cache key
+     * @return the layout, or null if the key is different or the lines are invalid
+     */
+    public static AtlasLayout fromLines(List<String> lines, String key) {
+        if (lines.size() < 2 || !lines.get(0).equals(key)) return null;
+        try {
+            var pageInfo = lines.get(1).split(SEPARATOR);
+            var regions = new ArrayList<AtlasRegion>(lines.size() - 2);
+            for (var line : lines.subList(2, lines.size())) {
+                var parts = line.split(SEPARATOR, 6);
+                regions.add(new AtlasRegion(parts[5], Integer.parseInt(parts[0]),
+                        Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                        Integer.parseInt(parts[3]), Integer.parseInt(parts[4])));
+            }
+            return new AtlasLayout(Integer.parseInt(pageInfo[0]), Integer.parseInt(pageInfo[1]),
+                    Integer.parseInt(pageInfo[2]), regions);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    // Getters
+
+    public int getPageWidth() {
+        return pageWidth;
+    }
+
+    public int getPageHeight() {
+        return pageHeight;
+    }
+
+    public int getNumPages() {
+        return numPages;
+    }
+
+    /**
+     * Get where an image was packed.
+     *
+     * @param filename the image's filename
+     * @return the region, or null if the image is not on the atlas
+     */
+    public AtlasRegion getRegion(String filename) {
+        return regions.get(filename);
+    }
+
+    public Collection<AtlasRegion> getRegions() {
+        return Collections.unmodifiableCollection(regions.values());
+    }
+
+    /**
+     * Get the normalized texture coordinates of a packed image.
+     *
+     * @param filename the image's filename
+     * @return the texture coordinates, or null if the image is not on the atlas
+     */
+    public Vec2[] getTexCoords(String filename) {
+        var region = getRegion(filename);
+        return (region == null) ? null : region.getTexCoords(pageWidth, pageHeight);
+    }
+
+    /**
+     * The raw pixels of an image to copy onto an atlas page.
+     *
+     * @param buffer   the pixels, in rows starting from the bottom
+     * @param channels the bytes per pixel, 3 for RGB or 4 for RGBA
+     */
+    public record ImageBuffer(ByteBuffer buffer, int channels) {
+    }
+
+}
@@ -0,0 +1,195 @@
+package mayonez.graphics.textures;
+
+import mayonez.*;
+
+import java.util.*;
+
+/**
+ * Packs rectangular images onto one or more texture atlas pages using the skyline
+ * bottom-left algorithm. Each page tracks the height of its filled area along the
+ * x-axis, and each image is placed where its top edge would be lowest. Images are
+ * packed tallest first, and a new page is started once an image fits on no other page.
+ * <p>
+ * Usage: Add each image's size with {@link #add}, then call {@link #pack} to get the
+ * {@link AtlasLayout}. The packer only works with sizes, so it does not need an
+ * OpenGL context.
+ *
+ * @author SlavSquatSuperstar
+ */
+public final class AtlasPacker {
+
+    private final int maxPageWidth, maxPageHeight;
+    private final int padding;
+    private final List<AtlasRegion> images;
+
+    /**
+     * Create a packer for pages up to the given size.
+     *
+     * @param maxPageWidth  the max page width in pixels
+     * @param maxPageHeight the max page height in pixels
+     * @param padding       the empty pixels to leave around each image
+     */
+    public AtlasPacker(int maxPageWidth, int maxPageHeight, int padding) {
+        this.maxPageWidth = maxPageWidth;
+        this.maxPageHeight = maxPageHeight;
+        this.padding = padding;
+        images = new ArrayList<>();
+    }
+
+    /**
+     * Add an image to be packed. Images larger than a page are left out of the atlas.
+     *
+     * @param filename the image's filename
+     * @param width    the image width in pixels
+     * @param height   the image height in pixels
+     */
+    public void add(String filename, int width, int height) {
+        if (width + padding > maxPageWidth || height + padding > maxPageHeight) {
+            Logger.warn("Image %s (%dx%d) is too large for a %dx%d atlas page",
+                    filename, width, height, maxPageWidth, maxPageHeight);
+            return;
+        }
+        images.add(new AtlasRegion(filename, 0, 0, 0, width, height));
+    }
+
+    /**
+     * Place every added image onto the fewest pages and shrink the pages to the
+     * smallest power of two that holds all of them.
+     *
+     * @return the packed layout
+     */
+    public AtlasLayout pack() {
+        var sorted = new ArrayList<>(images);
+        sorted.sort(Comparator.comparingInt(AtlasRegion::height).reversed()
+                .thenComparing(Comparator.comparingInt(AtlasRegion::width).reversed())
+                .thenComparing(AtlasRegion::filename));
+
+        var pages = new ArrayList<Skyline>();
+        var regions = new ArrayList<AtlasRegion>(sorted.size());
+        var usedWidth = 1;
+        var usedHeight = 1;
+        for (var image : sorted) {
+            var region = placeImage(pages, image);
+            regions.add(region);
+            usedWidth = Math.max(usedWidth, region.x() + region.width());
+            usedHeight = Math.max(usedHeight, region.y() + region.height());
+        }
+        var pageWidth = Math.min(ceilToPowerOfTwo(usedWidth), maxPageWidth);
+        var pageHeight = Math.min(ceilToPowerOfTwo(usedHeight), maxPageHeight);
+        return new AtlasLayout(pageWidth, pageHeight, Math.max(pages.size(), 1), regions);
+    }
+
+    private AtlasRegion placeImage(List<Skyline> pages, AtlasRegion image) {
+        var paddedWidth = image.width() + padding;
+        var paddedHeight = image.height() + padding;
+        for (var i = 0; i < pages.size(); i++) {
+            var region = pages.get(i).insert(image, i, paddedWidth, paddedHeight);
+            if (region != null) return region;
+        }
+        var page = new Skyline(maxPageWidth, maxPageHeight);
+        pages.add(page);
+        return page.insert(image, pages.size() - 1, paddedWidth, paddedHeight);
+    }
+
+    private static int ceilToPowerOfTwo(int n) {
+        return (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    // Skyline Classes
+
+    /**
+     * The top edge of the filled area of one page, stored as horizontal segments
+     * ordered from left to right.
+     */
+    private static class Skyline {
+
+        private final int width, height;
+        private final List<Segment> segments;
+
+        private Skyline(int width, int height) {
+            this.width = width;
+            this.height = height;
+            segments = new ArrayList<>();
+            segments.add(new Segment(0, 0, width));
+        }
+
+        /**
+         * Place a rectangle at the lowest position it fits, preferring the left.
+         *
+         * @return the placed region, or null if the rectangle does not fit
+         */
+        private AtlasRegion insert(AtlasRegion image, int page, int rectWidth, int rectHeight) {
+            var bestIndex = -1;
+            var bestY = Integer.MAX_VALUE;
+            for (var i = 0; i < segments.size(); i++) {
+                var y = getFitHeight(i, rectWidth, rectHeight);
+                if (y >= 0 && y < bestY) {
+                    bestIndex = i;
+                    bestY = y;
+                }
+            }
+            if (bestIndex < 0) return null;
+
+            var x = segments.get(bestIndex).x;
+            addSegment(bestIndex, new Segment(x, bestY + rectHeight, rectWidth));
+            return new AtlasRegion(image.filename(), page, x, bestY, image.width(), image.height());
+        }
+
+        /** Get the lowest y a rectangle starting at the segment could rest at, or -1 if it does not fit. */
+        private int getFitHeight(int index, int rectWidth, int rectHeight) {
+            var x = segments.get(index).x;
+            if (x + rectWidth > width) return -1;
+
+            var y = 0;
+            var remainingWidth = rectWidth;
+            for (var i = index; remainingWidth > 0; i++) {
+                var segment = segments.get(i);
+                y = Math.max(y, segment.y);
+                if (y + rectHeight > height) return -1;
+                remainingWidth -= segment.width;
+            }
+            return y;
+        }
+
+        /** Raise the skyline under a newly placed rectangle and merge flat segments. */
+        private void addSegment(int index, Segment added) {
+            segments.add(index, added);
+            var right = added.x + added.width;
+            var i = index + 1;
+            while (i < segments.size()) {
+                var segment = segments.get(i);
+                if (segment.x >= right) break;
+                var overlap = right - segment.x;
+                if (overlap < segment.width) { // Shorten partially covered segment
+                    segment.x += overlap;
+                    segment.width -= overlap;
+                    break;
+                }
+                segments.remove(i); // Remove fully covered segment
+            }
+
+            for (var j = 0; j < segments.size() - 1; ) {
+                var segment = segments.get(j);
+                var next = segments.get(j + 1);
+                if (segment.y == next.y) {
+                    segment.width += next.width;
+                    segments.remove(j + 1);
+                } else {
+                    j++;
+                }
+            }
+        }
+
+    }
+
+    private static class Segment {
+        private int x, y, width;
+
+        private Segment(int x, int y, int width) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+        }
+    }
+
+}
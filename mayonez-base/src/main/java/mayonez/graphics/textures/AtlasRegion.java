@@ -0,0 +1,46 @@
+package mayonez.graphics.textures;
+
+import mayonez.math.*;
+import mayonez.math.shapes.*;
+
+/**
+ * Where a packed image is located on a texture atlas page, in pixels measured from
+ * the bottom left of the page.
+ *
+ * @param filename the image's filename
+ * @param page     the index of the atlas page containing the image
+ * @param x        the x-coordinate of the image's bottom left corner
+ * @param y        the y-coordinate of the image's bottom left corner
+ * @param width    the image width
+ * @param height   the image height
+ * @author SlavSquatSuperstar
+ */
+public record AtlasRegion(String filename, int page, int x, int y, int width, int height) {
+
+    /**
+     * Get the normalized texture coordinates of this region on a page with the given
+     * size, in the same vertex order as {@link GLTexture#DEFAULT_TEX_COORDS}.
+     *
+     * @param pageWidth  the page width in pixels
+     * @param pageHeight the page height in pixels
+     * @return the region's texture coordinates
+     */
+    public Vec2[] getTexCoords(int pageWidth, int pageHeight) {
+        var min = new Vec2((float) x / pageWidth, (float) y / pageHeight);
+        var max = new Vec2((float) (x + width) / pageWidth, (float) (y + height) / pageHeight);
+        return Rectangle.rectangleVerticesMinMax(min, max);
+    }
+
+    /**
+     * Whether this region shares any pixels with another region.
+     *
+     * @param other another region
+     * @return if the regions overlap
+     */
+    public boolean overlaps(AtlasRegion other) {
+        return (page == other.page)
+                && (x < other.x + other.width) && (other.x < x + width)
+                && (y < other.y + other.height) && (other.y < y + height);
+    }
+
+}
@@ -1,5 +1,6 @@
 package mayonez.graphics.textures;
 
+import mayonez.assets.*;
 import mayonez.graphics.*;
 import mayonez.math.*;
 import mayonez.math.shapes.*;
@@ -30,6 +31,24 @@ public final class GLSpriteSheetTexture extends GLTexture {
         this.parentTexture = parentTexture;
         this.width = (int) spriteSize.x; // get new image size in px
         this.height = (int) spriteSize.y; // get new image size in px
+        referenceParent(parentTexture);
+    }
+
+    /**
+     * Create a texture for an image packed onto a texture atlas page, keeping the
+     * image's original filename.
+     *
+     * @param filename      the packed image's filename
+     * @param parentTexture the atlas page
+     * @param spritePos     the bottom left corner of the image on the page
+     * @param spriteSize    the dimensions of the image
+     */
+    GLSpriteSheetTexture(String filename, GLTexture parentTexture, Vec2 spritePos, Vec2 spriteSize) {
+        super(filename, parentTexture, getSubImageCoords(parentTexture, spritePos, spriteSize));
+        this.parentTexture = parentTexture;
+        this.width = (int) spriteSize.x;
+        this.height = (int) spriteSize.y;
+        referenceParent(parentTexture);
     }
 
     // Asset Methods
@@ -38,6 +57,19 @@ public final class GLSpriteSheetTexture extends GLTexture {
     public void free() { // Don't do anything since we may need the parent texture
     }
 
+    /**
+     * Uploads the parent texture, which this texture draws from.
+     */
+    @Override
+    public void uploadTexture() {
+        parentTexture.uploadTexture();
+    }
+
+    @Override
+    public boolean isUploaded() {
+        return parentTexture.isUploaded();
+    }
+
     // Image Getters
 
     public GLTexture getParentTexture() {
@@ -52,6 +84,17 @@ public final class GLSpriteSheetTexture extends GLTexture {
         return parentTexture.getHeight();
     }
 
+    /**
+     * The OpenGL ID of the parent texture, which may be uploaded after this texture
+     * is created.
+     *
+     * @return the parent texture id
+     */
+    @Override
+    public int getTexID() {
+        return parentTexture.getTexID();
+    }
+
     @Override
     public int getWidth() {
         return width;
@@ -62,8 +105,18 @@ public final class GLSpriteSheetTexture extends GLTexture {
         return height;
     }
 
+    @Override
+    public long getApproximateSize() {
+        return 0L; // Shares the parent's texture
+    }
+
     // Helper Methods
 
+    /** Keeps the parent texture loaded while the current scene uses it, if it is stored in the asset pool. */
+    private static void referenceParent(GLTexture parentTexture) {
+        if (Assets.hasAsset(parentTexture.getFilename())) Assets.referenceAsset(parentTexture.getFilename());
+    }
+
     private static String getSubSpriteFilename(String parentFilename, int spriteSheetIndex) {
         return "%s (Sprite %d)".formatted(parentFilename, spriteSheetIndex);
     }
@@ -73,7 +126,14 @@ public final class GLSpriteSheetTexture extends GLTexture {
         var texSize = sheetTexture.getSize();
         var subImgMin = spriteBottomLeft.div(texSize);
         var subImgMax = spriteBottomLeft.add(spriteSize).div(texSize);
-        return Rectangle.rectangleVerticesMinMax(subImgMin, subImgMax);
+
+        // Map into the parent's coordinates in case it is packed onto an atlas
+        var parentCoords = sheetTexture.getTexCoords();
+        var parentMin = parentCoords[0];
+        var parentSize = parentCoords[2].sub(parentMin);
+        return Rectangle.rectangleVerticesMinMax(
+                parentMin.add(subImgMin.mul(parentSize)), parentMin.add(subImgMax.mul(parentSize))
+        );
     }
 
 }
@@ -1,6 +1,7 @@
 package mayonez.graphics.textures;
 
 import mayonez.*;
+import mayonez.assets.*;
 import mayonez.assets.image.*;
 import mayonez.graphics.*;
 import mayonez.math.*;
@@ -34,9 +35,10 @@ public sealed class GLTexture extends Texture permits GLSpriteSheetTexture {
             = Rectangle.rectangleVerticesMinMax(new Vec2(0f), new Vec2(1f));
 
     // Image Fields
-    private final STBImageData imageData;
+    private STBImageData imageData;
     private int texID;
     private final Vec2[] texCoords;
+    private final boolean fromFile; // can decode the image again after being freed
 
     /**
      * Create a brand-new GLTexture with the given filename.
@@ -47,6 +49,21 @@ public sealed class GLTexture extends Texture permits GLSpriteSheetTexture {
         super(filename);
         texCoords = DEFAULT_TEX_COORDS;
         imageData = readImage();
+        fromFile = (imageData != null);
+        createTexture();
+    }
+
+    /**
+     * Create a GLTexture from already decoded image data, such as a texture atlas page.
+     *
+     * @param filename  the texture name
+     * @param imageData the image pixels
+     */
+    GLTexture(String filename, STBImageData imageData) {
+        super(filename);
+        texCoords = DEFAULT_TEX_COORDS;
+        fromFile = false;
+        this.imageData = imageData;
         createTexture();
     }
 
@@ -61,12 +78,16 @@ public sealed class GLTexture extends Texture permits GLSpriteSheetTexture {
         this.imageData = texture.imageData; // todo crop image data
         this.texID = texture.texID;
         this.texCoords = texCoords;
+        fromFile = false;
     }
 
     // Read Image Methods
 
     @Override
     protected STBImageData readImage() {
+        // Take over the image if it was already decoded by Assets.loadAll()
+        var loadedImage = Assets.takeAsset(getFilename(), STBImageData.class);
+        if (loadedImage != null && !loadedImage.isImageFreed()) return loadedImage;
         try {
             // Read image from file
             var imageData = new STBImageData(getFilename());
@@ -81,7 +102,7 @@ public sealed class GLTexture extends Texture permits GLSpriteSheetTexture {
 
     private void createTexture() {
         // Create Texture on GPU
-        if (imageData != null && GLHelper.isGLInitialized()) {
+        if (imageData != null && !imageData.isImageFreed() && GLHelper.isGLInitialized()) {
             texID = glGenTextures();
             glBindTexture(GL_TEXTURE_2D, texID);
             uploadImageToTexture(imageData, texID);
@@ -90,6 +111,30 @@ public sealed class GLTexture extends Texture permits GLSpriteSheetTexture {
         }
     }
 
+    /**
+     * Uploads the decoded image to the GPU if this texture was created on a thread
+     * without an OpenGL context, such as while preloading a scene, or if it was
+     * evicted by the asset pool, in which case the image is decoded again. Must be
+     * called on the thread that owns the GL context.
+     */
+    public void uploadTexture() {
+        if (isUploaded()) return;
+        if (fromFile && imageData.isImageFreed()) { // Evicted, so decode the file again
+            var image = readImage();
+            if (image != null) imageData = image;
+        }
+        createTexture();
+    }
+
+    /**
+     * Whether this texture's image has been sent to the GPU.
+     *
+     * @return if the texture has an ID
+     */
+    public boolean isUploaded() {
+        return texID != GL_NONE;
+    }
+
     private static void setTextureParameters() {
         // wrap if too big
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_R, GL_REPEAT);
@@ -136,6 +181,29 @@ public sealed class GLTexture extends Texture permits GLSpriteSheetTexture {
         }
     }
 
+    /**
+     * The memory used by the texture on the GPU, since the decoded image is freed
+     * after it is uploaded, or 0 if the texture has been freed.
+     *
+     * @return the size in bytes
+     */
+    @Override
+    public long getApproximateSize() {
+        if (imageData == null || (!isUploaded() && imageData.isImageFreed())) return 0L;
+        return imageData.getApproximateSize();
+    }
+
+    /**
+     * Whether the texture is uploaded again the next time it is drawn after being
+     * freed. Only textures read from an image file can be reloaded.
+     *
+     * @return if the texture was read from a file
+     */
+    @Override
+    public boolean isReloadable() {
+        return fromFile;
+    }
+
     // Image Getters
 
     @Override
@@ -0,0 +1,238 @@
+package mayonez.graphics.textures;
+
+import mayonez.*;
+import mayonez.assets.*;
+import mayonez.assets.image.*;
+import mayonez.graphics.*;
+import mayonez.math.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+
+/**
+ * Combines many image files into a few large GL textures so sprites using different
+ * images can share a texture slot and be drawn in the same batch. Each image becomes a
+ * {@link GLSpriteSheetTexture} whose texture coordinates point to its region on an
+ * atlas page.
+ * <p>
+ * Packed pages and their layout are cached in the {@code cache/atlases/} folder, keyed
+ * by a hash of the image filenames and contents, so later startups skip decoding and
+ * packing the images. To create an atlas, call
+ * {@link mayonez.graphics.textures.Textures#createAtlas}.
+ *
+ * @author SlavSquatSuperstar
+ */
+@UsesEngine(EngineType.GL)
+public final class GLTextureAtlas {
+
+    // Constants
+    public static final int MAX_PAGE_SIZE = 2048;
+    private static final int PADDING = 1;
+    private static final String CACHE_DIRECTORY = "cache/atlases";
+    private static final String LAYOUT_EXTENSION = ".atlas";
+    private static final String PAGE_EXTENSION = ".rgba";
+
+    // Atlas Fields
+    private final String name;
+    private final AtlasLayout layout;
+    private final List<GLTexture> pages;
+    private final Map<String, GLTexture> textures;
+
+    private GLTextureAtlas(String name, AtlasLayout layout, List<ByteBuffer> pageBuffers) {
+        this.name = name;
+        this.layout = layout;
+        pages = new ArrayList<>(pageBuffers.size());
+        for (var i = 0; i < pageBuffers.size(); i++) {
+            pages.add(createPageTexture(i, pageBuffers.get(i)));
+        }
+
+        textures = new LinkedHashMap<>();
+        for (var region : layout.getRegions()) {
+            var page = pages.get(region.page());
+            if (page == null) continue;
+            textures.put(region.filename(), new GLSpriteSheetTexture(region.filename(), page,
+                    new Vec2(region.x(), region.y()), new Vec2(region.width(), region.height())));
+        }
+    }
+
+    private GLTexture createPageTexture(int page, ByteBuffer pageBuffer) {
+        var pageName = "%s (Page %d)".formatted(name, page);
+        try {
+            var imageData = new STBImageData(pageName, pageBuffer, layout.getPageWidth(), layout.getPageHeight());
+            return new GLTexture(pageName, imageData);
+        } catch (IOException e) {
+            Logger.error("Could not create atlas page %s", pageName);
+            return null;
+        }
+    }
+
+    // Load Methods
+
+    /**
+     * Packs the given image files into an atlas, or loads the atlas from the cache if
+     * the images have not changed since it was saved.
+     *
+     * @param name      the atlas name, used for the cache files
+     * @param filenames the image files
+     * @return the atlas
+     */
+    public static GLTextureAtlas load(String name, Collection<String> filenames) {
+        return load(name, filenames, Path.of(CACHE_DIRECTORY));
+    }
+
+    static GLTextureAtlas load(String name, Collection<String> filenames, Path cacheDirectory) {
+        var key = getCacheKey(filenames);
+        var layoutPath = cacheDirectory.resolve(name + LAYOUT_EXTENSION);
+
+        var cachedLayout = readCachedLayout(layoutPath, key);
+        if (cachedLayout != null) {
+            var pageBuffers = readCachedPages(name, cachedLayout, cacheDirectory);
+            if (pageBuffers != null) {
+                Logger.debug("Loaded texture atlas %s from cache", name);
+                return new GLTextureAtlas(name, cachedLayout, pageBuffers);
+            }
+        }
+
+        // Decode and pack images
+        var images = new HashMap<String, STBImageData>();
+        var packer = new AtlasPacker(MAX_PAGE_SIZE, MAX_PAGE_SIZE, PADDING);
+        for (var filename : filenames) {
+            try {
+                var image = new STBImageData(filename);
+                images.put(filename, image);
+                packer.add(filename, image.getWidth(), image.getHeight());
+            } catch (IOException e) {
+                Logger.error("Could not read image %s for texture atlas %s", filename, name);
+            }
+        }
+        var layout = packer.pack();
+
+        var imageBuffers = new HashMap<String, AtlasLayout.ImageBuffer>();
+        images.forEach((filename, image) ->
+                imageBuffers.put(filename, new AtlasLayout.ImageBuffer(image.getBuffer(), image.getChannels())));
+        var pageBuffers = new ArrayList<ByteBuffer>(layout.getNumPages());
+        for (var i = 0; i < layout.getNumPages(); i++) pageBuffers.add(layout.createPageBuffer(i, imageBuffers));
+        images.values().forEach(STBImageData::freeImage);
+
+        writeCache(name, layout, key, pageBuffers, cacheDirectory);
+        Logger.debug("Packed %d images into texture atlas %s with %d pages",
+                layout.getRegions().size(), name, layout.getNumPages());
+        return new GLTextureAtlas(name, layout, pageBuffers);
+    }
+
+    // Cache Methods
+
+    /**
+     * Hashes the filename and contents of each image, so the cache is invalidated if any
+     * image is added, removed, or edited.
+     */
+    static String getCacheKey(Collection<String> filenames) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(Integer.BYTES * 2).putInt(MAX_PAGE_SIZE).putInt(PADDING).flip());
+            for (var filename : filenames) {
+                digest.update(filename.getBytes());
+                try (InputStream stream = new Asset(filename).openInputStream()) {
+                    digest.update(stream.readAllBytes());
+                } catch (IOException e) {
+                    digest.update((byte) 0); // Missing file
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            return ""; // Never matches a saved key
+        }
+    }
+
+    private static AtlasLayout readCachedLayout(Path layoutPath, String key) {
+        if (key.isEmpty() || !Files.isReadable(layoutPath)) return null;
+        try {
+            return AtlasLayout.fromLines(Files.readAllLines(layoutPath), key);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<ByteBuffer> readCachedPages(String name, AtlasLayout layout, Path cacheDirectory) {
+        var pageBytes = layout.getPageWidth() * layout.getPageHeight() * 4;
+        var pageBuffers = new ArrayList<ByteBuffer>(layout.getNumPages());
+        try {
+            for (var i = 0; i < layout.getNumPages(); i++) {
+                var bytes = Files.readAllBytes(getPagePath(name, i, cacheDirectory));
+                if (bytes.length != pageBytes) return null;
+                pageBuffers.add(ByteBuffer.allocateDirect(pageBytes).put(bytes).flip());
+            }
+            return pageBuffers;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeCache(String name, AtlasLayout layout, String key,
+                                   List<ByteBuffer> pageBuffers, Path cacheDirectory) {
+        if (key.isEmpty()) return;
+        try {
+            Files.createDirectories(cacheDirectory);
+            for (var i = 0; i < pageBuffers.size(); i++) {
+                var bytes = new byte[pageBuffers.get(i).capacity()];
+                pageBuffers.get(i).get(0, bytes);
+                Files.write(getPagePath(name, i, cacheDirectory), bytes);
+            }
+            Files.write(cacheDirectory.resolve(name + LAYOUT_EXTENSION), layout.toLines(key)); // Write last
+        } catch (IOException e) {
+            Logger.warn("Could not cache texture atlas %s", name);
+        }
+    }
+
+    private static Path getPagePath(String name, int page, Path cacheDirectory) {
+        return cacheDirectory.resolve("%s_%d%s".formatted(name, page, PAGE_EXTENSION));
+    }
+
+    // Getters
+
+    public String getName() {
+        return name;
+    }
+
+    public AtlasLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Get the texture for a packed image.
+     *
+     * @param filename the image's filename
+     * @return the texture, or null if the image is not on the atlas
+     */
+    public GLTexture getTexture(String filename) {
+        return textures.get(filename);
+    }
+
+    /**
+     * Get the textures for every packed image.
+     *
+     * @return the textures
+     */
+    public Collection<GLTexture> getTextures() {
+        return Collections.unmodifiableCollection(textures.values());
+    }
+
+    /**
+     * Get the combined textures holding the packed images.
+     *
+     * @return the atlas pages
+     */
+    public List<GLTexture> getPages() {
+        return Collections.unmodifiableList(pages);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Texture Atlas %s (%d images, %d pages)", name, textures.size(), pages.size());
+    }
+
+}
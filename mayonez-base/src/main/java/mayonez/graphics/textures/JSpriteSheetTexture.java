@@ -1,5 +1,6 @@
 package mayonez.graphics.textures;
 
+import mayonez.assets.*;
 import mayonez.assets.image.*;
 import mayonez.graphics.*;
 import mayonez.math.*;
@@ -24,6 +25,8 @@ public final class JSpriteSheetTexture extends JTexture {
     private JSpriteSheetTexture(String filename, JTexture parentTexture, Vec2 spritePos, Vec2 spriteSize) {
         super(filename, getSubImageData(filename, parentTexture.getImageData(), spritePos, spriteSize));
         this.parentTexture = parentTexture;
+        var parentFilename = parentTexture.getFilename();
+        if (Assets.hasAsset(parentFilename)) Assets.referenceAsset(parentFilename); // Keep while the scene uses it
     }
 
     // Asset Methods
@@ -32,6 +35,11 @@ public final class JSpriteSheetTexture extends JTexture {
     public void free() { // Don't do anything since we may need the parent texture
     }
 
+    @Override
+    public long getApproximateSize() {
+        return 0L; // Shares the parent's image
+    }
+
     // Parent Texture Getters
 
     public JTexture getParentTexture() {
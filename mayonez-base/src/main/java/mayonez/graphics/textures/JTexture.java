@@ -1,6 +1,7 @@
 package mayonez.graphics.textures;
 
 import mayonez.*;
+import mayonez.assets.*;
 import mayonez.assets.image.*;
 import mayonez.graphics.*;
 import mayonez.graphics.Color;
@@ -8,7 +9,6 @@ import mayonez.math.*;
 
 import java.awt.*;
 import java.awt.geom.*;
-import java.awt.image.*;
 
 /**
  * An image file used by the AWT engine. This class should not be directly
@@ -20,8 +20,11 @@ import java.awt.image.*;
 @UsesEngine(EngineType.AWT)
 public sealed class JTexture extends Texture permits JSpriteSheetTexture {
 
-    private final AWTImageData imageData;
+    private static final RecolorCache RECOLOR_CACHE = new RecolorCache(RecolorCache.DEFAULT_MAX_BYTES);
+
+    private volatile AWTImageData imageData; // dropped when freed
     private final Vec2 imageSize;
+    private final boolean fromFile; // can read the image again after being freed
 
     /**
      * Create a brand-new JTexture with the given filename.
@@ -31,6 +34,7 @@ public sealed class JTexture extends Texture permits JSpriteSheetTexture {
     public JTexture(String filename) { // Needed for Assets.getJTexture()
         super(filename);
         imageData = readImage();
+        fromFile = (imageData != null);
         if (imageData == null) {
             imageSize = new Vec2();
         } else {
@@ -46,6 +50,7 @@ public sealed class JTexture extends Texture permits JSpriteSheetTexture {
      */
     protected JTexture(String filename, AWTImageData imageData) {
         super(filename);
+        fromFile = false;
         this.imageData = imageData;
         imageSize = new Vec2(imageData.getWidth(), imageData.getHeight());
     }
@@ -54,6 +59,9 @@ public sealed class JTexture extends Texture permits JSpriteSheetTexture {
 
     @Override
     protected AWTImageData readImage() {
+        // Take over the image if it was already decoded by Assets.loadAll()
+        var loadedImage = Assets.takeAsset(getFilename(), AWTImageData.class);
+        if (loadedImage != null) return loadedImage;
         try {
             var imageData = new AWTImageData(getFilename());
             Logger.debug("Loaded image %s", getFilename());
@@ -77,6 +85,7 @@ public sealed class JTexture extends Texture permits JSpriteSheetTexture {
      * @param scale    the scale of the scene
      */
     public void draw(Graphics2D g2, Transform parentXf, Transform spriteXf, Color color, float scale) {
+        var imageData = getImageData();
         if (imageData == null) return;
 
         // Draw sprite at parent center with parent rotation and scale
@@ -84,7 +93,7 @@ public sealed class JTexture extends Texture permits JSpriteSheetTexture {
         var g2Xf = getImageTransform(texXf, scale);
 
         // Recolor the image (without modifying the original)
-        var recoloredImage = getRecoloredImage(color);
+        var recoloredImage = RECOLOR_CACHE.getRecoloredImage(this, imageData.getImage(), color);
         g2.drawImage(recoloredImage, g2Xf, null); // Draw buffered image
     }
 
@@ -103,21 +112,51 @@ public sealed class JTexture extends Texture permits JSpriteSheetTexture {
         return g2Xf;
     }
 
-    // Source: https://docs.oracle.com/en/java/javase/17/docs/api/java.desktop/java/awt/image/RescaleOp.html
-    private BufferedImage getRecoloredImage(Color color) {
-        if (color == null) return imageData.getImage();
+    @Override
+    public void free() {
+        RECOLOR_CACHE.remove(this);
+        if (fromFile) imageData = null; // Read the file again when next drawn
+    }
+
+    @Override
+    public long getApproximateSize() {
+        var imageData = this.imageData;
+        return (imageData == null) ? 0L : imageData.getApproximateSize();
+    }
+
+    /**
+     * Whether the image is read again the next time it is used after being freed.
+     * Only textures read from an image file can be reloaded.
+     *
+     * @return if the texture was read from a file
+     */
+    @Override
+    public boolean isReloadable() {
+        return fromFile;
+    }
+
+    // Recolor Cache Methods
 
-        var recolor = new RescaleOp(
-                new float[]{color.getFRed(), color.getFGreen(), color.getFBlue(), color.getFAlpha()},
-                new float[4], null
-        );
-        return recolor.filter(imageData.getImage(), null);
+    /**
+     * Frees all recolored texture images, such as when the scene is stopped.
+     */
+    public static void clearRecoloredImages() {
+        RECOLOR_CACHE.clear();
+    }
+
+    static RecolorCache getRecolorCache() {
+        return RECOLOR_CACHE;
     }
 
     // Image Getters
 
     @Override
     public AWTImageData getImageData() {
+        var imageData = this.imageData;
+        if (imageData == null && fromFile) {
+            imageData = readImage();
+            this.imageData = imageData;
+        }
         return imageData;
     }
 
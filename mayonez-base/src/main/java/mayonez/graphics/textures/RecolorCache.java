@@ -0,0 +1,170 @@
+package mayonez.graphics.textures;
+
+import mayonez.graphics.*;
+
+import java.awt.image.*;
+import java.util.*;
+
+/**
+ * Stores the recolored copies of {@link JTexture} images, so a tinted sprite only
+ * filters its image once instead of every time it is drawn. Images are keyed by
+ * texture and RGBA value, and the least recently drawn images are evicted once the
+ * cache's memory limit is reached. Images larger than the limit are never cached.
+ * <p>
+ * The cache is not thread-safe and should only be used from the render thread.
+ *
+ * @author SlavSquatSuperstar
+ */
+@UsesEngine(EngineType.AWT)
+public final class RecolorCache {
+
+    // Constants
+    /** The default memory limit for all recolored images, 64 MB. */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024L * 1024L;
+    private static final int BYTES_PER_PIXEL = 4; // Estimate for ARGB images
+
+    // Cache Fields
+    private final long maxBytes;
+    private final Map<Key, BufferedImage> images;
+    private long usedBytes;
+    private int numFilterPasses; // For measuring
+
+    /**
+     * Create a recolor cache with the given memory limit.
+     *
+     * @param maxBytes the max approximate size of all cached images, in bytes
+     */
+    public RecolorCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        images = new LinkedHashMap<>(16, 0.75f, true); // Iterate from least recently used
+        usedBytes = 0L;
+        numFilterPasses = 0;
+    }
+
+    // Cache Methods
+
+    /**
+     * Gets a texture's image multiplied by a color, filtering and storing the image
+     * if it is not already cached. Returns the original image if the color is null or
+     * opaque white.
+     *
+     * @param texture the texture the image belongs to
+     * @param image   the original image
+     * @param color   the tint color
+     * @return the recolored image
+     */
+    public BufferedImage getRecoloredImage(JTexture texture, BufferedImage image, Color color) {
+        if (color == null || color.equals(Colors.WHITE)) return image; // Nothing to tint
+
+        var key = new Key(texture, color.getRGBAValue());
+        var recolored = images.get(key);
+        if (recolored != null) return recolored;
+
+        recolored = recolor(image, color);
+        var imageBytes = getImageBytes(recolored);
+        if (imageBytes <= maxBytes) {
+            images.put(key, recolored);
+            usedBytes += imageBytes;
+            evictLeastRecentlyUsed();
+        }
+        return recolored;
+    }
+
+    // Source: https://docs.oracle.com/en/java/javase/17/docs/api/java.desktop/java/awt/image/RescaleOp.html
+    private BufferedImage recolor(BufferedImage image, Color color) {
+        var recolor = new RescaleOp(
+                new float[]{color.getFRed(), color.getFGreen(), color.getFBlue(), color.getFAlpha()},
+                new float[4], null
+        );
+        numFilterPasses++;
+        return recolor.filter(image, null);
+    }
+
+    private void evictLeastRecentlyUsed() {
+        var entries = images.values().iterator();
+        while (usedBytes > maxBytes && entries.hasNext()) {
+            usedBytes -= getImageBytes(entries.next());
+            entries.remove();
+        }
+    }
+
+    /**
+     * Removes every recolored image of a texture, such as when the texture is freed.
+     *
+     * @param texture the texture
+     */
+    public void remove(JTexture texture) {
+        var entries = images.entrySet().iterator();
+        while (entries.hasNext()) {
+            var entry = entries.next();
+            if (entry.getKey().texture == texture) {
+                usedBytes -= getImageBytes(entry.getValue());
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all recolored images from the cache.
+     */
+    public void clear() {
+        images.clear();
+        usedBytes = 0L;
+    }
+
+    private static long getImageBytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    // Getters
+
+    /**
+     * The number of recolored images currently stored.
+     *
+     * @return the image count
+     */
+    public int size() {
+        return images.size();
+    }
+
+    /**
+     * The approximate size of all stored images.
+     *
+     * @return the memory used in bytes
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * The number of times an image has been filtered because it was not cached.
+     *
+     * @return the filter count
+     */
+    public int getNumFilterPasses() {
+        return numFilterPasses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Recolor Cache (Images: %d, Size: %d/%d bytes)", size(), usedBytes, maxBytes);
+    }
+
+    // Helper Classes
+
+    /**
+     * Identifies a recolored image by the texture instance and the color's RGBA value.
+     */
+    private record Key(JTexture texture, int rgba) {
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof Key other) && (texture == other.texture) && (rgba == other.rgba);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(texture) + rgba;
+        }
+    }
+
+}
@@ -3,6 +3,8 @@ package mayonez.graphics.textures;
 import mayonez.*;
 import mayonez.assets.*;
 
+import java.util.*;
+
 /**
  * A factory class that constructs {@link mayonez.graphics.textures.Texture} objects
  * depending on the run configuration.
@@ -11,6 +13,8 @@ import mayonez.assets.*;
  */
 public final class Textures {
 
+    private static final Set<String> atlasNames = new HashSet<>(); // Atlases already created
+
     private Textures() {
     }
 
@@ -37,6 +41,22 @@ public final class Textures {
         return Assets.getAsset(filename, GLTexture.class);
     }
 
+    /**
+     * Packs several image files onto shared texture atlas pages and stores each image
+     * as a texture, so later calls to {@link #getTexture} return the packed texture.
+     * Sprites drawing packed textures can share a texture slot in the same render batch.
+     * Only the GL engine uses atlases, so this method does nothing in the AWT engine or
+     * if the atlas was already created.
+     *
+     * @param atlasName the atlas name, used for caching the packed atlas
+     * @param filenames the image files to pack
+     */
+    public static void createAtlas(String atlasName, Collection<String> filenames) {
+        if (!Mayonez.getUseGL() || !atlasNames.add(atlasName)) return;
+        var atlas = GLTextureAtlas.load(atlasName, filenames);
+        atlas.getTextures().forEach(Assets::addAsset);
+    }
+
     /**
      * Retrieves the asset at the given location as a {@link mayonez.graphics.textures.JTexture}.
      *
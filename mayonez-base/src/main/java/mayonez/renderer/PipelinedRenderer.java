@@ -0,0 +1,23 @@
+package mayonez.renderer;
+
+/**
+ * A renderer that can split a frame into reading the scene and drawing what was
+ * read, so the next scene update can run while the last frame is drawn.
+ *
+ * @author SlavSquatSuperstar
+ */
+public interface PipelinedRenderer extends Renderer {
+
+    /**
+     * Copies everything needed to draw the current frame out of the scene, such as
+     * vertices and camera matrices. The scene must not be updating.
+     */
+    void extractFrame();
+
+    /**
+     * Draws the frame copied by the last call to {@link #extractFrame}. Does not read
+     * the scene, so the scene may be updating.
+     */
+    void drawFrame();
+
+}
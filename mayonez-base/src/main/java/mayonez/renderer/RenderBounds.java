@@ -0,0 +1,118 @@
+package mayonez.renderer;
+
+/**
+ * A reusable axis-aligned box in scene pixels (world units times the scene scale),
+ * used to test whether a {@link Renderable} can be seen by the camera.
+ *
+ * @author SlavSquatSuperstar
+ */
+public final class RenderBounds {
+
+    private float minX, minY, maxX, maxY;
+
+    public RenderBounds() {
+        setEmpty();
+    }
+
+    // Setters
+
+    /**
+     * Set the bounds from the min and max corners.
+     *
+     * @param minX the left edge
+     * @param minY the bottom edge
+     * @param maxX the right edge
+     * @param maxY the top edge
+     */
+    public void set(float minX, float minY, float maxX, float maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Set the bounds from a center and half-extents.
+     *
+     * @param centerX    the center x
+     * @param centerY    the center y
+     * @param halfWidth  half the box width
+     * @param halfHeight half the box height
+     */
+    public void setCenter(float centerX, float centerY, float halfWidth, float halfHeight) {
+        set(centerX - halfWidth, centerY - halfHeight, centerX + halfWidth, centerY + halfHeight);
+    }
+
+    /**
+     * Set the bounds to a box containing a rotated rectangle.
+     *
+     * @param centerX  the rectangle center x
+     * @param centerY  the rectangle center y
+     * @param width    the rectangle width
+     * @param height   the rectangle height
+     * @param rotation the rectangle's rotation in degrees
+     */
+    public void setRotated(float centerX, float centerY, float width, float height, float rotation) {
+        var radians = Math.toRadians(rotation);
+        var cos = (float) Math.abs(Math.cos(radians));
+        var sin = (float) Math.abs(Math.sin(radians));
+        var halfWidth = 0.5f * (width * cos + height * sin);
+        var halfHeight = 0.5f * (width * sin + height * cos);
+        setCenter(centerX, centerY, halfWidth, halfHeight);
+    }
+
+    /** Make the bounds contain nothing, so they can be grown with {@link #union}. */
+    public void setEmpty() {
+        set(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+    }
+
+    /** Make the bounds contain everything, so they are never culled. */
+    public void setInfinite() {
+        set(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Grow these bounds to also contain another box.
+     *
+     * @param other the other bounds
+     */
+    public void union(RenderBounds other) {
+        set(Math.min(minX, other.minX), Math.min(minY, other.minY),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY));
+    }
+
+    // Getters
+
+    /**
+     * Whether these bounds share any area with another box.
+     *
+     * @param other the other bounds
+     * @return if the boxes overlap
+     */
+    public boolean intersects(RenderBounds other) {
+        return (minX <= other.maxX) && (other.minX <= maxX)
+                && (minY <= other.maxY) && (other.minY <= maxY);
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Render Bounds (%.2f, %.2f) to (%.2f, %.2f)", minX, minY, maxX, maxY);
+    }
+
+}
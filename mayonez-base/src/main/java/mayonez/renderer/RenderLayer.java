@@ -15,10 +15,12 @@ public abstract class RenderLayer {
 
     private final List<Renderer> renderers;
     private final DebugDraw debugDraw;
+    private final boolean pipelined;
 
     protected RenderLayer(List<Renderer> renderers, DebugDraw debugDraw) {
         this.renderers = renderers;
         this.debugDraw = debugDraw;
+        pipelined = renderers.stream().allMatch(PipelinedRenderer.class::isInstance);
     }
 
     // Renderer Methods
@@ -32,6 +34,21 @@ public abstract class RenderLayer {
         for (var r : renderers) r.render(g2);
     }
 
+    /**
+     * Copies the current frame out of the scene for every renderer. Only supported if
+     * {@link #isPipelined} is true.
+     */
+    public void extractFrame() {
+        for (var r : renderers) ((PipelinedRenderer) r).extractFrame();
+    }
+
+    /**
+     * Draws the frame last copied by {@link #extractFrame} for every renderer.
+     */
+    public void drawFrame() {
+        for (var r : renderers) ((PipelinedRenderer) r).drawFrame();
+    }
+
     /**
      * Clears all objects from all renderers.
      */
@@ -64,4 +81,13 @@ public abstract class RenderLayer {
         return debugDraw;
     }
 
+    /**
+     * Whether every renderer can split a frame into extracting and drawing.
+     *
+     * @return if the layer can be drawn while the scene updates
+     */
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
 }
@@ -0,0 +1,18 @@
+package mayonez.renderer;
+
+/**
+ * An object that tells the {@link mayonez.renderer.ZOrderedList} storing it when its
+ * z-index or enabled state changes, so only the changed object is re-ordered.
+ *
+ * @author SlavSquatSuperstar
+ */
+public interface RenderStateSource {
+
+    /**
+     * Sets the action to run after this object's z-index or enabled state changes.
+     *
+     * @param listener the action to run, or null to stop notifying
+     */
+    void setRenderStateListener(Runnable listener);
+
+}
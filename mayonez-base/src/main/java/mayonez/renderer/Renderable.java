@@ -26,4 +26,15 @@ public interface Renderable {
      */
     boolean isInUI();
 
+    /**
+     * Stores a box containing everything this object draws, in scene pixels (world units
+     * times the scene scale), so it can be skipped if off-screen. Defaults to unknown.
+     *
+     * @param bounds the bounds to set
+     * @return false if the bounds are unknown and the object should never be culled
+     */
+    default boolean getRenderBounds(RenderBounds bounds) {
+        return false;
+    }
+
 }
@@ -34,4 +34,12 @@ public interface SceneRenderer extends Renderer {
      */
     void removeRenderable(Renderable r);
 
+    /**
+     * Get the culler that skips off-screen objects and counts how many objects were
+     * submitted and culled last frame.
+     *
+     * @return the view culler
+     */
+    ViewCuller getViewCuller();
+
 }
@@ -0,0 +1,146 @@
+package mayonez.renderer;
+
+import mayonez.graphics.camera.*;
+
+/**
+ * Skips drawing objects that are entirely outside the camera's view and counts how
+ * many objects were submitted and culled each frame. The view is the camera's
+ * {@link Camera#getBounds() bounds}, grown to cover the camera's rotation.
+ * <p>
+ * Usage: Call {@link #setView} at the start of each frame, then check each object with
+ * {@link #isVisible}. Objects that do not report their {@link Renderable#getRenderBounds
+ * bounds} are never culled.
+ *
+ * @author SlavSquatSuperstar
+ */
+public final class ViewCuller {
+
+    // Constants
+    private static final float VIEW_MARGIN = 8f; // Extra pixels around the view, for line widths
+
+    // Culler Fields
+    private final RenderBounds viewBounds;
+    private final RenderBounds objectBounds; // Reused for each object
+    private boolean enabled;
+
+    // Frame Statistics
+    private int numSubmitted, numCulled;
+
+    public ViewCuller() {
+        viewBounds = new RenderBounds();
+        objectBounds = new RenderBounds();
+        enabled = true;
+    }
+
+    // Culling Methods
+
+    /**
+     * Set the visible area for this frame and reset the counters.
+     *
+     * @param camera     the scene camera
+     * @param sceneScale the scene scale, in pixels per world unit
+     */
+    public void setView(Camera camera, float sceneScale) {
+        numSubmitted = 0;
+        numCulled = 0;
+        if (camera == null) {
+            viewBounds.setInfinite();
+            return;
+        }
+
+        var camBounds = camera.getBounds(); // Already accounts for zoom
+        var center = camBounds.center();
+        viewBounds.setRotated(center.x * sceneScale, center.y * sceneScale,
+                camBounds.width * sceneScale + 2f * VIEW_MARGIN,
+                camBounds.height * sceneScale + 2f * VIEW_MARGIN, camera.getRotation());
+    }
+
+    /**
+     * Set the visible area for this frame directly and reset the counters.
+     *
+     * @param minX the left edge, in scene pixels
+     * @param minY the bottom edge, in scene pixels
+     * @param maxX the right edge, in scene pixels
+     * @param maxY the top edge, in scene pixels
+     */
+    public void setView(float minX, float minY, float maxX, float maxY) {
+        numSubmitted = 0;
+        numCulled = 0;
+        viewBounds.set(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Whether an object overlaps the view, and should be drawn, and count it.
+     *
+     * @param r the object
+     * @return if the object is visible or has no bounds
+     */
+    public boolean isVisible(Renderable r) {
+        if (enabled && r.getRenderBounds(objectBounds) && !viewBounds.intersects(objectBounds)) {
+            numCulled++;
+            return false;
+        }
+        numSubmitted++;
+        return true;
+    }
+
+    /**
+     * Whether a group of objects overlaps the view, and count its objects.
+     *
+     * @param bounds     the bounds around all the objects
+     * @param numObjects the number of objects in the group
+     * @return if the group is visible
+     */
+    public boolean isVisible(RenderBounds bounds, int numObjects) {
+        if (enabled && !viewBounds.intersects(bounds)) {
+            numCulled += numObjects;
+            return false;
+        }
+        numSubmitted += numObjects;
+        return true;
+    }
+
+    // Getters and Setters
+
+    /**
+     * The area that can be seen this frame, in scene pixels.
+     *
+     * @return the view bounds
+     */
+    public RenderBounds getViewBounds() {
+        return viewBounds;
+    }
+
+    /**
+     * The number of objects drawn since the view was set.
+     *
+     * @return the submitted count
+     */
+    public int getNumSubmitted() {
+        return numSubmitted;
+    }
+
+    /**
+     * The number of objects skipped for being off-screen since the view was set.
+     *
+     * @return the culled count
+     */
+    public int getNumCulled() {
+        return numCulled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether objects outside the view are skipped. If disabled, all objects are
+     * submitted.
+     *
+     * @param enabled if culling is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+}
@@ -0,0 +1,200 @@
+package mayonez.renderer;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Stores {@link mayonez.renderer.Renderable}s in buckets ordered by z-index, so a
+ * renderer can draw them in order without sorting every frame. Objects are placed
+ * into buckets when added. Objects that are a
+ * {@link RenderStateSource} are given a listener that queues only that object to be
+ * re-checked before the next draw after its z-index or enabled state changes. A live
+ * count of enabled objects is kept instead of filtering the list.
+ * <p>
+ * Temporary objects, such as debug shapes, can be added with {@link #addTemporary}
+ * and are drawn in order with the permanent objects until {@link #clearTemporary()}
+ * is called.
+ *
+ * @param <T> the type of renderable
+ * @author SlavSquatSuperstar
+ */
+public class ZOrderedList<T extends Renderable> {
+
+    // List Fields
+    private final NavigableMap<Integer, Bucket<T>> buckets;
+    private final Map<T, Entry> entries; // last known state of each object
+    private final Queue<Entry> changedEntries; // may be marked from update threads
+    private int numEnabled;
+    private int numTemporary;
+
+    public ZOrderedList() {
+        buckets = new TreeMap<>();
+        entries = new IdentityHashMap<>();
+        changedEntries = new ConcurrentLinkedQueue<>();
+        numEnabled = 0;
+        numTemporary = 0;
+    }
+
+    // Render State Methods
+
+    private void refreshChanged() {
+        Entry entry;
+        while ((entry = changedEntries.poll()) != null) {
+            entry.queued.set(false); // Queue again if changed while refreshing
+            var item = entry.item;
+            if (entries.get(item) != entry) continue; // Removed since queued
+
+            var enabled = item.isEnabled();
+            if (enabled != entry.enabled) {
+                numEnabled += enabled ? 1 : -1;
+                entry.enabled = enabled;
+            }
+            var zIndex = item.getZIndex();
+            if (zIndex != entry.zIndex) { // Move the object into its new bucket
+                buckets.get(entry.zIndex).items.remove(item);
+                entry.zIndex = zIndex;
+                getBucket(zIndex).items.add(item);
+            }
+        }
+    }
+
+    // List Methods
+
+    /**
+     * Adds a renderable to the bucket for its current z-index.
+     *
+     * @param item the renderable
+     */
+    public void add(T item) {
+        if (item == null || entries.containsKey(item)) return;
+        var entry = new Entry(item);
+        entries.put(item, entry);
+        getBucket(entry.zIndex).items.add(item);
+        if (entry.enabled) numEnabled++;
+        if (item instanceof RenderStateSource source) source.setRenderStateListener(entry::markChanged);
+    }
+
+    /**
+     * Removes a renderable from its bucket.
+     *
+     * @param item the renderable
+     * @return if the renderable was stored
+     */
+    public boolean remove(T item) {
+        var entry = entries.remove(item);
+        if (entry == null) return false;
+        if (item instanceof RenderStateSource source) source.setRenderStateListener(null);
+        buckets.get(entry.zIndex).items.remove(item);
+        if (entry.enabled) numEnabled--;
+        return true;
+    }
+
+    /**
+     * Adds a renderable that is only drawn until the next call to {@link #clearTemporary()}.
+     *
+     * @param item the renderable
+     */
+    public void addTemporary(T item) {
+        if (item == null) return;
+        getBucket(item.getZIndex()).temporary.add(item);
+        numTemporary++;
+    }
+
+    /**
+     * Removes all temporary renderables. Permanent renderables are kept.
+     */
+    public void clearTemporary() {
+        if (numTemporary == 0) return;
+        for (var bucket : buckets.values()) bucket.temporary.clear();
+        numTemporary = 0;
+    }
+
+    /**
+     * Removes all renderables.
+     */
+    public void clear() {
+        for (var item : entries.keySet()) {
+            if (item instanceof RenderStateSource source) source.setRenderStateListener(null);
+        }
+        buckets.clear();
+        entries.clear();
+        changedEntries.clear();
+        numEnabled = 0;
+        numTemporary = 0;
+    }
+
+    /**
+     * Performs an action on every enabled renderable in order of increasing z-index.
+     * Renderables with the same z-index are visited in the order they were added.
+     *
+     * @param action the action to perform
+     */
+    public void forEach(Consumer<? super T> action) {
+        refreshChanged();
+        if (numEnabled == 0 && numTemporary == 0) return;
+
+        for (var bucket : buckets.values()) {
+            var items = bucket.items;
+            for (var i = 0; i < items.size(); i++) {
+                var item = items.get(i);
+                if (item.isEnabled()) action.accept(item);
+            }
+            var temporary = bucket.temporary;
+            for (var i = 0; i < temporary.size(); i++) action.accept(temporary.get(i));
+        }
+    }
+
+    private Bucket<T> getBucket(int zIndex) {
+        return buckets.computeIfAbsent(zIndex, z -> new Bucket<>());
+    }
+
+    // Getters
+
+    /**
+     * The number of permanent renderables stored.
+     *
+     * @return the size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The number of permanent renderables that are enabled, as of the last refresh.
+     *
+     * @return the enabled count
+     */
+    public int numEnabled() {
+        refreshChanged();
+        return numEnabled;
+    }
+
+    // Helper Classes
+
+    private static class Bucket<T> {
+        private final List<T> items = new ArrayList<>();
+        private final List<T> temporary = new ArrayList<>();
+    }
+
+    private class Entry {
+        private final T item;
+        private final AtomicBoolean queued;
+        private int zIndex;
+        private boolean enabled;
+
+        private Entry(T item) {
+            this.item = item;
+            queued = new AtomicBoolean();
+            zIndex = item.getZIndex();
+            enabled = item.isEnabled();
+        }
+
+        /** Queues this object to be re-checked before the next draw. */
+        private void markChanged() {
+            if (!queued.getAndSet(true)) changedEntries.offer(this);
+        }
+    }
+
+}
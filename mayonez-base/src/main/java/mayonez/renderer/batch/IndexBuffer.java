@@ -17,12 +17,10 @@ import static org.lwjgl.opengl.GL15.*;
 class IndexBuffer {
 
     private final DrawPrimitive primitive; // TODO make fields method arguments
-    private final int maxBatchSize;
     private int eboID;
 
-    IndexBuffer(DrawPrimitive primitive, int maxBatchSize) {
+    IndexBuffer(DrawPrimitive primitive) {
         this.primitive = primitive;
-        this.maxBatchSize = maxBatchSize;
         eboID = GL_NONE;
     }
 
@@ -36,12 +34,13 @@ class IndexBuffer {
     /**
      * Load element indices and define shapes for OpenGL to draw.
      *
+     * @param numObjects the number of objects to create indices for
      * @return an index array (int buffer)
      */
-    IntBuffer getElementIndices() {
-        var numIndices = primitive.getElementCount() * maxBatchSize;
+    IntBuffer getElementIndices(int numObjects) {
+        var numIndices = primitive.getElementCount() * numObjects;
         var elements = BufferUtils.createIntBuffer(numIndices);
-        for (var i = 0; i < maxBatchSize; i++) primitive.addIndices(elements, i);
+        for (var i = 0; i < numObjects; i++) primitive.addIndices(elements, i);
         return elements.flip(); // need to flip an int buffer
     }
 
@@ -0,0 +1,275 @@
+package mayonez.renderer.batch;
+
+import mayonez.graphics.*;
+import mayonez.graphics.textures.*;
+import mayonez.math.*;
+import org.lwjgl.BufferUtils;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL31.glDrawElementsInstanced;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+
+/**
+ * Draws many sprites with the same z-index in one instanced draw call. Every sprite
+ * shares one static unit quad on the GPU, and only a {@link SpriteInstanceBuffer}
+ * with one set of attributes per sprite is uploaded each frame, instead of the four
+ * vertices a {@link RenderBatch} needs. Must be drawn with the instanced shader.
+ *
+ * @author SlavSquatSuperstar
+ */
+@UsesEngine(EngineType.GL)
+public final class InstancedSpriteBatch {
+
+    // Quad Constants
+    private static final float[] QUAD_CORNERS = {-0.5f, -0.5f, 0.5f, -0.5f, 0.5f, 0.5f, -0.5f, 0.5f};
+    private static final int[] QUAD_ELEMENTS = {0, 1, 2, 0, 2, 3};
+    private static final int QUAD_COMPONENTS = 2; // Corner (x, y) at location 0
+
+    // Batch Characteristics
+    private final int zIndex;
+    private final boolean usesGPU; // false if only building instances on the CPU
+    private int uploadBytes; // bytes sent to the GPU last upload
+
+    // Renderer Data
+    private final SpriteInstanceBuffer instances;
+    private final TextureArray textures;
+
+    // GPU Resources
+    private int vaoID;
+    private int quadVboID;
+    private int instanceVboID;
+    private int iboID;
+
+    public InstancedSpriteBatch(int maxInstances, int zIndex) {
+        this(maxInstances, zIndex, GLHelper.isGLInitialized());
+    }
+
+    /**
+     * Creates an instanced batch that may skip creating GPU resources, so instances
+     * can be built and measured without an OpenGL context.
+     *
+     * @param maxInstances the max number of sprites the batch can grow to hold
+     * @param zIndex       the z-index of all sprites in the batch
+     * @param usesGPU      whether to create and upload to GPU buffers
+     */
+    public InstancedSpriteBatch(int maxInstances, int zIndex, boolean usesGPU) {
+        this.zIndex = zIndex;
+        this.usesGPU = usesGPU;
+        uploadBytes = 0;
+        instances = new SpriteInstanceBuffer(maxInstances);
+        textures = new TextureArray(RenderBatch.MAX_TEXTURE_SLOTS);
+        vaoID = GL_NONE;
+        createBatch();
+    }
+
+    // Initialization Methods
+
+    /**
+     * Creates the shared quad and instance buffers on the GPU and sets their layouts.
+     */
+    private void createBatch() {
+        if (!usesGPU) return;
+        vaoID = glGenVertexArrays();
+        glBindVertexArray(vaoID);
+
+        // Unit quad, read once per vertex
+        quadVboID = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, quadVboID);
+        glBufferData(GL_ARRAY_BUFFER, QUAD_CORNERS, GL_STATIC_DRAW);
+        glVertexAttribPointer(0, QUAD_COMPONENTS, GL_FLOAT, false, QUAD_COMPONENTS * Float.BYTES, 0);
+        glEnableVertexAttribArray(0);
+
+        iboID = glGenBuffers();
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, iboID);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, BufferUtils.createIntBuffer(QUAD_ELEMENTS.length)
+                .put(QUAD_ELEMENTS).flip(), GL_STATIC_DRAW);
+
+        // Instance attributes, read once per sprite
+        instanceVboID = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVboID);
+        glBufferData(GL_ARRAY_BUFFER, instances.getSizeBytes(), GL_DYNAMIC_DRAW);
+        instances.setCapacityAllocated();
+
+        var ptrOffset = 0L;
+        var attributes = SpriteInstanceBuffer.ATTRIBUTES;
+        for (var i = 0; i < attributes.length; i++) {
+            var attrib = attributes[i];
+            var location = i + 1;
+            glVertexAttribPointer(location, attrib.getComponents(), attrib.getGlType(), false,
+                    SpriteInstanceBuffer.INSTANCE_BYTES, ptrOffset);
+            glEnableVertexAttribArray(location);
+            glVertexAttribDivisor(location, 1);
+            ptrOffset += attrib.getTotalBytes();
+        }
+        glBindVertexArray(GL_NONE);
+    }
+
+    // Renderer Methods
+
+    /**
+     * Empties all instances and textures from the batch and readies it for buffering.
+     */
+    public void clearInstances() {
+        instances.clear();
+        textures.clear();
+    }
+
+    /**
+     * Upload the instances pushed this frame to the GPU, resizing the instance buffer
+     * first if the batch has grown.
+     */
+    public void uploadInstances() {
+        uploadBytes = instances.getUsedBytes();
+        if (!usesGPU || isEmpty()) return;
+
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVboID);
+        if (instances.isCapacityChanged()) {
+            glBufferData(GL_ARRAY_BUFFER, instances.getSizeBytes(), GL_DYNAMIC_DRAW);
+            instances.setCapacityAllocated();
+        }
+        glBufferSubData(GL_ARRAY_BUFFER, 0, instances.getUploadData());
+    }
+
+    /**
+     * Draws every instance in the batch with one draw call. Empty batches are not drawn.
+     */
+    public void drawBatch() {
+        if (!usesGPU || isEmpty()) return;
+        glBindVertexArray(vaoID);
+        textures.bindTextures();
+        glDrawElementsInstanced(GL_TRIANGLES, QUAD_ELEMENTS.length, GL_UNSIGNED_INT, GL_NONE,
+                instances.getNumInstances());
+    }
+
+    /**
+     * Free GPU resources upon stopping the scene.
+     */
+    public void deleteBatch() {
+        clearInstances();
+        if (!usesGPU) return;
+
+        glBindBuffer(GL_ARRAY_BUFFER, GL_NONE);
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, GL_NONE);
+        glBindVertexArray(GL_NONE);
+        textures.unbindTextures();
+
+        glDeleteBuffers(quadVboID);
+        glDeleteBuffers(instanceVboID);
+        glDeleteBuffers(iboID);
+        glDeleteVertexArrays(vaoID);
+        vaoID = GL_NONE;
+    }
+
+    // Push Methods
+
+    /**
+     * Adds a texture to this batch if not present and returns its texture slot.
+     *
+     * @param tex the texture, or null if drawing a color
+     * @return the batch texture ID, 0 if color, otherwise 1-8
+     */
+    public int getTextureSlot(GLTexture tex) {
+        if (!hasTexture(tex)) textures.addTexture(tex);
+        return textures.getTextureSlot(tex);
+    }
+
+    /**
+     * Push a sprite instance to this batch.
+     *
+     * @param x         the x position of the sprite's center
+     * @param y         the y position of the sprite's center
+     * @param rotation  the counterclockwise rotation in degrees
+     * @param width     the width of the sprite
+     * @param height    the height of the sprite
+     * @param color     the sprite color
+     * @param texCoords the texture coordinates of each corner
+     * @param texID     the batch texture slot
+     */
+    public void pushInstance(
+            float x, float y, float rotation, float width, float height,
+            Color color, Vec2[] texCoords, int texID
+    ) {
+        instances.pushInstance(x, y, rotation, width, height, color, texCoords, texID);
+    }
+
+    // Getters
+
+    public int getZIndex() {
+        return zIndex;
+    }
+
+    /**
+     * Whether no sprites have been pushed to this batch since it was cleared.
+     *
+     * @return if the batch is empty
+     */
+    public boolean isEmpty() {
+        return instances.getNumInstances() == 0;
+    }
+
+    /**
+     * The number of sprites pushed to this batch since it was cleared.
+     *
+     * @return the instance count
+     */
+    public int getNumInstances() {
+        return instances.getNumInstances();
+    }
+
+    /**
+     * Copies the instance data pushed to this batch since it was cleared.
+     *
+     * @return the instance components
+     */
+    public float[] copyInstanceData() {
+        return instances.copyData();
+    }
+
+    /**
+     * The number of instance bytes sent to the GPU during the last upload.
+     *
+     * @return the upload size in bytes
+     */
+    public int getUploadBytes() {
+        return uploadBytes;
+    }
+
+    /**
+     * If the batch contains this texture (can always render colors).
+     *
+     * @param tex the texture, or null if drawing a color
+     * @return if this texture is used by the batch
+     */
+    public boolean hasTexture(GLTexture tex) {
+        return textures.containsTexture(tex);
+    }
+
+    /**
+     * If the batch has capacity for another texture.
+     *
+     * @return if there are unused texture slots
+     */
+    public boolean hasTextureRoom() {
+        return textures.hasRoom();
+    }
+
+    /**
+     * If the batch has capacity for another sprite.
+     *
+     * @return if there is room for another instance
+     */
+    public boolean hasInstanceRoom() {
+        return instances.hasRoom();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Instanced Sprite Batch (Instances: %d, Z-Index: %d)",
+                instances.getNumInstances(), zIndex);
+    }
+
+}
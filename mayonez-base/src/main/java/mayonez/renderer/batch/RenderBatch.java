@@ -5,6 +5,8 @@ import mayonez.graphics.textures.*;
 import mayonez.math.*;
 import org.joml.*;
 
+import java.util.function.*;
+
 import static org.lwjgl.opengl.GL11.*;
 
 /**
@@ -17,17 +19,22 @@ import static org.lwjgl.opengl.GL11.*;
 @UsesEngine(EngineType.GL)
 public final class RenderBatch {
 
-    // Batch Constants
-    public static final int MAX_SPRITES = 100;
-    public static final int MAX_LINES = 500;
-    public static final int MAX_TRIANGLES = 1000;
-    public static final int MAX_GLYPHS = 200;
+    // Batch Constants (batches start small and grow up to these sizes)
+    public static final int MAX_SPRITES = 10000;
+    public static final int MAX_LINES = 20000;
+    public static final int MAX_TRIANGLES = 20000;
+    public static final int MAX_GLYPHS = 10000;
     public static final int MAX_TEXTURE_SLOTS = 8;
 
     // Batch Characteristics
     private final int maxBatchObjects;
     private final DrawPrimitive primitive;
     private final int zIndex;
+    private final boolean usesGPU; // false if only building vertices on the CPU
+    private int uploadBytes; // bytes sent to the GPU last upload
+    private int numReserved; // objects that will be appended from staging batches
+    private final RenderBatch textureOwner; // batch that assigns texture slots, this unless staging
+    private int rewriteStart, rewriteEnd; // components rewritten since the last upload
 
     // Renderer Data
     private final VertexBufferArray vertices;
@@ -39,9 +46,32 @@ public final class RenderBatch {
     private final IndexBuffer ibo; // EBO/IBO for this batch
 
     public RenderBatch(int maxBatchObjects, int zIndex, DrawPrimitive primitive) {
+        this(maxBatchObjects, zIndex, primitive, GLHelper.isGLInitialized());
+    }
+
+    /**
+     * Creates a render batch that may skip creating GPU resources, so vertices can be
+     * built and measured without an OpenGL context.
+     *
+     * @param maxBatchObjects the max number of objects the batch can grow to hold
+     * @param zIndex          the z-index of all objects in the batch
+     * @param primitive       the primitive of all objects in the batch
+     * @param usesGPU         whether to create and upload to GPU buffers
+     */
+    public RenderBatch(int maxBatchObjects, int zIndex, DrawPrimitive primitive, boolean usesGPU) {
+        this(maxBatchObjects, zIndex, primitive, usesGPU, null);
+    }
+
+    private RenderBatch(int maxBatchObjects, int zIndex, DrawPrimitive primitive, boolean usesGPU,
+                        RenderBatch textureOwner) {
         this.maxBatchObjects = maxBatchObjects;
         this.zIndex = zIndex;
         this.primitive = primitive;
+        this.usesGPU = usesGPU;
+        uploadBytes = 0;
+        numReserved = 0;
+        clearRewrites();
+        this.textureOwner = (textureOwner != null) ? textureOwner : this;
 
         // Renderer Fields
         textures = new TextureArray(MAX_TEXTURE_SLOTS);
@@ -50,23 +80,37 @@ public final class RenderBatch {
         // GPU Fields
         vao = new VertexArray();
         vbo = new VertexBuffer(primitive, vertices);
-        ibo = new IndexBuffer(primitive, maxBatchObjects);
+        ibo = new IndexBuffer(primitive);
         createBatch();
     }
 
+    /**
+     * Creates a CPU-only batch that objects can push to on a worker thread before their
+     * vertices are appended to the target batch. The staging batch uses the target's
+     * texture slots, which must already be added with {@link #getTextureSlot} before
+     * objects are pushed.
+     *
+     * @param target the batch the vertices will be appended to
+     * @return the staging batch
+     */
+    public static RenderBatch createStagingBatch(RenderBatch target) {
+        return new RenderBatch(target.maxBatchObjects, target.zIndex, target.primitive, false, target);
+    }
+
     // Initialization Methods
 
     /**
      * Allocates GPU resources to this batch and generates the arrays and buffers upon starting the scene.
      */
     private void createBatch() {
-        if (!GLHelper.isGLInitialized()) return;
+        if (!usesGPU) return;
         vao.generate();
         vbo.generate();
         ibo.generate();
 
         vao.setVertexLayout(vbo);
-        vao.setElementLayout(ibo);
+        vao.setElementLayout(ibo, vertices.getObjectCapacity());
+        vertices.setCapacityAllocated();
     }
 
     // Renderer Methods
@@ -77,20 +121,124 @@ public final class RenderBatch {
     public void clearVertices() {
         vertices.clear();
         textures.clear();
+        numReserved = 0;
+        clearRewrites();
     }
 
     /**
-     * Upload all vertex data to the GPU after buffering.
+     * Pushes an object again over the vertices it pushed earlier, such as a retained
+     * object that moved, without rebuilding the rest of the batch. Only the rewritten
+     * components are sent by {@link #uploadRewrittenVertices()}.
+     *
+     * @param start        the index of the object's first vertex component
+     * @param length       the number of components the object pushed before
+     * @param pushVertices pushes the object to this batch
+     * @return if the object pushed as many components as before, or else the batch
+     * must be rebuilt
+     */
+    public boolean rewriteVertices(int start, int length, Consumer<RenderBatch> pushVertices) {
+        var size = vertices.size();
+        vertices.setSize(start);
+        pushVertices.accept(this);
+        var rewritten = vertices.size() - start;
+        vertices.setSize(size);
+        rewriteStart = Math.min(rewriteStart, start);
+        rewriteEnd = Math.max(rewriteEnd, start + length);
+        return rewritten == length;
+    }
+
+    /**
+     * Saves room for an object whose vertices will be appended later from a staging
+     * batch, so {@link #hasVertexRoom} accounts for it.
+     */
+    public void reserveObject() {
+        reserveObjects(1);
+    }
+
+    /**
+     * Saves room for several primitive objects whose vertices will be appended later
+     * from a staging batch.
+     *
+     * @param numObjects the number of objects
+     */
+    public void reserveObjects(int numObjects) {
+        numReserved += numObjects;
+    }
+
+    /**
+     * Appends all vertices pushed to a staging batch, releasing the room reserved for
+     * them.
+     *
+     * @param staging the staging batch
+     */
+    public void appendVertices(RenderBatch staging) {
+        appendVertices(staging, 0, staging.getNumComponents());
+    }
+
+    /**
+     * Appends a range of the vertex components pushed to a staging batch, releasing the
+     * room reserved for them.
+     *
+     * @param staging the staging batch
+     * @param start   the index of the first component
+     * @param length  the number of components
+     */
+    public void appendVertices(RenderBatch staging, int start, int length) {
+        vertices.push(staging.vertices, start, length);
+        var objectComponents = primitive.getVertexCount() * primitive.getTotalComponents();
+        numReserved = Math.max(numReserved - length / objectComponents, 0);
+    }
+
+    /**
+     * Upload the vertex data pushed this frame to the GPU after buffering, resizing
+     * the GPU buffers first if the batch has grown.
      */
     public void uploadVertices() {
+        clearRewrites();
+        uploadBytes = vertices.getUsedBytes();
+        if (!usesGPU || isEmpty()) return;
+
+        if (vertices.isCapacityChanged()) {
+            vbo.bind();
+            vbo.allocate();
+            vao.setElementLayout(ibo, vertices.getObjectCapacity());
+            vertices.setCapacityAllocated();
+        }
+        vbo.bind();
+        vbo.upload();
+    }
+
+    /**
+     * Uploads only the components changed by {@link #rewriteVertices} since the last
+     * upload, or the whole batch if the GPU buffers need to be resized.
+     */
+    public void uploadRewrittenVertices() {
+        if (vertices.isCapacityChanged()) {
+            uploadVertices();
+            return;
+        }
+        var start = rewriteStart;
+        var end = rewriteEnd;
+        clearRewrites();
+        uploadBytes = Math.max(end - start, 0) * Float.BYTES;
+        if (!usesGPU || start >= end) return;
+
         vbo.bind();
-        vertices.upload();
+        vbo.upload(start, end);
+    }
+
+    private void clearRewrites() {
+        rewriteStart = Integer.MAX_VALUE;
+        rewriteEnd = 0;
     }
 
     /**
-     * Sends a draw call to the GPU and draws all vertices in the batch.
+     * Sends a draw call to the GPU and draws all vertices in the batch. Empty batches
+     * are not drawn.
      */
     public void drawBatch() {
+        if (!usesGPU || isEmpty()) return;
+
         // Bind the VAO and textures
         vao.bind();
         textures.bindTextures();
@@ -105,6 +253,7 @@ public final class RenderBatch {
      */
     public void deleteBatch() {
         clearVertices();
+        if (!usesGPU) return;
 
         // Unbind everything
         vbo.unbind();
@@ -128,6 +277,7 @@ public final class RenderBatch {
      * @return the batch texture ID, 0 if color, otherwise 1-8
      */
     public int getTextureSlot(GLTexture tex) {
+        if (textureOwner != this) return textureOwner.textures.getTextureSlot(tex); // Staging batch
         if (!hasTexture(tex)) textures.addTexture(tex); // add if don't have texture
         return textures.getTextureSlot(tex);
     }
@@ -146,6 +296,37 @@ public final class RenderBatch {
         vertices.push(v.x, v.y, v.z, v.w);
     }
 
+    /**
+     * Push a vertex for a line or triangle directly from its components.
+     *
+     * @param x the x position
+     * @param y the y position
+     * @param r the normalized red value
+     * @param g the normalized green value
+     * @param b the normalized blue value
+     * @param a the normalized alpha value
+     */
+    public void pushVertex(float x, float y, float r, float g, float b, float a) {
+        vertices.pushVertex(x, y, r, g, b, a);
+    }
+
+    /**
+     * Push a vertex for a sprite directly from its components.
+     *
+     * @param x     the x position
+     * @param y     the y position
+     * @param r     the normalized red value
+     * @param g     the normalized green value
+     * @param b     the normalized blue value
+     * @param a     the normalized alpha value
+     * @param u     the texture x coordinate
+     * @param v     the texture y coordinate
+     * @param texID the batch texture slot
+     */
+    public void pushVertex(float x, float y, float r, float g, float b, float a, float u, float v, int texID) {
+        vertices.pushVertex(x, y, r, g, b, a, u, v, texID);
+    }
+
     // Getters
 
     public DrawPrimitive getPrimitive() {
@@ -156,6 +337,52 @@ public final class RenderBatch {
         return zIndex;
     }
 
+    /**
+     * Whether no objects have been pushed to this batch since it was cleared.
+     *
+     * @return if the batch is empty
+     */
+    public boolean isEmpty() {
+        return vertices.size() == 0;
+    }
+
+    /**
+     * The number of vertices pushed to this batch since it was cleared.
+     *
+     * @return the vertex count
+     */
+    public int getNumVertices() {
+        return vertices.getNumVertices();
+    }
+
+    /**
+     * The number of vertex components (floats) pushed to this batch since it was
+     * cleared.
+     *
+     * @return the component count
+     */
+    public int getNumComponents() {
+        return vertices.size();
+    }
+
+    /**
+     * Copies the vertex data pushed to this batch since it was cleared.
+     *
+     * @return the vertex components
+     */
+    public float[] copyVertexData() {
+        return vertices.copyData();
+    }
+
+    /**
+     * The number of vertex bytes sent to the GPU during the last upload.
+     *
+     * @return the upload size in bytes
+     */
+    public int getUploadBytes() {
+        return uploadBytes;
+    }
+
     /**
      * If the render batch contains this texture (can always render colors)
      *
@@ -181,14 +408,23 @@ public final class RenderBatch {
      * @return if there are still unused vertices
      */
     public boolean hasVertexRoom() {
-        return vertices.hasRoom();
+        return vertices.hasRoom(numReserved);
+    }
+
+    /**
+     * If the render batch has capacity for several more primitive objects.
+     *
+     * @param numObjects the number of objects
+     * @return if there are enough unused vertices
+     */
+    public boolean hasVertexRoom(int numObjects) {
+        return vertices.hasRoom(numReserved + numObjects - 1);
     }
 
     @Override
     public String toString() {
         return String.format("Render Batch (Type: %s, Capacity: %d/%d, Z-Index: %d)",
-                primitive, (vertices.size() / primitive.getTotalComponents()), maxBatchObjects, zIndex);
-        // TODO this seems wrong
+                primitive, (vertices.getNumVertices() / primitive.getVertexCount()), maxBatchObjects, zIndex);
     }
 
 }
@@ -0,0 +1,214 @@
+package mayonez.renderer.batch;
+
+import mayonez.graphics.*;
+import mayonez.math.*;
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+import java.util.*;
+
+/**
+ * Stores one set of attributes per sprite for an {@link InstancedSpriteBatch}, instead
+ * of four full vertices. Each instance holds its position, rotation, scale, color,
+ * texture (UV) rectangle, and texture slot, and the GPU expands the instance onto a
+ * shared unit quad. The buffer does not need an OpenGL context, so its layout can be
+ * measured in tests.
+ *
+ * @author SlavSquatSuperstar
+ */
+@UsesEngine(EngineType.GL)
+public final class SpriteInstanceBuffer {
+
+    // Layout Constants
+    /** The attributes stored for each instance, in order. */
+    public static final VertexAttribute[] ATTRIBUTES = {
+            VertexAttribute.POSITION, VertexAttribute.ROTATION, VertexAttribute.SCALE,
+            VertexAttribute.COLOR, VertexAttribute.UV_RECT, VertexAttribute.TEX_ID
+    };
+    /** The number of floats stored for each instance. */
+    public static final int INSTANCE_COMPONENTS = countComponents();
+    /** The number of bytes stored for each instance. */
+    public static final int INSTANCE_BYTES = INSTANCE_COMPONENTS * Float.BYTES;
+    private static final int INITIAL_INSTANCES = 64;
+
+    // Array Fields
+    private final int maxInstances;
+    private float[] instanceData;
+    private int numInstances;
+    private boolean capacityChanged; // If the GPU buffer needs to be resized
+    private FloatBuffer uploadData; // Direct buffer for uploading, created when needed
+
+    /**
+     * Creates an instance buffer that starts small and can grow to the given size.
+     *
+     * @param maxInstances the max number of sprites the buffer can hold
+     */
+    public SpriteInstanceBuffer(int maxInstances) {
+        this.maxInstances = maxInstances;
+        instanceData = new float[INSTANCE_COMPONENTS * Math.min(maxInstances, INITIAL_INSTANCES)];
+        numInstances = 0;
+        capacityChanged = false;
+    }
+
+    // Buffer Methods
+
+    /**
+     * Clear all instances from the buffer. The old data is left in place, since only
+     * the pushed instances are ever uploaded.
+     */
+    public void clear() {
+        numInstances = 0;
+    }
+
+    /**
+     * Push a sprite instance directly from its components.
+     *
+     * @param x        the x position of the sprite's center
+     * @param y        the y position of the sprite's center
+     * @param rotation the counterclockwise rotation in degrees
+     * @param width    the width of the sprite
+     * @param height   the height of the sprite
+     * @param r        the normalized red value
+     * @param g        the normalized green value
+     * @param b        the normalized blue value
+     * @param a        the normalized alpha value
+     * @param u0       the texture x coordinate of the bottom left corner
+     * @param v0       the texture y coordinate of the bottom left corner
+     * @param u1       the texture x coordinate of the top right corner
+     * @param v1       the texture y coordinate of the top right corner
+     * @param texID    the batch texture slot
+     */
+    public void pushInstance(
+            float x, float y, float rotation, float width, float height,
+            float r, float g, float b, float a,
+            float u0, float v0, float u1, float v1, int texID
+    ) {
+        ensureCapacity(numInstances + 1);
+        var data = instanceData;
+        var i = numInstances * INSTANCE_COMPONENTS;
+        data[i] = x;
+        data[i + 1] = y;
+        data[i + 2] = rotation;
+        data[i + 3] = width;
+        data[i + 4] = height;
+        data[i + 5] = r;
+        data[i + 6] = g;
+        data[i + 7] = b;
+        data[i + 8] = a;
+        data[i + 9] = u0;
+        data[i + 10] = v0;
+        data[i + 11] = u1;
+        data[i + 12] = v1;
+        data[i + 13] = texID;
+        numInstances++;
+    }
+
+    /**
+     * Push a sprite instance using a color and the four corner texture coordinates
+     * of its texture. Only the bottom left and top right corners are stored, so
+     * flipped textures are kept.
+     *
+     * @param x         the x position of the sprite's center
+     * @param y         the y position of the sprite's center
+     * @param rotation  the counterclockwise rotation in degrees
+     * @param width     the width of the sprite
+     * @param height    the height of the sprite
+     * @param color     the sprite color
+     * @param texCoords the texture coordinates of each corner
+     * @param texID     the batch texture slot
+     */
+    public void pushInstance(
+            float x, float y, float rotation, float width, float height,
+            Color color, Vec2[] texCoords, int texID
+    ) {
+        var min = texCoords[0];
+        var max = texCoords[2];
+        pushInstance(x, y, rotation, width, height,
+                color.getFRed(), color.getFGreen(), color.getFBlue(), color.getFAlpha(),
+                min.x, min.y, max.x, max.y, texID);
+    }
+
+    /**
+     * Copies the pushed instances into a direct buffer for uploading to the GPU.
+     *
+     * @return the used instance data
+     */
+    FloatBuffer getUploadData() {
+        if (uploadData == null || uploadData.capacity() < instanceData.length) {
+            uploadData = BufferUtils.createFloatBuffer(instanceData.length);
+        }
+        uploadData.clear();
+        uploadData.put(instanceData, 0, numInstances * INSTANCE_COMPONENTS);
+        return uploadData.flip();
+    }
+
+    private void ensureCapacity(int instances) {
+        var components = instances * INSTANCE_COMPONENTS;
+        if (components <= instanceData.length) return;
+        var newLength = Math.min(Math.max(instanceData.length * 2, components), maxInstances * INSTANCE_COMPONENTS);
+        instanceData = Arrays.copyOf(instanceData, newLength);
+        capacityChanged = true;
+    }
+
+    private static int countComponents() {
+        var components = 0;
+        for (var attrib : ATTRIBUTES) components += attrib.getComponents();
+        return components;
+    }
+
+    // Getters
+
+    /**
+     * The number of instances pushed since the buffer was cleared.
+     *
+     * @return the instance count
+     */
+    public int getNumInstances() {
+        return numInstances;
+    }
+
+    /**
+     * The number of bytes used by the instances pushed since the buffer was cleared.
+     *
+     * @return the used size in bytes
+     */
+    public int getUsedBytes() {
+        return numInstances * INSTANCE_BYTES;
+    }
+
+    /**
+     * The number of bytes the buffer can hold before growing.
+     *
+     * @return the capacity in bytes
+     */
+    public long getSizeBytes() {
+        return (long) instanceData.length * Float.BYTES;
+    }
+
+    /**
+     * Copies the instance data pushed since the buffer was cleared.
+     *
+     * @return the instance components
+     */
+    public float[] copyData() {
+        return Arrays.copyOf(instanceData, numInstances * INSTANCE_COMPONENTS);
+    }
+
+    /**
+     * If the buffer can hold another instance without exceeding its max size.
+     *
+     * @return if there is room for another sprite
+     */
+    public boolean hasRoom() {
+        return numInstances < maxInstances;
+    }
+
+    boolean isCapacityChanged() {
+        return capacityChanged;
+    }
+
+    void setCapacityAllocated() {
+        capacityChanged = false;
+    }
+
+}
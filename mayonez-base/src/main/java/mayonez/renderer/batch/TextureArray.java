@@ -26,9 +26,17 @@ class TextureArray {
     private final int[] texIDs;
     private int size; // Current number of textures
 
+    // Lookup Fields
+    private int[] slotsByTexID; // Index of each texture ID in the array
+    private int[] generationsByTexID; // When each slot was last set
+    private int generation; // Incremented on clear so stale slots are ignored
+
     TextureArray(int textureCapacity) {
         this.texIDs = new int[textureCapacity];
         size = 0;
+        slotsByTexID = new int[16];
+        generationsByTexID = new int[16];
+        generation = 1;
     }
 
     // Texture Methods
@@ -36,14 +44,26 @@ class TextureArray {
     void clear() {
         Arrays.fill(texIDs, NO_TEXTURE_ID);
         size = 0;
+        generation++;
     }
 
     void addTexture(GLTexture tex) {
         if (size < capacity()) {
-            texIDs[size++] = tex.getTexID();
+            var texID = tex.getTexID();
+            ensureLookupCapacity(texID);
+            slotsByTexID[texID] = size;
+            generationsByTexID[texID] = generation;
+            texIDs[size++] = texID;
         }
     }
 
+    private void ensureLookupCapacity(int texID) {
+        if (texID < slotsByTexID.length) return;
+        var newLength = Math.max(slotsByTexID.length * 2, texID + 1);
+        slotsByTexID = Arrays.copyOf(slotsByTexID, newLength);
+        generationsByTexID = Arrays.copyOf(generationsByTexID, newLength);
+    }
+
     boolean containsTexture(GLTexture tex) {
         if (tex == COLOR_TEXTURE) return true;
         else return indexOfTexture(tex) > -1;
@@ -55,10 +75,9 @@ class TextureArray {
     }
 
     private int indexOfTexture(GLTexture tex) {
-        for (var i = 0; i < size; i++) {
-            if (texIDs[i] == tex.getTexID()) return i;
-        }
-        return -1;
+        var texID = tex.getTexID();
+        if (texID < 0 || texID >= slotsByTexID.length) return -1;
+        return (generationsByTexID[texID] == generation) ? slotsByTexID[texID] : -1;
     }
 
     // Bind Methods
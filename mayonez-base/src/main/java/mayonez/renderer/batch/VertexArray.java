@@ -43,12 +43,13 @@ class VertexArray {
      * Attaches an index buffer to this vertex array. The IBO will be enabled
      * whenever this VAO is made active.
      *
-     * @param ibo the index buffer
+     * @param ibo        the index buffer
+     * @param numObjects the number of objects the buffer should index
      */
-    void setElementLayout(IndexBuffer ibo) {
+    void setElementLayout(IndexBuffer ibo, int numObjects) {
         this.bind();
         ibo.bind();
-        glBufferData(GL_ELEMENT_ARRAY_BUFFER, ibo.getElementIndices(), GL_STATIC_DRAW);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, ibo.getElementIndices(numObjects), GL_STATIC_DRAW);
     }
 
     /**
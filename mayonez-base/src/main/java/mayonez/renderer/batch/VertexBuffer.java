@@ -36,7 +36,7 @@ class VertexBuffer {
      * Sets the layout of vertex attributes for the active VAO.
      */
     void setVertexLayout() {
-        glBufferData(GL_ARRAY_BUFFER, vertices.getSizeBytes(), GL_DYNAMIC_DRAW);
+        allocate();
 
         var ptrOffset = 0;
         var attributes = primitive.getAttributes();
@@ -49,6 +49,31 @@ class VertexBuffer {
         }
     }
 
+    /**
+     * Resizes the buffer on the GPU to match the vertex array's current capacity.
+     * The vertex layout is kept since the buffer ID does not change.
+     */
+    void allocate() {
+        glBufferData(GL_ARRAY_BUFFER, vertices.getSizeBytes(), GL_DYNAMIC_DRAW);
+    }
+
+    /**
+     * Uploads only the vertices that were pushed this frame to the GPU.
+     */
+    void upload() {
+        glBufferSubData(GL_ARRAY_BUFFER, 0, vertices.getUploadData());
+    }
+
+    /**
+     * Uploads a range of the vertex components to the same place on the GPU.
+     *
+     * @param start the index of the first component
+     * @param end   the index after the last component
+     */
+    void upload(int start, int end) {
+        glBufferSubData(GL_ARRAY_BUFFER, (long) start * Float.BYTES, vertices.getUploadData(start, end));
+    }
+
     /**
      * Binds the buffer object to the GPU.
      */
@@ -1,15 +1,15 @@
 package mayonez.renderer.batch;
 
 import mayonez.graphics.*;
+import org.lwjgl.BufferUtils;
 
+import java.nio.FloatBuffer;
 import java.util.*;
 
-import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
-import static org.lwjgl.opengl.GL15.glBufferSubData;
-
 /**
  * Stores vertex data, such as position, color, and texture (UV) coordinates, for a
- * {@link VertexBuffer} in float format.
+ * {@link VertexBuffer} in float format. The array starts small and grows as objects
+ * are pushed, up to the batch's maximum capacity.
  *
  * @author SlavSquatSuperstar
  */
@@ -17,54 +17,200 @@ import static org.lwjgl.opengl.GL15.glBufferSubData;
 @UsesEngine(EngineType.GL)
 class VertexBufferArray {
 
+    // Constants
+    private static final int INITIAL_BATCH_OBJECTS = 64;
+
     // Primitive Fields
     private final int elementCount;
+    private final int vertexComponentCount; // Components per vertex
     private final int totalComponentCount; // Components per primitive
+    private final int maxCapacity; // Max components
 
     // Array Fields
-    private final float[] vertexData;
+    private float[] vertexData;
     private int size; // Current vertex index
+    private boolean capacityChanged; // If the GPU buffer needs to be resized
+    private FloatBuffer uploadData; // Direct buffer for uploading, created when needed
 
     VertexBufferArray(DrawPrimitive primitive, int maxBatchObjects) {
         elementCount = primitive.getElementCount();
+        vertexComponentCount = primitive.getTotalComponents();
         totalComponentCount = primitive.getVertexCount() * primitive.getTotalComponents();
+        maxCapacity = totalComponentCount * maxBatchObjects;
 
-        var capacity = totalComponentCount * maxBatchObjects;
-        vertexData = new float[capacity];
+        var initialObjects = Math.min(maxBatchObjects, INITIAL_BATCH_OBJECTS);
+        vertexData = new float[totalComponentCount * initialObjects];
         size = 0;
+        capacityChanged = false;
     }
 
     // Array Operations
 
     /**
-     * Clear all vertices from the buffer.
+     * Clear all vertices from the buffer. The old data is left in place, since only
+     * the first {@link #size()} components are ever uploaded.
      */
     void clear() {
-        Arrays.fill(vertexData, 0f);
         size = 0;
     }
 
     /**
-     * Uploads all vertices in the buffer to the GPU.
+     * Copies the pushed vertices into a direct buffer for uploading to the GPU.
+     *
+     * @return the used vertex data
+     */
+    FloatBuffer getUploadData() {
+        return getUploadData(0, size);
+    }
+
+    /**
+     * Copies a range of the pushed vertices into a direct buffer for uploading to the GPU.
+     *
+     * @param start the index of the first component
+     * @param end   the index after the last component
+     * @return the vertex data in the range
+     */
+    FloatBuffer getUploadData(int start, int end) {
+        if (uploadData == null || uploadData.capacity() < vertexData.length) {
+            uploadData = BufferUtils.createFloatBuffer(vertexData.length);
+        }
+        uploadData.clear();
+        uploadData.put(vertexData, start, end - start);
+        return uploadData.flip();
+    }
+
+    /**
+     * Moves the write position, so the next pushes overwrite the components from that
+     * index on.
+     *
+     * @param size the new number of components
+     */
+    void setSize(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Push one float to the buffer.
+     *
+     * @param f the float
+     */
+    void push(float f) {
+        ensureCapacity(size + 1);
+        vertexData[size++] = f;
+    }
+
+    /**
+     * Push two floats to the buffer.
+     *
+     * @param f1 the first float
+     * @param f2 the second float
+     */
+    void push(float f1, float f2) {
+        ensureCapacity(size + 2);
+        vertexData[size++] = f1;
+        vertexData[size++] = f2;
+    }
+
+    /**
+     * Push four floats to the buffer.
+     *
+     * @param f1 the first float
+     * @param f2 the second float
+     * @param f3 the third float
+     * @param f4 the fourth float
+     */
+    void push(float f1, float f2, float f3, float f4) {
+        ensureCapacity(size + 4);
+        vertexData[size++] = f1;
+        vertexData[size++] = f2;
+        vertexData[size++] = f3;
+        vertexData[size++] = f4;
+    }
+
+    /**
+     * Push a vertex with a position and color to the buffer.
+     */
+    void pushVertex(float x, float y, float r, float g, float b, float a) {
+        ensureCapacity(size + 6);
+        var data = vertexData;
+        var i = size;
+        data[i] = x;
+        data[i + 1] = y;
+        data[i + 2] = r;
+        data[i + 3] = g;
+        data[i + 4] = b;
+        data[i + 5] = a;
+        size = i + 6;
+    }
+
+    /**
+     * Push a vertex with a position, color, texture coordinates, and texture slot to the buffer.
      */
-    void upload() {
-        glBufferSubData(GL_ARRAY_BUFFER, 0, vertexData);
+    void pushVertex(float x, float y, float r, float g, float b, float a, float u, float v, float texID) {
+        ensureCapacity(size + 9);
+        var data = vertexData;
+        var i = size;
+        data[i] = x;
+        data[i + 1] = y;
+        data[i + 2] = r;
+        data[i + 3] = g;
+        data[i + 4] = b;
+        data[i + 5] = a;
+        data[i + 6] = u;
+        data[i + 7] = v;
+        data[i + 8] = texID;
+        size = i + 9;
     }
 
     /**
-     * Push any number of floats to the buffer.
+     * Push components copied from another array.
      *
-     * @param floats the floats
+     * @param other  the array to copy from
+     * @param start  the index of the first component to copy
+     * @param length the number of components to copy
      */
-    void push(float... floats) {
-        // TODO check for over capacity?
-        for (var f : floats) vertexData[size++] = f;
+    void push(VertexBufferArray other, int start, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(other.vertexData, start, vertexData, size, length);
+        size += length;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= vertexData.length) return;
+        var newCapacity = Math.max(vertexData.length * 2, minCapacity);
+        newCapacity = ceilToPrimitive(newCapacity);
+        vertexData = Arrays.copyOf(vertexData, Math.min(newCapacity, maxCapacity));
+        capacityChanged = true;
+    }
+
+    private int ceilToPrimitive(int components) {
+        return ((components + totalComponentCount - 1) / totalComponentCount) * totalComponentCount;
     }
 
     // Array Getters
 
     boolean hasRoom() {
-        return size < vertexData.length;
+        return size < maxCapacity;
+    }
+
+    /**
+     * Whether there is room for another object after the given number of objects
+     * are pushed.
+     *
+     * @param reservedObjects objects that will be pushed later
+     * @return if there is room
+     */
+    boolean hasRoom(int reservedObjects) {
+        return size + (long) reservedObjects * totalComponentCount < maxCapacity;
+    }
+
+    /**
+     * Copies the components pushed so far.
+     *
+     * @return the used vertex data
+     */
+    float[] copyData() {
+        return Arrays.copyOf(vertexData, size);
     }
 
     /**
@@ -76,6 +222,15 @@ class VertexBufferArray {
         return size;
     }
 
+    /**
+     * The number of bytes that will be uploaded for the pushed vertices.
+     *
+     * @return the used size in bytes
+     */
+    int getUsedBytes() {
+        return size * Float.BYTES;
+    }
+
     /**
      * Get the size of the vertex buffer in bytes.
      *
@@ -85,6 +240,28 @@ class VertexBufferArray {
         return (long) vertexData.length * Float.BYTES;
     }
 
+    /**
+     * The number of objects the array can currently hold before growing.
+     *
+     * @return the current object capacity
+     */
+    int getObjectCapacity() {
+        return vertexData.length / totalComponentCount;
+    }
+
+    /**
+     * Whether the array has grown since the GPU buffers were last allocated.
+     *
+     * @return if the capacity changed
+     */
+    boolean isCapacityChanged() {
+        return capacityChanged;
+    }
+
+    void setCapacityAllocated() {
+        capacityChanged = false;
+    }
+
     /**
      * Get the number of indices to draw.
      *
@@ -94,4 +271,13 @@ class VertexBufferArray {
         return (size * elementCount) / totalComponentCount;
     }
 
+    /**
+     * Get the number of vertices pushed to the array.
+     *
+     * @return the number of vertices
+     */
+    int getNumVertices() {
+        return size / vertexComponentCount;
+    }
+
 }
@@ -40,6 +40,16 @@ public interface GLRenderable extends Renderable {
      */
     DrawPrimitive getPrimitive();
 
+    /**
+     * How many primitives this object pushes in {@link #pushToBatch}, such as an outline
+     * drawn as many triangles. Defaults to 1.
+     *
+     * @return the number of primitives
+     */
+    default int getNumPrimitives() {
+        return 1;
+    }
+
     /**
      * What texture this object should be drawn with. Defaults to null (draw color only).
      *
@@ -49,4 +59,59 @@ public interface GLRenderable extends Renderable {
         return null;
     }
 
+    /**
+     * Whether {@link #pushToBatch} only reads shared state, so this object can be
+     * pushed on a worker thread while other objects are pushed. Objects that reuse one
+     * instance for many elements should return false. Defaults to false.
+     *
+     * @return if this object can be pushed in parallel
+     */
+    default boolean isParallelSafe() {
+        return false;
+    }
+
+    // Retained Geometry Methods
+
+    /**
+     * Whether this object's vertices are expected to stay the same between frames, so
+     * the renderer can keep them in a retained batch instead of pushing them every
+     * frame. Defaults to false.
+     *
+     * @return if this object is static
+     */
+    default boolean isStatic() {
+        return false;
+    }
+
+    /**
+     * Whether the vertices this object would push differ from the ones it last pushed.
+     * Only checked for static objects. Defaults to true.
+     *
+     * @return if this object needs to be pushed again
+     */
+    default boolean isRenderStateChanged() {
+        return true;
+    }
+
+    // Instanced Rendering Methods
+
+    /**
+     * Whether this object is a plain sprite that can be drawn as one instance of a
+     * shared quad in an {@link InstancedSpriteBatch} instead of pushing four vertices.
+     * Defaults to false.
+     *
+     * @return if this object can be instanced
+     */
+    default boolean isInstanced() {
+        return false;
+    }
+
+    /**
+     * Push this object as a sprite instance. Only called if {@link #isInstanced} is true.
+     *
+     * @param batch the instanced batch drawing this object
+     */
+    default void pushToInstanceBatch(InstancedSpriteBatch batch) {
+    }
+
 }
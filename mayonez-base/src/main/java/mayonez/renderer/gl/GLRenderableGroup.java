@@ -0,0 +1,26 @@
+package mayonez.renderer.gl;
+
+import mayonez.graphics.*;
+import mayonez.renderer.*;
+
+import java.util.function.*;
+
+/**
+ * A collection of many small objects that are drawn using the GL engine, but are not
+ * stored as individual {@link GLRenderable}s. The group may reuse the same renderable
+ * instance for each element, so the renderer must push each element before moving on
+ * to the next.
+ *
+ * @author SlavSquatSuperstar
+ */
+@UsesEngine(EngineType.GL)
+public interface GLRenderableGroup extends Renderable {
+
+    /**
+     * Perform an action on every element in this group that should be drawn.
+     *
+     * @param action the action to perform
+     */
+    void forEachRenderable(Consumer<? super GLRenderable> action);
+
+}
@@ -24,6 +24,7 @@ module mayonez.base {
     // Base Application
     exports mayonez;
     exports mayonez.config;
+    exports mayonez.ecs;
     exports mayonez.event;
     exports mayonez.input;
 
@@ -0,0 +1,40 @@
+package mayonez
+
+/**
+ * What the [Logger] does when messages are logged faster than they can be
+ * written and its buffer fills up. Warnings and errors are never dropped and
+ * always wait for space, whatever the policy.
+ *
+ * @author SlavSquatSuperstar
+ */
+enum class LogOverflowPolicy {
+
+    /** Wait until the log writer frees up space. No messages are lost, but the game may stall. */
+    BLOCK,
+
+    /** Discard the message. The log notes how many messages were dropped. */
+    DROP,
+
+    /** Keep one of every few messages and discard the rest, so bursts still leave a trace. */
+    SAMPLE;
+
+    override fun toString(): String = name.lowercase()
+
+    companion object {
+        /** The names of all the policies, as written in the preferences. */
+        @JvmStatic
+        val names: Set<String> = entries.map { it.toString() }.toSet()
+
+        /**
+         * Gets the policy with the given name, ignoring case.
+         *
+         * @param name the policy name
+         * @return the policy, or [BLOCK] if there is none with that name
+         */
+        @JvmStatic
+        fun fromName(name: String): LogOverflowPolicy {
+            return entries.firstOrNull { it.name.equals(name, ignoreCase = true) } ?: BLOCK
+        }
+    }
+
+}
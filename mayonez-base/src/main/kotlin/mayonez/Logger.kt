@@ -2,9 +2,16 @@ package mayonez
 
 import mayonez.assets.text.*
 import mayonez.config.*
-import java.io.File
+import mayonez.util.*
+import java.io.*
+import java.nio.charset.StandardCharsets
 import java.time.LocalDate
+import java.time.temporal.TemporalAccessor
 import java.util.*
+import java.util.concurrent.atomic.*
+import java.util.concurrent.locks.LockSupport
+import java.util.function.Supplier
+import kotlin.math.min
 
 /**
  * Prints messages to the console that can be formatted and assigned a
@@ -19,45 +26,103 @@ import java.util.*
  * The log level controls which messages are visible to the console. For example, a log level
  * of 3 ([LogLevel.WARNING]) indicates only messages with severity `WARNING` or above will be
  * printed. Setting a priority to 0 ([LogLevel.ALL]) or 5 ([LogLevel.NONE]) will also allow
- * all or none of the message to be displayed. All messages will be written to the output file
- * regardless of priority. The default log level is also 2 (`INFO` or above), and is also
- * changeable in the preferences. The See [LogLevel] for more information.
+ * all or none of the message to be displayed. The file log level works the same way for the
+ * output file. Both levels default to 2 (`INFO` or above) and are changeable in the preferences.
+ * To save every message to the log file, including debug messages, set `file_log_level` to 0.
+ * See [LogLevel] for more information.
+ *
+ * Messages below both levels are discarded before any work is done. In hot loops, prefer
+ * passing format arguments or a [Supplier] over building the message string, so suppressed
+ * messages cost almost nothing. The class that logged each message is only looked up and
+ * printed if `log_caller` is enabled in the preferences.
+ *
+ * Logging a message only records it in a ring buffer. A background writer thread formats
+ * the messages and writes them to the console and the log file, so the calling thread never
+ * waits on I/O. Arguments that may change after logging are converted to strings right away.
+ * If the buffer fills up, the [LogOverflowPolicy] in the preferences decides whether to wait,
+ * drop, or sample messages. Call [Logger.flush] to wait until all logged messages are written.
  *
  * @author SlavSquatSuperstar
  */
 object Logger {
 
-    private const val STACK_TRACE_INDEX = 5 // number of times to jump up stack trace
+    private const val MAX_CALLER_DEPTH = 8L // how many stack frames to search for the caller
+    private const val BUFFER_CAPACITY = 8192 // most messages waiting to be written
+    private const val SAMPLE_INTERVAL = 16 // keep 1 of every 16 overflowing messages
+    private const val BLOCK_WAIT_NANOS = 50_000L // how long to wait for space in the buffer
+    private const val FLUSH_TIMEOUT_NANOS = 1_000_000_000L
+    private val NO_ARGS: Array<Any?> = emptyArray()
 
     // Logger Config
+    @Volatile
     private var initialized: Boolean = false
+
+    @Volatile
     private var config: LoggerConfig = LoggerConfig.DEFAULT_CONFIG
 
+    @Volatile
+    private var minLevel: Int = LoggerConfig.DEFAULT_CONFIG.getMinLevel() // lowest level to console or file
+    private val stackWalker: StackWalker = StackWalker.getInstance()
+
+    // Log Buffer
+    private val buffer: RingBuffer<LogRecord> = RingBuffer(BUFFER_CAPACITY)
+    private val overflowedMessages: AtomicLong = AtomicLong()
+    private val droppedMessages: AtomicLong = AtomicLong()
+
+    // Log Writer
+    private val writer: Thread = Thread(::writeMessages, "Logger Writer")
+
+    @Volatile
+    private var writerIdle: Boolean = false
+    private val flushRequests: AtomicLong = AtomicLong()
+
+    @Volatile
+    private var completedFlushes: Long = 0L
+
     // Log File Output
-    private lateinit var logFile: TextFile
+    @Volatile
+    private var logFile: Writer? = null
     private val printQueue: Queue<String> = LinkedList() // Save log messages in case log file isn't created
 
+    init {
+        writer.isDaemon = true
+        writer.start()
+        Runtime.getRuntime().addShutdownHook(Thread(::flush, "Logger Shutdown"))
+    }
+
     // Logger Init Methods
 
     internal fun setConfig(config: LoggerConfig) {
         if (!initialized) {
-            Logger.config = config
+            applyConfig(config)
             debug("The log level has been set to ${config.logLevel}")
             createLogFile()
             initialized = true
         }
     }
 
+    /** Uses the config's levels and options without creating a log file. Also used by unit tests. */
+    internal fun applyConfig(config: LoggerConfig) {
+        Logger.config = config
+        minLevel = config.getMinLevel()
+    }
+
     private fun createLogFile() {
-        if (this::logFile.isInitialized) return
+        if (logFile != null) return
         if (config.saveLogs) {
-            logFile = TextFile(getLogFilename())
-            while (printQueue.isNotEmpty()) {
-                logFile.append(printQueue.poll()) // log everything in print queue
+            try {
+                val stream = TextFile(getLogFilename()).openOutputStream(true)
+                logFile = BufferedWriter(OutputStreamWriter(stream, StandardCharsets.UTF_8))
+            } catch (e: IOException) {
+                warn("Could not create log file: %s", e.message)
             }
         }
     }
 
+    private fun LoggerConfig.getMinLevel(): Int {
+        return if (saveLogs) min(logLevel, fileLogLevel) else logLevel
+    }
+
     private fun getLogFilename(): String {
         val logDirectory = File(config.logDirectory)
         if (!logDirectory.exists()) logDirectory.mkdir()
@@ -73,28 +138,107 @@ object Logger {
     // Private Log Methods
 
     /**
-     * Formats a message and adds a timestamp, and prints it to the console if
-     * the priority is over the log levels. If log output files are enabled, then
-     * the message will also be saved to a log file.
+     * Records a message and its timestamp and source, and passes it to the writer
+     * thread. If the buffer is full, the message is handled according to the
+     * overflow policy. The level must already be checked with [isLoggable].
      *
      * @param msg the message as a Java format string
-     * @param args (optional) the format arguments
+     * @param args the format arguments
      * @param level the log priority level
      */
-    private fun printFormattedMessage(msg: Any?, vararg args: Any?, level: LogLevel) {
-        val message = msg.formatMessage(args, level)
-        if (level.level >= config.logLevel) message.printToConsole(level)
-        if (config.saveLogs) message.appendToFile()
+    private fun enqueueMessage(msg: Any?, args: Array<out Any?>, level: LogLevel) {
+        val record = LogRecord(
+            Time.getTotalProgramSeconds(), level,
+            if (config.captureCaller) getStackSource() else null,
+            msg.toString(), args.toFormattableArgs()
+        )
+        if (buffer.offer(record)) {
+            wakeWriter()
+            return
+        }
+
+        val policy = if (level >= LogLevel.WARNING) LogOverflowPolicy.BLOCK else config.overflowPolicy
+        when (policy) {
+            LogOverflowPolicy.BLOCK -> offerWhenFree(record)
+            LogOverflowPolicy.DROP -> droppedMessages.incrementAndGet()
+            LogOverflowPolicy.SAMPLE -> {
+                if (overflowedMessages.getAndIncrement() % SAMPLE_INTERVAL == 0L) offerWhenFree(record)
+                else droppedMessages.incrementAndGet()
+            }
+        }
+    }
+
+    private fun offerWhenFree(record: LogRecord) {
+        while (!buffer.offer(record)) {
+            LockSupport.unpark(writer)
+            LockSupport.parkNanos(BLOCK_WAIT_NANOS)
+        }
+        wakeWriter()
+    }
+
+    private fun wakeWriter() {
+        if (writerIdle) LockSupport.unpark(writer)
+    }
+
+    /** Converts any arguments that could be modified before the writer formats them. */
+    private fun Array<out Any?>.toFormattableArgs(): Array<out Any?> {
+        if (this.all { it.isImmutable() }) return this
+        return Array(size) { i -> this[i].let { if (it.isImmutable()) it else it.toString() } }
     }
 
-    private fun Any?.formatMessage(args: Array<out Any?>, level: LogLevel): String {
-        val fmt = StringBuilder("[${Time.getTotalProgramSeconds().toFmtString()}] ") // Timestamp
+    private fun Any?.isImmutable(): Boolean {
+        return this == null || this is String || this is Number || this is Boolean
+                || this is Char || this is Enum<*> || this is TemporalAccessor
+    }
+
+    // Writer Thread Methods
+
+    /** Writes all buffered messages, then waits until more are logged or a flush is requested. */
+    private fun writeMessages() {
+        while (true) {
+            val requestedFlushes = flushRequests.get()
+            while (true) {
+                val record = buffer.poll() ?: break
+                writeRecord(record)
+            }
+
+            val dropped = droppedMessages.getAndSet(0)
+            if (dropped > 0) {
+                writeRecord(
+                    LogRecord(
+                        Time.getTotalProgramSeconds(), LogLevel.WARNING, javaClass.name,
+                        "Dropped %d log messages while the buffer was full", arrayOf(dropped)
+                    )
+                )
+            }
+            flushLogFile()
+            completedFlushes = requestedFlushes
+
+            writerIdle = true
+            if (buffer.isEmpty() && flushRequests.get() == requestedFlushes) LockSupport.park(this)
+            writerIdle = false
+        }
+    }
+
+    private fun writeRecord(record: LogRecord) {
+        val currentConfig = config
+        val toConsole = record.level.level >= currentConfig.logLevel
+        val toFile = currentConfig.saveLogs && record.level.level >= currentConfig.fileLogLevel
+        if (!toConsole && !toFile) return
+
+        val message = record.formatMessage()
+        if (toConsole) message.printToConsole(record.level)
+        if (toFile) message.appendToFile()
+    }
+
+    private fun LogRecord.formatMessage(): String {
+        val fmt = StringBuilder("[${time.toFmtString()}] ") // Timestamp
         fmt.append("[${level.name}] ") // Log level
-        fmt.append("[${getStackSource()}] ") // Log source
+        if (source != null) fmt.append("[$source] ") // Log source
         try {
-            fmt.append(this.toString().format(*args)) // Level prefix
+            fmt.append(message.format(*args)) // Level prefix
         } catch (e: IllegalFormatException) {
-            fmt.append("Logger: Could not format message \"$this\"")
+            fmt.append("Logger: Could not format message \"$message\"")
         }
         return fmt.toString()
     }
@@ -111,12 +255,44 @@ object Logger {
     }
 
     private fun String.appendToFile() {
-        if (initialized) logFile.append(this) // has log file been created
-        else printQueue.offer(this) // save to buffer
+        val wasInitialized = initialized // check before the log file so a new file isn't missed
+        val file = logFile
+        if (file == null) {
+            if (!wasInitialized) printQueue.offer(this) // save to buffer
+            else printQueue.clear() // log file was never created
+            return
+        }
+
+        try {
+            while (printQueue.isNotEmpty()) file.appendLine(printQueue.poll()) // log everything in print queue
+            file.appendLine(this)
+        } catch (e: IOException) {
+            System.err.println("Logger: Could not write to log file (${e.message})")
+            logFile = null
+        }
+    }
+
+    private fun flushLogFile() {
+        try {
+            logFile?.flush()
+        } catch (e: IOException) {
+            System.err.println("Logger: Could not write to log file (${e.message})")
+            logFile = null
+        }
     }
 
     // Public Log Methods
 
+    /**
+     * Whether messages with the given priority will be printed to the console or
+     * saved to the log file. Messages that are not loggable are discarded right away.
+     *
+     * @param level the log priority level
+     * @return if the message will be logged
+     */
+    @JvmStatic
+    fun isLoggable(level: LogLevel): Boolean = level.level >= minLevel
+
     /**
      * Prints a normal-priority informational message to the console.
      *
@@ -124,7 +300,43 @@ object Logger {
      * @param args (optional) string format arguments
      */
     @JvmStatic
-    fun log(msg: Any?, vararg args: Any?) = printFormattedMessage(msg, *args, level = LogLevel.INFO)
+    fun log(msg: Any?, vararg args: Any?) {
+        if (isLoggable(LogLevel.INFO)) enqueueMessage(msg, args, LogLevel.INFO)
+    }
+
+    /**
+     * Prints a normal-priority informational message with one format argument.
+     *
+     * @param msg a formatted string
+     * @param arg the string format argument
+     */
+    @JvmStatic
+    fun log(msg: String, arg: Any?) {
+        if (isLoggable(LogLevel.INFO)) enqueueMessage(msg, arrayOf(arg), LogLevel.INFO)
+    }
+
+    /**
+     * Prints a normal-priority informational message with two format arguments.
+     *
+     * @param msg a formatted string
+     * @param arg1 the first string format argument
+     * @param arg2 the second string format argument
+     */
+    @JvmStatic
+    fun log(msg: String, arg1: Any?, arg2: Any?) {
+        if (isLoggable(LogLevel.INFO)) enqueueMessage(msg, arrayOf(arg1, arg2), LogLevel.INFO)
+    }
+
+    /**
+     * Prints a normal-priority informational message that is only created if it
+     * will be logged.
+     *
+     * @param msg creates the message
+     */
+    @JvmStatic
+    fun log(msg: Supplier<*>) {
+        if (isLoggable(LogLevel.INFO)) enqueueMessage(msg.get(), NO_ARGS, LogLevel.INFO)
+    }
 
     /**
      * Prints a low-priority debug message to the console.
@@ -133,7 +345,42 @@ object Logger {
      * @param args (optional) string format arguments
      */
     @JvmStatic
-    fun debug(msg: Any?, vararg args: Any?) = printFormattedMessage(msg, *args, level = LogLevel.DEBUG)
+    fun debug(msg: Any?, vararg args: Any?) {
+        if (isLoggable(LogLevel.DEBUG)) enqueueMessage(msg, args, LogLevel.DEBUG)
+    }
+
+    /**
+     * Prints a low-priority debug message with one format argument.
+     *
+     * @param msg a formatted string
+     * @param arg the string format argument
+     */
+    @JvmStatic
+    fun debug(msg: String, arg: Any?) {
+        if (isLoggable(LogLevel.DEBUG)) enqueueMessage(msg, arrayOf(arg), LogLevel.DEBUG)
+    }
+
+    /**
+     * Prints a low-priority debug message with two format arguments.
+     *
+     * @param msg a formatted string
+     * @param arg1 the first string format argument
+     * @param arg2 the second string format argument
+     */
+    @JvmStatic
+    fun debug(msg: String, arg1: Any?, arg2: Any?) {
+        if (isLoggable(LogLevel.DEBUG)) enqueueMessage(msg, arrayOf(arg1, arg2), LogLevel.DEBUG)
+    }
+
+    /**
+     * Prints a low-priority debug message that is only created if it will be logged.
+     *
+     * @param msg creates the message
+     */
+    @JvmStatic
+    fun debug(msg: Supplier<*>) {
+        if (isLoggable(LogLevel.DEBUG)) enqueueMessage(msg.get(), NO_ARGS, LogLevel.DEBUG)
+    }
 
     /**
      * Prints a high-priority warning to the console.
@@ -142,7 +389,19 @@ object Logger {
      * @param args (optional) string format arguments
      */
     @JvmStatic
-    fun warn(msg: Any?, vararg args: Any?) = printFormattedMessage(msg, *args, level = LogLevel.WARNING)
+    fun warn(msg: Any?, vararg args: Any?) {
+        if (isLoggable(LogLevel.WARNING)) enqueueMessage(msg, args, LogLevel.WARNING)
+    }
+
+    /**
+     * Prints a high-priority warning that is only created if it will be logged.
+     *
+     * @param msg creates the message
+     */
+    @JvmStatic
+    fun warn(msg: Supplier<*>) {
+        if (isLoggable(LogLevel.WARNING)) enqueueMessage(msg.get(), NO_ARGS, LogLevel.WARNING)
+    }
 
     /**
      * Prints a severe-priority error to the console.
@@ -151,17 +410,52 @@ object Logger {
      * @param args (optional) string format arguments
      */
     @JvmStatic
-    fun error(msg: Any?, vararg args: Any?) = printFormattedMessage(msg, *args, level = LogLevel.ERROR)
+    fun error(msg: Any?, vararg args: Any?) {
+        if (isLoggable(LogLevel.ERROR)) enqueueMessage(msg, args, LogLevel.ERROR)
+    }
+
+    /**
+     * Prints a severe-priority error that is only created if it will be logged.
+     *
+     * @param msg creates the message
+     */
+    @JvmStatic
+    fun error(msg: Supplier<*>) {
+        if (isLoggable(LogLevel.ERROR)) enqueueMessage(msg.get(), NO_ARGS, LogLevel.ERROR)
+    }
+
+    /**
+     * Waits until every message logged so far has been written to the console and
+     * log file, or until one second has passed. Called automatically when the
+     * program exits.
+     */
+    @JvmStatic
+    fun flush() {
+        if (Thread.currentThread() == writer) return
+        val target = flushRequests.incrementAndGet()
+        LockSupport.unpark(writer)
+
+        val deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS
+        while (completedFlushes < target && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BLOCK_WAIT_NANOS)
+        }
+    }
 
     // Stack Helper Methods
 
     /**
-     * Returns the source class that called a log() function.
+     * Returns the source class that called a log() function, searching only the
+     * top few frames of the stack.
      *
      * Source: Azurite util.Log.source()
      */
-    private fun getStackSource(): String {
-        return Thread.currentThread().stackTrace[STACK_TRACE_INDEX].className
+    private fun getStackSource(): String? {
+        return stackWalker.walk { frames ->
+            frames.limit(MAX_CALLER_DEPTH)
+                .map { it.className }
+                .filter { it != javaClass.name }
+                .findFirst().orElse(null)
+        }
     }
 
     /**
@@ -178,7 +472,17 @@ object Logger {
     fun printStackTrace(throwable: Throwable) = error(getStackTrace(throwable))
 
     override fun toString(): String {
-        return "Logger (Save Logs = ${config.saveLogs}, Log Level = ${config.logLevel})"
+        return "Logger (Save Logs = ${config.saveLogs}, Log Level = ${config.logLevel}, " +
+                "File Log Level = ${config.fileLogLevel}, Overflow = ${config.overflowPolicy})"
     }
 
-}
\ No newline at end of file
+    /** A logged message waiting to be formatted by the writer thread. */
+    private class LogRecord(
+        val time: Float,
+        val level: LogLevel,
+        val source: String?,
+        val message: String,
+        val args: Array<out Any?>
+    )
+
+}
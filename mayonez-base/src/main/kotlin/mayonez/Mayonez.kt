@@ -1,9 +1,11 @@
 package mayonez
 
 import mayonez.assets.*
+import mayonez.assets.image.*
 import mayonez.config.*
 import mayonez.engine.*
 import mayonez.input.*
+import java.nio.file.Path
 import kotlin.system.exitProcess
 
 /**
@@ -43,6 +45,15 @@ object Mayonez {
     internal val useGL: Boolean
         @JvmName("getUseGL") get() = config.useGL
 
+    /**
+     * Feeds input to the game instead of the keyboard and mouse when running
+     * in headless mode.
+     */
+    @JvmStatic
+    internal var inputScript: InputScript? = null
+        @JvmName("getInputScript") get
+        @JvmName("setInputScript") set
+
     // Time Properties
     // TODO move to time
 
@@ -81,6 +92,7 @@ object Mayonez {
     internal fun setConfig(config: RunConfig) {
         if (!initialized) {
             this.config = config
+            if (config.headless) System.setProperty("java.awt.headless", "true")
             initializeSingletons()
             initializeGame(useGL)
             initialized = true
@@ -105,6 +117,14 @@ object Mayonez {
         // Create logger instance
         Logger.setConfig(Preferences.getLoggerConfig())
         Logger.log("Started ${Preferences.title} ${Preferences.version}")
+
+        // Limit asset memory
+        Assets.memoryBudget = Preferences.assetBudgetMB * 1024L * 1024L
+
+        // Enable decoded image cache
+        if (Preferences.cacheImages) {
+            DecodedImageCache.setDefault(DecodedImageCache(Path.of(Preferences.imageCacheDirectory)))
+        }
     }
 
     /**
@@ -112,13 +132,23 @@ object Mayonez {
      */
     private fun initializeGame(useGL: Boolean) {
         if (!this::game.isInitialized) {
-            // Create input instances
-            KeyInput.setUseGL(useGL)
-            MouseInput.setUseGL(useGL)
-
-            // Create game engine instances
-            game = EngineFactory.createGameEngine(useGL)
-            Logger.debug("Using \"%s\" engine", if (useGL) "GL" else "AWT")
+            if (config.headless) {
+                // Read input from script and skip the window
+                KeyInput.setScripted()
+                MouseInput.setScripted()
+                game = EngineFactory.createHeadlessGameEngine(
+                    config.maxUpdates, config.throttled, config.renderOffscreen
+                )
+                Logger.debug("Using \"Headless\" engine")
+            } else {
+                // Create input instances
+                KeyInput.setUseGL(useGL)
+                MouseInput.setUseGL(useGL)
+
+                // Create game engine instances
+                game = EngineFactory.createGameEngine(useGL)
+                Logger.debug("Using \"%s\" engine", if (useGL) "GL" else "AWT")
+            }
 
             // Load assets
             // TODO handle from scene manager
@@ -153,13 +183,15 @@ object Mayonez {
 
     /**
      * Stop the game with an exit code and terminate the application. See
-     * [ExitCode] for reserved codes.
+     * [ExitCode] for reserved codes. If called while the scene is updating on
+     * the update thread, the game stops once the update finishes.
      *
      * @param status an exit code (zero for success, non-zero for error)
      */
     @JvmStatic
     fun stop(status: Int) {
         if (started) {
+            if (this::game.isInitialized && game.queueStopFromUpdate(status)) return
             started = false
             SceneManager.stopScene()
             SceneManager.clearScenes()
@@ -27,11 +27,13 @@ object Preferences : GameConfig(PREFS_FILENAME, Defaults.preferences) {
 
     private fun getRules(): Array<PreferenceValidator<*>> {
         return arrayOf(
-            StringValidator("title", "version", "log_directory"),
-            BooleanValidator("save_logs", "frame_skip"),
+            StringValidator("title", "version", "log_directory", "image_cache_directory"),
+            BooleanValidator("save_logs", "frame_skip", "pipelined_render", "cache_images", "log_caller"),
             IntValidator(240, 3840, "screen_height", "screen_width"),
             IntValidator(10, 250, "fps"),
-            IntValidator(0, 5, "log_level")
+            IntValidator(0, 5, "log_level", "file_log_level"),
+            IntValidator(16, 65536, "asset_budget_mb"),
+            OptionValidator(LogOverflowPolicy.names, "log_overflow")
         )
     }
 
@@ -67,12 +69,47 @@ object Preferences : GameConfig(PREFS_FILENAME, Defaults.preferences) {
     val frameSkip: Boolean
         get() = getBoolean("frame_skip")
 
+    /**
+     * Update the next frame on a worker thread while the last frame is drawn
+     * (GL only), rather than updating and drawing one after the other. The
+     * drawn frame lags one update behind the scene, and scripts must not make
+     * GL calls while updating.
+     */
+    @JvmStatic
+    val pipelinedRender: Boolean
+        get() = getBoolean("pipelined_render")
+
+    // Assets
+
+    /**
+     * Save decoded GL images to [imageCacheDirectory], so later runs can read the
+     * pixels without decoding the image files again.
+     */
+    @JvmStatic
+    val cacheImages: Boolean
+        get() = getBoolean("cache_images")
+
+    @JvmStatic
+    val imageCacheDirectory: String
+        get() = getString("image_cache_directory")
+
+    /**
+     * How many megabytes of assets may stay loaded before assets no longer
+     * used by any scene are freed.
+     */
+    @JvmStatic
+    val assetBudgetMB: Int
+        get() = getInt("asset_budget_mb")
+
     // Logging
     internal fun getLoggerConfig(): LoggerConfig {
         return LoggerConfig(
             getBoolean("save_logs"),
             getInt("log_level"),
-            getString("log_directory")
+            getInt("file_log_level"),
+            getString("log_directory"),
+            LogOverflowPolicy.fromName(getString("log_overflow")),
+            getBoolean("log_caller")
         )
     }
 
@@ -1,5 +1,6 @@
 package mayonez
 
+import mayonez.assets.*
 import mayonez.config.*
 import mayonez.input.*
 import java.awt.Graphics2D
@@ -32,19 +33,102 @@ object SceneManager {
     private val startedFirstScene: Boolean
         get() = this::currentScene.isInitialized
 
+    // Preload Fields
+
+    private val preloads: MutableList<ScenePreload> = ArrayList() // Unfinished preloads
+
+    /**
+     * How many milliseconds per frame the game thread may spend finishing
+     * preloaded assets, 2 ms by default.
+     */
+    @JvmStatic
+    var preloadBudgetMillis: Float = 2f
+
+    // Pipeline Fields
+
+    private var updatingOffThread: Boolean = false // If scene changes must wait for the main thread
+    private val deferredChanges: MutableList<Runnable> = ArrayList()
+
     // Game Loop Methods
     @JvmStatic
     @JvmName("updateScene")
     internal fun updateScene(dt: Float) {
+        uploadPreloadedAssets()
         currentScene.update(dt)
     }
 
+    /**
+     * Sends any preloaded assets within the frame budget to the GPU. Must be
+     * called on the thread that owns the GL context.
+     */
+    @JvmStatic
+    @JvmName("uploadPreloadedAssets")
+    internal fun uploadPreloadedAssets() {
+        if (preloads.isEmpty()) return
+        val preload = preloads.first() // Finish one scene at a time
+        preload.uploadAssets((preloadBudgetMillis * 1e6f).toLong())
+        if (preload.isDone) preloads.remove(preload)
+    }
+
+    /**
+     * Updates the current scene on a thread other than the main thread. Any
+     * scene switches requested during the update are queued until
+     * [applyDeferredChanges] is called, since starting and stopping scenes
+     * may create or free GPU resources.
+     */
+    @JvmStatic
+    @JvmName("updateSceneOffThread")
+    internal fun updateSceneOffThread(dt: Float) {
+        updatingOffThread = true
+        try {
+            currentScene.update(dt)
+        } finally {
+            updatingOffThread = false
+        }
+    }
+
+    /** Performs the scene switches queued during the last off-thread update. */
+    @JvmStatic
+    @JvmName("applyDeferredChanges")
+    internal fun applyDeferredChanges() {
+        if (deferredChanges.isEmpty()) return
+        val changes = ArrayList(deferredChanges)
+        deferredChanges.clear()
+        changes.forEach(Runnable::run)
+    }
+
+    /** Queues a scene switch if the scene is updating off the main thread. */
+    private fun deferIfUpdating(change: Runnable): Boolean {
+        if (!updatingOffThread) return false
+        deferredChanges.add(change)
+        return true
+    }
+
     @JvmStatic
     @JvmName("renderScene")
     internal fun renderScene(g2: Graphics2D?) {
         currentScene.render(g2)
     }
 
+    /** Copies the current frame out of the scene without drawing it. */
+    @JvmStatic
+    @JvmName("extractScene")
+    internal fun extractScene() {
+        currentScene.extractRender()
+    }
+
+    /** Draws the frame last copied by [extractScene]. */
+    @JvmStatic
+    @JvmName("drawScene")
+    internal fun drawScene() {
+        currentScene.drawRender()
+    }
+
+    /** Whether the current scene can be extracted and drawn in separate steps. */
+    @JvmStatic
+    @JvmName("isScenePipelined")
+    internal fun isScenePipelined(): Boolean = startedFirstScene && currentScene.isRenderPipelined
+
     // Scene Control Methods
 
     @JvmStatic
@@ -56,8 +140,10 @@ object SceneManager {
     /** Restarts the current scene and reinitializes all its game objects. */
     @JvmStatic
     fun restartScene() {
+        if (deferIfUpdating(::restartScene)) return
         stopScene()
         startScene()
+        Assets.evictUnusedAssets()
     }
 
     /**
@@ -69,12 +155,14 @@ object SceneManager {
     @JvmStatic
     fun setScene(scene: Scene?) {
         if (scene == null) return  // don't set a null scene
+        if (deferIfUpdating { setScene(scene) }) return
         if (startedFirstScene) {
             stopScene()
             saveCurrentSceneToPool()
         }
         currentScene = scene
         startScene()
+        Assets.evictUnusedAssets()
     }
 
     /**
@@ -86,6 +174,7 @@ object SceneManager {
     @JvmStatic
     fun loadScene(name: String?) {
         val scene = getScene(name) ?: return // don't set a null scene
+        if (deferIfUpdating { loadScene(name) }) return
         if (startedFirstScene) {
             pauseScene()
             saveCurrentSceneToPool()
@@ -93,15 +182,21 @@ object SceneManager {
         currentScene = scene
         startScene()
         resumeScene()
+        Assets.evictUnusedAssets()
     }
 
     // Load/Unload Scene Methods
 
-    /** Starts the current scene and initializes all its game objects. */
+    /**
+     * Starts the current scene and initializes all its game objects. Any
+     * assets retrieved from now on are referenced by the current scene.
+     */
     @JvmStatic
     @JvmName("startScene")
     internal fun startScene() {
+        Assets.setReferenceTracker(currentScene::referenceAsset)
         if (currentScene.isStopped) {
+            currentScene.declaredAssets.forEach(currentScene::referenceAsset)
             currentScene.start()
             MouseInput.setSceneScale(currentScene.scale)
             MouseInput.setPointTransformer(currentScene.camera)
@@ -109,12 +204,16 @@ object SceneManager {
         }
     }
 
-    /** Stops the current scene and destroys all its game objects. */
+    /**
+     * Stops the current scene, destroys all its game objects, and releases
+     * the assets it referenced.
+     */
     @JvmStatic
     @JvmName("stopScene")
     internal fun stopScene() {
         if (!currentScene.isStopped) {
             currentScene.stop()
+            currentScene.releaseAssets()
             Logger.debug("Stopped scene \"${currentScene.name}\"")
         }
     }
@@ -143,6 +242,41 @@ object SceneManager {
         }
     }
 
+    // Preload Methods
+
+    /**
+     * Begins loading the assets a scene declares in [Scene.declareAssets] in
+     * the background, so that starting the scene later does not stall the
+     * game. Only image files are decoded on worker threads. Texture uploads
+     * and all other assets are loaded on the game thread, spread across
+     * frames within [preloadBudgetMillis]. The scene is also saved to the
+     * scene pool.
+     *
+     * @param scene the scene to preload
+     * @return the preload, which reports progress and completion
+     */
+    @JvmStatic
+    fun preloadScene(scene: Scene): ScenePreload {
+        addScene(scene)
+        val preload = ScenePreload(scene)
+        if (!preload.isDone) preloads.add(preload)
+        Logger.debug("Preloading scene \"${scene.name}\"")
+        return preload
+    }
+
+    /**
+     * Begins preloading the assets of a scene stored in the scene pool. See
+     * [preloadScene] for more details.
+     *
+     * @param name the name of the stored scene
+     * @return the preload, or null if the scene does not exist
+     */
+    @JvmStatic
+    fun preloadScene(name: String?): ScenePreload? {
+        val scene = getScene(name) ?: return null
+        return preloadScene(scene)
+    }
+
     // Scene Pool Methods
 
     /** Clears all stored scenes from the scene pool. */
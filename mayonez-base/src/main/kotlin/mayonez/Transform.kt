@@ -144,6 +144,59 @@ class Transform(position: Vec2, rotation: Float, scale: Vec2) {
         )
     }
 
+    /**
+     * Sets this transform to the combination of a parent transform and a
+     * local offset, equivalent to `parent.combine(local)` but without
+     * allocating a new transform.
+     *
+     * @param parent the parent transform
+     * @param local the offset from the parent
+     */
+    @Mutating
+    fun setCombined(parent: Transform, local: Transform) {
+        val cos = parent.angle.cos
+        val sin = parent.angle.sin
+        val localX = local.position.x * parent.scale.x
+        val localY = local.position.y * parent.scale.y
+        this.position.set(
+            parent.position.x + (localX * cos - localY * sin),
+            parent.position.y + (localX * sin + localY * cos)
+        )
+        this.angle.set(parent.angle + local.angle)
+        this.scale.set(parent.scale.x * local.scale.x, parent.scale.y * local.scale.y)
+    }
+
+    // Change Tracking
+
+    // Values as of the last call to markClean(), NaN until first cleaned
+    private var cleanPosX: Float = Float.NaN
+    private var cleanPosY: Float = Float.NaN
+    private var cleanRadians: Float = Float.NaN
+    private var cleanScaleX: Float = Float.NaN
+    private var cleanScaleY: Float = Float.NaN
+
+    /**
+     * Whether the position, rotation, or scale has been modified since the
+     * last call to [markClean], including through direct changes to the
+     * [position] and [scale] vectors.
+     *
+     * @return if this transform has changed
+     */
+    fun isDirty(): Boolean {
+        return (position.x != cleanPosX) || (position.y != cleanPosY)
+                || (angle.radians != cleanRadians)
+                || (scale.x != cleanScaleX) || (scale.y != cleanScaleY)
+    }
+
+    /** Records the current position, rotation, and scale as unchanged. */
+    fun markClean() {
+        cleanPosX = position.x
+        cleanPosY = position.y
+        cleanRadians = angle.radians
+        cleanScaleX = scale.x
+        cleanScaleY = scale.y
+    }
+
     // Space Transform Methods
 
     /**
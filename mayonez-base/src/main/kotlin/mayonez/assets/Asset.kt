@@ -56,6 +56,25 @@ open class Asset(filename: String) {
     /** Frees any resources used by this asset after use. */
     open fun free() {}
 
+    /**
+     * The approximate memory used by this asset's contents, which counts
+     * toward [Assets.memoryBudget]. Assets that hold no data or share it
+     * with other assets report 0 and are never evicted.
+     *
+     * @return the size in bytes
+     */
+    open fun getApproximateSize(): Long = 0L
+
+    /**
+     * Whether this asset loads its contents again the next time it is used
+     * after being freed. Evicted assets that can reload stay in the asset pool,
+     * so objects still holding them keep working, while other evicted assets
+     * are replaced with a plain [Asset].
+     *
+     * @return if the asset can be used after [free]
+     */
+    open fun isReloadable(): Boolean = false
+
     // Helper Methods/Classes
 
     protected fun getFilenameInQuotes(): String = "\"$filename\""
@@ -1,8 +1,16 @@
 package mayonez.assets
 
 import mayonez.*
+import mayonez.assets.image.*
+import mayonez.assets.text.*
 import mayonez.io.*
 import mayonez.io.scanner.*
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.util.concurrent.*
+import java.util.concurrent.atomic.AtomicLong
+import java.util.function.Consumer
 
 /**
  * Manages the application's resources and allows users to create and
@@ -10,8 +18,12 @@ import mayonez.io.scanner.*
  *
  * Usage: Upon startup, the program automatically scans the `assets/`
  * folder under `src/main/resources` or inside the .jar and adds all
- * files to the asset pool. The user can scan any classpath folders using
- * [Assets.scanFiles] or external folders using [Assets.scanResources].
+ * files to the asset pool. When running from a jar, folders listed in the
+ * [AssetManifest] written at build time are read from the manifest
+ * instead of being scanned. Runs from the build folder always scan, so
+ * new files are found without running the Gradle task again. The user
+ * can scan any classpath folders using [Assets.scanFiles] or external
+ * folders using [Assets.scanResources].
  * All resource paths start inside the jar, while all external paths
  * are relative the folder containing the jar. To create an individual
  * asset, the user may call [Assets.createAsset], and the asset system
@@ -23,11 +35,23 @@ import mayonez.io.scanner.*
  * calling `Assets.getAsset("info.txt", TextFile.class)` will return a
  * [mayonez.assets.text.TextFile] with the name `info.txt`.
  *
+ * Retrieved assets are referenced by the current scene and released when
+ * the scene stops. Assets retrieved while no scene is running are kept
+ * forever. Once the loaded assets exceed [Assets.memoryBudget], the least
+ * recently used assets that no scene references are freed at the next
+ * scene transition. Assets that can reload themselves, such as textures,
+ * stay in the pool and load again the next time they are used, so objects
+ * still holding them keep working. Other assets are loaded again the next
+ * time they are retrieved.
+ *
+ * To load many assets at once, call [Assets.loadAll], which decodes the
+ * files across a pool of worker threads. The asset pool may be accessed
+ * from any thread.
+ *
  * See [Asset] for more details.
  *
  * @author SlavSquatSuperstar
  */
-// TODO preload stage, map extensions to subclass
 object Assets {
 
     // Initialization Fields
@@ -36,7 +60,39 @@ object Assets {
     private var loadedResources: Boolean = false
 
     // Asset Fields
-    private val assets: MutableMap<String, Asset> = HashMap()
+    private val assets: MutableMap<String, Asset> = ConcurrentHashMap()
+    private val lastUsed: MutableMap<String, Long> = ConcurrentHashMap() // For evicting the least recently used
+    private val useCounter: AtomicLong = AtomicLong()
+
+    // Loader Fields
+    private val constructors: MutableMap<Class<*>, MethodHandle> = ConcurrentHashMap()
+    private val constructorType: MethodType = MethodType.methodType(Asset::class.java, String::class.java)
+    private val loaderPool: ExecutorService by lazy {
+        Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()) { task ->
+            Thread(task, "Asset Loader").apply { isDaemon = true }
+        }
+    }
+
+    /** The resources listed at build time, or null if not running from a jar with a manifest. */
+    private val resourceManifest: AssetManifest? by lazy {
+        AssetManifest.readClasspathManifests().also {
+            if (it == null) Logger.debug("No packaged asset manifest found, scanning classpath instead")
+            else Logger.debug("Read asset manifest with ${it.size()} resources")
+        }
+    }
+
+    // Reference Fields
+    private val references: MutableMap<String, Int> = ConcurrentHashMap() // Number of scenes using each asset
+    private val pinnedAssets: MutableSet<String> = ConcurrentHashMap.newKeySet() // Loaded outside a scene
+    @Volatile
+    private var referenceTracker: Consumer<String>? = null
+
+    /**
+     * The approximate memory all loaded assets may use before unused assets
+     * are freed, in bytes. Unlimited by default.
+     */
+    @JvmStatic
+    var memoryBudget: Long = Long.MAX_VALUE
 
     init {
         initialize()
@@ -68,7 +124,12 @@ object Assets {
      */
     @JvmStatic
     fun scanResources(directory: String) {
-        val resources = ClasspathFolderScanner().getFiles(directory)
+        val manifest = resourceManifest
+        val resources = if (manifest?.hasFolder(directory) == true) {
+            manifest.getFiles(directory) // Skip scanning if the folder is listed
+        } else {
+            ClasspathFolderScanner().getFiles(directory)
+        }
         resources.forEach { createAsset(it) } // Create an asset from each path
         Logger.debug("Loaded ${resources.size} resources inside \"$directory\"")
     }
@@ -97,6 +158,19 @@ object Assets {
     @JvmStatic
     fun hasAsset(filename: String): Boolean = filename.toOS() in assets
 
+    /**
+     * Indicates whether the [Asset] stored under the given location exists and is
+     * an instance of the given class, without marking it as used.
+     *
+     * @param filename the location of the asset
+     * @param assetClass the asset type
+     * @return if an asset of the given type is stored at the given path
+     */
+    @JvmStatic
+    fun hasAsset(filename: String, assetClass: Class<out Asset>): Boolean {
+        return assetClass.isInstance(assets[filename.toOS()])
+    }
+
     /**
      * Creates a new [Asset] if it does not exist already, and stores it for
      * future use.
@@ -107,13 +181,14 @@ object Assets {
     @JvmStatic
     fun createAsset(filename: String): Asset {
         val osFilename = filename.toOS()
-        if (hasAsset(osFilename)) {
-            Logger.debug("Asset \"$osFilename\" already exists")
-        } else {
-            assets[osFilename] = Asset(osFilename)
-            Logger.debug("Loaded asset \"$osFilename\"")
+        var created = false
+        val asset = assets.computeIfAbsent(osFilename) {
+            created = true
+            Asset(it)
         }
-        return assets[osFilename]!!
+        if (created) Logger.debug("Loaded asset \"$osFilename\"")
+        else Logger.debug("Asset \"$osFilename\" already exists")
+        return asset
     }
 
     /**
@@ -126,13 +201,139 @@ object Assets {
      */
     @JvmStatic
     fun <T : Asset> createAsset(filename: String, assetClass: Class<T>): T? {
-        val ctor = assetClass.getDeclaredConstructor(String::class.java)
-        val asset = assetClass.cast(ctor.newInstance(filename)) ?: return null
-        assets[filename] = asset
+        val asset = readAsset(filename, assetClass) ?: return null
+        assets[filename.toOS()] = asset
+        markUsed(filename.toOS())
         Logger.debug("Loaded asset \"%s\" as %s", filename, assetClass.simpleName)
         return asset
     }
 
+    /**
+     * Instantiates an [Asset] under the given subclass without storing it.
+     * Since the asset pool is not accessed, this method may be called from
+     * any thread, and the asset can be stored later with [Assets.addAsset].
+     *
+     * @param filename the location of the asset
+     * @param assetClass the subclass of the asset
+     * @return the asset as a subclass instance, if successfully created
+     */
+    @JvmStatic
+    fun <T : Asset> readAsset(filename: String, assetClass: Class<T>): T? {
+        return assetClass.cast(getConstructor(assetClass).invoke(filename) as Asset?)
+    }
+
+    /** Finds the string constructor of an asset class once and reuses it. */
+    private fun getConstructor(assetClass: Class<out Asset>): MethodHandle {
+        return constructors.computeIfAbsent(assetClass) { cls ->
+            val ctor = cls.getDeclaredConstructor(String::class.java)
+            MethodHandles.lookup().unreflectConstructor(ctor).asType(constructorType)
+        }
+    }
+
+    /**
+     * Loads many assets at once on a pool of worker threads and stores them
+     * as they finish. Each file is loaded as a subclass based on its
+     * extension: images as [ImageData] for the current engine, and JSON,
+     * CSV and text files as [JSONFile], [CSVFile] and [TextFile]. Other files
+     * are stored as plain [Asset] objects. Decoded images are handed over to
+     * the texture the next time they are retrieved as textures, which frees
+     * their pixels once uploaded, so read any pixels from the returned images
+     * before then.
+     *
+     * The files are referenced by the current scene right away, so they are
+     * not evicted while loading. Files that cannot be loaded are logged and
+     * skipped.
+     *
+     * @param filenames the locations of the assets
+     * @return a future that completes with the loaded assets, in order
+     */
+    @JvmStatic
+    fun loadAll(filenames: Collection<String>): CompletableFuture<List<Asset>> {
+        val futures = filenames.map { filename ->
+            val osFilename = filename.toOS()
+            referenceAsset(osFilename)
+            CompletableFuture.supplyAsync({ tryLoadAsset(osFilename) }, loaderPool)
+        }
+        return CompletableFuture.allOf(*futures.toTypedArray())
+            .thenApply { futures.mapNotNull { it.join() } }
+    }
+
+    private fun tryLoadAsset(filename: String): Asset? {
+        return try {
+            loadAsset(filename, getAssetClass(filename))
+        } catch (e: Exception) {
+            Logger.error("Could not load asset \"%s\"", filename)
+            Logger.printStackTrace(e)
+            null
+        }
+    }
+
+    private fun getAssetClass(filename: String): Class<out Asset> {
+        return when (filename.substringAfterLast('.').lowercase()) {
+            "png", "jpg", "jpeg", "bmp" -> if (Mayonez.useGL) STBImageData::class.java else AWTImageData::class.java
+            "json" -> JSONFile::class.java
+            "csv" -> CSVFile::class.java
+            "txt" -> TextFile::class.java
+            else -> Asset::class.java
+        }
+    }
+
+    /**
+     * Gets the stored asset if it is already an instance of the given class,
+     * or else creates a new instance and stores it in place of a plain [Asset].
+     * If another thread stored a different asset in the meantime, that asset
+     * is kept and the new instance is freed.
+     */
+    private fun <T : Asset> loadAsset(filename: String, assetClass: Class<T>): T? {
+        val existing = assets[filename]
+        if (assetClass.isInstance(existing)) {
+            markUsed(filename)
+            return assetClass.cast(existing)
+        }
+
+        val asset = readAsset(filename, assetClass) ?: return null
+        val stored = assets.merge(filename, asset) { old, new -> if (old.javaClass == Asset::class.java) new else old }
+        if (stored !== asset) {
+            asset.free() // Another thread was faster
+        } else {
+            markUsed(filename)
+            Logger.debug("Loaded asset \"%s\" as %s", filename, assetClass.simpleName)
+        }
+        return if (assetClass.isInstance(stored)) assetClass.cast(stored) else null
+    }
+
+    /**
+     * Removes a stored asset of the given class so another asset can take
+     * ownership of it, such as a texture reusing an image decoded by
+     * [loadAll]. The asset is replaced with a plain [Asset] and is not
+     * referenced by the current scene. Only one caller can take an asset.
+     *
+     * @param filename the asset location
+     * @param cls the asset subclass
+     * @return the asset if it was stored as the given class, otherwise null
+     */
+    @JvmStatic
+    fun <T : Asset> takeAsset(filename: String, cls: Class<T>): T? {
+        val osFilename = filename.toOS()
+        val asset = assets[osFilename]
+        if (!cls.isInstance(asset) || !assets.replace(osFilename, asset!!, Asset(asset.filename))) return null
+        return cls.cast(asset)
+    }
+
+    /**
+     * Stores an already created [Asset] and overwrites any asset with the same
+     * filename. The replaced asset is freed.
+     *
+     * @param asset the asset
+     */
+    @JvmStatic
+    fun addAsset(asset: Asset) {
+        val replaced = assets.put(asset.filename.toOS(), asset)
+        if (replaced != null && replaced !== asset) replaced.free()
+        markUsed(asset.filename.toOS())
+        Logger.debug("Loaded asset \"%s\" as %s", asset.filename, asset.javaClass.simpleName)
+    }
+
     // Asset Getters
 
     /**
@@ -142,7 +343,13 @@ object Assets {
      * @return the asset if it exists, otherwise null
      */
     @JvmStatic
-    fun getAsset(filename: String): Asset? = assets[filename.toOS()]
+    fun getAsset(filename: String): Asset? {
+        val osFilename = filename.toOS()
+        val asset = assets[osFilename] ?: return null
+        markUsed(osFilename)
+        referenceAsset(osFilename)
+        return asset
+    }
 
     /**
      * Retrieves the [Asset] under the specified filename and re-instantiates
@@ -154,12 +361,11 @@ object Assets {
      *     valid
      */
     @JvmStatic
-    @Suppress("UNCHECKED_CAST")
     fun <T : Asset> getAsset(filename: String, cls: Class<T>): T? {
-        val asset = getAsset(filename) // check if asset exists and is same class
-        val notInitialized = (asset == null || !cls.isInstance(asset))
-        return if (notInitialized) createAsset(filename, cls)
-        else asset as? T
+        val osFilename = filename.toOS()
+        val asset = loadAsset(osFilename, cls) ?: return null
+        referenceAsset(osFilename)
+        return asset
     }
 
     /** Empties all Assets from the asset pool. */
@@ -167,9 +373,114 @@ object Assets {
     fun clearAssets() {
         assets.values.forEach(Asset::free)
         assets.clear()
+        lastUsed.clear()
+        references.clear()
+        pinnedAssets.clear()
         Logger.debug("Cleared all assets")
     }
 
+    // Reference Methods
+
+    private fun markUsed(filename: String) {
+        lastUsed[filename] = useCounter.incrementAndGet()
+    }
+
+    /**
+     * Marks an asset as used by the current scene, so it is not evicted
+     * until the scene stops. Each scene references an asset at most once.
+     * Assets referenced while no scene is running are never evicted.
+     *
+     * @param filename the location of the asset
+     */
+    @JvmStatic
+    fun referenceAsset(filename: String) {
+        val osFilename = filename.toOS()
+        val tracker = referenceTracker
+        if (tracker != null) tracker.accept(osFilename)
+        else if (pinnedAssets.add(osFilename)) retainAsset(osFilename)
+    }
+
+    /**
+     * Sets who references the assets retrieved from now on, usually the
+     * current scene. Assets retrieved while the tracker is null are never
+     * evicted.
+     *
+     * @param tracker records each retrieved filename, or null for none
+     */
+    @JvmStatic
+    @JvmName("setReferenceTracker")
+    internal fun setReferenceTracker(tracker: Consumer<String>?) {
+        referenceTracker = tracker
+    }
+
+    /**
+     * Marks an asset as in use, so it is not evicted until it is released
+     * the same number of times.
+     *
+     * @param filename the location of the asset
+     */
+    @JvmStatic
+    fun retainAsset(filename: String) {
+        references.merge(filename.toOS(), 1) { count, added -> count + added }
+    }
+
+    /**
+     * Marks an asset as no longer used by one of its owners. The asset is
+     * freed once no owners remain and the asset pool is over budget.
+     *
+     * @param filename the location of the asset
+     */
+    @JvmStatic
+    fun releaseAsset(filename: String) {
+        references.computeIfPresent(filename.toOS()) { _, count -> if (count > 1) count - 1 else null }
+    }
+
+    /**
+     * The number of owners using an asset.
+     *
+     * @param filename the location of the asset
+     * @return the reference count
+     */
+    @JvmStatic
+    fun getReferenceCount(filename: String): Int = references[filename.toOS()] ?: 0
+
+    /**
+     * Frees the least recently used assets that are not referenced until the
+     * loaded assets fit within [memoryBudget]. Evicted assets that are
+     * [Asset.isReloadable] stay in the pool and reload when next used, and
+     * other assets are replaced with plain [Asset] objects and are loaded
+     * again when retrieved.
+     */
+    @JvmStatic
+    fun evictUnusedAssets() {
+        var usedBytes = getUsedBytes()
+        if (usedBytes <= memoryBudget) return
+
+        var numEvicted = 0
+        val unusedAssets = assets.entries
+            .filter { (filename, asset) -> asset.getApproximateSize() > 0L && filename !in references } // Not shared or in use
+            .sortedBy { (filename, _) -> lastUsed[filename] ?: 0L }
+        for ((filename, asset) in unusedAssets) {
+            if (usedBytes <= memoryBudget) break
+            if (!asset.isReloadable() && !assets.replace(filename, asset, Asset(asset.filename))) {
+                continue // Replaced by another thread
+            }
+
+            usedBytes -= asset.getApproximateSize()
+            asset.free()
+            numEvicted++
+        }
+        Logger.debug("Evicted $numEvicted assets, now using $usedBytes/$memoryBudget bytes")
+    }
+
+    /**
+     * The approximate memory used by all loaded assets.
+     *
+     * @return the size in bytes
+     */
+    @JvmStatic
+    fun getUsedBytes(): Long = assets.values.sumOf { it.getApproximateSize() }
+
     override fun toString(): String {
         return "Assets (Size = ${assets.size})"
     }
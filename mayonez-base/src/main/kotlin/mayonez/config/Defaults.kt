@@ -18,6 +18,12 @@ object Defaults {
     private const val SCREEN_HEIGHT: Int = 600
     private const val FPS: Int = 60
     private const val FRAME_SKIP: Boolean = true
+    private const val PIPELINED_RENDER: Boolean = false
+
+    // Assets
+    private const val CACHE_IMAGES: Boolean = false
+    private const val IMAGE_CACHE_DIRECTORY: String = "cache/images/"
+    private const val ASSET_BUDGET_MB: Int = 512
 
     val preferences: Record = Record()
 
@@ -31,11 +37,20 @@ object Defaults {
         preferences["screen_height"] = SCREEN_HEIGHT
         preferences["fps"] = FPS
         preferences["frame_skip"] = FRAME_SKIP
+        preferences["pipelined_render"] = PIPELINED_RENDER
+
+        // Assets
+        preferences["cache_images"] = CACHE_IMAGES
+        preferences["image_cache_directory"] = IMAGE_CACHE_DIRECTORY
+        preferences["asset_budget_mb"] = ASSET_BUDGET_MB
 
         // Logging
         preferences["log_level"] = LoggerConfig.DEFAULT_LOG_LEVEL
+        preferences["file_log_level"] = LoggerConfig.DEFAULT_FILE_LOG_LEVEL
         preferences["save_logs"] = LoggerConfig.DEFAULT_SAVE_LOGS
         preferences["log_directory"] = LoggerConfig.DEFAULT_LOG_DIRECTORY
+        preferences["log_overflow"] = LoggerConfig.DEFAULT_OVERFLOW_POLICY.toString()
+        preferences["log_caller"] = LoggerConfig.DEFAULT_CAPTURE_CALLER
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package mayonez.config
 
+import mayonez.*
+
 /**
  * A set of parameters for the [mayonez.Logger] class.
  *
@@ -10,16 +12,29 @@ data class LoggerConfig(
     val saveLogs: Boolean,
     /** The minimum priority required to print messages to the console. */
     val logLevel: Int,
+    /**
+     * The minimum priority required to save messages to log files. Set
+     * `file_log_level` to 0 in the preferences to save every message.
+     */
+    val fileLogLevel: Int,
     /** The folder to save logger output files. */
-    val logDirectory: String
+    val logDirectory: String,
+    /** What to do with messages logged while the log buffer is full. */
+    val overflowPolicy: LogOverflowPolicy,
+    /** Whether to look up and print the class that logged each message. */
+    val captureCaller: Boolean
 ) {
     companion object {
         internal const val DEFAULT_SAVE_LOGS: Boolean = true
         internal const val DEFAULT_LOG_LEVEL: Int = 2
+        internal const val DEFAULT_FILE_LOG_LEVEL: Int = DEFAULT_LOG_LEVEL
         internal const val DEFAULT_LOG_DIRECTORY: String = "logs/"
+        internal val DEFAULT_OVERFLOW_POLICY: LogOverflowPolicy = LogOverflowPolicy.BLOCK
+        internal const val DEFAULT_CAPTURE_CALLER: Boolean = false
 
         val DEFAULT_CONFIG: LoggerConfig = LoggerConfig(
-            DEFAULT_SAVE_LOGS, DEFAULT_LOG_LEVEL, DEFAULT_LOG_DIRECTORY
+            DEFAULT_SAVE_LOGS, DEFAULT_LOG_LEVEL, DEFAULT_FILE_LOG_LEVEL,
+            DEFAULT_LOG_DIRECTORY, DEFAULT_OVERFLOW_POLICY, DEFAULT_CAPTURE_CALLER
         )
     }
-}
\ No newline at end of file
+}
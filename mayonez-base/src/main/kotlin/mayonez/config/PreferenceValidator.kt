@@ -81,6 +81,21 @@ class BooleanValidator(vararg keys: String) :
     }
 }
 
+/**
+ * Forces a string preference to be one of a set of options, ignoring case.
+ *
+ * @author SlavSquatSuperstar
+ */
+class OptionValidator(options: Set<String>, vararg keys: String) :
+    PreferenceValidator<String>(*keys, isValid = Predicate<String> { str ->
+        options.any { it.equals(str, ignoreCase = true) }
+    }) {
+
+    override fun getValue(key: String?, preferences: Record): String {
+        return preferences.getString(key)
+    }
+}
+
 // Boolean Helpers
 
 private fun String.isBooleanString(): Boolean {
@@ -9,6 +9,14 @@ package mayonez.config
 data class RunConfig(
     /** Whether to use the LWJGL engine. */
     internal val useGL: Boolean,
+    /** Whether to run without a window, using the AWT renderers offscreen or not at all. */
+    internal val headless: Boolean = false,
+    /** How many updates to run in headless mode before exiting, or 0 to run until stopped. */
+    internal val maxUpdates: Int = 0,
+    /** Whether headless updates wait for real time instead of running as fast as possible. */
+    internal val throttled: Boolean = false,
+    /** Whether headless frames are drawn to an offscreen image instead of skipped. */
+    internal val renderOffscreen: Boolean = false,
 ) {
     companion object {
         const val DEFAULT_USE_GL: Boolean = true
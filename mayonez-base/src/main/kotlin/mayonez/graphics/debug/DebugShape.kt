@@ -2,6 +2,7 @@ package mayonez.graphics.debug
 
 import mayonez.graphics.*
 import mayonez.math.shapes.*
+import mayonez.renderer.*
 import mayonez.renderer.awt.*
 import mayonez.renderer.batch.*
 import mayonez.renderer.gl.*
@@ -15,10 +16,10 @@ import java.awt.*
 internal data class DebugShape(internal val shape: MShape, private val brush: ShapeBrush) :
     JRenderable, GLRenderable {
 
-    private val color: MColor
+    internal val color: MColor
         get() = brush.color
 
-    private val fill: Boolean
+    internal val fill: Boolean
         get() = brush.fill
 
     internal val strokeSize: Float
@@ -101,6 +102,8 @@ internal data class DebugShape(internal val shape: MShape, private val brush: Sh
 
     // Renderable Methods
 
+    override fun isParallelSafe(): Boolean = true
+
     override fun getBatchSize(): Int {
         return if (fill) RenderBatch.MAX_TRIANGLES
         else RenderBatch.MAX_LINES
@@ -117,6 +120,14 @@ internal data class DebugShape(internal val shape: MShape, private val brush: Sh
 
     override fun isInUI(): Boolean = false
 
+    override fun getRenderBounds(bounds: RenderBounds): Boolean {
+        val box = shape.boundingRectangle() // Shapes are already in scene pixels
+        val min = box.min()
+        val max = box.max()
+        bounds.set(min.x, min.y, max.x, max.y)
+        return true
+    }
+
     override fun toString(): String {
         return "Debug ${shape.javaClass.simpleName}, $brush"
     }
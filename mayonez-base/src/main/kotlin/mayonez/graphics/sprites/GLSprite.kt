@@ -1,11 +1,13 @@
 package mayonez.graphics.sprites
 
+import mayonez.*
 import mayonez.graphics.*
 import mayonez.graphics.textures.*
-import mayonez.math.shapes.*
 import mayonez.renderer.batch.*
 import mayonez.renderer.batch.BatchPushHelper.pushSprite
 import mayonez.renderer.gl.*
+import kotlin.math.cos
+import kotlin.math.sin
 
 
 /**
@@ -20,6 +22,23 @@ internal class GLSprite private constructor(
     private var texture: GLTexture?, private var color: Color
 ) : Sprite(), GLRenderable {
 
+    private companion object {
+        /** How many pushes in a row a sprite must stay unchanged before it is treated as static. */
+        const val AUTO_STATIC_PUSHES: Int = 60
+    }
+
+    // Pushed Vertex State (NaN until first pushed)
+    private var pushedPosX: Float = Float.NaN
+    private var pushedPosY: Float = Float.NaN
+    private var pushedRotation: Float = Float.NaN
+    private var pushedScaleX: Float = Float.NaN
+    private var pushedScaleY: Float = Float.NaN
+    private var pushedSpriteXf: Transform? = null
+    private var pushedColor: Color? = null
+    private var pushedTexture: GLTexture? = null
+    private var pushedSceneScale: Float = Float.NaN
+    private var unchangedPushes: Int = 0
+
     /**
      * Create a new GLSprite that renders an entire texture.
      *
@@ -66,15 +85,72 @@ internal class GLSprite private constructor(
     override fun pushToBatch(batch: RenderBatch) {
         // Render sprite at object center and rotate according to object
         // Background sprite will not have scale but will use spriteXf instead
-        val objXf = transform.combine(getSpriteTransform())
-        val sceneScale = gameObject?.scene?.scale ?: 1f
-        val sprVertices = Rectangle(
-            objXf.position * sceneScale, objXf.scale * sceneScale, objXf.rotation
-        ).vertices
+        val objPos = transform.position
+        val objScale = transform.scale
+        var posX = objPos.x
+        var posY = objPos.y
+        var scaleX = objScale.x
+        var scaleY = objScale.y
+        var rotation = transform.rotation
+
+        val spriteXf = getSpriteTransform()
+        if (spriteXf != null) { // Same as transform.combine(spriteXf)
+            val offsetX = spriteXf.position.x * scaleX
+            val offsetY = spriteXf.position.y * scaleY
+            val radians = Math.toRadians(rotation.toDouble())
+            val cos = cos(radians).toFloat()
+            val sin = sin(radians).toFloat()
+            posX += offsetX * cos - offsetY * sin
+            posY += offsetX * sin + offsetY * cos
+            scaleX *= spriteXf.scale.x
+            scaleY *= spriteXf.scale.y
+            rotation += spriteXf.rotation
+        }
 
+        val sceneScale = gameObject?.scene?.scale ?: 1f
         val texCoords = texture?.texCoords ?: GLTexture.DEFAULT_TEX_COORDS
         val texID = batch.getTextureSlot(texture)
-        batch.pushSprite(sprVertices, color, texCoords, texID)
+        batch.pushSprite(
+            posX * sceneScale, posY * sceneScale, scaleX * sceneScale, scaleY * sceneScale,
+            rotation, color, texCoords, texID
+        )
+
+        if (isRenderStateChanged()) unchangedPushes = 0
+        else if (unchangedPushes < AUTO_STATIC_PUSHES) unchangedPushes++
+        recordPushedState(sceneScale)
+    }
+
+    /** Sprites only change their own pushed state, so they can be pushed in parallel. */
+    override fun isParallelSafe(): Boolean = true
+
+    // Retained Geometry Methods
+
+    /**
+     * Whether the sprite was marked static or has been pushed unchanged for
+     * the last [AUTO_STATIC_PUSHES] frames.
+     */
+    override fun isStatic(): Boolean = markedStatic || (unchangedPushes >= AUTO_STATIC_PUSHES)
+
+    override fun isRenderStateChanged(): Boolean {
+        val spriteXf = getSpriteTransform()
+        return (transform.position.x != pushedPosX) || (transform.position.y != pushedPosY)
+                || (transform.rotation != pushedRotation)
+                || (transform.scale.x != pushedScaleX) || (transform.scale.y != pushedScaleY)
+                || (spriteXf !== pushedSpriteXf) || (spriteXf?.isDirty() == true)
+                || (color !== pushedColor) || (texture !== pushedTexture)
+                || ((gameObject?.scene?.scale ?: 1f) != pushedSceneScale)
+    }
+
+    private fun recordPushedState(sceneScale: Float) {
+        pushedPosX = transform.position.x
+        pushedPosY = transform.position.y
+        pushedRotation = transform.rotation
+        pushedScaleX = transform.scale.x
+        pushedScaleY = transform.scale.y
+        pushedSpriteXf = getSpriteTransform()?.apply { markClean() }
+        pushedColor = color
+        pushedTexture = texture
+        pushedSceneScale = sceneScale
     }
 
     // Renderable Methods
@@ -55,9 +55,9 @@ internal class JSprite private constructor(
     override fun getColor(): MColor = color
 
     /**
-     * Set the color of this sprite, or recolors the current texture. This
-     * method should be used sparingly, since it creates a new image in memory
-     * per draw call.
+     * Set the color of this sprite, or recolors the current texture. Each
+     * texture creates one recolored image in memory per color, which is
+     * cached until the scene is stopped or the image is evicted.
      *
      * @param color the color
      */
@@ -4,6 +4,8 @@ import mayonez.*
 import mayonez.graphics.*
 import mayonez.graphics.textures.*
 import mayonez.renderer.*
+import kotlin.math.abs
+import kotlin.math.sqrt
 
 /**
  * Draws a [Texture] at a [GameObject]'s position. To instantiate a sprite,
@@ -22,6 +24,10 @@ sealed class Sprite : Component(UpdateOrder.RENDER), Renderable {
 
     private var spriteXf: Transform? = null
 
+    /** Whether the sprite was marked as never changing. */
+    protected var markedStatic: Boolean = false
+        private set
+
     /**
      * Get the width of this sprite's stored texture in pixels.
      *
@@ -70,6 +76,20 @@ sealed class Sprite : Component(UpdateOrder.RENDER), Renderable {
         return this
     }
 
+    /**
+     * Mark this sprite as never moving or changing, such as for level tiles
+     * and backgrounds, so the GL engine can keep its vertices between frames
+     * right away. Sprites that stay unchanged for long enough are treated as
+     * static anyway, and static sprites are still redrawn if they do change.
+     *
+     * @param static if the sprite is static
+     * @return this sprite
+     */
+    fun setStatic(static: Boolean): Sprite {
+        this.markedStatic = static
+        return this
+    }
+
     /**
      * Get the texture this sprite draws.
      *
@@ -90,6 +110,28 @@ sealed class Sprite : Component(UpdateOrder.RENDER), Renderable {
 
     final override fun isInUI(): Boolean = false
 
+    /**
+     * Stores a box around the circle containing the sprite at any rotation,
+     * which avoids computing the sprite's corners.
+     */
+    override fun getRenderBounds(bounds: RenderBounds): Boolean {
+        val sceneScale = gameObject?.scene?.scale ?: return false
+        var halfWidth = 0.5f * transform.scale.x
+        var halfHeight = 0.5f * transform.scale.y
+        var offset = 0f
+        val spriteTransform = spriteXf
+        if (spriteTransform != null) {
+            offset = abs(spriteTransform.position.x * transform.scale.x) +
+                    abs(spriteTransform.position.y * transform.scale.y)
+            halfWidth *= spriteTransform.scale.x
+            halfHeight *= spriteTransform.scale.y
+        }
+        val radius = (sqrt(halfWidth * halfWidth + halfHeight * halfHeight) + offset) * sceneScale
+        val position = transform.position
+        bounds.setCenter(position.x * sceneScale, position.y * sceneScale, radius, radius)
+        return true
+    }
+
     // Copy Methods
 
     /**
@@ -0,0 +1,24 @@
+package mayonez.input
+
+import mayonez.input.keyboard.*
+import mayonez.input.mouse.*
+
+/**
+ * Feeds keyboard and mouse input to the game when running without a
+ * window, such as in headless mode. The script is called before every
+ * update and may press or release keys and buttons or move the mouse.
+ *
+ * @author SlavSquatSuperstar
+ */
+fun interface InputScript {
+
+    /**
+     * Sends any input events for the upcoming update.
+     *
+     * @param update the number of updates run so far
+     * @param keyboard the keyboard receiving input
+     * @param mouse the mouse receiving input
+     */
+    fun onUpdate(update: Int, keyboard: ScriptedKeyManager, mouse: ScriptedMouseManager)
+
+}
@@ -24,6 +24,11 @@ object KeyInput {
         instance = if (useGL) GLKeyManager() else JKeyManager()
     }
 
+    /** Receive key input from an [InputScript] instead of a window. */
+    fun setScripted() {
+        instance = ScriptedKeyManager()
+    }
+
     // Key Getters
 
     /**
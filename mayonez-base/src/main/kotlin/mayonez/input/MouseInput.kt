@@ -27,6 +27,11 @@ object MouseInput {
         instance = if (useGL) GLMouseManager() else JMouseManager()
     }
 
+    /** Receive mouse input from an [InputScript] instead of a window. */
+    fun setScripted() {
+        instance = ScriptedMouseManager()
+    }
+
     fun setSceneScale(sceneScale: Float) {
         this.invSceneScale = 1f / sceneScale
     }
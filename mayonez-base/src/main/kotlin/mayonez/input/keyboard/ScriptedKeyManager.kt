@@ -0,0 +1,49 @@
+package mayonez.input.keyboard
+
+import mayonez.event.*
+import mayonez.input.*
+
+/**
+ * Receives keyboard input from code instead of a window, such as an
+ * [InputScript] in headless mode. Keys use their AWT key codes.
+ *
+ * @author SlavSquatSuperstar
+ */
+class ScriptedKeyManager : KeyManager() {
+
+    // Key Methods
+
+    /**
+     * Starts holding down a key. The key will be pressed after the next
+     * update and held until [releaseKey] is called.
+     *
+     * @param key a key enum constant
+     */
+    fun pressKey(key: Key) {
+        setKeyDown(key.awtCode, true)
+        Events.KEYBOARD_EVENTS.broadcast(KeyboardEvent(key.awtCode, true, 0))
+    }
+
+    /**
+     * Stops holding down a key.
+     *
+     * @param key a key enum constant
+     */
+    fun releaseKey(key: Key) {
+        setKeyDown(key.awtCode, false)
+        Events.KEYBOARD_EVENTS.broadcast(KeyboardEvent(key.awtCode, false, 0))
+    }
+
+    // Key Getters
+
+    override fun keyDown(key: Key?): Boolean {
+        return if (key == null) false
+        else keyDown(key.awtCode)
+    }
+
+    override fun keyPressed(key: Key?): Boolean {
+        return if (key == null) false
+        else keyPressed(key.awtCode)
+    }
+
+}
@@ -0,0 +1,71 @@
+package mayonez.input.mouse
+
+import mayonez.input.*
+
+/**
+ * Receives mouse input from code instead of a window, such as an
+ * [InputScript] in headless mode. Buttons use their AWT button codes.
+ *
+ * @author SlavSquatSuperstar
+ */
+class ScriptedMouseManager : MouseManager() {
+
+    // Mouse Button Methods
+
+    /**
+     * Starts holding down a mouse button until [releaseButton] is called.
+     *
+     * @param button a button enum constant
+     */
+    fun pressButton(button: Button) {
+        setButtonDown(button.awtCode, true)
+        pressed = true
+    }
+
+    /**
+     * Stops holding down a mouse button.
+     *
+     * @param button a button enum constant
+     */
+    fun releaseButton(button: Button) {
+        setButtonDown(button.awtCode, false)
+        pressed = false
+        setMouseDisp(0, 0)
+    }
+
+    // Mouse Movement Methods
+
+    /**
+     * Moves the cursor to a screen position, dragging it if a button is held.
+     *
+     * @param x the x position, in pixels
+     * @param y the y position, in pixels
+     */
+    fun moveMouse(x: Float, y: Float) {
+        if (pressed) setMouseDisp(x - mousePosPx.x, y - mousePosPx.y)
+        setMousePos(x, y)
+    }
+
+    /**
+     * Scrolls the mouse wheel for the next update.
+     *
+     * @param scrollX the horizontal scroll amount
+     * @param scrollY the vertical scroll amount
+     */
+    fun scroll(scrollX: Float, scrollY: Float) {
+        setScrollPos(scrollX, scrollY)
+    }
+
+    // Mouse Button Getters
+
+    override fun buttonDown(button: Button?): Boolean {
+        return if (button == null) false
+        else buttonDown(button.awtCode)
+    }
+
+    override fun buttonPressed(button: Button?): Boolean {
+        return if (button == null) false
+        else buttonPressed(button.awtCode)
+    }
+
+}
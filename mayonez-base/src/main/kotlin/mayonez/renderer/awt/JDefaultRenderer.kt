@@ -22,9 +22,8 @@ internal class JDefaultRenderer : SceneRenderer,
     DebugRenderer {
 
     // Renderer Objects
-    private val objects: MutableList<JRenderable> = ArrayList() // permanent components
-    private val shapes: MutableList<DebugShape> = ArrayList() // temporary shapes
-    private val batches: MutableList<JRenderable> = ArrayList()
+    private val objects: ZOrderedList<JRenderable> = ZOrderedList() // permanent components and temporary shapes
+    private val culler: ViewCuller = ViewCuller() // Skips off-screen objects
 
     // Scene Information
     private lateinit var background: Sprite
@@ -46,18 +45,19 @@ internal class JDefaultRenderer : SceneRenderer,
         if (r is JRenderable) objects.remove(r)
     }
 
+    override fun getViewCuller(): ViewCuller = culler
+
     // Debug Renderer Methods
 
     override fun addShape(shape: DebugShape) {
-        shapes.add(shape)
+        objects.addTemporary(shape)
     }
 
     // Renderer Methods
 
     override fun clear() {
-        batches.clear()
         objects.clear()
-        shapes.clear()
+        JTexture.clearRecoloredImages()
     }
 
     override fun render(g2: Graphics2D?) {
@@ -67,8 +67,7 @@ internal class JDefaultRenderer : SceneRenderer,
         transformScreen(g2)
         drawBackgroundImage(g2)
 
-        createBatches()
-        drawBatches(g2)
+        drawObjects(g2)
 
         g2.transform = oldXf // Reset the transform to its previous state
     }
@@ -116,31 +115,15 @@ internal class JDefaultRenderer : SceneRenderer,
 
     override fun getViewport(): Viewport = SceneManager.currentScene.camera
 
-    // Batch Helper Methods
-
-    /** Sort drawable objects into render "batches". */
-    private fun createBatches() {
-        batches.clear()
-        pushObjectsToBatches()
-        pushShapesToBatches()
-        batches.sortBy(JRenderable::getZIndex)
-    }
-
-    private fun pushObjectsToBatches() {
-        objects.filter { it.isEnabled }
-            .forEach { batches.add(it) }
-    }
-
-    private fun pushShapesToBatches() {
-        if (shapes.isNotEmpty()) {
-            batches.addAll(shapes)
-            shapes.clear()
-        }
-    }
+    // Draw Helper Methods
 
-    private fun drawBatches(g2: Graphics2D) {
+    /** Draw enabled, visible objects and shapes in z-order, then discard the shapes. */
+    private fun drawObjects(g2: Graphics2D) {
+        val scene = SceneManager.currentScene
+        culler.setView(scene.camera, scene.scale)
         g2.stroke = DEFAULT_STROKE
-        batches.forEach { it.render(g2) }
+        objects.forEach { if (culler.isVisible(it)) it.render(g2) }
+        objects.clearTemporary()
     }
 
 }
\ No newline at end of file
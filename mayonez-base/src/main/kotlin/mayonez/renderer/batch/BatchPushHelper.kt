@@ -2,9 +2,12 @@ package mayonez.renderer.batch
 
 import mayonez.graphics.*
 import mayonez.math.*
+import kotlin.math.cos
+import kotlin.math.sin
 
 /**
- * Helps push objects to a render batch.
+ * Helps push objects to a render batch without creating any temporary
+ * objects.
  *
  * @author SlavSquatSuperstar
  */
@@ -15,18 +18,61 @@ object BatchPushHelper {
     fun RenderBatch.pushSprite(
         sprVertices: Array<Vec2>, color: MColor, texCoords: Array<Vec2>, texID: Int
     ) {
+        val r = color.fRed
+        val g = color.fGreen
+        val b = color.fBlue
+        val a = color.fAlpha
         for (i in sprVertices.indices) {
-            this.pushVertex(sprVertices[i], color.toGL(), texCoords[i], texID)
+            val vertex = sprVertices[i]
+            val texPos = texCoords[i]
+            this.pushVertex(vertex.x, vertex.y, r, g, b, a, texPos.x, texPos.y, texID)
         }
     }
 
-    private fun RenderBatch.pushVertex(
-        vertex: Vec2, color: GLColor, texPos: Vec2, texID: Int
+    /**
+     * Adds a rotated sprite quad's vertex data to a render batch. The corners
+     * are calculated in the same order as [mayonez.math.shapes.Rectangle.vertices],
+     * starting from the bottom left and going counterclockwise.
+     *
+     * @param centerX the x position of the sprite's center
+     * @param centerY the y position of the sprite's center
+     * @param width the width of the sprite
+     * @param height the height of the sprite
+     * @param rotation the counterclockwise rotation in degrees
+     * @param color the sprite color
+     * @param texCoords the texture coordinates of each corner
+     * @param texID the batch texture slot
+     */
+    @JvmStatic
+    fun RenderBatch.pushSprite(
+        centerX: Float, centerY: Float, width: Float, height: Float, rotation: Float,
+        color: MColor, texCoords: Array<Vec2>, texID: Int
     ) {
-        pushVec2(vertex)
-        pushVec4(color)
-        pushVec2(texPos)
-        pushInt(texID)
+        val r = color.fRed
+        val g = color.fGreen
+        val b = color.fBlue
+        val a = color.fAlpha
+
+        val halfX = width * 0.5f
+        val halfY = height * 0.5f
+        val radians = Math.toRadians(rotation.toDouble())
+        val cos = cos(radians).toFloat()
+        val sin = sin(radians).toFloat()
+
+        // Rotated half-extents along each axis
+        val xCos = halfX * cos
+        val xSin = halfX * sin
+        val yCos = halfY * cos
+        val ySin = halfY * sin
+
+        val tex0 = texCoords[0]
+        val tex1 = texCoords[1]
+        val tex2 = texCoords[2]
+        val tex3 = texCoords[3]
+        pushVertex(centerX - xCos + ySin, centerY - xSin - yCos, r, g, b, a, tex0.x, tex0.y, texID)
+        pushVertex(centerX + xCos + ySin, centerY + xSin - yCos, r, g, b, a, tex1.x, tex1.y, texID)
+        pushVertex(centerX + xCos - ySin, centerY + xSin + yCos, r, g, b, a, tex2.x, tex2.y, texID)
+        pushVertex(centerX - xCos - ySin, centerY - xSin + yCos, r, g, b, a, tex3.x, tex3.y, texID)
     }
 
-}
\ No newline at end of file
+}
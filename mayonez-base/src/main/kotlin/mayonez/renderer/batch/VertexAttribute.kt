@@ -29,7 +29,16 @@ enum class VertexAttribute(
     TEX_COORD(2, Float.SIZE_BYTES, GL_FLOAT),
 
     /** The texture ID of a vertex, id. */
-    TEX_ID(1, Float.SIZE_BYTES, GL_FLOAT);
+    TEX_ID(1, Float.SIZE_BYTES, GL_FLOAT),
+
+    /** The counterclockwise rotation of an instance in degrees, angle. */
+    ROTATION(1, Float.SIZE_BYTES, GL_FLOAT),
+
+    /** The width and height of an instance, (w, h). */
+    SCALE(2, Float.SIZE_BYTES, GL_FLOAT),
+
+    /** The min and max texture coordinates of an instance, (u0, v0, u1, v1). */
+    UV_RECT(4, Float.SIZE_BYTES, GL_FLOAT);
 
     /** The total size in bytes of this attribute. */
     val totalBytes: Int
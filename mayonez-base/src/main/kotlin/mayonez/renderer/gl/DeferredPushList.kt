@@ -0,0 +1,180 @@
+package mayonez.renderer.gl
+
+import mayonez.graphics.*
+import mayonez.renderer.batch.*
+import java.util.*
+import java.util.concurrent.*
+import kotlin.math.min
+
+/**
+ * Records the objects pushed to a [GLBatchBuilder] during a frame and the
+ * batches they were assigned to, then builds their vertices across worker
+ * threads. The objects are split into chunks in push order, and each chunk
+ * pushes to its own staging batches. The staging batches are appended to
+ * their targets in chunk order, so the vertices are the same as if every
+ * object were pushed on one thread.
+ *
+ * Objects that are not [GLRenderable.isParallelSafe] are pushed to a staging
+ * batch as soon as they are added, and their vertices are copied in order
+ * with the rest.
+ *
+ * @author SlavSquatSuperstar
+ */
+@UsesEngine(EngineType.GL)
+internal class DeferredPushList {
+
+    // Pushed Objects (null if already pushed)
+    private val renderables: MutableList<GLRenderable?> = ArrayList()
+    private val targets: MutableList<RenderBatch> = ArrayList()
+    private var serialStarts: IntArray = IntArray(INITIAL_CAPACITY) // Component range in serial staging
+    private var serialLengths: IntArray = IntArray(INITIAL_CAPACITY)
+    private val serialStaging: MutableMap<RenderBatch, RenderBatch> = IdentityHashMap()
+
+    // Worker Fields
+    private val chunks: MutableList<StagingChunk> = ArrayList()
+
+    private companion object {
+        const val INITIAL_CAPACITY: Int = 256
+        const val MIN_OBJECTS_PER_CHUNK: Int = 512 // Fewer objects are built on one thread
+        const val CHUNKS_PER_THREAD: Int = 2 // Smooths out uneven chunks
+    }
+
+    /** The number of objects added since the list was cleared. */
+    val size: Int
+        get() = targets.size
+
+    // List Methods
+
+    /**
+     * Records an object and reserves room and a texture slot for it in its
+     * batch.
+     *
+     * @param renderable the object
+     * @param target the batch its vertices will go to
+     */
+    fun add(renderable: GLRenderable, target: RenderBatch) {
+        target.reserveObjects(renderable.numPrimitives)
+        target.getTextureSlot(renderable.texture)
+        val index = targets.size
+        ensureCapacity(index + 1)
+        targets.add(target)
+        if (renderable.isParallelSafe) {
+            renderables.add(renderable)
+        } else {
+            // Push now in case the object is a reused flyweight
+            val staging = serialStaging.getOrPut(target) { RenderBatch.createStagingBatch(target) }
+            val start = staging.numComponents
+            renderable.pushToBatch(staging)
+            renderables.add(null)
+            serialStarts[index] = start
+            serialLengths[index] = staging.numComponents - start
+        }
+    }
+
+    /**
+     * Pushes every recorded object to its staging batch, then appends the
+     * staging batches to their targets in push order.
+     *
+     * @param parallel whether to use worker threads if there are enough objects
+     */
+    fun build(parallel: Boolean) {
+        if (targets.isEmpty()) return
+        val numChunks = if (parallel) getNumChunks() else 1
+        while (chunks.size < numChunks) chunks.add(StagingChunk())
+
+        // Split into even ranges in push order
+        for (i in 0..<numChunks) {
+            chunks[i].setRange(size * i / numChunks, size * (i + 1) / numChunks)
+        }
+        if (numChunks == 1) chunks[0].build()
+        else ForkJoinPool.commonPool().invoke(BuildTask(0, numChunks))
+
+        for (i in 0..<numChunks) chunks[i].appendToTargets()
+    }
+
+    private fun getNumChunks(): Int {
+        val maxChunks = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD
+        return min(size / MIN_OBJECTS_PER_CHUNK, maxChunks).coerceAtLeast(1)
+    }
+
+    /** Removes all recorded objects but keeps the staging batches. */
+    fun clear() {
+        renderables.clear()
+        targets.clear()
+        serialStaging.values.forEach(RenderBatch::clearVertices)
+    }
+
+    /** Removes all recorded objects and staging batches, such as when the targets are deleted. */
+    fun clearAll() {
+        clear()
+        serialStaging.clear()
+        chunks.clear()
+    }
+
+    private fun ensureCapacity(capacity: Int) {
+        if (capacity <= serialStarts.size) return
+        val newCapacity = maxOf(serialStarts.size * 2, capacity)
+        serialStarts = serialStarts.copyOf(newCapacity)
+        serialLengths = serialLengths.copyOf(newCapacity)
+    }
+
+    /** Builds a range of chunks, splitting the range in half until one chunk is left. */
+    private inner class BuildTask(private val start: Int, private val end: Int) : RecursiveAction() {
+        override fun compute() {
+            if (end - start == 1) {
+                chunks[start].build()
+            } else {
+                val mid = (start + end) ushr 1
+                invokeAll(BuildTask(start, mid), BuildTask(mid, end))
+            }
+        }
+    }
+
+    /**
+     * A range of recorded objects built by one worker, with a staging batch
+     * for each target batch in the range.
+     */
+    private inner class StagingChunk {
+        private var start: Int = 0
+        private var end: Int = 0 // Exclusive
+        private val stagingBatches: MutableMap<RenderBatch, RenderBatch> = IdentityHashMap() // Kept between frames
+        private val usedStaging: MutableMap<RenderBatch, RenderBatch> = IdentityHashMap() // Used this frame
+        private val usedTargets: MutableList<RenderBatch> = ArrayList() // In first-pushed order
+
+        fun setRange(start: Int, end: Int) {
+            this.start = start
+            this.end = end
+        }
+
+        fun build() {
+            usedStaging.clear()
+            usedTargets.clear()
+            var lastTarget: RenderBatch? = null
+            var staging: RenderBatch? = null
+            for (i in start..<end) {
+                val target = targets[i]
+                if (target !== lastTarget) { // Skip hashing for runs of similar objects
+                    staging = getStagingBatch(target)
+                    lastTarget = target
+                }
+                val renderable = renderables[i]
+                if (renderable != null) renderable.pushToBatch(staging!!)
+                else staging!!.appendVertices(serialStaging[target]!!, serialStarts[i], serialLengths[i])
+            }
+        }
+
+        fun appendToTargets() {
+            for (target in usedTargets) target.appendVertices(stagingBatches[target]!!)
+        }
+
+        private fun getStagingBatch(target: RenderBatch): RenderBatch {
+            return usedStaging.getOrPut(target) {
+                val staging = stagingBatches.getOrPut(target) { RenderBatch.createStagingBatch(target) }
+                staging.clearVertices()
+                usedTargets.add(target)
+                staging
+            }
+        }
+    }
+
+}
@@ -0,0 +1,552 @@
+package mayonez.renderer.gl
+
+import mayonez.graphics.*
+import mayonez.renderer.*
+import mayonez.renderer.batch.*
+import kotlin.math.floor
+
+/**
+ * Sorts [GLRenderable] objects into [RenderBatch]es and tracks how much
+ * vertex data is built, uploaded, and drawn each frame. The builder does
+ * not need an OpenGL context if created with `usesGPU = false`, so batching
+ * can be measured in tests and benchmarks.
+ *
+ * Objects pushed with [pushStatic] are kept in retained batches. When one
+ * of their objects changes, only its vertices are rewritten and uploaded,
+ * and when an object is added or removed, only the batch holding it is
+ * rebuilt. All other objects are pushed again every frame. Retained
+ * batches are also split into grid cells by position, so if a [viewCuller]
+ * is set, cells outside the view are not drawn. Sprites pushed with
+ * [pushInstanced] are kept in [InstancedSpriteBatch]es, which upload one
+ * set of attributes per sprite and draw each batch with one instanced call.
+ *
+ * If [parallelPushEnabled] is set, objects pushed with [push] are only
+ * assigned batches until [endFrame], which builds their vertices across
+ * worker threads into the same batches and order as pushing them one by
+ * one.
+ *
+ * Usage: Call [beginFrame], push every object with [push], [pushStatic],
+ * [pushInstanced], or [getAvailableBatch], then call [endFrame] to upload
+ * the batches and [drawBatches] to draw them. [endFrame] may also be split
+ * into [finishBatches], which reads the pushed objects, and [uploadBatches],
+ * which only touches the batches, so the objects can change in between.
+ *
+ * @author SlavSquatSuperstar
+ */
+@UsesEngine(EngineType.GL)
+class GLBatchBuilder @JvmOverloads constructor(private val usesGPU: Boolean = true) {
+
+    // Batch Fields
+    private val batches: MutableList<RenderBatch> = ArrayList() // All batches in draw order
+    private var batchesSorted: Boolean = true // Only sort when a batch is created
+    private val batchGroups: MutableMap<Long, BatchGroup> = HashMap() // Batches by z-index and primitive
+    private var lastKey: Long = Long.MIN_VALUE // Most recently used group
+    private var lastGroup: BatchGroup? = null
+    private val staticLayers: MutableMap<Long, MutableMap<Long, StaticGroup>> = HashMap() // Retained batches
+    private var lastStaticKey: Long = Long.MIN_VALUE
+    private var lastStaticCell: Long = Long.MIN_VALUE
+    private var lastStaticGroup: StaticGroup? = null
+    private val hiddenBatches: MutableSet<RenderBatch> = HashSet() // Retained batches outside the view
+    private val objectBounds: RenderBounds = RenderBounds()
+    private val deferredPushes: DeferredPushList = DeferredPushList() // Objects built in endFrame
+    private val instanceBatches: MutableList<InstancedSpriteBatch> = ArrayList() // All instanced batches in draw order
+    private val instanceGroups: MutableMap<Int, InstanceGroup> = HashMap() // Instanced batches by z-index
+    private val pendingUploads: MutableList<RenderBatch> = ArrayList() // Batches built since the last upload
+    private val pendingPatches: MutableList<RenderBatch> = ArrayList() // Batches rewritten since the last upload
+
+    /** Skips drawing retained batches outside the view and counts their objects, if set. */
+    var viewCuller: ViewCuller? = null
+
+    /**
+     * Whether to build the vertices of objects pushed with [push] across
+     * worker threads in [endFrame], false by default. Should only be changed
+     * between frames.
+     */
+    var parallelPushEnabled: Boolean = false
+
+    private companion object {
+        /** The width of the grid cells retained batches are split into, in scene pixels. */
+        const val STATIC_CELL_SIZE: Float = 1024f
+        const val UNBOUNDED_CELL: Long = Long.MIN_VALUE // For objects without bounds
+        const val MIN_PARALLEL_OBJECTS: Int = 1024 // Fewer objects are built on one thread
+    }
+
+    // Frame Statistics
+
+    /** The number of vertices pushed during the last frame. */
+    var numVertices: Int = 0
+        private set
+
+    /** The number of vertices drawn from retained batches without being pushed again. */
+    var numRetainedVertices: Int = 0
+        private set
+
+    /** The number of sprite instances pushed during the last frame. */
+    var numInstances: Int = 0
+        private set
+
+    /** The number of vertex and instance bytes uploaded during the last frame. */
+    var numUploadBytes: Long = 0
+        private set
+
+    /** The number of batches with vertices in the last frame, or the draw calls needed. */
+    var numDrawCalls: Int = 0
+        private set
+
+    /** All non-instanced batches in draw order, including empty ones. */
+    val renderBatches: List<RenderBatch>
+        get() = batches
+
+    /** The total number of batches, including empty and instanced ones. */
+    val numBatches: Int
+        get() = batches.size + instanceBatches.size
+
+    // Builder Methods
+
+    /** Empties all dynamic batches before pushing objects. */
+    fun beginFrame() {
+        batchGroups.values.forEach(BatchGroup::reset)
+        instanceGroups.values.forEach(InstanceGroup::reset)
+    }
+
+    /**
+     * Pushes an object to the first batch that can hold it.
+     *
+     * @param renderable the object
+     */
+    fun push(renderable: GLRenderable) {
+        renderable.uploadTexture()
+        if (parallelPushEnabled) deferredPushes.add(renderable, getAvailableBatch(renderable))
+        else renderable.pushToBatch(getAvailableBatch(renderable))
+    }
+
+    /**
+     * Keeps an object in a retained batch. Its vertices are only pushed
+     * again if it reports [GLRenderable.isRenderStateChanged] or if the
+     * objects sharing its batch differ from the last frame. Static objects
+     * must be pushed in the same order every frame.
+     *
+     * @param renderable the object
+     */
+    fun pushStatic(renderable: GLRenderable) {
+        renderable.uploadTexture()
+        val cell = if (renderable.getRenderBounds(objectBounds)) objectBounds.getCellKey() else UNBOUNDED_CELL
+        getStaticGroup(renderable.zIndex, renderable.primitive, cell).add(renderable)
+    }
+
+    /**
+     * Pushes a sprite as one instance to the first instanced batch that can
+     * hold it. Only objects that report [GLRenderable.isInstanced] should be
+     * pushed this way.
+     *
+     * @param renderable the sprite
+     */
+    fun pushInstanced(renderable: GLRenderable) {
+        renderable.uploadTexture()
+        renderable.pushToInstanceBatch(getInstanceGroup(renderable.zIndex).getAvailableBatch(renderable))
+    }
+
+    /**
+     * Rebuilds any changed retained batches, uploads the pushed vertices, sorts
+     * the batches, and records statistics.
+     */
+    fun endFrame() {
+        finishBatches()
+        uploadBatches()
+    }
+
+    /**
+     * Builds the vertices of deferred objects, rebuilds any changed retained
+     * batches, and sorts the batches. This is the last step that reads the
+     * pushed objects, so they may be changed once it returns.
+     */
+    fun finishBatches() {
+        deferredPushes.build(deferredPushes.size >= MIN_PARALLEL_OBJECTS)
+        deferredPushes.clear()
+        numRetainedVertices = 0
+        for (group in batchGroups.values) pendingUploads.addAll(group.batches)
+        hiddenBatches.clear()
+        for (cells in staticLayers.values) {
+            for (group in cells.values) {
+                group.finishFrame()
+                for (slot in group.slots) {
+                    when {
+                        slot.rebuilt -> pendingUploads.add(slot.batch)
+                        slot.patched -> pendingPatches.add(slot.batch)
+                    }
+                    if (!slot.rebuilt) numRetainedVertices += slot.batch.numVertices - slot.numPatchedVertices
+                }
+                if (viewCuller?.isVisible(group.bounds, group.numMembers) == false) {
+                    group.slots.forEach { hiddenBatches.add(it.batch) }
+                }
+            }
+        }
+        if (!batchesSorted) {
+            batches.sortBy(RenderBatch::getZIndex) // Sort batches by z-index
+            instanceBatches.sortBy(InstancedSpriteBatch::getZIndex)
+            batchesSorted = true
+        }
+    }
+
+    /**
+     * Uploads the batches built in [finishBatches] to the GPU and records
+     * statistics. Only reads the batches, not the objects pushed to them.
+     */
+    fun uploadBatches() {
+        numVertices = 0
+        numInstances = 0
+        numUploadBytes = 0
+        pendingUploads.forEach(this::uploadBatch)
+        pendingUploads.clear()
+        pendingPatches.forEach(this::uploadPatch)
+        pendingPatches.clear()
+        for (batch in instanceBatches) {
+            batch.uploadInstances()
+            numInstances += batch.numInstances
+            numUploadBytes += batch.uploadBytes
+        }
+        numDrawCalls = batches.count { !it.isEmpty && it !in hiddenBatches } + instanceBatches.count { !it.isEmpty }
+    }
+
+    /**
+     * Draws all non-empty batches in order of z-index, except retained batches
+     * outside the view. Instanced batches are drawn before other batches with
+     * the same z-index.
+     *
+     * @param useShader binds the instanced shader if passed true, or the
+     * default shader if passed false
+     */
+    @JvmOverloads
+    fun drawBatches(useShader: (instanced: Boolean) -> Unit = {}) {
+        var instanceIndex = 0
+        for (batch in batches) {
+            if (instanceIndex < instanceBatches.size && instanceBatches[instanceIndex].zIndex <= batch.zIndex) {
+                instanceIndex = drawInstanceBatches(instanceIndex, batch.zIndex, useShader)
+            }
+            if (batch !in hiddenBatches) batch.drawBatch()
+        }
+        drawInstanceBatches(instanceIndex, Int.MAX_VALUE, useShader)
+    }
+
+    /** Draws the instanced batches up to a z-index and returns the index of the next batch. */
+    private fun drawInstanceBatches(startIndex: Int, maxZIndex: Int, useShader: (Boolean) -> Unit): Int {
+        var index = startIndex
+        var shaderBound = false
+        while (index < instanceBatches.size && instanceBatches[index].zIndex <= maxZIndex) {
+            val batch = instanceBatches[index++]
+            if (batch.isEmpty) continue
+            if (!shaderBound) {
+                useShader(true)
+                shaderBound = true
+            }
+            batch.drawBatch()
+        }
+        if (shaderBound) useShader(false)
+        return index
+    }
+
+    /** Frees all batches. */
+    fun clear() {
+        deferredPushes.clearAll()
+        pendingUploads.clear()
+        pendingPatches.clear()
+        batches.forEach(RenderBatch::deleteBatch)
+        batches.clear()
+        instanceBatches.forEach(InstancedSpriteBatch::deleteBatch)
+        instanceBatches.clear()
+        instanceGroups.clear()
+        batchesSorted = true
+        batchGroups.clear()
+        lastKey = Long.MIN_VALUE
+        lastGroup = null
+        staticLayers.clear()
+        lastStaticKey = Long.MIN_VALUE
+        lastStaticCell = Long.MIN_VALUE
+        lastStaticGroup = null
+        hiddenBatches.clear()
+    }
+
+    // Batch Helper Methods
+
+    /**
+     * Finds the open batch for the object's z-index and primitive, or opens
+     * a new one if the current batch is full. Batches that were skipped are
+     * not revisited until the next frame, so each lookup takes constant time.
+     * Objects should be pushed with [push] instead if [parallelPushEnabled]
+     * is set, or else their vertices may come before earlier objects.
+     *
+     * @param renderable the object
+     * @return the batch
+     */
+    fun getAvailableBatch(renderable: GLRenderable): RenderBatch {
+        return getBatchGroup(renderable.zIndex, renderable.primitive).getAvailableBatch(renderable)
+    }
+
+    private fun BatchGroup.getAvailableBatch(renderable: GLRenderable): RenderBatch {
+        while (openIndex < batches.size) {
+            val batch = batches[openIndex]
+            if (renderable.fitsInBatch(batch)) return batch
+            openIndex++ // Batch is full, so move on
+        }
+        return renderable.createNewBatch(this) // If all batches full
+    }
+
+    private fun getBatchGroup(zIndex: Int, primitive: DrawPrimitive): BatchGroup {
+        val key = getGroupKey(zIndex, primitive)
+        if (key == lastKey) return lastGroup!! // Skip hashing for runs of similar objects
+        val group = batchGroups.getOrPut(key) { BatchGroup() }
+        lastKey = key
+        lastGroup = group
+        return group
+    }
+
+    private fun getInstanceGroup(zIndex: Int): InstanceGroup {
+        return instanceGroups.getOrPut(zIndex) { InstanceGroup(zIndex) }
+    }
+
+    private fun InstanceGroup.getAvailableBatch(renderable: GLRenderable): InstancedSpriteBatch {
+        while (openIndex < batches.size) {
+            val batch = batches[openIndex]
+            if (batch.hasInstanceRoom() && (batch.hasTexture(renderable.texture) || batch.hasTextureRoom())) {
+                return batch
+            }
+            openIndex++ // Batch is full, so move on
+        }
+        val batch = InstancedSpriteBatch(renderable.batchSize, zIndex, usesGPU)
+        instanceBatches.add(batch)
+        batchesSorted = false
+        batches.add(batch)
+        return batch
+    }
+
+    private fun getStaticGroup(zIndex: Int, primitive: DrawPrimitive, cell: Long): StaticGroup {
+        val key = getGroupKey(zIndex, primitive)
+        if (key == lastStaticKey && cell == lastStaticCell) return lastStaticGroup!!
+        val cells = staticLayers.getOrPut(key) { HashMap() }
+        val group = cells.getOrPut(cell) { StaticGroup() }
+        lastStaticKey = key
+        lastStaticCell = cell
+        lastStaticGroup = group
+        return group
+    }
+
+    /** Gets the grid cell containing the center of the bounds. */
+    private fun RenderBounds.getCellKey(): Long {
+        val cellX = floor(0.5f * (minX + maxX) / STATIC_CELL_SIZE).toInt()
+        val cellY = floor(0.5f * (minY + maxY) / STATIC_CELL_SIZE).toInt()
+        return (cellX.toLong() shl 32) or (cellY.toLong() and 0xFFFFFFFFL)
+    }
+
+    private fun getGroupKey(zIndex: Int, primitive: DrawPrimitive): Long {
+        return (zIndex.toLong() shl 8) or primitive.ordinal.toLong()
+    }
+
+    private fun uploadBatch(batch: RenderBatch) {
+        batch.uploadVertices()
+        if (batch.isEmpty) return
+        numVertices += batch.numVertices
+        numUploadBytes += batch.uploadBytes
+    }
+
+    private fun uploadPatch(batch: RenderBatch) {
+        batch.uploadRewrittenVertices()
+        numVertices += batch.uploadBytes / (Float.SIZE_BYTES * batch.primitive.totalComponents)
+        numUploadBytes += batch.uploadBytes
+    }
+
+    /** Sends a texture loaded on a thread without a GL context to the GPU before it is batched. */
+    private fun GLRenderable.uploadTexture() {
+        if (usesGPU) texture?.let { if (!it.isUploaded) it.uploadTexture() }
+    }
+
+    private fun GLRenderable.fitsInBatch(batch: RenderBatch): Boolean {
+        return batch.hasVertexRoom(numPrimitives) && batch.canFitTexture(this)
+    }
+
+    private fun RenderBatch.canFitTexture(renderable: GLRenderable): Boolean {
+        return this.hasTexture(renderable.texture) || this.hasTextureRoom()
+    }
+
+    private fun GLRenderable.createNewBatch(group: BatchGroup): RenderBatch {
+        val batch = createBatch()
+        group.batches.add(batch)
+        return batch
+    }
+
+    private fun GLRenderable.createBatch(): RenderBatch {
+        val batch = RenderBatch(batchSize, zIndex, primitive, usesGPU)
+        batches.add(batch)
+        batchesSorted = false
+        return batch
+    }
+
+    /** The batches sharing a z-index and primitive, and the one currently being filled. */
+    private class BatchGroup {
+        val batches: MutableList<RenderBatch> = ArrayList()
+        var openIndex: Int = 0
+
+        fun reset() {
+            batches.forEach(RenderBatch::clearVertices)
+            openIndex = 0
+        }
+    }
+
+    /** The instanced batches sharing a z-index, and the one currently being filled. */
+    private class InstanceGroup(val zIndex: Int) {
+        val batches: MutableList<InstancedSpriteBatch> = ArrayList()
+        var openIndex: Int = 0
+
+        fun reset() {
+            batches.forEach(InstancedSpriteBatch::clearInstances)
+            openIndex = 0
+        }
+    }
+
+    /**
+     * The retained batches sharing a z-index and primitive. Objects are
+     * matched against the batch that held them last frame, so adding or
+     * removing an object only rebuilds its batch, and any later batches
+     * that it overflows into.
+     */
+    private inner class StaticGroup {
+        val slots: MutableList<StaticBatch> = ArrayList()
+        val bounds: RenderBounds = RenderBounds() // Around all members
+        var numMembers: Int = 0
+            private set
+        private var openIndex: Int = 0 // Batch currently being matched
+
+        fun add(renderable: GLRenderable) {
+            if (slots.isEmpty()) slots.add(StaticBatch(renderable.createBatch()))
+            var slot = slots[openIndex]
+            val next = slots.getOrNull(openIndex + 1)
+            if (!slot.isNextMember(renderable) && next != null && next.isFirstMember(renderable)) {
+                slot = next // Start of the next batch, so stop adding to this one
+                openIndex++
+            }
+            slot.add(renderable)
+        }
+
+        /** Rebuilds or rewrites any changed batches and removes members not pushed this frame. */
+        fun finishFrame() {
+            var overflow: List<GLRenderable> = emptyList()
+            var index = 0
+            while (index < slots.size || overflow.isNotEmpty()) {
+                if (index == slots.size) slots.add(StaticBatch(overflow.first().createBatch()))
+                overflow = slots[index++].finishFrame(overflow)
+            }
+            bounds.setEmpty()
+            numMembers = 0
+            for (slot in slots) {
+                bounds.union(slot.bounds)
+                numMembers += slot.numMembers
+            }
+            openIndex = 0
+        }
+    }
+
+    /** A retained batch, and the objects last pushed to it in order. */
+    private inner class StaticBatch(val batch: RenderBatch) {
+        val bounds: RenderBounds = RenderBounds() // Around all members
+        private val members: MutableList<GLRenderable> = ArrayList()
+        private val starts: MutableList<Int> = ArrayList() // First vertex component of each member, and the end
+        private val pushed: MutableList<GLRenderable> = ArrayList() // Members pushed this frame
+        private val changed: MutableList<Int> = ArrayList() // Indices of members to rewrite
+        private var rebuildNeeded: Boolean = false
+        val numMembers: Int
+            get() = members.size
+
+        /** Whether the batch was rebuilt last frame and needs a full upload. */
+        var rebuilt: Boolean = false
+            private set
+
+        /** Whether members were rewritten last frame and need a partial upload. */
+        var patched: Boolean = false
+            private set
+
+        /** The number of vertices rewritten last frame. */
+        var numPatchedVertices: Int = 0
+            private set
+
+        fun isNextMember(renderable: GLRenderable): Boolean {
+            return !rebuildNeeded && pushed.size < members.size && members[pushed.size] === renderable
+        }
+
+        fun isFirstMember(renderable: GLRenderable): Boolean {
+            return pushed.isEmpty() && members.firstOrNull() === renderable
+        }
+
+        fun add(renderable: GLRenderable) {
+            if (isNextMember(renderable)) {
+                if (renderable.isRenderStateChanged) changed.add(pushed.size)
+            } else {
+                rebuildNeeded = true // Member added, removed, or reordered
+            }
+            pushed.add(renderable)
+        }
+
+        /**
+         * Rebuilds or rewrites the batch if needed, starting with objects that
+         * overflowed the previous batch, and returns the objects that overflow
+         * this batch.
+         */
+        fun finishFrame(overflow: List<GLRenderable>): List<GLRenderable> {
+            if (overflow.isNotEmpty()) {
+                pushed.addAll(0, overflow)
+                rebuildNeeded = true
+            }
+            if (pushed.size != members.size) rebuildNeeded = true
+            rebuilt = false
+            patched = false
+            numPatchedVertices = 0
+            if (!rebuildNeeded && changed.isNotEmpty()) rebuildNeeded = !rewriteChanged()
+            val nextOverflow = if (rebuildNeeded) rebuild() else emptyList()
+            pushed.clear()
+            changed.clear()
+            rebuildNeeded = false
+            return nextOverflow
+        }
+
+        /** Pushes the changed members over their old vertices, or returns false if they no longer fit. */
+        private fun rewriteChanged(): Boolean {
+            for (index in changed) {
+                val renderable = members[index]
+                val start = starts[index]
+                val length = starts[index + 1] - start
+                if (!batch.canFitTexture(renderable)) return false
+                if (!batch.rewriteVertices(start, length, renderable::pushToBatch)) return false
+                numPatchedVertices += length / batch.primitive.totalComponents
+                // Old bounds are kept until the next rebuild
+                if (renderable.getRenderBounds(objectBounds)) bounds.union(objectBounds)
+                else bounds.setInfinite()
+            }
+            patched = true
+            return true
+        }
+
+        /** Pushes the members that fit to the batch and returns the rest. */
+        private fun rebuild(): List<GLRenderable> {
+            batch.clearVertices()
+            bounds.setEmpty()
+            members.clear()
+            starts.clear()
+            patched = false
+            numPatchedVertices = 0
+            rebuilt = true
+            var overflow: List<GLRenderable> = emptyList()
+            for ((index, renderable) in pushed.withIndex()) {
+                if (members.isNotEmpty() && !renderable.fitsInBatch(batch)) {
+                    overflow = ArrayList(pushed.subList(index, pushed.size))
+                    break
+                }
+                starts.add(batch.numComponents)
+                renderable.pushToBatch(batch)
+                members.add(renderable)
+                if (renderable.getRenderBounds(objectBounds)) bounds.union(objectBounds)
+                else bounds.setInfinite() // Never cull objects without bounds
+            }
+            starts.add(batch.numComponents)
+            return overflow
+        }
+    }
+
+}
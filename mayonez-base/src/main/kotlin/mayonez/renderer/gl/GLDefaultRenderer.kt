@@ -9,6 +9,8 @@ import mayonez.math.*
 import mayonez.math.shapes.*
 import mayonez.renderer.*
 import mayonez.renderer.batch.*
+import mayonez.renderer.shader.*
+import org.joml.Matrix4f
 import org.lwjgl.opengl.GL11.glLineWidth
 
 /**
@@ -18,22 +20,36 @@ import org.lwjgl.opengl.GL11.glLineWidth
  * @author SlavSquatSuperstar
  */
 @UsesEngine(EngineType.GL)
-internal class GLDefaultRenderer : GLRenderer("assets/shaders/default.glsl"),
+internal class GLDefaultRenderer : GLRenderer("assets/shaders/default.glsl", "assets/shaders/instanced.glsl"),
     SceneRenderer, DebugRenderer {
 
     // Renderer Parameters
     private val lineStyle: LineStyle = LineStyle.QUADS
 
     // Renderer Objects
-    private val objects: MutableList<GLRenderable> = ArrayList() // Drawable objects
-    private val shapes: MutableList<DebugShape> = ArrayList() // Temporary shapes
-    private val textObjects: MutableList<TextLabel> = ArrayList() // Text objects
+    private val objects: ZOrderedList<GLRenderable> = ZOrderedList() // Drawable objects
+    private val groups: ZOrderedList<GLRenderableGroup> = ZOrderedList() // Groups of drawable objects
+    private val shapes: ZOrderedList<GLRenderable> = ZOrderedList() // Temporary shapes
+    private val textObjects: ZOrderedList<TextLabel> = ZOrderedList() // Text objects
+    private val tempShapes: MutableList<DebugShape> = ArrayList() // Shape parts
+    private val culler: ViewCuller = ViewCuller() // Skips off-screen objects
+
+    // Frame State (copied from the scene each frame)
+    private val view: Matrix4f = Matrix4f()
+    private val projection: Matrix4f = Matrix4f()
+    private var bgColor: GLColor = GLColor()
+    private var drawBgImage: Boolean = false
 
     // Scene Background
     private lateinit var background: Sprite
     private val bgBatch: RenderBatch =
         RenderBatch(1, 0, DrawPrimitive.SPRITE)
 
+    init {
+        viewCuller = culler
+        parallelPushEnabled = true
+    }
+
     // Scene Renderer Methods
 
     override fun setBackground(background: Sprite, sceneSize: Vec2, sceneScale: Float) {
@@ -43,24 +59,37 @@ internal class GLDefaultRenderer : GLRenderer("assets/shaders/default.glsl"),
 
     override fun addRenderable(r: Renderable?) {
         if (r is GLRenderable) objects.add(r)
+        else if (r is GLRenderableGroup) groups.add(r)
         else if (r is TextLabel) textObjects.add(r)
     }
 
     override fun removeRenderable(r: Renderable?) {
         if (r is GLRenderable) objects.remove(r)
+        else if (r is GLRenderableGroup) groups.remove(r)
         else if (r is TextLabel) textObjects.remove(r)
     }
 
+    override fun getViewCuller(): ViewCuller = culler
+
     // Debug Renderer Methods
 
     override fun addShape(shape: DebugShape) {
+        if (lineStyle == LineStyle.QUADS) {
+            // Push the whole shape at once instead of splitting it
+            val tessellated = TessellatedShape(shape)
+            if (tessellated.numPrimitives > 0) shapes.addTemporary(tessellated)
+            return
+        }
+
         for (shapePart in shape.splitIntoParts()) {
             if (shapePart is Edge) {
-                shapes.addLine(shapePart, shape, lineStyle)
+                tempShapes.addLine(shapePart, shape, lineStyle)
             } else if (shapePart is Triangle) {
-                shapes.addShapeAndCopyBrush(shapePart, shape)
+                tempShapes.addShapeAndCopyBrush(shapePart, shape)
             }
         }
+        tempShapes.forEach(shapes::addTemporary)
+        tempShapes.clear()
     }
 
     // Renderer Methods
@@ -68,23 +97,44 @@ internal class GLDefaultRenderer : GLRenderer("assets/shaders/default.glsl"),
     override fun clear() {
         super.clear()
         objects.clear()
+        groups.clear()
         shapes.clear()
         textObjects.clear()
         bgBatch.clearVertices()
     }
 
+    override fun preExtract() {
+        // Find visible area
+        val scene = SceneManager.currentScene
+        culler.setView(scene.camera, scene.scale)
+
+        // Copy camera and background
+        val cam = viewport
+        view.set(cam.viewMatrix)
+        projection.set(cam.projectionMatrix)
+        drawBgImage = background.getTexture() != null
+        if (drawBgImage) pushBackgroundImage()
+        else bgColor = background.getColor().toGL()
+    }
+
+    override fun postExtract() {
+        shapes.clearTemporary() // Clear primitives after each frame
+    }
+
     override fun preRender() {
         super.preRender()
 
         // Upload uniforms
-        val cam = viewport
-        shader.uploadMat4("uView", cam.viewMatrix)
-        shader.uploadMat4("uProjection", cam.projectionMatrix)
-        shader.uploadIntArray("uTextures", textureSlots)
+        instanceShader?.let {
+            it.bind()
+            it.uploadCameraUniforms()
+            shader.bind()
+        }
+        shader.uploadCameraUniforms()
 
         // Draw background
-        if (background.getTexture() == null) drawBackgroundColor()
-        else drawBackgroundImage()
+        if (drawBgImage) drawBackgroundImage()
+        else drawBackgroundColor()
 
         // Set GL Properties
         when (lineStyle) {
@@ -94,41 +144,45 @@ internal class GLDefaultRenderer : GLRenderer("assets/shaders/default.glsl"),
         }
     }
 
-    private fun drawBackgroundImage() {
+    private fun Shader.uploadCameraUniforms() {
+        uploadMat4("uView", view)
+        uploadMat4("uProjection", projection)
+        uploadIntArray("uTextures", textureSlots)
+    }
+
+    private fun pushBackgroundImage() {
         bgBatch.clearVertices()
         (background as GLSprite).pushToBatch(bgBatch)
+    }
+
+    private fun drawBackgroundImage() {
         bgBatch.uploadVertices()
         bgBatch.drawBatch()
     }
 
     private fun drawBackgroundColor() {
-        val bgColor = background.getColor().toGL()
         GLHelper.clearScreen(bgColor.x, bgColor.y, bgColor.z, 1f)
     }
 
     override fun createBatches() {
         // Push objects
-        objects.sortBy { it.zIndex }
-        objects.filter { it.isEnabled }
-            .forEach { it.pushToBatch(it.getAvailableBatch()) }
+        objects.forEach { it.pushToBuilder() }
+
+        // Push groups
+        groups.forEach { group ->
+            group.forEachRenderable { it.pushToBuilder() }
+        }
 
         // Push shapes
-        shapes.sortBy { it.zIndex }
-        shapes.forEach { it.pushToBatch(it.getAvailableBatch()) }
+        shapes.forEach { it.pushToBuilder() }
 
         // Push text
-        textObjects.sortBy { it.zIndex }
-        textObjects.filter { it.isEnabled }
-            .forEach {
-                it.glyphSprites.forEach { glyph ->
-                    glyph.pushToBatch(glyph.getAvailableBatch())
-                }
+        textObjects.forEach {
+            if (!culler.isVisible(it)) return@forEach
+            it.glyphSprites.forEach { glyph ->
+                glyph.pushUnculled()
             }
-    }
-
-    override fun postRender() {
-        super.postRender()
-        shapes.clear() // Clear primitives after each frame
+        }
     }
 
 }
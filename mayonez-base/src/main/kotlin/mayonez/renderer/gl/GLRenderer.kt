@@ -10,48 +10,78 @@ import java.awt.*
 
 /**
  * A base renderer for OpenGL that uploads sprite and shape data to the
- * GPU.
+ * GPU. If an instanced shader is given, sprites that report
+ * [GLRenderable.isInstanced] are drawn as instances of a shared quad.
+ *
+ * Each frame is split into [extractFrame], which reads the scene into
+ * vertices and uniforms, and [drawFrame], which only uploads and draws
+ * them, so the scene can update while the last frame is drawn.
  *
  * @author SlavSquatSuperstar
  */
 @UsesEngine(EngineType.GL)
-abstract class GLRenderer(shaderFile: String) : Renderer {
+abstract class GLRenderer @JvmOverloads constructor(
+    shaderFile: String, instanceShaderFile: String? = null
+) : PipelinedRenderer {
 
     // GPU Resources
-    private val batches: MutableList<RenderBatch> = ArrayList()
+    private val batchBuilder: GLBatchBuilder = GLBatchBuilder()
     protected val shader: Shader = Assets.getAsset(shaderFile, Shader::class.java)!!
+    protected val instanceShader: Shader? = instanceShaderFile?.let { Assets.getAsset(it, Shader::class.java) }
     protected val textureSlots: IntArray = IntArray(RenderBatch.MAX_TEXTURE_SLOTS) { it }
 
     // Renderer Methods
 
     override fun clear() {
-        batches.forEach(RenderBatch::deleteBatch)
-        batches.clear()
+        batchBuilder.clear()
     }
 
     override fun render(g2: Graphics2D?) {
-        preRender()
+        extractFrame()
+        drawFrame()
+    }
+
+    override fun extractFrame() {
+        preExtract()
         rebuffer()
-        batches.forEach(RenderBatch::drawBatch)
+        postExtract()
+    }
+
+    override fun drawFrame() {
+        preRender()
+        batchBuilder.uploadBatches()
+        batchBuilder.drawBatches(this::useShader)
         postRender()
     }
 
-    /** Clear the screen and upload resources to the GPU. */
-    protected open fun preRender() {
-        shader.bind() // TODO may be better to bind shader for each object
+    /** Copy any scene state needed to draw, such as camera matrices. */
+    protected open fun preExtract() {
     }
 
     /** Sort all image data into batches. */
     protected open fun rebuffer() {
-        batches.forEach(RenderBatch::clearVertices) // Prepare batches
+        batchBuilder.beginFrame() // Prepare batches
         createBatches()
-        batches.forEach(RenderBatch::uploadVertices) // Finalize batches
-        batches.sortBy(RenderBatch::getZIndex) // Sort batches by z-index
+        batchBuilder.finishBatches() // Finalize batches
+    }
+
+    /** Release any objects that were only pushed for this frame. */
+    protected open fun postExtract() {
+    }
+
+    /** Clear the screen and upload resources to the GPU. */
+    protected open fun preRender() {
+        shader.bind() // TODO may be better to bind shader for each object
     }
 
     /** Sort image data into render batches. */
     protected abstract fun createBatches()
 
+    /** Switches between the instanced and default shaders while drawing batches. */
+    private fun useShader(instanced: Boolean) {
+        if (instanced) instanceShader?.bind() else shader.bind()
+    }
+
     /** Finish drawing and free resources from the GPU. */
     protected open fun postRender() {
         shader.unbind() // Unbind everything
@@ -61,29 +91,37 @@ abstract class GLRenderer(shaderFile: String) : Renderer {
 
     override fun getViewport(): Viewport = SceneManager.currentScene.camera
 
-    // Batch Helper Methods
+    /** Skips pushing objects outside the view, or null to draw everything. */
+    protected var viewCuller: ViewCuller?
+        get() = batchBuilder.viewCuller
+        set(viewCuller) {
+            batchBuilder.viewCuller = viewCuller
+        }
 
-    // TODO may be better to sort by z-index, and put as many things in batches as possible
-    // TODO see Cherno renderer class
-    // TODO track current batch
-    protected fun GLRenderable.getAvailableBatch(): RenderBatch {
-        return batches.find { this.fitsInBatch(it) }
-            ?: this.createNewBatch() // If all batches full
-    }
+    // Batch Helper Methods
 
-    private fun GLRenderable.fitsInBatch(batch: RenderBatch): Boolean {
-        return batch.hasVertexRoom() && (batch.primitive == this.primitive)
-                && (batch.zIndex == this.zIndex) && batch.canFitTexture(this)
-    }
+    /** Whether pushed objects have their vertices built across worker threads. */
+    protected var parallelPushEnabled: Boolean
+        get() = batchBuilder.parallelPushEnabled
+        set(parallelPushEnabled) {
+            batchBuilder.parallelPushEnabled = parallelPushEnabled
+        }
 
-    private fun RenderBatch.canFitTexture(renderable: GLRenderable): Boolean {
-        return this.hasTexture(renderable.texture) || this.hasTextureRoom()
+    /** Pushes this object to this frame's batches without checking if it is visible. */
+    protected fun GLRenderable.pushUnculled() {
+        batchBuilder.push(this)
     }
 
-    private fun GLRenderable.createNewBatch(): RenderBatch {
-        val batch = RenderBatch(batchSize, zIndex, primitive)
-        batches.add(batch)
-        return batch
+    /**
+     * Pushes this object to a retained batch if static, or to this frame's
+     * batches if it is visible. Visible instanced sprites are pushed to an
+     * instanced batch if this renderer has an instanced shader.
+     */
+    protected fun GLRenderable.pushToBuilder() {
+        if (this.isStatic) batchBuilder.pushStatic(this) // Culled by grid cell
+        else if (viewCuller?.isVisible(this) == false) return
+        else if (this.isInstanced && instanceShader != null) batchBuilder.pushInstanced(this)
+        else batchBuilder.push(this)
     }
 
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import mayonez.graphics.*
 import mayonez.graphics.debug.*
 import mayonez.graphics.font.*
 import mayonez.renderer.*
+import org.joml.Matrix4f
 import org.lwjgl.opengl.GL11.glLineWidth
 
 /**
@@ -20,8 +21,9 @@ internal class GLUIRenderer : GLRenderer("assets/shaders/ui.glsl"),
     private val lineStyle: LineStyle = LineStyle.QUADS
 
     // Renderer Objects
-    private val objects: MutableList<GLRenderable> = ArrayList() // Drawable objects
-    private val textObjects: MutableList<TextLabel> = ArrayList() // Text objects
+    private val objects: ZOrderedList<GLRenderable> = ZOrderedList() // Drawable objects
+    private val textObjects: ZOrderedList<TextLabel> = ZOrderedList() // Text objects
+    private val projection: Matrix4f = Matrix4f() // Copied from the camera each frame
 
     // Scene Renderer Methods
 
@@ -43,11 +45,15 @@ internal class GLUIRenderer : GLRenderer("assets/shaders/ui.glsl"),
         textObjects.clear()
     }
 
+    override fun preExtract() {
+        projection.set(viewport.projectionMatrix)
+    }
+
     override fun preRender() {
         super.preRender()
 
         // Upload uniforms
-        shader.uploadMat4("uProjection", viewport.projectionMatrix)
+        shader.uploadMat4("uProjection", projection)
         shader.uploadIntArray("uTextures", textureSlots)
 
         // Set GL Properties
@@ -60,18 +66,14 @@ internal class GLUIRenderer : GLRenderer("assets/shaders/ui.glsl"),
 
     override fun createBatches() {
         // Push objects
-        objects.sortBy { it.zIndex }
-        objects.filter { it.isEnabled }
-            .forEach { it.pushToBatch(it.getAvailableBatch()) }
+        objects.forEach { it.pushToBuilder() }
 
         // Push text
-        textObjects.sortBy { it.zIndex }
-        textObjects.filter { it.isEnabled }
-            .forEach {
-                it.glyphSprites.forEach { glyph ->
-                    glyph.pushToBatch(glyph.getAvailableBatch())
-                }
+        textObjects.forEach {
+            it.glyphSprites.forEach { glyph ->
+                glyph.pushUnculled()
             }
+        }
     }
 
 }
@@ -0,0 +1,211 @@
+package mayonez.renderer.gl
+
+import mayonez.graphics.*
+import mayonez.graphics.debug.*
+import mayonez.math.*
+import mayonez.math.shapes.*
+import mayonez.renderer.*
+import mayonez.renderer.batch.*
+import java.util.concurrent.*
+import kotlin.math.*
+
+/**
+ * Draws a [DebugShape] as triangles with lines drawn as quads, pushing all its
+ * triangles as one object instead of splitting it into a new shape for every
+ * line or triangle. Polygons are split into triangles sharing their first vertex,
+ * ellipses are drawn using a cached unit circle that is scaled, rotated, and moved
+ * to the ellipse, and each line's quad is calculated from its endpoints, so no
+ * temporary shapes are created.
+ *
+ * The vertices are the same as splitting the shape with [DebugShape.splitIntoParts]
+ * and drawing each line as a [Rectangle] (see [LineStyle.QUADS]), though each
+ * triangle's vertices may start from a different corner.
+ *
+ * @author SlavSquatSuperstar
+ */
+@UsesEngine(EngineType.GL)
+internal class TessellatedShape(private val debugShape: DebugShape) : GLRenderable {
+
+    private val shape: MShape = debugShape.shape
+    private val fill: Boolean = debugShape.fill
+    private val stroke: Float = debugShape.strokeSize
+    private val halfStroke: Float = stroke * 0.5f
+
+    /** The number of lines in the shape, or vertices if the shape is a polygon. */
+    private val numSides: Int = when (shape) {
+        is Edge -> 1
+        is MPolygon -> shape.numVertices
+        is Ellipse -> getNumCircleSides(shape)
+        else -> 0
+    }
+
+    /** The number of triangles pushed to the batch. */
+    private val numTriangles: Int = when {
+        shape is Edge -> 2
+        fill -> max(numSides - 2, 0)
+        else -> numSides * 2 // Two triangles for each line
+    }
+
+    // Render Batch Methods
+
+    override fun pushToBatch(batch: RenderBatch) {
+        val color = debugShape.color
+        val r = color.fRed
+        val g = color.fGreen
+        val b = color.fBlue
+        when (val shape = this.shape) {
+            is Edge -> batch.pushQuadLine(shape.start.x, shape.start.y, shape.end.x, shape.end.y, r, g, b)
+            is MPolygon -> batch.pushPolygon(shape.vertices, r, g, b)
+            is Ellipse -> batch.pushEllipse(shape, r, g, b)
+        }
+    }
+
+    private fun RenderBatch.pushPolygon(vertices: Array<Vec2>, r: Float, g: Float, b: Float) {
+        val n = vertices.size
+        if (fill) {
+            val start = vertices[0]
+            for (i in 1..<n - 1) {
+                pushTriangle(
+                    start.x, start.y, vertices[i].x, vertices[i].y,
+                    vertices[i + 1].x, vertices[i + 1].y, r, g, b
+                )
+            }
+        } else {
+            for (i in 0..<n) {
+                val start = vertices[i]
+                val end = vertices[(i + 1) % n]
+                pushQuadLine(start.x, start.y, end.x, end.y, r, g, b)
+            }
+        }
+    }
+
+    private fun RenderBatch.pushEllipse(ellipse: Ellipse, r: Float, g: Float, b: Float) {
+        val unitCircle = getUnitCircle(numSides)
+        val center = ellipse.center()
+        val halfWidth = ellipse.size.x * 0.5f
+        val halfHeight = ellipse.size.y * 0.5f
+        val cos = MathUtils.cos(ellipse.angle)
+        val sin = MathUtils.sin(ellipse.angle)
+
+        var firstX = 0f
+        var firstY = 0f
+        var prevX = 0f
+        var prevY = 0f
+        for (i in 0..numSides) { // Visit the first vertex again to close the outline
+            // Scale the unit circle vertex, then rotate it around the center
+            val index = 2 * (i % numSides)
+            val unitX = unitCircle[index] * halfWidth
+            val unitY = unitCircle[index + 1] * halfHeight
+            val x = center.x + unitX * cos - unitY * sin
+            val y = center.y + unitX * sin + unitY * cos
+
+            if (i == 0) {
+                firstX = x
+                firstY = y
+            } else if (!fill) {
+                pushQuadLine(prevX, prevY, x, y, r, g, b)
+            } else if (i in 2..<numSides) {
+                pushTriangle(firstX, firstY, prevX, prevY, x, y, r, g, b)
+            }
+            prevX = x
+            prevY = y
+        }
+    }
+
+    /**
+     * Pushes a line as a quad with the stroke size as its width, stretched to cover
+     * the line's ends. The corners are in the same order as [Rectangle.vertices].
+     */
+    private fun RenderBatch.pushQuadLine(
+        startX: Float, startY: Float, endX: Float, endY: Float, r: Float, g: Float, b: Float
+    ) {
+        val dx = endX - startX
+        val dy = endY - startY
+        val len = sqrt(dx * dx + dy * dy)
+        val dirX = if (len > 0f) dx / len else 1f
+        val dirY = if (len > 0f) dy / len else 0f
+
+        // Half of the quad's length and width, rotated to the line's direction
+        val halfLen = (len + stroke - 1f) * 0.5f
+        val alongX = dirX * halfLen
+        val alongY = dirY * halfLen
+        val acrossX = -dirY * halfStroke
+        val acrossY = dirX * halfStroke
+
+        val centerX = (startX + endX) * 0.5f
+        val centerY = (startY + endY) * 0.5f
+        val x0 = centerX - alongX - acrossX
+        val y0 = centerY - alongY - acrossY
+        val x2 = centerX + alongX + acrossX
+        val y2 = centerY + alongY + acrossY
+        pushTriangle(x0, y0, centerX + alongX - acrossX, centerY + alongY - acrossY, x2, y2, r, g, b)
+        pushTriangle(x0, y0, x2, y2, centerX - alongX + acrossX, centerY - alongY + acrossY, r, g, b)
+    }
+
+    private fun RenderBatch.pushTriangle(
+        x1: Float, y1: Float, x2: Float, y2: Float, x3: Float, y3: Float, r: Float, g: Float, b: Float
+    ) {
+        // Disable transparency like DebugShape
+        pushVertex(x1, y1, r, g, b, 1f)
+        pushVertex(x2, y2, r, g, b, 1f)
+        pushVertex(x3, y3, r, g, b, 1f)
+    }
+
+    // Renderable Methods
+
+    override fun getNumPrimitives(): Int = numTriangles
+
+    override fun isParallelSafe(): Boolean = true
+
+    override fun getBatchSize(): Int = max(RenderBatch.MAX_TRIANGLES, numTriangles)
+
+    override fun getPrimitive(): DrawPrimitive = DrawPrimitive.TRIANGLE
+
+    override fun getZIndex(): Int = debugShape.zIndex
+
+    override fun isEnabled(): Boolean = true
+
+    override fun isInUI(): Boolean = false
+
+    override fun getRenderBounds(bounds: RenderBounds): Boolean {
+        if (!debugShape.getRenderBounds(bounds)) return false
+        if (!fill || shape is Edge) { // Include the line quads' width
+            bounds.set(
+                bounds.minX - halfStroke, bounds.minY - halfStroke,
+                bounds.maxX + halfStroke, bounds.maxY + halfStroke
+            )
+        }
+        return true
+    }
+
+    override fun toString(): String {
+        return "Tessellated $debugShape"
+    }
+
+    companion object {
+        private const val MIN_CIRCLE_SIDES: Int = 3
+        private const val MAX_CACHED_CIRCLES: Int = 256
+
+        /** Vertices of unit circles with a given number of sides, stored as x, y pairs. */
+        private val unitCircles: MutableMap<Int, FloatArray> = ConcurrentHashMap()
+
+        /** Uses the same number of sides as [Ellipse.toPolygon]. */
+        private fun getNumCircleSides(ellipse: Ellipse): Int {
+            val halfWidth = ellipse.size.x * 0.5f
+            return max((MathUtils.TWO_PI * halfWidth).roundToInt(), MIN_CIRCLE_SIDES)
+        }
+
+        private fun getUnitCircle(sides: Int): FloatArray {
+            unitCircles[sides]?.let { return it }
+            if (unitCircles.size >= MAX_CACHED_CIRCLES) unitCircles.clear() // Growing or shrinking circles
+            val angle = 360f / sides
+            val vertices = FloatArray(sides * 2) {
+                if (it % 2 == 0) MathUtils.cos(angle * (it / 2))
+                else MathUtils.sin(angle * (it / 2))
+            }
+            unitCircles[sides] = vertices
+            return vertices
+        }
+    }
+
+}
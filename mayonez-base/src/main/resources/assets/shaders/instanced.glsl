@@ -0,0 +1,59 @@
+#type vertex
+#version 400 core
+
+// Sprite instances drawn on a shared unit quad
+
+layout (location=0) in vec2 aCorner; // per vertex, from -0.5 to 0.5
+layout (location=1) in vec2 aPosition; // per instance
+layout (location=2) in float aRotation;
+layout (location=3) in vec2 aScale;
+layout (location=4) in vec4 aColor;
+layout (location=5) in vec4 aUVRect;
+layout (location=6) in float aTexID;
+
+uniform mat4 uView;
+uniform mat4 uProjection;
+
+out vec4 fColor;
+out vec2 fTexCoords;
+out float fTexID;
+
+void main()
+{
+    fColor = aColor;
+    fTexCoords = mix(aUVRect.xy, aUVRect.zw, aCorner + 0.5);
+    fTexID = aTexID;
+
+    // Scale, rotate, then translate the corner
+    float angle = radians(aRotation);
+    float cosAngle = cos(angle);
+    float sinAngle = sin(angle);
+    vec2 local = aCorner * aScale;
+    vec2 rotated = vec2(local.x * cosAngle - local.y * sinAngle, local.x * sinAngle + local.y * cosAngle);
+
+    gl_Position = uProjection * uView * vec4(aPosition + rotated, 0.0, 1.0);
+}
+
+#type fragment
+#version 400 core
+
+in vec4 fColor;
+in vec2 fTexCoords;
+in float fTexID;
+
+uniform sampler2D uTextures[8];
+
+out vec4 color;
+
+void main()
+{
+    // Apply color to texture
+    if (fTexID > 0)
+    {
+        color = fColor * texture(uTextures[int(fTexID)], fTexCoords);
+    }
+    else
+    {
+        color = fColor;
+    }
+}
@@ -140,4 +140,111 @@ class GameObjectTest {
         assertNull(obj.getComponents(null));
     }
 
+    // Child Object Tests
+
+    @Test
+    void addChildSetsParent() {
+        var child = new GameObject("Child Object");
+        obj.addChild(child);
+
+        assertSame(obj, child.getParent());
+        assertTrue(child.isChild());
+        assertSame(child, obj.getChild(0));
+        assertSame(child, obj.getChild("Child Object"));
+    }
+
+    @Test
+    void cannotAddAncestorAsChild() {
+        var child = new GameObject("Child Object");
+        obj.addChild(child);
+        child.addChild(obj);
+        obj.addChild(obj);
+
+        assertFalse(obj.isChild());
+        assertEquals(0, child.numChildren());
+        assertEquals(1, obj.numChildren());
+    }
+
+    @Test
+    void childFollowsParentTransform() {
+        var child = new GameObject("Child Object", new Vec2(1f, 0f));
+        obj.addChild(child);
+        obj.updateWorldTransform(false);
+
+        obj.transform.setPosition(new Vec2(2f, 3f));
+        obj.transform.setRotation(90f);
+        obj.updateWorldTransform(false);
+
+        assertEquals(new Vec2(2f, 4f), child.transform.getPosition());
+        assertEquals(new Vec2(1f, 0f), child.localTransform.getPosition());
+    }
+
+    @Test
+    void childMovesRelativeToParent() {
+        obj.transform.setScale(new Vec2(2f));
+        var child = new GameObject("Child Object");
+        obj.addChild(child);
+
+        child.localTransform.move(new Vec2(0f, 1f));
+        obj.updateWorldTransform(false);
+
+        assertEquals(new Vec2(0f, 2f), child.transform.getPosition());
+    }
+
+    @Test
+    void addParentToSceneAddsChildren() {
+        var child = new GameObject("Child Object");
+        var grandchild = new GameObject("Grandchild Object");
+        child.addChild(grandchild);
+        obj.addChild(child);
+
+        var scene = new Scene("Test Scene") {
+        };
+        scene.addObject(obj);
+        assertEquals(3, scene.numObjects());
+        assertSame(scene, child.getScene());
+        assertSame(scene, grandchild.getScene());
+    }
+
+    @Test
+    void destroyParentDestroysChildren() {
+        var child = new GameObject("Child Object");
+        obj.addChild(child);
+        obj.destroy();
+
+        assertTrue(child.isDestroyed());
+    }
+
+    // Parallel Update Tests
+
+    private static class CountUpdates extends Script {
+        int updates = 0;
+
+        @Override
+        protected void update(float dt) {
+            updates++;
+        }
+    }
+
+    @ParallelSafe
+    private static class CountParallelUpdates extends CountUpdates {
+    }
+
+    @Test
+    void parallelComponentsOnlyUpdatedInParallel() {
+        var parallelComp = new CountParallelUpdates();
+        obj.addComponent(parallelComp);
+        var serialComp = new CountUpdates();
+        obj.addComponent(serialComp);
+        assertTrue(obj.hasParallelComponents());
+
+        obj.updateSerial(0.5f);
+        assertEquals(0, parallelComp.updates);
+        assertEquals(1, serialComp.updates);
+
+        obj.updateParallel(0.5f);
+        assertEquals(1, parallelComp.updates);
+        assertEquals(1, serialComp.updates);
+    }
+
 }
@@ -0,0 +1,67 @@
+package mayonez;
+
+import mayonez.assets.text.*;
+
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ * Measures how long the game thread spends on each log call when the message is
+ * formatted and written right away, like the logger used to do, compared to
+ * {@link mayonez.Logger}, which hands the message to its writer thread. The console
+ * is redirected to a null stream while measuring. Run the main method manually; it
+ * is not part of the unit tests.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class LoggerBenchmark {
+
+    private static final int WARMUP_MESSAGES = 5000;
+    private static final int MEASURE_MESSAGES = 20000;
+
+    public static void main(String[] args) throws IOException {
+        var console = System.out;
+        var logFile = Files.createTempFile("mayonez-log", ".log");
+        logFile.toFile().deleteOnExit();
+        var textFile = new TextFile(logFile.toString());
+
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        measure(WARMUP_MESSAGES, i -> logSynchronously(textFile, i));
+        measure(WARMUP_MESSAGES, i -> Logger.log("Frame %d, position = (%.2f, %.2f)", i, i * 0.5f, i * 0.25f));
+        Logger.flush();
+
+        var sync = measure(MEASURE_MESSAGES, i -> logSynchronously(textFile, i));
+        var async = measure(MEASURE_MESSAGES, i -> Logger.log("Frame %d, position = (%.2f, %.2f)", i, i * 0.5f, i * 0.25f));
+
+        var start = System.nanoTime();
+        Logger.flush();
+        var flushMillis = (System.nanoTime() - start) * 1e-6;
+        System.setOut(console);
+
+        System.out.printf("Synchronous: %.2f µs per call%n", sync);
+        System.out.printf("Logger     : %.2f µs per call (%.1f ms to flush)%n", async, flushMillis);
+    }
+
+    private static double measure(int numMessages, MessageLogger logger) {
+        var start = System.nanoTime();
+        for (var i = 0; i < numMessages; i++) logger.logMessage(i);
+        return (System.nanoTime() - start) * 1e-3 / numMessages;
+    }
+
+    /** Formats, prints, and saves a message on the calling thread. */
+    private static void logSynchronously(TextFile logFile, int i) {
+        var source = Thread.currentThread().getStackTrace()[2].getClassName();
+        var message = "[%.4f] [INFO] [%s] %s".formatted(
+                Time.getTotalProgramSeconds(), source,
+                "Frame %d, position = (%.2f, %.2f)".formatted(i, i * 0.5f, i * 0.25f)
+        );
+        System.out.println(message);
+        logFile.append(message);
+    }
+
+    @FunctionalInterface
+    private interface MessageLogger {
+        void logMessage(int i);
+    }
+
+}
@@ -0,0 +1,68 @@
+package mayonez;
+
+import mayonez.assets.*;
+import mayonez.graphics.textures.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.ScenePreload} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class ScenePreloadTest {
+
+    @Test
+    void sceneWithoutAssetsCompletesImmediately() {
+        var preload = new ScenePreload(new Scene("Test Scene") {
+        });
+        assertTrue(preload.isDone());
+        assertEquals(1f, preload.getProgress());
+    }
+
+    @Test
+    void declaredAssetsAreLoaded() throws Exception {
+        Assets.clearAssets();
+        var filename = "testassets/text/properties.txt";
+        var preload = new ScenePreload(createScene(filename));
+        awaitPreload(preload);
+
+        assertEquals(preload.getScene(), preload.getFuture().getNow(null));
+        assertEquals(1f, preload.getProgress());
+        assertTrue(Assets.hasAsset(filename));
+    }
+
+    @Test
+    void loadedTexturesAreNotLoadedAgain() throws Exception {
+        Assets.clearAssets();
+        var filename = "testassets/images/mario.png";
+        var texture = Textures.getTexture(filename); // Shared with the current scene
+        awaitPreload(new ScenePreload(createScene(filename)));
+        assertSame(texture, Textures.getTexture(filename));
+        assertTrue(texture.getApproximateSize() > 0L); // Not freed
+        Assets.clearAssets();
+    }
+
+    // Helper Methods
+
+    private static Scene createScene(String filename) {
+        return new Scene("Test Scene") {
+            @Override
+            protected void declareAssets(List<String> assets) {
+                assets.add(filename);
+            }
+        };
+    }
+
+    private static void awaitPreload(ScenePreload preload) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5000;
+        while (!preload.isDone() && System.currentTimeMillis() < deadline) {
+            preload.uploadAssets(Long.MAX_VALUE); // Simulate the game thread
+            Thread.sleep(1);
+        }
+    }
+
+}
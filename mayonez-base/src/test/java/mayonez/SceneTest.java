@@ -72,4 +72,51 @@ class SceneTest {
         assertNull(scene.getObject("Test Object"));
     }
 
+    @Test
+    void childAddedOnStartJoinsRunningSceneOnce() {
+        var childStarts = new int[1];
+        var child = new GameObject("Child Object") {
+            @Override
+            protected void init() {
+                childStarts[0]++;
+            }
+        };
+        var parent = new GameObject("Parent Object") {
+            @Override
+            protected void init() {
+                addChild(child);
+            }
+        };
+        var spawner = new GameObject("Spawner Object") {
+            @Override
+            protected void init() {
+                getScene().addObject(parent); // Added while the scene is running
+            }
+        };
+
+        scene.addObject(spawner);
+        scene.start();
+        assertSame(scene, child.getScene());
+        assertEquals(1, childStarts[0]);
+        assertEquals(1, scene.getObjects().stream().filter(obj -> obj == child).count());
+        scene.stop();
+    }
+
+    @Test
+    void reloadedSceneDoesNotStackSystems() {
+        var scene = new Scene("Test Scene") {
+            @Override
+            protected void init() {
+                getEntities().addSystem((world, dt) -> {
+                });
+            }
+        };
+        for (var i = 0; i < 3; i++) {
+            scene.start();
+            assertEquals(2, scene.getEntities().numSystems()); // Movement and scene systems
+            scene.stop();
+        }
+        assertEquals(1, scene.getEntities().numSystems());
+    }
+
 }
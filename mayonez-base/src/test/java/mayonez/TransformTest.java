@@ -33,4 +33,26 @@ class TransformTest {
         assertNotEquals(null, t);
     }
 
+    @Test
+    void setCombinedEqualsCombine() {
+        var parent = new Transform(new Vec2(1, 2), 30f, new Vec2(2, 3));
+        var local = new Transform(new Vec2(-1, 4), 45f, new Vec2(0.5f, 2));
+
+        var combined = new Transform();
+        combined.setCombined(parent, local);
+        assertEquals(parent.combine(local), combined);
+    }
+
+    @Test
+    void modifiedTransformIsDirty() {
+        var t = new Transform(new Vec2(2, 2));
+        assertTrue(t.isDirty());
+
+        t.markClean();
+        assertFalse(t.isDirty());
+
+        t.getPosition().x = 3f;
+        assertTrue(t.isDirty());
+    }
+
 }
@@ -0,0 +1,64 @@
+package mayonez.assets;
+
+import javax.imageio.ImageIO;
+import java.awt.image.*;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Measures the time to decode a level's worth of images one at a time compared to
+ * {@link mayonez.assets.Assets#loadAll}, which decodes them across all cores. The
+ * images are generated in a temporary folder. Run the main method manually; it is
+ * not part of the unit tests.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class AssetLoadBenchmark {
+
+    private static final int NUM_IMAGES = 48;
+    private static final int IMAGE_LENGTH = 512;
+
+    public static void main(String[] args) throws Exception {
+        var filenames = createImages();
+        System.out.printf("Decoding %d images on %d cores%n", NUM_IMAGES, Runtime.getRuntime().availableProcessors());
+
+        // Warm up both paths
+        loadSerially(filenames);
+        Assets.loadAll(filenames).get();
+        Assets.clearAssets();
+
+        var start = System.nanoTime();
+        loadSerially(filenames);
+        System.out.printf("One at a time: %.1f ms%n", (System.nanoTime() - start) * 1e-6);
+
+        start = System.nanoTime();
+        Assets.loadAll(filenames).get();
+        System.out.printf("Load all     : %.1f ms%n", (System.nanoTime() - start) * 1e-6);
+        Assets.clearAssets();
+    }
+
+    private static void loadSerially(List<String> filenames) throws Exception {
+        for (var filename : filenames) Assets.loadAll(List.of(filename)).get(); // Wait for each image
+        Assets.clearAssets();
+    }
+
+    private static List<String> createImages() throws IOException {
+        var directory = Files.createTempDirectory("mayonez-images");
+        directory.toFile().deleteOnExit();
+        var random = new java.util.Random(0);
+        var filenames = new ArrayList<String>();
+        for (var i = 0; i < NUM_IMAGES; i++) {
+            var image = new BufferedImage(IMAGE_LENGTH, IMAGE_LENGTH, BufferedImage.TYPE_INT_ARGB);
+            for (var y = 0; y < IMAGE_LENGTH; y++) {
+                for (var x = 0; x < IMAGE_LENGTH; x++) image.setRGB(x, y, random.nextInt());
+            }
+            var file = directory.resolve("image_" + i + ".png").toFile();
+            ImageIO.write(image, "png", file);
+            file.deleteOnExit();
+            filenames.add(file.getPath());
+        }
+        return filenames;
+    }
+
+}
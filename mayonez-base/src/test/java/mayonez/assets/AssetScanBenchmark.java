@@ -0,0 +1,47 @@
+package mayonez.assets;
+
+import mayonez.io.scanner.*;
+
+/**
+ * Measures the time to find all the engine's startup assets by scanning the classpath
+ * with a {@link mayonez.io.scanner.ClasspathFolderScanner} compared to reading the
+ * {@link mayonez.io.scanner.AssetManifest} written at build time. No window is opened.
+ * Run the main method manually after building; it is not part of the unit tests.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class AssetScanBenchmark {
+
+    private static final String ASSETS_DIRECTORY = "assets";
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 20;
+
+    public static void main(String[] args) {
+        if (AssetManifest.readClasspathManifests(true) == null) {
+            System.out.println("No asset manifest found, run the generateAssetManifest task first");
+            return;
+        }
+
+        measure("Classpath scan", () -> new ClasspathFolderScanner().getFiles(ASSETS_DIRECTORY).size());
+        measure("Asset manifest", () -> {
+            var manifest = AssetManifest.readClasspathManifests(true);
+            return (manifest == null) ? 0 : manifest.getFiles(ASSETS_DIRECTORY).size();
+        });
+    }
+
+    private static void measure(String name, FileCounter counter) {
+        for (var i = 0; i < WARMUP_ROUNDS; i++) counter.countFiles();
+
+        var numFiles = 0;
+        var start = System.nanoTime();
+        for (var i = 0; i < MEASURE_ROUNDS; i++) numFiles = counter.countFiles();
+        var elapsedMillis = (System.nanoTime() - start) * 1e-6 / MEASURE_ROUNDS;
+        System.out.printf("%s: %.2f ms to find %d assets%n", name, elapsedMillis, numFiles);
+    }
+
+    @FunctionalInterface
+    private interface FileCounter {
+        int countFiles();
+    }
+
+}
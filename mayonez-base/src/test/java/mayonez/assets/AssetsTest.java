@@ -1,9 +1,14 @@
 package mayonez.assets;
 
+import mayonez.assets.image.*;
 import mayonez.assets.text.*;
+import mayonez.graphics.textures.*;
 import mayonez.io.*;
+import mayonez.math.*;
 import org.junit.jupiter.api.*;
 
+import java.util.*;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -63,4 +68,209 @@ class AssetsTest {
         assertEquals(filename, textFile.getFilename());
     }
 
+    @Test
+    void loadAllStoresAssetsByExtension() throws Exception {
+        Assets.clearAssets();
+        var filenames = List.of(
+                "testassets/text/properties.json", "testassets/text/engines.csv",
+                "testassets/text/properties.txt", "testassets/images/mario.png"
+        );
+        var assets = Assets.loadAll(filenames).get();
+        assertEquals(filenames.size(), assets.size());
+        assertInstanceOf(JSONFile.class, assets.get(0));
+        assertInstanceOf(CSVFile.class, assets.get(1));
+        assertInstanceOf(TextFile.class, assets.get(2));
+        assertInstanceOf(ImageData.class, assets.get(3));
+        for (var i = 0; i < filenames.size(); i++) {
+            assertSame(assets.get(i), Assets.getAsset(filenames.get(i)));
+        }
+        Assets.clearAssets();
+    }
+
+    @Test
+    void textureTakesImageFromLoadAll() throws Exception {
+        Assets.clearAssets();
+        var filename = "testassets/images/mario.png";
+        var image = Assets.loadAll(List.of(filename)).get().get(0);
+        var texture = Textures.getTexture(filename); // Same image class as the engine
+        assertSame(image, texture.getImageData());
+        assertSame(texture, Assets.getAsset(filename));
+        Assets.clearAssets();
+    }
+
+    @Test
+    void loadingDifferentClassKeepsStoredAsset() {
+        Assets.clearAssets();
+        var stored = Assets.getAsset("budget/a.png", SizedAsset.class);
+        assertNull(Assets.getAsset("budget/a.png", ReloadableAsset.class));
+        assertSame(stored, Assets.getAsset("budget/a.png"));
+        assertFalse(stored.freed);
+        Assets.clearAssets();
+    }
+
+    // Memory Budget Tests
+
+    @Test
+    void unusedAssetsEvictedLeastRecentFirst() {
+        var sceneAssets = trackSceneAssets();
+        var assets = getSizedAssets("budget/a.png", "budget/b.png", "budget/c.png");
+        releaseAsset(sceneAssets, "budget/a.png");
+        releaseAsset(sceneAssets, "budget/b.png");
+        Assets.getAsset("budget/a.png"); // B is now least recently used
+
+        Assets.setMemoryBudget(2 * SizedAsset.SIZE);
+        Assets.evictUnusedAssets();
+        assertTrue(assets[1].freed);
+        assertFalse(Assets.getAsset("budget/b.png") instanceof SizedAsset);
+        assertTrue(Assets.hasAsset("budget/b.png"));
+        assertFalse(assets[0].freed);
+        assertEquals(2 * SizedAsset.SIZE, Assets.getUsedBytes());
+        resetAssets();
+    }
+
+    @Test
+    void referencedAssetsNotEvicted() {
+        trackSceneAssets();
+        var assets = getSizedAssets("budget/a.png", "budget/b.png");
+        assertEquals(1, Assets.getReferenceCount("budget/a.png"));
+
+        Assets.setMemoryBudget(0L);
+        Assets.evictUnusedAssets();
+        assertFalse(assets[0].freed);
+        assertFalse(assets[1].freed);
+        resetAssets();
+    }
+
+    @Test
+    void assetsOutsideScenesNotEvicted() {
+        Assets.setReferenceTracker(null);
+        var assets = getSizedAssets("budget/a.png");
+        Assets.setMemoryBudget(0L);
+        Assets.evictUnusedAssets();
+        assertFalse(assets[0].freed);
+        resetAssets();
+    }
+
+    @Test
+    void reloadableAssetsStayInPool() {
+        var sceneAssets = trackSceneAssets();
+        var asset = Assets.getAsset("budget/a.png", ReloadableAsset.class);
+        switchScene(sceneAssets);
+
+        Assets.setMemoryBudget(0L);
+        Assets.evictUnusedAssets();
+        assertTrue(asset.freed);
+        assertSame(asset, Assets.getAsset("budget/a.png"));
+        resetAssets();
+    }
+
+    @Test
+    void evictedTextureReloadsWhenUsed() {
+        var sceneAssets = trackSceneAssets();
+        var texture = Assets.getAsset("testassets/images/mario.png", JTexture.class);
+        switchScene(sceneAssets);
+
+        Assets.setMemoryBudget(0L);
+        Assets.evictUnusedAssets();
+        assertEquals(0L, texture.getApproximateSize());
+        assertSame(texture, Assets.getAsset("testassets/images/mario.png", JTexture.class));
+        assertNotNull(texture.getImageData()); // Read again
+        assertEquals(texture.getApproximateSize(), Assets.getUsedBytes());
+        resetAssets();
+    }
+
+    @Test
+    void spriteSheetParentSurvivesSceneSwitch() {
+        var sceneAssets = trackSceneAssets();
+        var filename = "testassets/images/mario.png";
+        var parent = Assets.getAsset(filename, JTexture.class);
+        sceneAssets = switchScene(sceneAssets);
+        var sprites = new JSpriteSheetTexture[3];
+        for (var i = 0; i < sprites.length; i++) { // Sprites created by the next scene
+            sprites[i] = new JSpriteSheetTexture(parent, i, new Vec2(i * 8, 0), new Vec2(8, 8));
+        }
+        assertEquals(1, Assets.getReferenceCount(filename)); // Once per scene
+
+        Assets.setMemoryBudget(0L);
+        Assets.evictUnusedAssets();
+        assertTrue(parent.getApproximateSize() > 0L);
+        assertSame(parent, sprites[0].getParentTexture());
+        assertSame(parent, Assets.getAsset(filename));
+
+        switchScene(sceneAssets);
+        assertEquals(0, Assets.getReferenceCount(filename)); // Released with the scene
+        resetAssets();
+    }
+
+    private static Set<String> trackSceneAssets() {
+        Assets.clearAssets();
+        return trackNextSceneAssets();
+    }
+
+    /** Releases the assets of the previous scene and references assets for a new one. */
+    private static Set<String> switchScene(Set<String> previousAssets) {
+        previousAssets.forEach(Assets::releaseAsset);
+        previousAssets.clear();
+        return trackNextSceneAssets();
+    }
+
+    private static Set<String> trackNextSceneAssets() {
+        var sceneAssets = new HashSet<String>();
+        Assets.setReferenceTracker(filename -> {
+            if (sceneAssets.add(filename)) Assets.retainAsset(filename);
+        });
+        return sceneAssets;
+    }
+
+    private static SizedAsset[] getSizedAssets(String... filenames) {
+        return Arrays.stream(filenames)
+                .map(filename -> Assets.getAsset(filename, SizedAsset.class))
+                .toArray(SizedAsset[]::new);
+    }
+
+    private static void releaseAsset(Set<String> sceneAssets, String filename) {
+        sceneAssets.remove(filename);
+        Assets.releaseAsset(filename);
+    }
+
+    private static void resetAssets() {
+        Assets.setReferenceTracker(null);
+        Assets.setMemoryBudget(Long.MAX_VALUE);
+        Assets.clearAssets();
+    }
+
+    static class SizedAsset extends Asset {
+
+        private static final long SIZE = 1000L;
+        private boolean freed;
+
+        SizedAsset(String filename) {
+            super(filename);
+        }
+
+        @Override
+        public long getApproximateSize() {
+            return SIZE;
+        }
+
+        @Override
+        public void free() {
+            freed = true;
+        }
+
+    }
+
+    static class ReloadableAsset extends SizedAsset {
+
+        ReloadableAsset(String filename) {
+            super(filename);
+        }
+
+        @Override
+        public boolean isReloadable() {
+            return true;
+        }
+
+    }
+
 }
@@ -0,0 +1,110 @@
+package mayonez.assets.image;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.stream.IntStream;
+
+import static mayonez.assets.image.ImageTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.assets.image.DecodedImageCache} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class DecodedImageCacheTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    private DecodedImageCache cache;
+
+    @BeforeEach
+    void enableCache() {
+        cache = new DecodedImageCache(cacheDirectory);
+        DecodedImageCache.setDefault(cache);
+    }
+
+    @AfterEach
+    void disableCache() {
+        DecodedImageCache.setDefault(null);
+    }
+
+    @Test
+    void cachedPngMatchesDecodedPng() {
+        testCachedImage(TRANSPARENT_PNG);
+        testCachedImage(OPAQUE_PNG);
+    }
+
+    @Test
+    void cachedJpgMatchesDecodedJpg() {
+        testCachedImage(OPAQUE_JPG);
+    }
+
+    @Test
+    void changedFileNotRead() {
+        var pixels = ByteBuffer.allocateDirect(2 * 2 * 4);
+        cache.write("image.png", new byte[]{1, 2, 3}, pixels, 2, 2, 4);
+        assertNotNull(cache.read("image.png", new byte[]{1, 2, 3}));
+        assertNull(cache.read("image.png", new byte[]{1, 2, 4}));
+        assertNull(cache.read("other.png", new byte[]{1, 2, 3}));
+        assertEquals(1, cache.getNumHits());
+        assertEquals(2, cache.getNumMisses());
+    }
+
+    @Test
+    void corruptFileNotRead() throws Exception {
+        var pixels = ByteBuffer.allocateDirect(2 * 2 * 4);
+        cache.write("image.png", new byte[]{1, 2, 3}, pixels, 2, 2, 4);
+        try (var files = Files.list(cacheDirectory)) {
+            var cacheFile = files.findFirst().orElseThrow();
+            Files.write(cacheFile, new byte[DecodedImageCache.HEADER_BYTES - 1]); // Truncate
+        }
+        assertNull(cache.read("image.png", new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void concurrentReadsSeeWholeFiles() {
+        var fileBytes = new byte[]{1, 2, 3};
+        var pixels = ByteBuffer.allocateDirect(2 * 2 * 4);
+        cache.write("image.png", fileBytes, pixels, 2, 2, 4);
+        IntStream.range(0, 200).parallel().forEach(i -> {
+            if (i % 4 == 0) cache.write("image.png", fileBytes, pixels, 2, 2, 4); // Replace the file
+            else assertNotNull(cache.read("image.png", fileBytes));
+        });
+        assertEquals(150, cache.getNumHits());
+        assertEquals(0, cache.getNumMisses());
+    }
+
+    private void testCachedImage(String filename) {
+        var misses = cache.getNumMisses();
+        var hits = cache.getNumHits();
+        var decoded = getImage(filename);
+        assertEquals(misses + 1, cache.getNumMisses());
+
+        var cached = getImage(filename);
+        assertEquals(hits + 1, cache.getNumHits());
+        assertEquals(decoded.getWidth(), cached.getWidth());
+        assertEquals(decoded.getHeight(), cached.getHeight());
+        assertEquals(decoded.getChannels(), cached.getChannels());
+        assertTrue(cached.getBuffer().isDirect()); // Can be uploaded to GL
+        assertEquals(decoded.getBuffer().rewind(), cached.getBuffer().rewind());
+
+        // Editing the cached image does not change the file
+        cached.setPixels(0, 0, 1, 1, new int[]{0x12345678}, 0);
+        assertEquals(decoded.getBuffer().rewind(), getImage(filename).getBuffer().rewind());
+        decoded.free();
+    }
+
+    private static STBImageData getImage(String filename) {
+        try {
+            return new STBImageData(filename);
+        } catch (Exception e) {
+            return fail("Could not read image");
+        }
+    }
+
+}
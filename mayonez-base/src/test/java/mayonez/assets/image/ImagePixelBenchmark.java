@@ -0,0 +1,53 @@
+package mayonez.assets.image;
+
+import mayonez.graphics.*;
+
+import java.awt.image.*;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the time and memory allocated to read and recolor every pixel of a
+ * large {@link mayonez.assets.image.AWTImageData} sprite sheet, comparing one
+ * {@link mayonez.graphics.Color} per pixel with the bulk pixel methods. Run the
+ * main method manually; it is not part of the unit tests.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class ImagePixelBenchmark {
+
+    private static final int IMAGE_LENGTH = 2048;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURE_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        var image = new AWTImageData("Benchmark Sheet",
+                new BufferedImage(IMAGE_LENGTH, IMAGE_LENGTH, BufferedImage.TYPE_4BYTE_ABGR));
+        var tint = new Color(250, 240, 230, 255);
+
+        Runnable colorPath = () -> {
+            for (var y = 0; y < image.getHeight(); y++) {
+                for (var x = 0; x < image.getWidth(); x++) {
+                    image.setPixelColor(x, y, image.getPixelColor(x, y).combine(tint));
+                }
+            }
+        };
+        Runnable bulkPath = () -> image.recolor(tint);
+
+        measure("Color per pixel", colorPath);
+        measure("Bulk pixels    ", bulkPath);
+    }
+
+    private static void measure(String name, Runnable recolor) {
+        for (var i = 0; i < WARMUP_ROUNDS; i++) recolor.run();
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadID = Thread.currentThread().getId();
+
+        var startBytes = threads.getThreadAllocatedBytes(threadID);
+        var start = System.nanoTime();
+        for (var i = 0; i < MEASURE_ROUNDS; i++) recolor.run();
+        var elapsedMillis = (System.nanoTime() - start) * 1e-6 / MEASURE_ROUNDS;
+        var allocatedBytes = (threads.getThreadAllocatedBytes(threadID) - startBytes) / MEASURE_ROUNDS;
+        System.out.printf("%s: %.1f ms, %,d bytes allocated per recolor%n", name, elapsedMillis, allocatedBytes);
+    }
+
+}
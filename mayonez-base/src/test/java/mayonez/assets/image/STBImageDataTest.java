@@ -4,6 +4,9 @@ import mayonez.graphics.*;
 import mayonez.math.*;
 import org.junit.jupiter.api.*;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import static mayonez.assets.image.ImageData.*;
 import static mayonez.assets.image.ImageTestUtils.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -118,6 +121,61 @@ class STBImageDataTest {
         testPixelColors(subImage, TEST_COLORS, subImageCoords, 128);
     }
 
+    // Bulk Pixels
+
+    @Test
+    void bulkPixelsMatchPixelColors() {
+        var image = getImage(TRANSPARENT_PNG);
+        var pixels = new int[IMAGE_LENGTH * IMAGE_LENGTH];
+        image.getPixels(0, 0, IMAGE_LENGTH, IMAGE_LENGTH, pixels, 0);
+        for (var y = 0; y < IMAGE_LENGTH; y++) {
+            for (var x = 0; x < IMAGE_LENGTH; x++) {
+                assertEquals(image.getPixelColor(x, y).getRGBAValue(), pixels[x + y * IMAGE_LENGTH]);
+            }
+        }
+    }
+
+    @Test
+    void bulkPixelsOpaqueWithoutAlpha() {
+        var image = getImage(OPAQUE_PNG);
+        var row = new int[IMAGE_LENGTH];
+        image.getPixelRow(IMAGE_LENGTH - 1, row);
+        for (var argb : row) assertEquals(0xFF, argb >>> 24);
+    }
+
+    @Test
+    void setBulkPixelsRegion() {
+        var image = getImage(TRANSPARENT_PNG);
+        var region = new int[4 * 2];
+        Arrays.fill(region, Color.grayscale(0, 128).getRGBAValue());
+        image.setPixels(3, 5, 4, 2, region, 0);
+        assertColorsRoughlyEqual(Color.grayscale(0, 128), image.getPixelColor(3, 5));
+        assertColorsRoughlyEqual(Color.grayscale(0, 128), image.getPixelColor(6, 6));
+        assertColorsRoughlyEqual(new Color(TEST_COLORS[0], 128), image.getPixelColor(0, 0));
+    }
+
+    @Test
+    void pixelBytesMatchPixelColors() {
+        var image = getImage(OPAQUE_PNG);
+        var bytes = ByteBuffer.allocate(IMAGE_LENGTH * 4);
+        image.getPixelBytes(0, 2, IMAGE_LENGTH, 1, bytes);
+        assertEquals(bytes.capacity(), bytes.position());
+        for (var x = 0; x < IMAGE_LENGTH; x++) {
+            var color = image.getPixelColor(x, 2);
+            assertEquals(color.getRed(), bytes.get(4 * x) & 0xFF);
+            assertEquals(color.getGreen(), bytes.get(4 * x + 1) & 0xFF);
+            assertEquals(color.getBlue(), bytes.get(4 * x + 2) & 0xFF);
+            assertEquals(255, bytes.get(4 * x + 3) & 0xFF);
+        }
+    }
+
+    @Test
+    void bulkPixelsOutsideImageThrows() {
+        var image = getImage(OPAQUE_PNG);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> image.getPixels(IMAGE_LENGTH - 2, 0, 4, 1, new int[4], 0));
+    }
+
     private static STBImageData getImage(String filename) {
         try {
             return new STBImageData(filename);
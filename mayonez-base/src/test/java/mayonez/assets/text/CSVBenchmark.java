@@ -0,0 +1,101 @@
+package mayonez.assets.text;
+
+import mayonez.io.text.*;
+import mayonez.util.Record;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Measures the time and memory allocated to read a large spawn table by splitting
+ * lines into {@link mayonez.util.Record}s, like {@link CSVFile} used to do, compared
+ * to streaming it with a {@link mayonez.io.text.CSVReader} into records, typed rows,
+ * and primitive columns. The table is generated in a temporary file. Run the main
+ * method manually; it is not part of the unit tests.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class CSVBenchmark {
+
+    private static final int NUM_ROWS = 200_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURE_ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws IOException {
+        var file = createSpawnTable();
+        var csv = new CSVFile(file.toString());
+        System.out.printf("Reading %d rows%n", NUM_ROWS);
+
+        measure("Split lines  ", () -> splitLines(file).size());
+        measure("CSV records  ", () -> csv.readCSV().size());
+        measure("Typed rows   ", () -> csv.readRows(CSVBenchmark::getSpawn).size());
+        measure("Float columns", () -> {
+            try (var reader = csv.openCSVReader()) {
+                reader.readHeaders();
+                return reader.readFloatColumns("x", "y", "health")[0].length;
+            }
+        });
+    }
+
+    private static void measure(String name, TableReader reader) throws IOException {
+        for (var i = 0; i < WARMUP_ROUNDS; i++) reader.readTable();
+
+        var numRows = 0;
+        var startBytes = threads.getCurrentThreadAllocatedBytes();
+        var start = System.nanoTime();
+        for (var i = 0; i < MEASURE_ROUNDS; i++) numRows = reader.readTable();
+        var elapsedMillis = (System.nanoTime() - start) * 1e-6 / MEASURE_ROUNDS;
+        var allocatedMB = (threads.getCurrentThreadAllocatedBytes() - startBytes) / (1024.0 * 1024.0) / MEASURE_ROUNDS;
+        System.out.printf("%s: %.1f ms, %.1f MB allocated (%d rows)%n", name, elapsedMillis, allocatedMB, numRows);
+    }
+
+    /** Reads the table the way CSVFile used to. */
+    private static List<Record> splitLines(Path file) throws IOException {
+        var lines = Files.readAllLines(file);
+        var headers = lines.get(0).split(",");
+        var records = new ArrayList<Record>();
+        for (var row = 1; row < lines.size(); row++) {
+            var values = lines.get(row).split(",");
+            var rec = new Record();
+            for (var col = 0; col < Math.min(headers.length, values.length); col++) {
+                rec.set(headers[col], values[col]);
+            }
+            records.add(rec);
+        }
+        return records;
+    }
+
+    private static Spawn getSpawn(CSVReader row) {
+        return new Spawn(row.getField(0), row.getFloat(1), row.getFloat(2), row.getInt(3), row.getFloat(4));
+    }
+
+    private static Path createSpawnTable() throws IOException {
+        var file = Files.createTempFile("mayonez-spawns", ".csv");
+        file.toFile().deleteOnExit();
+        var random = new Random(0);
+        try (var writer = Files.newBufferedWriter(file)) {
+            writer.write("enemy,x,y,wave,health\n");
+            for (var i = 0; i < NUM_ROWS; i++) {
+                writer.write(String.format(Locale.ROOT, "enemy_%d,%.3f,%.3f,%d,%.1f%n",
+                        random.nextInt(32), random.nextFloat() * 100f, random.nextFloat() * 100f,
+                        random.nextInt(50), random.nextFloat() * 200f
+                ));
+            }
+        }
+        return file;
+    }
+
+    @FunctionalInterface
+    private interface TableReader {
+        int readTable() throws IOException;
+    }
+
+    private record Spawn(String enemy, float x, float y, int wave, float health) {
+    }
+
+}
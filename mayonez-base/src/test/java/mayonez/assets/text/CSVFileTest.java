@@ -3,6 +3,7 @@ package mayonez.assets.text;
 import mayonez.util.Record;
 import org.junit.jupiter.api.*;
 
+import java.io.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
@@ -77,4 +78,29 @@ class CSVFileTest {
         csv.saveCSV(recs, new String[]{"name", "value"});
     }
 
+    @Test
+    void quotedValuesSurviveSave() throws IOException {
+        var filename = "src/test/resources/testassets/out/quoted.csv";
+        var file = new File(filename);
+        if (!file.exists()) file.createNewFile(); // Make sure file is present so the test works
+
+        var rec = new Record();
+        rec.set("name", "Smith, John");
+        rec.set("quote", "He said \"hi\"");
+        var csv = new CSVFile(filename);
+        csv.saveCSV(List.of(rec), new String[]{"name", "quote"});
+
+        var recs = csv.readCSV();
+        assertEquals(1, recs.size());
+        assertEquals("Smith, John", recs.get(0).getString("name"));
+        assertEquals("He said \"hi\"", recs.get(0).getString("quote"));
+    }
+
+    @Test
+    void readRowsAsObjects() {
+        var file = new CSVFile("src/test/resources/testassets/text/languages.csv");
+        var names = file.readRows(row -> row.getField(row.getColumn("name")));
+        assertEquals(List.of("Java", "Python", "C++", "C#", "Assembly"), names);
+    }
+
 }
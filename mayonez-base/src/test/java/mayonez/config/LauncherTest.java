@@ -37,6 +37,30 @@ class LauncherTest {
         assertFalse(launcher.getUseGL());
     }
 
+    @Test
+    void headlessEngineUsesAWT() {
+        launcher = new Launcher(new String[]{"--engine", "headless", "--updates", "600", "--render", "image"});
+        assertFalse(launcher.getUseGL());
+        assertTrue(launcher.isHeadless());
+        assertEquals(600, launcher.getMaxUpdates());
+        assertFalse(launcher.isThrottled());
+        assertTrue(launcher.isRenderOffscreen());
+    }
+
+    @Test
+    void headlessDefaultsToUnlimitedUpdatesWithoutRendering() {
+        launcher = new Launcher(new String[]{"--engine", "headless"});
+        assertTrue(launcher.isHeadless());
+        assertEquals(0, launcher.getMaxUpdates());
+        assertFalse(launcher.isRenderOffscreen());
+    }
+
+    @Test
+    void invalidRenderArgThrowsException() {
+        launcher = new Launcher(new String[]{"--engine", "headless", "--render", "gpu"});
+        assertThrows(IllegalArgumentException.class, launcher::isRenderOffscreen);
+    }
+
     @Test
     void invalidArgValueThrowsException() {
         launcher = new Launcher(new String[]{"--engine", "vk"});
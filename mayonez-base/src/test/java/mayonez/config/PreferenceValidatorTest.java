@@ -3,6 +3,8 @@ package mayonez.config;
 import mayonez.util.Record;
 import org.junit.jupiter.api.*;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -29,6 +31,7 @@ class PreferenceValidatorTest {
         defaults.set("height", 600);
         defaults.set("saveLogs", true);
         defaults.set("useGL", false);
+        defaults.set("overflow", "block");
     }
 
     @BeforeEach
@@ -129,4 +132,22 @@ class PreferenceValidatorTest {
         assertTrue(preferences.getBoolean("useGL"));
     }
 
+    // Option
+
+    @Test
+    void optionIsInSet() {
+        preferences.set("overflow", "Sample");
+        var rule = new OptionValidator(Set.of("block", "drop", "sample"), "overflow");
+        rule.validate(preferences, defaults);
+        assertEquals("Sample", preferences.getString("overflow"));
+    }
+
+    @Test
+    void optionCannotBeOutsideSet() {
+        preferences.set("overflow", "skip");
+        var rule = new OptionValidator(Set.of("block", "drop", "sample"), "overflow");
+        rule.validate(preferences, defaults);
+        assertEquals("block", preferences.getString("overflow"));
+    }
+
 }
@@ -0,0 +1,98 @@
+package mayonez.ecs;
+
+import mayonez.*;
+import mayonez.math.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.ecs.EntityWorld} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class EntityWorldTest {
+
+    private EntityWorld world;
+
+    @BeforeEach
+    void getWorld() {
+        world = new EntityWorld();
+    }
+
+    @Test
+    void spawnedEntityHasDefaultTransform() {
+        var id = world.spawn(EntityData.TRANSFORM);
+        var xf = world.getTransform(id, new Transform());
+        assertEquals(new Vec2(0f, 0f), xf.getPosition());
+        assertEquals(0f, xf.getRotation());
+        assertEquals(new Vec2(1f, 1f), xf.getScale());
+        assertEquals(1, world.numEntities());
+    }
+
+    @Test
+    void destroyedEntityKeepsOthersValid() {
+        var id1 = world.spawn(EntityData.TRANSFORM);
+        var id2 = world.spawn(EntityData.TRANSFORM);
+        var id3 = world.spawn(EntityData.TRANSFORM);
+        world.setPosition(id1, 1f, 1f);
+        world.setPosition(id2, 2f, 2f);
+        world.setPosition(id3, 3f, 3f);
+
+        world.destroy(id1); // id3 is moved into id1's slot
+        assertFalse(world.isAlive(id1));
+        assertEquals(new Vec2(2f, 2f), world.getPosition(id2));
+        assertEquals(new Vec2(3f, 3f), world.getPosition(id3));
+        assertEquals(2, world.numEntities());
+    }
+
+    @Test
+    void destroyedIDIsReused() {
+        var id1 = world.spawn(EntityData.TRANSFORM);
+        world.destroy(id1);
+        var id2 = world.spawn(EntityData.TRANSFORM, EntityData.VELOCITY);
+        assertEquals(id1, id2);
+        assertEquals(new Vec2(0f, 0f), world.getVelocity(id2));
+    }
+
+    @Test
+    void missingDataThrowsException() {
+        var id = world.spawn(EntityData.TRANSFORM);
+        assertThrows(IllegalArgumentException.class, () -> world.setVelocity(id, 1f, 0f));
+        world.destroy(id);
+        assertThrows(IllegalArgumentException.class, () -> world.getPosition(id));
+    }
+
+    @Test
+    void movementSystemMovesOnlyMovingEntities() {
+        var still = world.spawn(EntityData.TRANSFORM);
+        var moving = world.spawn(EntityData.TRANSFORM, EntityData.VELOCITY);
+        world.setVelocity(moving, 2f, -1f);
+        world.setAngularVelocity(moving, 90f);
+
+        world.update(0.5f);
+        assertEquals(new Vec2(0f, 0f), world.getPosition(still));
+        assertEquals(new Vec2(1f, -0.5f), world.getPosition(moving));
+        assertEquals(45f, world.getRotation(moving));
+    }
+
+    @Test
+    void entitiesSpanMultipleChunks() {
+        var numEntities = EntityWorld.CHUNK_CAPACITY + 10;
+        for (var i = 0; i < numEntities; i++) {
+            var id = world.spawn(EntityData.TRANSFORM, EntityData.VELOCITY);
+            world.setVelocity(id, 1f, 0f);
+        }
+
+        var numChunks = new int[1];
+        var numUpdated = new int[1];
+        world.forEachChunk(chunk -> {
+            numChunks[0]++;
+            numUpdated[0] += chunk.size();
+        }, EntityData.VELOCITY);
+        assertEquals(2, numChunks[0]);
+        assertEquals(numEntities, numUpdated[0]);
+        assertEquals(numEntities, world.getArchetype(EntityData.VELOCITY, EntityData.TRANSFORM).numEntities());
+    }
+
+}
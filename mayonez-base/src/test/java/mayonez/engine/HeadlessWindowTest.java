@@ -0,0 +1,70 @@
+package mayonez.engine;
+
+import mayonez.input.*;
+import mayonez.input.keyboard.*;
+import mayonez.input.mouse.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.engine.HeadlessWindow} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class HeadlessWindowTest {
+
+    private HeadlessWindow window;
+    private ScriptedKeyManager keyboard;
+    private ScriptedMouseManager mouse;
+
+    @BeforeEach
+    void getWindow() {
+        KeyInput.INSTANCE.setScripted();
+        MouseInput.INSTANCE.setScripted();
+        keyboard = (ScriptedKeyManager) KeyInput.getInstance();
+        mouse = (ScriptedMouseManager) MouseInput.getInstance();
+
+        window = new HeadlessWindow("Test Window", 320, 240, 5, false);
+        window.setKeyInput(keyboard);
+        window.setMouseInput(mouse);
+        window.start();
+    }
+
+    @Test
+    void windowClosesAfterMaxUpdates() {
+        var numLoops = 0;
+        while (window.notClosedByUser()) {
+            window.beginFrame();
+            window.endFrame();
+            window.render();
+            numLoops++;
+        }
+        assertEquals(5, numLoops);
+        assertEquals(5, window.getNumUpdates());
+        assertNull(window.getImage()); // Rendering skipped
+    }
+
+    @Test
+    void scriptedKeyPressedThenHeld() {
+        keyboard.pressKey(Key.SPACE);
+        window.endFrame();
+        assertTrue(KeyInput.keyPressed(Key.SPACE));
+
+        window.endFrame();
+        assertFalse(KeyInput.keyPressed(Key.SPACE));
+        assertTrue(KeyInput.keyDown(Key.SPACE));
+
+        keyboard.releaseKey(Key.SPACE);
+        window.endFrame();
+        assertFalse(KeyInput.keyDown(Key.SPACE));
+    }
+
+    @Test
+    void scriptedMouseMovesCursor() {
+        mouse.moveMouse(40f, 25f);
+        assertEquals(40f, MouseInput.getScreenPosition().x);
+        assertEquals(25f, MouseInput.getScreenPosition().y);
+    }
+
+}
@@ -0,0 +1,83 @@
+package mayonez.graphics.textures;
+
+import mayonez.math.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.graphics.textures.AtlasLayout} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class AtlasLayoutTest {
+
+    private AtlasLayout layout;
+
+    @BeforeEach
+    void getLayout() {
+        var packer = new AtlasPacker(64, 64, 1);
+        packer.add("rgb", 4, 3);
+        packer.add("rgba", 5, 6);
+        layout = packer.pack();
+    }
+
+    @Test
+    void pageBufferContainsImagePixels() {
+        var rgb = createImage(4, 3, 3);
+        var rgba = createImage(5, 6, 4);
+        var page = layout.createPageBuffer(0, Map.of(
+                "rgb", new AtlasLayout.ImageBuffer(rgb, 3),
+                "rgba", new AtlasLayout.ImageBuffer(rgba, 4)
+        ));
+        assertImageOnPage(page, layout.getRegion("rgb"), rgb, 3);
+        assertImageOnPage(page, layout.getRegion("rgba"), rgba, 4);
+    }
+
+    @Test
+    void texCoordsMatchRegion() {
+        var region = layout.getRegion("rgba");
+        var texCoords = layout.getTexCoords("rgba");
+        var pageSize = new Vec2(layout.getPageWidth(), layout.getPageHeight());
+        assertEquals(new Vec2(region.x(), region.y()), texCoords[0].mul(pageSize));
+        assertEquals(new Vec2(region.x() + region.width(), region.y() + region.height()),
+                texCoords[2].mul(pageSize));
+    }
+
+    @Test
+    void layoutReadFromLines() {
+        var lines = layout.toLines("key");
+        var readLayout = AtlasLayout.fromLines(lines, "key");
+        assertNotNull(readLayout);
+        assertEquals(layout.getPageWidth(), readLayout.getPageWidth());
+        assertEquals(layout.getPageHeight(), readLayout.getPageHeight());
+        assertEquals(layout.getRegion("rgb"), readLayout.getRegion("rgb"));
+        assertEquals(layout.getRegion("rgba"), readLayout.getRegion("rgba"));
+
+        assertNull(AtlasLayout.fromLines(lines, "other key"));
+    }
+
+    // Helper Methods
+
+    private static ByteBuffer createImage(int width, int height, int channels) {
+        var buffer = ByteBuffer.allocate(width * height * channels);
+        for (var i = 0; i < buffer.capacity(); i++) buffer.put(i, (byte) (i * 7 + 1));
+        return buffer;
+    }
+
+    private void assertImageOnPage(ByteBuffer page, AtlasRegion region, ByteBuffer image, int channels) {
+        for (var y = 0; y < region.height(); y++) {
+            for (var x = 0; x < region.width(); x++) {
+                var srcIndex = (y * region.width() + x) * channels;
+                var dstIndex = ((region.y() + y) * layout.getPageWidth() + region.x() + x) * 4;
+                for (var c = 0; c < 3; c++) assertEquals(image.get(srcIndex + c), page.get(dstIndex + c));
+                var alpha = (channels == 4) ? image.get(srcIndex + 3) : (byte) 0xFF;
+                assertEquals(alpha, page.get(dstIndex + 3));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package mayonez.graphics.textures;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.graphics.textures.AtlasPacker} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class AtlasPackerTest {
+
+    @Test
+    void packedImagesDoNotOverlap() {
+        var packer = new AtlasPacker(256, 256, 1);
+        var random = new java.util.Random(0);
+        for (var i = 0; i < 60; i++) {
+            packer.add("image" + i, 4 + random.nextInt(28), 4 + random.nextInt(28));
+        }
+        var layout = packer.pack();
+        var regions = new ArrayList<>(layout.getRegions());
+        assertEquals(60, regions.size());
+
+        for (var i = 0; i < regions.size(); i++) {
+            var region = regions.get(i);
+            assertTrue(region.x() >= 0 && region.x() + region.width() <= layout.getPageWidth());
+            assertTrue(region.y() >= 0 && region.y() + region.height() <= layout.getPageHeight());
+            for (var j = i + 1; j < regions.size(); j++) {
+                assertFalse(region.overlaps(regions.get(j)), region + " overlaps " + regions.get(j));
+            }
+        }
+    }
+
+    @Test
+    void packedPageShrinksToPowerOfTwo() {
+        var packer = new AtlasPacker(1024, 1024, 0);
+        packer.add("a", 40, 20);
+        packer.add("b", 30, 20);
+        var layout = packer.pack();
+        assertEquals(1, layout.getNumPages());
+        assertEquals(128, layout.getPageWidth());
+        assertEquals(32, layout.getPageHeight());
+    }
+
+    @Test
+    void fullPageStartsNewPage() {
+        var packer = new AtlasPacker(64, 64, 0);
+        for (var i = 0; i < 5; i++) packer.add("image" + i, 32, 32);
+        var layout = packer.pack();
+        assertEquals(2, layout.getNumPages());
+        assertEquals(1, layout.getRegion("image4").page());
+    }
+
+    @Test
+    void oversizedImageNotPacked() {
+        var packer = new AtlasPacker(64, 64, 0);
+        packer.add("small", 16, 16);
+        packer.add("large", 128, 16);
+        var layout = packer.pack();
+        assertNotNull(layout.getRegion("small"));
+        assertNull(layout.getRegion("large"));
+    }
+
+}
@@ -0,0 +1,88 @@
+package mayonez.graphics.textures;
+
+import mayonez.*;
+import mayonez.assets.image.*;
+import mayonez.graphics.*;
+import mayonez.graphics.Color;
+import mayonez.math.*;
+import org.junit.jupiter.api.*;
+
+import java.awt.image.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.graphics.textures.RecolorCache} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class RecolorCacheTest {
+
+    private static final int IMAGE_LENGTH = 16;
+    private static final long IMAGE_BYTES = 4L * IMAGE_LENGTH * IMAGE_LENGTH;
+
+    private JTexture texture;
+    private BufferedImage image;
+
+    @BeforeEach
+    void getTexture() {
+        image = new BufferedImage(IMAGE_LENGTH, IMAGE_LENGTH, BufferedImage.TYPE_INT_ARGB);
+        texture = new JTexture("test_texture.png", new AWTImageData("test_texture.png", image));
+    }
+
+    @Test
+    void sameTintFilteredOnce() {
+        var cache = new RecolorCache(RecolorCache.DEFAULT_MAX_BYTES);
+        var first = cache.getRecoloredImage(texture, image, new Color(255, 0, 0));
+        var second = cache.getRecoloredImage(texture, image, new Color(255, 0, 0));
+        assertSame(first, second);
+        assertEquals(1, cache.getNumFilterPasses());
+        assertEquals(IMAGE_BYTES, cache.getUsedBytes());
+    }
+
+    @Test
+    void whiteTintNotFiltered() {
+        var cache = new RecolorCache(RecolorCache.DEFAULT_MAX_BYTES);
+        assertSame(image, cache.getRecoloredImage(texture, image, Colors.WHITE));
+        assertSame(image, cache.getRecoloredImage(texture, image, null));
+        assertEquals(0, cache.getNumFilterPasses());
+    }
+
+    @Test
+    void leastRecentImageEvicted() {
+        var cache = new RecolorCache(2 * IMAGE_BYTES);
+        var red = new Color(255, 0, 0);
+        var green = new Color(0, 255, 0);
+        var blue = new Color(0, 0, 255);
+        cache.getRecoloredImage(texture, image, red);
+        cache.getRecoloredImage(texture, image, green);
+        cache.getRecoloredImage(texture, image, red); // Red is now more recent
+        cache.getRecoloredImage(texture, image, blue); // Evicts green
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getNumFilterPasses());
+
+        cache.getRecoloredImage(texture, image, red);
+        assertEquals(3, cache.getNumFilterPasses());
+        cache.getRecoloredImage(texture, image, green);
+        assertEquals(4, cache.getNumFilterPasses());
+    }
+
+    @Test
+    void drawingSameTintTwiceFiltersOnce() {
+        var cache = JTexture.getRecolorCache();
+        JTexture.clearRecoloredImages();
+        var passes = cache.getNumFilterPasses();
+
+        var g2 = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        var xf = new Transform(new Vec2(0, 0), 0f, new Vec2(8, 8));
+        var tint = new Color(128, 64, 255, 200);
+        texture.draw(g2, xf, new Transform(), tint, 1f);
+        texture.draw(g2, xf, new Transform(), tint, 1f);
+        g2.dispose();
+        assertEquals(passes + 1, cache.getNumFilterPasses());
+
+        texture.free();
+        assertEquals(0, cache.size());
+    }
+
+}
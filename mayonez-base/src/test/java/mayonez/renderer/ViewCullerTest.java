@@ -0,0 +1,97 @@
+package mayonez.renderer;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.renderer.ViewCuller} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class ViewCullerTest {
+
+    private ViewCuller culler;
+
+    @BeforeEach
+    void getCuller() {
+        culler = new ViewCuller();
+        culler.setView(-100, -100, 100, 100);
+    }
+
+    @Test
+    void offScreenObjectsCulled() {
+        assertTrue(culler.isVisible(new BoundedRenderable(0, 0, 10)));
+        assertTrue(culler.isVisible(new BoundedRenderable(105, 0, 10))); // Partly visible
+        assertFalse(culler.isVisible(new BoundedRenderable(200, 0, 10)));
+        assertFalse(culler.isVisible(new BoundedRenderable(0, -300, 10)));
+        assertEquals(2, culler.getNumSubmitted());
+        assertEquals(2, culler.getNumCulled());
+
+        culler.setView(-100, -100, 100, 100); // Counters reset each frame
+        assertEquals(0, culler.getNumSubmitted());
+        assertEquals(0, culler.getNumCulled());
+    }
+
+    @Test
+    void unboundedObjectsNeverCulled() {
+        Renderable unbounded = new BoundedRenderable(0, 0, 0) {
+            @Override
+            public boolean getRenderBounds(RenderBounds bounds) {
+                return false;
+            }
+        };
+        culler.setView(1000, 1000, 1100, 1100);
+        assertTrue(culler.isVisible(unbounded));
+    }
+
+    @Test
+    void disabledCullerSubmitsEverything() {
+        culler.setEnabled(false);
+        assertTrue(culler.isVisible(new BoundedRenderable(500, 500, 10)));
+        assertEquals(1, culler.getNumSubmitted());
+    }
+
+    @Test
+    void rotatedBoundsContainCorners() {
+        var bounds = new RenderBounds();
+        bounds.setRotated(0, 0, 20, 10, 45);
+        var halfDiagonal = (float) (15 / Math.sqrt(2)); // (w + h) / 2 * cos(45)
+        assertEquals(-halfDiagonal, bounds.getMinX(), 1e-4f);
+        assertEquals(halfDiagonal, bounds.getMaxY(), 1e-4f);
+    }
+
+    private static class BoundedRenderable implements Renderable {
+
+        private final float x, y, radius;
+
+        private BoundedRenderable(float x, float y, float radius) {
+            this.x = x;
+            this.y = y;
+            this.radius = radius;
+        }
+
+        @Override
+        public boolean getRenderBounds(RenderBounds bounds) {
+            bounds.setCenter(x, y, radius, radius);
+            return true;
+        }
+
+        @Override
+        public int getZIndex() {
+            return 0;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isInUI() {
+            return false;
+        }
+
+    }
+
+}
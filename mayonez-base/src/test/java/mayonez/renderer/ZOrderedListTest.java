@@ -0,0 +1,159 @@
+package mayonez.renderer;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.renderer.ZOrderedList} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class ZOrderedListTest {
+
+    private ZOrderedList<TestRenderable> list;
+
+    @BeforeEach
+    void getList() {
+        list = new ZOrderedList<>();
+    }
+
+    @Test
+    void objectsVisitedInZOrder() {
+        var r1 = new TestRenderable("r1", 2);
+        var r2 = new TestRenderable("r2", 0);
+        var r3 = new TestRenderable("r3", 2);
+        var r4 = new TestRenderable("r4", -1);
+        list.add(r1);
+        list.add(r2);
+        list.add(r3);
+        list.add(r4);
+        assertEquals(List.of("r4", "r2", "r1", "r3"), getNames());
+    }
+
+    @Test
+    void changedZIndexMovesObject() {
+        var r1 = new TestRenderable("r1", 0);
+        var r2 = new TestRenderable("r2", 1);
+        list.add(r1);
+        list.add(r2);
+
+        r1.zIndex = 2;
+        assertEquals(List.of("r1", "r2"), getNames()); // Not noticed yet
+        r1.setZIndex(2);
+        assertEquals(List.of("r2", "r1"), getNames());
+    }
+
+    @Test
+    void onlyChangedObjectsRechecked() {
+        var r1 = new TestRenderable("r1", 0);
+        var r2 = new TestRenderable("r2", 1);
+        list.add(r1);
+        list.add(r2);
+        r1.zIndexReads = 0;
+        r2.zIndexReads = 0;
+
+        r1.setZIndex(2);
+        r1.setEnabled(false);
+        assertEquals(List.of("r2"), getNames());
+        assertEquals(1, r1.zIndexReads); // Queued once
+        assertEquals(0, r2.zIndexReads);
+    }
+
+    @Test
+    void removedObjectsStopNotifying() {
+        var r1 = new TestRenderable("r1", 0);
+        list.add(r1);
+        list.remove(r1);
+        assertNull(r1.listener);
+
+        list.add(r1);
+        list.clear();
+        assertNull(r1.listener);
+    }
+
+    @Test
+    void disabledObjectsSkipped() {
+        var r1 = new TestRenderable("r1", 0);
+        var r2 = new TestRenderable("r2", 0);
+        list.add(r1);
+        list.add(r2);
+        assertEquals(2, list.numEnabled());
+
+        r1.setEnabled(false);
+        assertEquals(1, list.numEnabled());
+        assertEquals(List.of("r2"), getNames());
+
+        list.remove(r2);
+        assertEquals(0, list.numEnabled());
+        assertEquals(1, list.size());
+        assertTrue(getNames().isEmpty());
+    }
+
+    @Test
+    void temporaryObjectsCleared() {
+        list.add(new TestRenderable("r1", 0));
+        list.addTemporary(new TestRenderable("t1", -1));
+        list.addTemporary(new TestRenderable("t2", 1));
+        assertEquals(List.of("t1", "r1", "t2"), getNames());
+
+        list.clearTemporary();
+        assertEquals(List.of("r1"), getNames());
+    }
+
+    private List<String> getNames() {
+        var names = new ArrayList<String>();
+        list.forEach(r -> names.add(r.name));
+        return names;
+    }
+
+    private static class TestRenderable implements Renderable, RenderStateSource {
+
+        private final String name;
+        private int zIndex;
+        private boolean enabled;
+        private Runnable listener;
+        private int zIndexReads;
+
+        private TestRenderable(String name, int zIndex) {
+            this.name = name;
+            this.zIndex = zIndex;
+            enabled = true;
+        }
+
+        private void setZIndex(int zIndex) {
+            this.zIndex = zIndex;
+            if (listener != null) listener.run();
+        }
+
+        private void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+            if (listener != null) listener.run();
+        }
+
+        @Override
+        public int getZIndex() {
+            zIndexReads++;
+            return zIndex;
+        }
+
+        @Override
+        public void setRenderStateListener(Runnable listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        public boolean isInUI() {
+            return false;
+        }
+
+    }
+
+}
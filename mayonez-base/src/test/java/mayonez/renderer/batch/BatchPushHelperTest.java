@@ -0,0 +1,48 @@
+package mayonez.renderer.batch;
+
+import mayonez.graphics.*;
+import mayonez.math.*;
+import mayonez.math.shapes.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.renderer.batch.BatchPushHelper} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class BatchPushHelperTest {
+
+    private static final Vec2[] TEX_COORDS = Rectangle.rectangleVerticesMinMax(new Vec2(0f), new Vec2(1f));
+
+    @Test
+    void directSpriteMatchesRectangleVertices() {
+        var color = new Color(255, 128, 0, 200);
+        var center = new Vec2(3f, -2f);
+        var size = new Vec2(4f, 1.5f);
+
+        for (var angle = 0f; angle < 360f; angle += 22.5f) {
+            var expected = new RenderBatch(1, 0, DrawPrimitive.SPRITE, false);
+            var vertices = new Rectangle(center, size, angle).getVertices();
+            BatchPushHelper.pushSprite(expected, vertices, color, TEX_COORDS, 1);
+
+            var actual = new RenderBatch(1, 0, DrawPrimitive.SPRITE, false);
+            BatchPushHelper.pushSprite(actual, center.x, center.y, size.x, size.y, angle, color, TEX_COORDS, 1);
+
+            assertArrayEquals(expected.copyVertexData(), actual.copyVertexData(), 1e-4f);
+        }
+    }
+
+    @Test
+    void spriteVertexHasAllAttributes() {
+        var batch = new RenderBatch(1, 0, DrawPrimitive.SPRITE, false);
+        BatchPushHelper.pushSprite(batch, 0f, 0f, 2f, 2f, 0f, Colors.WHITE, TEX_COORDS, 3);
+
+        var data = batch.copyVertexData();
+        assertEquals(4 * DrawPrimitive.SPRITE.getTotalComponents(), data.length);
+        assertArrayEquals(new float[]{-1f, -1f, 1f, 1f, 1f, 1f, 0f, 0f, 3f},
+                java.util.Arrays.copyOf(data, 9));
+    }
+
+}
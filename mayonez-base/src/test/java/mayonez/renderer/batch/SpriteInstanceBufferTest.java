@@ -0,0 +1,65 @@
+package mayonez.renderer.batch;
+
+import mayonez.graphics.*;
+import mayonez.math.*;
+import mayonez.math.shapes.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.renderer.batch.SpriteInstanceBuffer} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class SpriteInstanceBufferTest {
+
+    private static final Vec2[] TEX_COORDS = Rectangle.rectangleVerticesMinMax(new Vec2(0.25f), new Vec2(0.75f));
+
+    @Test
+    void instanceLayoutHasAllAttributes() {
+        assertEquals(14, SpriteInstanceBuffer.INSTANCE_COMPONENTS);
+        assertEquals(14 * Float.BYTES, SpriteInstanceBuffer.INSTANCE_BYTES);
+
+        var buffer = new SpriteInstanceBuffer(1);
+        buffer.pushInstance(3f, -2f, 45f, 4f, 1.5f, Colors.WHITE, TEX_COORDS, 2);
+        assertArrayEquals(new float[]{
+                3f, -2f, 45f, 4f, 1.5f, // position, rotation, scale
+                1f, 1f, 1f, 1f, // color
+                0.25f, 0.25f, 0.75f, 0.75f, // UV rect
+                2f // texture slot
+        }, buffer.copyData());
+    }
+
+    @Test
+    void instanceSmallerThanSpriteVertices() {
+        var spriteBytes = DrawPrimitive.SPRITE.getVertexCount() * DrawPrimitive.SPRITE.getTotalComponents() * Float.BYTES;
+        assertTrue(SpriteInstanceBuffer.INSTANCE_BYTES < spriteBytes);
+    }
+
+    @Test
+    void usedBytesCountsPushedInstances() {
+        var buffer = new SpriteInstanceBuffer(1000);
+        for (var i = 0; i < 500; i++) {
+            buffer.pushInstance(i, 0f, 0f, 1f, 1f, Colors.WHITE, TEX_COORDS, 0);
+        }
+        assertEquals(500, buffer.getNumInstances());
+        assertEquals(500 * SpriteInstanceBuffer.INSTANCE_BYTES, buffer.getUsedBytes());
+        assertEquals(500 * SpriteInstanceBuffer.INSTANCE_COMPONENTS, buffer.copyData().length);
+
+        buffer.clear();
+        assertEquals(0, buffer.getUsedBytes());
+    }
+
+    @Test
+    void bufferGrowsToMaxInstances() {
+        var buffer = new SpriteInstanceBuffer(100);
+        for (var i = 0; i < 100; i++) {
+            assertTrue(buffer.hasRoom());
+            buffer.pushInstance(0f, 0f, 0f, 1f, 1f, Colors.WHITE, TEX_COORDS, 0);
+        }
+        assertFalse(buffer.hasRoom());
+        assertEquals(100L * SpriteInstanceBuffer.INSTANCE_BYTES, buffer.getSizeBytes());
+    }
+
+}
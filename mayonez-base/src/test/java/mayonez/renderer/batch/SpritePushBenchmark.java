@@ -0,0 +1,54 @@
+package mayonez.renderer.batch;
+
+import mayonez.graphics.*;
+import mayonez.math.*;
+import mayonez.math.shapes.*;
+
+/**
+ * Measures how many sprites per millisecond can be pushed to a CPU-only
+ * {@link mayonez.renderer.batch.RenderBatch}, comparing the old path through
+ * {@link mayonez.math.shapes.Rectangle} vertices with the direct quad path.
+ * Run the main method manually; it is not part of the unit tests.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class SpritePushBenchmark {
+
+    private static final int NUM_SPRITES = 10000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURE_ROUNDS = 500;
+    private static final Vec2[] TEX_COORDS = Rectangle.rectangleVerticesMinMax(new Vec2(0f), new Vec2(1f));
+
+    public static void main(String[] args) {
+        var batch = new RenderBatch(NUM_SPRITES, 0, DrawPrimitive.SPRITE, false);
+        var color = Colors.WHITE;
+
+        Runnable rectanglePath = () -> {
+            batch.clearVertices();
+            for (var i = 0; i < NUM_SPRITES; i++) {
+                var pos = new Vec2(i % 100, i / 100f).mul(32f);
+                var vertices = new Rectangle(pos, new Vec2(32f), i).getVertices();
+                BatchPushHelper.pushSprite(batch, vertices, color, TEX_COORDS, 0);
+            }
+        };
+        Runnable directPath = () -> {
+            batch.clearVertices();
+            for (var i = 0; i < NUM_SPRITES; i++) {
+                BatchPushHelper.pushSprite(batch, (i % 100) * 32f, (i / 100f) * 32f,
+                        32f, 32f, i, color, TEX_COORDS, 0);
+            }
+        };
+
+        System.out.printf("Rectangle path: %.1f sprites/ms%n", measure(rectanglePath));
+        System.out.printf("Direct path:    %.1f sprites/ms%n", measure(directPath));
+    }
+
+    private static double measure(Runnable pushSprites) {
+        for (var i = 0; i < WARMUP_ROUNDS; i++) pushSprites.run();
+        var start = System.nanoTime();
+        for (var i = 0; i < MEASURE_ROUNDS; i++) pushSprites.run();
+        var elapsedMillis = (System.nanoTime() - start) * 1e-6;
+        return (double) NUM_SPRITES * MEASURE_ROUNDS / elapsedMillis;
+    }
+
+}
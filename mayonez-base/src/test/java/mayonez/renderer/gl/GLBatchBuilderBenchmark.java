@@ -0,0 +1,90 @@
+package mayonez.renderer.gl;
+
+import mayonez.graphics.*;
+import mayonez.math.*;
+import mayonez.math.shapes.*;
+import mayonez.renderer.batch.*;
+
+/**
+ * Measures the time a CPU-only {@link mayonez.renderer.gl.GLBatchBuilder} takes to
+ * sort sprites spread across many z-indices into batches, with and without building
+ * vertices across worker threads. The time per sprite should stay flat as the sprite
+ * count grows. Run the main method manually; it is not part of the unit tests.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class GLBatchBuilderBenchmark {
+
+    private static final int[] SPRITE_COUNTS = {1000, 10000, 100000};
+    private static final int NUM_Z_INDICES = 50;
+    private static final int WARMUP_FRAMES = 50;
+    private static final int MEASURE_FRAMES = 100;
+
+    public static void main(String[] args) {
+        for (var parallel : new boolean[]{false, true}) {
+            for (var numSprites : SPRITE_COUNTS) {
+                var sprites = new BenchmarkSprite[numSprites];
+                for (var i = 0; i < numSprites; i++) sprites[i] = new BenchmarkSprite(i % NUM_Z_INDICES);
+
+                var builder = new GLBatchBuilder(false);
+                builder.setParallelPushEnabled(parallel);
+                for (var i = 0; i < WARMUP_FRAMES; i++) buildFrame(builder, sprites);
+                var start = System.nanoTime();
+                for (var i = 0; i < MEASURE_FRAMES; i++) buildFrame(builder, sprites);
+                var elapsedNanos = (double) (System.nanoTime() - start) / MEASURE_FRAMES;
+
+                System.out.printf("%s, %d sprites: %.3f ms per frame, %.1f ns per sprite, %d batches%n",
+                        parallel ? "Parallel" : "Serial", numSprites, elapsedNanos * 1e-6,
+                        elapsedNanos / numSprites, builder.getNumBatches());
+            }
+        }
+    }
+
+    private static void buildFrame(GLBatchBuilder builder, BenchmarkSprite[] sprites) {
+        builder.beginFrame();
+        for (var sprite : sprites) builder.push(sprite);
+        builder.endFrame();
+    }
+
+    private record BenchmarkSprite(int zIndex) implements GLRenderable {
+
+        private static final Vec2[] TEX_COORDS = Rectangle.rectangleVerticesMinMax(new Vec2(0f), new Vec2(1f));
+
+        @Override
+        public void pushToBatch(RenderBatch batch) {
+            BatchPushHelper.pushSprite(batch, 0f, 0f, 1f, 1f, 0f, Colors.WHITE, TEX_COORDS, batch.getTextureSlot(null));
+        }
+
+        @Override
+        public boolean isParallelSafe() {
+            return true;
+        }
+
+        @Override
+        public int getBatchSize() {
+            return RenderBatch.MAX_SPRITES;
+        }
+
+        @Override
+        public DrawPrimitive getPrimitive() {
+            return DrawPrimitive.SPRITE;
+        }
+
+        @Override
+        public int getZIndex() {
+            return zIndex;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isInUI() {
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,358 @@
+package mayonez.renderer.gl;
+
+import mayonez.graphics.*;
+import mayonez.math.*;
+import mayonez.renderer.*;
+import mayonez.renderer.batch.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.renderer.gl.GLBatchBuilder} class. Batches are
+ * built on the CPU only, so no OpenGL context is needed.
+ *
+ * @author SlavSquatSuperstar
+ */
+class GLBatchBuilderTest {
+
+    private static final int SPRITE_BYTES = 4 * DrawPrimitive.SPRITE.getTotalComponents() * Float.BYTES;
+
+    private GLBatchBuilder builder;
+
+    @BeforeEach
+    void getBuilder() {
+        builder = new GLBatchBuilder(false);
+    }
+
+    @Test
+    void spritesShareLargeBatch() {
+        buildFrame(5000, 0);
+        assertEquals(1, builder.getNumDrawCalls());
+        assertEquals(5000 * 4, builder.getNumVertices());
+        assertEquals(5000L * SPRITE_BYTES, builder.getNumUploadBytes());
+    }
+
+    @Test
+    void fullBatchCreatesNewBatch() {
+        buildFrame(RenderBatch.MAX_SPRITES + 1, 0);
+        assertEquals(2, builder.getNumDrawCalls());
+        assertEquals((RenderBatch.MAX_SPRITES + 1) * 4, builder.getNumVertices());
+    }
+
+    @Test
+    void differentZIndicesUseDifferentBatches() {
+        builder.beginFrame();
+        pushSprites(100, 0);
+        pushSprites(50, 1);
+        builder.endFrame();
+        assertEquals(2, builder.getNumDrawCalls());
+        assertEquals(150 * 4, builder.getNumVertices());
+    }
+
+    @Test
+    void interleavedZIndicesReuseOpenBatches() {
+        var sprite0 = new TestSprite(0);
+        var sprite1 = new TestSprite(1);
+        for (var frame = 0; frame < 3; frame++) {
+            builder.beginFrame();
+            for (var i = 0; i < 500; i++) {
+                builder.push(sprite0);
+                builder.push(sprite1);
+            }
+            builder.endFrame();
+        }
+        assertEquals(2, builder.getNumBatches());
+        assertEquals(2, builder.getNumDrawCalls());
+        assertEquals(1000 * 4, builder.getNumVertices());
+    }
+
+    @Test
+    void uploadOnlyCountsUsedVertices() {
+        buildFrame(3000, 0);
+        buildFrame(10, 0); // Batch keeps its capacity
+        assertEquals(1, builder.getNumBatches());
+        assertEquals(10L * SPRITE_BYTES, builder.getNumUploadBytes());
+
+        buildFrame(0, 0); // Empty batches are not drawn
+        assertEquals(0, builder.getNumDrawCalls());
+        assertEquals(0L, builder.getNumUploadBytes());
+    }
+
+    @Test
+    void staticSpritesRetainedUntilChanged() {
+        var sprites = createStaticSprites(100);
+        buildStaticFrame(sprites, sprites.length);
+        assertEquals(100 * 4, builder.getNumVertices());
+        assertEquals(100L * SPRITE_BYTES, builder.getNumUploadBytes());
+
+        buildStaticFrame(sprites, sprites.length); // Nothing changed
+        assertEquals(0, builder.getNumVertices());
+        assertEquals(100 * 4, builder.getNumRetainedVertices());
+        assertEquals(0L, builder.getNumUploadBytes());
+        assertEquals(1, builder.getNumDrawCalls());
+
+        sprites[50].changed = true; // Only rewrite the changed sprite
+        buildStaticFrame(sprites, sprites.length);
+        assertEquals(4, builder.getNumVertices());
+        assertEquals(99 * 4, builder.getNumRetainedVertices());
+        assertEquals((long) SPRITE_BYTES, builder.getNumUploadBytes());
+    }
+
+    @Test
+    void rewrittenStaticSpriteMatchesRebuild() {
+        var sprites = createStaticSprites(100);
+        buildStaticFrame(sprites, sprites.length);
+        sprites[50].x = 5f;
+        sprites[50].rotation = 45f;
+        sprites[50].changed = true;
+        buildStaticFrame(sprites, sprites.length);
+
+        var rebuiltBuilder = new GLBatchBuilder(false);
+        rebuiltBuilder.beginFrame();
+        for (var sprite : sprites) rebuiltBuilder.pushStatic(sprite);
+        rebuiltBuilder.endFrame();
+        assertArrayEquals(rebuiltBuilder.getRenderBatches().get(0).copyVertexData(),
+                builder.getRenderBatches().get(0).copyVertexData());
+    }
+
+    @Test
+    void removedStaticSpriteOnlyRebuildsItsBatch() {
+        var sprites = createStaticSprites(RenderBatch.MAX_SPRITES + 50);
+        buildStaticFrame(sprites, sprites.length);
+        assertEquals(2, builder.getNumDrawCalls());
+
+        builder.beginFrame();
+        for (var i = 1; i < sprites.length; i++) builder.pushStatic(sprites[i]);
+        builder.endFrame();
+        assertEquals((RenderBatch.MAX_SPRITES - 1) * 4, builder.getNumVertices());
+        assertEquals(50 * 4, builder.getNumRetainedVertices());
+        assertEquals(2, builder.getNumDrawCalls());
+    }
+
+    @Test
+    void removedStaticSpriteRebuildsBatch() {
+        var sprites = createStaticSprites(100);
+        buildStaticFrame(sprites, sprites.length);
+        buildStaticFrame(sprites, sprites.length - 1);
+        assertEquals(99 * 4, builder.getNumVertices());
+
+        buildStaticFrame(sprites, 0);
+        assertEquals(0, builder.getNumDrawCalls());
+    }
+
+    @Test
+    void dynamicSpritesPushedWithStaticSprites() {
+        var sprites = createStaticSprites(900);
+        for (var i = 0; i < 2; i++) {
+            builder.beginFrame();
+            for (var sprite : sprites) builder.pushStatic(sprite);
+            pushSprites(100, 0);
+            builder.endFrame();
+        }
+        assertEquals(100 * 4, builder.getNumVertices());
+        assertEquals(900 * 4, builder.getNumRetainedVertices());
+        assertEquals(2, builder.getNumDrawCalls());
+    }
+
+    @Test
+    void offScreenStaticCellsNotDrawn() {
+        var culler = new ViewCuller();
+        builder.setViewCuller(culler);
+        var nearSprites = createStaticSprites(50);
+        var farSprites = createStaticSprites(30);
+        for (var sprite : farSprites) sprite.x = 10000f;
+
+        culler.setView(-500, -500, 500, 500);
+        builder.beginFrame();
+        for (var sprite : nearSprites) builder.pushStatic(sprite);
+        for (var sprite : farSprites) builder.pushStatic(sprite);
+        builder.endFrame();
+        assertEquals(2, builder.getNumBatches());
+        assertEquals(1, builder.getNumDrawCalls());
+        assertEquals(50, culler.getNumSubmitted());
+        assertEquals(30, culler.getNumCulled());
+    }
+
+    @Test
+    void instancedSpritesShareOneDrawCall() {
+        var sprite = new TestSprite(0);
+        sprite.instanced = true;
+        builder.beginFrame();
+        for (var i = 0; i < 5000; i++) builder.pushInstanced(sprite);
+        pushSprites(100, 1);
+        builder.endFrame();
+
+        assertEquals(5000, builder.getNumInstances());
+        assertEquals(100 * 4, builder.getNumVertices());
+        assertEquals(5000L * SpriteInstanceBuffer.INSTANCE_BYTES + 100L * SPRITE_BYTES, builder.getNumUploadBytes());
+        assertEquals(2, builder.getNumDrawCalls());
+    }
+
+    @Test
+    void parallelPushMatchesSerialPush() {
+        var sprites = new TestSprite[36000];
+        for (var i = 0; i < sprites.length; i++) {
+            sprites[i] = new TestSprite(i % 3);
+            sprites[i].x = i * 0.37f;
+            sprites[i].rotation = (i * 13f) % 360f;
+            sprites[i].parallelSafe = (i % 5 != 0); // Some pushed right away
+        }
+
+        var serialBuilder = new GLBatchBuilder(false);
+        var parallelBuilder = new GLBatchBuilder(false);
+        parallelBuilder.setParallelPushEnabled(true);
+        for (var frame = 0; frame < 2; frame++) {
+            buildFrame(serialBuilder, sprites);
+            buildFrame(parallelBuilder, sprites);
+        }
+
+        var serialBatches = serialBuilder.getRenderBatches();
+        var parallelBatches = parallelBuilder.getRenderBatches();
+        assertEquals(6, parallelBatches.size()); // Each z-index fills more than one batch
+        assertEquals(serialBatches.size(), parallelBatches.size());
+        for (var i = 0; i < serialBatches.size(); i++) {
+            assertEquals(serialBatches.get(i).getZIndex(), parallelBatches.get(i).getZIndex());
+            assertArrayEquals(serialBatches.get(i).copyVertexData(), parallelBatches.get(i).copyVertexData());
+        }
+        assertEquals(serialBuilder.getNumUploadBytes(), parallelBuilder.getNumUploadBytes());
+    }
+
+    @Test
+    void spritesChangedAfterFinishNotUploaded() {
+        var sprites = new TestSprite[2000];
+        for (var i = 0; i < sprites.length; i++) {
+            sprites[i] = new TestSprite(0);
+            sprites[i].x = i;
+            sprites[i].parallelSafe = true;
+        }
+        builder.setParallelPushEnabled(true);
+        builder.beginFrame();
+        for (var sprite : sprites) builder.push(sprite);
+        builder.finishBatches();
+        var finishedData = builder.getRenderBatches().get(0).copyVertexData();
+
+        for (var sprite : sprites) sprite.x = -1f; // Scene updates before the frame is drawn
+        builder.uploadBatches();
+        assertArrayEquals(finishedData, builder.getRenderBatches().get(0).copyVertexData());
+        assertEquals(2000 * 4, builder.getNumVertices());
+        assertEquals(1, builder.getNumDrawCalls());
+    }
+
+    // Helper Methods
+
+    private static void buildFrame(GLBatchBuilder builder, TestSprite[] sprites) {
+        builder.beginFrame();
+        for (var sprite : sprites) builder.push(sprite);
+        builder.endFrame();
+    }
+
+    private TestSprite[] createStaticSprites(int numSprites) {
+        var sprites = new TestSprite[numSprites];
+        for (var i = 0; i < numSprites; i++) {
+            sprites[i] = new TestSprite(0);
+            sprites[i].staticSprite = true;
+        }
+        return sprites;
+    }
+
+    private void buildStaticFrame(TestSprite[] sprites, int numSprites) {
+        builder.beginFrame();
+        for (var i = 0; i < numSprites; i++) builder.pushStatic(sprites[i]);
+        builder.endFrame();
+    }
+
+    private void buildFrame(int numSprites, int zIndex) {
+        builder.beginFrame();
+        pushSprites(numSprites, zIndex);
+        builder.endFrame();
+    }
+
+    private void pushSprites(int numSprites, int zIndex) {
+        var sprite = new TestSprite(zIndex);
+        for (var i = 0; i < numSprites; i++) builder.push(sprite);
+    }
+
+    private static class TestSprite implements GLRenderable {
+
+        private static final Vec2[] TEX_COORDS = {
+                new Vec2(0, 0), new Vec2(1, 0), new Vec2(1, 1), new Vec2(0, 1)
+        };
+        private final int zIndex;
+        private float x;
+        private float rotation;
+        private boolean parallelSafe;
+        private boolean staticSprite;
+        private boolean changed;
+        private boolean instanced;
+
+        private TestSprite(int zIndex) {
+            this.zIndex = zIndex;
+        }
+
+        @Override
+        public void pushToBatch(RenderBatch batch) {
+            BatchPushHelper.pushSprite(batch, x + 0.5f, 0.5f, 1f, 1f, rotation, Colors.WHITE, TEX_COORDS,
+                    batch.getTextureSlot(null));
+            changed = false;
+        }
+
+        @Override
+        public boolean isParallelSafe() {
+            return parallelSafe;
+        }
+
+        @Override
+        public boolean isInstanced() {
+            return instanced;
+        }
+
+        @Override
+        public void pushToInstanceBatch(InstancedSpriteBatch batch) {
+            batch.pushInstance(x + 0.5f, 0.5f, 0f, 1f, 1f, Colors.WHITE, TEX_COORDS, batch.getTextureSlot(null));
+        }
+
+        @Override
+        public boolean isStatic() {
+            return staticSprite;
+        }
+
+        @Override
+        public boolean isRenderStateChanged() {
+            return changed;
+        }
+
+        @Override
+        public boolean getRenderBounds(RenderBounds bounds) {
+            bounds.setCenter(x + 0.5f, 0.5f, 0.5f, 0.5f);
+            return true;
+        }
+
+        @Override
+        public int getBatchSize() {
+            return RenderBatch.MAX_SPRITES;
+        }
+
+        @Override
+        public DrawPrimitive getPrimitive() {
+            return DrawPrimitive.SPRITE;
+        }
+
+        @Override
+        public int getZIndex() {
+            return zIndex;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isInUI() {
+            return false;
+        }
+
+    }
+
+}
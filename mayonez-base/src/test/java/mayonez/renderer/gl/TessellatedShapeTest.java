@@ -0,0 +1,185 @@
+package mayonez.renderer.gl;
+
+import mayonez.graphics.*;
+import mayonez.graphics.debug.*;
+import mayonez.math.*;
+import mayonez.math.shapes.*;
+import mayonez.renderer.batch.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.renderer.gl.TessellatedShape} class. The pushed
+ * vertices are compared to splitting the shape into lines and triangles and drawing
+ * each line as a rectangle, so no OpenGL context is needed.
+ *
+ * @author SlavSquatSuperstar
+ */
+class TessellatedShapeTest {
+
+    private static final float STROKE_SIZE = 3f;
+    private static final float EPSILON = 1e-3f;
+    private static final int VERTEX_COMPONENTS = DrawPrimitive.TRIANGLE.getTotalComponents();
+    private static final int TRIANGLE_COMPONENTS = 3 * VERTEX_COMPONENTS;
+
+    @Test
+    void edgeMatchesSplitShape() {
+        assertMatchesSplitShape(new Edge(new Vec2(-20, 5), new Vec2(35, 42)), false);
+        assertMatchesSplitShape(new Edge(new Vec2(10, 10), new Vec2(10, 10)), false);
+    }
+
+    @Test
+    void polygonMatchesSplitShape() {
+        var rect = new Rectangle(new Vec2(50, -30), new Vec2(24, 12), 30f);
+        assertMatchesSplitShape(rect, false);
+        assertMatchesSplitShape(rect, true);
+
+        var hexagon = new Polygon(new Vec2(0, 0), 6, 18f);
+        assertMatchesSplitShape(hexagon, false);
+        assertMatchesSplitShape(hexagon, true);
+    }
+
+    @Test
+    void ellipseMatchesSplitShape() {
+        var circle = new Circle(new Vec2(-40, 25), 12f);
+        assertMatchesSplitShape(circle, false);
+        assertMatchesSplitShape(circle, true);
+
+        var tiny = new Circle(new Vec2(0, 0), 0.1f); // Uses the fewest sides
+        assertMatchesSplitShape(tiny, false);
+        assertMatchesSplitShape(tiny, true);
+    }
+
+    @Test
+    void stretchedEllipseCoversSplitShape() {
+        // Ellipse.toPolygon() sorts the vertices, so the lines and triangles start from another vertex
+        var ellipse = new Ellipse(new Vec2(15, 60), new Vec2(30, 14), 40f);
+        var outline = pushShapes(ellipse, false);
+        assertSameTriangles(outline[0], outline[1]);
+
+        var solid = pushShapes(ellipse, true);
+        assertEquals(getTotalArea(solid[0]), getTotalArea(solid[1]), 0.1f);
+    }
+
+    @Test
+    void largeShapesStartNewBatch() {
+        var shape = createTessellatedShape(new Circle(new Vec2(0, 0), 20f), false);
+        var numCircles = RenderBatch.MAX_TRIANGLES / shape.getNumPrimitives() + 1;
+
+        var builder = new GLBatchBuilder(false);
+        builder.beginFrame();
+        for (var i = 0; i < numCircles; i++) builder.push(shape);
+        builder.endFrame();
+        assertEquals(2, builder.getNumDrawCalls());
+        assertEquals(numCircles * shape.getNumPrimitives() * 3, builder.getNumVertices());
+    }
+
+    // Helper Methods
+
+    private static void assertMatchesSplitShape(Shape shape, boolean fill) {
+        var data = pushShapes(shape, fill);
+        var expected = data[0];
+        var actual = data[1];
+        for (var tri = 0; tri < expected.length; tri += TRIANGLE_COMPONENTS) {
+            assertTrue(trianglesEqual(expected, tri, actual, tri),
+                    "Triangle %d does not match".formatted(tri / TRIANGLE_COMPONENTS));
+        }
+    }
+
+    /** Checks that both arrays have the same triangles, in any order. */
+    private static void assertSameTriangles(float[] expected, float[] actual) {
+        var matched = new boolean[actual.length / TRIANGLE_COMPONENTS];
+        for (var tri = 0; tri < expected.length; tri += TRIANGLE_COMPONENTS) {
+            var found = false;
+            for (var i = 0; i < matched.length && !found; i++) {
+                found = !matched[i] && trianglesEqual(expected, tri, actual, i * TRIANGLE_COMPONENTS);
+                if (found) matched[i] = true;
+            }
+            assertTrue(found, "Triangle %d is missing".formatted(tri / TRIANGLE_COMPONENTS));
+        }
+    }
+
+    /**
+     * Pushes a shape both ways.
+     *
+     * @return the split vertex data and the tessellated vertex data
+     */
+    private static float[][] pushShapes(Shape shape, boolean fill) {
+        var tessellated = createTessellatedShape(shape, fill);
+        var actual = createBatch();
+        tessellated.pushToBatch(actual);
+
+        var expected = createBatch();
+        pushSplitShape(shape, fill, expected);
+        assertEquals(expected.getNumVertices(), tessellated.getNumPrimitives() * 3);
+        assertEquals(expected.getNumVertices(), actual.getNumVertices());
+        return new float[][]{expected.copyVertexData(), actual.copyVertexData()};
+    }
+
+    /** Checks that two triangles have the same vertices, starting from any corner. */
+    private static boolean trianglesEqual(float[] a, int startA, float[] b, int startB) {
+        for (var i = 0; i < 3; i++) {
+            var found = false;
+            for (var j = 0; j < 3 && !found; j++) {
+                found = verticesEqual(a, startA + i * VERTEX_COMPONENTS, b, startB + j * VERTEX_COMPONENTS);
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    private static float getTotalArea(float[] data) {
+        var n = VERTEX_COMPONENTS;
+        var area = 0f;
+        for (var tri = 0; tri < data.length; tri += TRIANGLE_COMPONENTS) {
+            var ax = data[tri + n] - data[tri];
+            var ay = data[tri + n + 1] - data[tri + 1];
+            var bx = data[tri + 2 * n] - data[tri];
+            var by = data[tri + 2 * n + 1] - data[tri + 1];
+            area += Math.abs(ax * by - ay * bx) * 0.5f;
+        }
+        return area;
+    }
+
+    private static boolean verticesEqual(float[] a, int startA, float[] b, int startB) {
+        for (var i = 0; i < VERTEX_COMPONENTS; i++) {
+            if (Math.abs(a[startA + i] - b[startB + i]) > EPSILON) return false;
+        }
+        return true;
+    }
+
+    /** Pushes a shape by splitting it into lines and triangles, like the renderer used to do. */
+    private static void pushSplitShape(Shape shape, boolean fill, RenderBatch batch) {
+        var brush = createBrush(fill);
+        var polygon = (shape instanceof Ellipse ellipse) ? ellipse.toPolygon() : shape;
+        Shape[] parts;
+        if (polygon instanceof Polygon p) parts = fill ? p.getTriangles() : p.getEdges();
+        else parts = new Shape[]{polygon};
+
+        for (var part : parts) {
+            if (part instanceof Edge edge) {
+                var rect = new Rectangle(edge.center(), new Vec2(edge.getLength() + STROKE_SIZE - 1f, STROKE_SIZE),
+                        edge.toVector().angle());
+                for (var tri : rect.getTriangles()) new DebugShape(tri, brush).pushToBatch(batch);
+            } else {
+                new DebugShape(part, brush).pushToBatch(batch);
+            }
+        }
+    }
+
+    private static TessellatedShape createTessellatedShape(Shape shape, boolean fill) {
+        return new TessellatedShape(new DebugShape(shape, createBrush(fill)));
+    }
+
+    private static ShapeBrush createBrush(boolean fill) {
+        var color = new Color(255, 128, 0);
+        var brush = fill ? ShapeBrush.createSolidBrush(color) : ShapeBrush.createOutlineBrush(color);
+        return brush.setStrokeSize(STROKE_SIZE);
+    }
+
+    private static RenderBatch createBatch() {
+        return new RenderBatch(RenderBatch.MAX_TRIANGLES, 0, DrawPrimitive.TRIANGLE, false);
+    }
+
+}
@@ -0,0 +1,141 @@
+package mayonez
+
+import mayonez.config.*
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.*
+import java.util.function.Supplier
+
+/**
+ * Unit tests for the [mayonez.Logger] class.
+ *
+ * @author SlavSquatSuperstar
+ */
+internal class LoggerTest {
+
+    @AfterEach
+    fun resetConfig() {
+        Logger.applyConfig(LoggerConfig.DEFAULT_CONFIG)
+    }
+
+    // Log Levels
+
+    @Test
+    fun defaultFileLevelSkipsDebugMessages() {
+        Logger.applyConfig(LoggerConfig.DEFAULT_CONFIG)
+        assertEquals(LogLevel.INFO.level, LoggerConfig.DEFAULT_CONFIG.fileLogLevel)
+        assertFalse(Logger.isLoggable(LogLevel.DEBUG))
+        assertTrue(Logger.isLoggable(LogLevel.INFO))
+    }
+
+    @Test
+    fun loggableUsesLowerOfConsoleAndFileLevels() {
+        Logger.applyConfig(createConfig(logLevel = 3, fileLogLevel = 1, saveLogs = true))
+        assertFalse(Logger.isLoggable(LogLevel.ALL))
+        assertTrue(Logger.isLoggable(LogLevel.DEBUG))
+        assertTrue(Logger.isLoggable(LogLevel.WARNING))
+    }
+
+    @Test
+    fun loggableIgnoresFileLevelWithoutLogFiles() {
+        Logger.applyConfig(createConfig(logLevel = 3, fileLogLevel = 1))
+        assertFalse(Logger.isLoggable(LogLevel.INFO))
+        assertTrue(Logger.isLoggable(LogLevel.WARNING))
+    }
+
+    // Log Methods
+
+    @Test
+    fun suppliersOnlyCalledWhenLoggable() {
+        Logger.applyConfig(createConfig(logLevel = 4))
+        val calledLevels = ArrayList<String>()
+        captureConsole {
+            Logger.debug(Supplier { calledLevels.add("debug") })
+            Logger.log(Supplier { calledLevels.add("info") })
+            Logger.warn(Supplier { calledLevels.add("warning") })
+            Logger.error(Supplier { calledLevels.add("error") })
+        }
+        assertEquals(listOf("error"), calledLevels)
+    }
+
+    @Test
+    fun argumentOverloadsFormatMessages() {
+        Logger.applyConfig(createConfig(logLevel = 1))
+        val output = captureConsole {
+            Logger.log("Info %s", "one")
+            Logger.log("Info %s %s", "one", 2)
+            Logger.log(Supplier { "Info supplied" })
+            Logger.debug("Debug %d", 1)
+            Logger.debug("Debug %d %s", 1, "two")
+            Logger.debug(Supplier { "Debug supplied" })
+        }
+        assertTrue(output.contains("[INFO] Info one"))
+        assertTrue(output.contains("[INFO] Info one 2"))
+        assertTrue(output.contains("[INFO] Info supplied"))
+        assertTrue(output.contains("[DEBUG] Debug 1"))
+        assertTrue(output.contains("[DEBUG] Debug 1 two"))
+        assertTrue(output.contains("[DEBUG] Debug supplied"))
+    }
+
+    @Test
+    fun suppressedMessagesNotPrinted() {
+        Logger.applyConfig(createConfig(logLevel = 2))
+        val output = captureConsole {
+            Logger.debug("Debug %d", 1)
+            Logger.debug("Debug %d %d", 1, 2)
+            Logger.log("Info %d", 1)
+        }
+        assertFalse(output.contains("[DEBUG]"))
+        assertTrue(output.contains("[INFO] Info 1"))
+    }
+
+    // Caller Lookup
+
+    @Test
+    fun callerCapturedWhenEnabled() {
+        Logger.applyConfig(createConfig(logLevel = 2, captureCaller = true))
+        val output = captureConsole { Logger.log("Caller %s", "enabled") }
+        assertTrue(output.contains("[${javaClass.name}] Caller enabled"))
+    }
+
+    @Test
+    fun callerNotCapturedWhenDisabled() {
+        Logger.applyConfig(createConfig(logLevel = 2))
+        val output = captureConsole { Logger.log("Caller %s", "disabled") }
+        assertTrue(output.contains("[INFO] Caller disabled"))
+        assertFalse(output.contains(javaClass.name))
+    }
+
+    // Helper Methods
+
+    private fun createConfig(
+        logLevel: Int, fileLogLevel: Int = logLevel,
+        saveLogs: Boolean = false, captureCaller: Boolean = false
+    ): LoggerConfig {
+        return LoggerConfig(
+            saveLogs, logLevel, fileLogLevel, LoggerConfig.DEFAULT_LOG_DIRECTORY,
+            LogOverflowPolicy.BLOCK, captureCaller
+        )
+    }
+
+    /** Runs the log calls and returns everything the writer thread printed to the console. */
+    private inline fun captureConsole(logMessages: () -> Unit): String {
+        Logger.flush() // Write earlier messages first
+        val console = System.out
+        val errors = System.err
+        val output = ByteArrayOutputStream()
+        val stream = PrintStream(output, true)
+        System.setOut(stream)
+        System.setErr(stream)
+        try {
+            logMessages()
+            Logger.flush()
+        } finally {
+            System.setOut(console)
+            System.setErr(errors)
+        }
+        return output.toString()
+    }
+
+}
@@ -1,5 +1,6 @@
 plugins {
     id("mayonez.java-conventions")
+    id("mayonez.asset-manifest-conventions")
     id("application") // Enable runnable JVM project
 
     id(dokkaPlugin)
@@ -20,6 +21,11 @@ application {
 }
 
 tasks {
+    generateAssetManifest {
+        // List the engine's assets too, since the fatjar only keeps one manifest
+        resourceDirs.from(project(":mayonez-base").layout.projectDirectory.dir("src/main/resources"))
+    }
+
     jar {
         duplicatesStrategy = DuplicatesStrategy.EXCLUDE
         manifest {
@@ -28,6 +34,8 @@ tasks {
 
         // Build a fatjar with all the dependencies
         from(configurations.runtimeClasspath.get()
-            .map { if (it.isDirectory) it else zipTree(it) })
+            .map { if (it.isDirectory) it else zipTree(it) }) {
+            exclude(assetManifestPath) // Use this project's manifest
+        }
     }
 }
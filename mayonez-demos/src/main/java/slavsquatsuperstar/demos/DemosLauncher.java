@@ -8,6 +8,7 @@ import slavsquatsuperstar.demos.geometrydash.GDEditorScene;
 import slavsquatsuperstar.demos.mario.MarioScene;
 import slavsquatsuperstar.demos.physics.PhysicsSandboxScene;
 import slavsquatsuperstar.demos.physics.PoolBallsScene;
+import slavsquatsuperstar.demos.spacegame.SpaceGameBenchmarkScene;
 import slavsquatsuperstar.demos.spacegame.SpaceGameScene;
 
 /**
@@ -22,6 +23,7 @@ public class DemosLauncher {
     private final static String[] SCENE_NAMES = {
             "Space Game", "Font Test", "Physics Sandbox",
             "Pool Balls", "Mario Level", "Geometry Dash Editor",
+            "Space Game Benchmark",
     };
 
     public static void main(String[] args) {
@@ -73,6 +75,13 @@ public class DemosLauncher {
                         super.onUserUpdate(dt);
                         pollSceneControls();
                     }
+                },
+                new SpaceGameBenchmarkScene(SCENE_NAMES[6]) {
+                    @Override
+                    protected void onUserUpdate(float dt) {
+                        super.onUserUpdate(dt);
+                        pollSceneControls();
+                    }
                 }
         };
     }
@@ -87,10 +96,18 @@ public class DemosLauncher {
         } else if (KeyInput.keyDown("left shift")) {
             for (var i = 0; i < SCENE_NAMES.length; i++) {
                 if (KeyInput.keyPressed(String.valueOf(i + 1))) {
-                    SceneManager.loadScene(SCENE_NAMES[i]);
+                    loadPreloadedScene(SCENE_NAMES[i]);
                 }
             }
         }
     }
 
+    /**
+     * Preloads the picked scene's textures in the background and switches to it once they are ready.
+     */
+    private static void loadPreloadedScene(String sceneName) {
+        var preload = SceneManager.preloadScene(sceneName);
+        if (preload != null) preload.getFuture().thenAccept(scene -> SceneManager.loadScene(scene.getName()));
+    }
+
 }
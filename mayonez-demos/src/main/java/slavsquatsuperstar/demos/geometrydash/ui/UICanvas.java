@@ -53,9 +53,8 @@ public class UICanvas extends GameObject {
     }
 
     public void addElement(UIButton elem) {
-        elem.transform.set(elem.transform.combine(this.transform));
         elements.add(elem.setContainer(this));
-        getScene().addObject(elem);
+        addChild(elem);
     }
 
     public void onElementSelected(UIButton button) {
@@ -0,0 +1,121 @@
+package slavsquatsuperstar.demos.spacegame;
+
+import mayonez.*;
+import mayonez.ecs.*;
+import mayonez.graphics.*;
+import mayonez.graphics.sprites.*;
+import mayonez.input.*;
+import mayonez.math.Random;
+import mayonez.math.*;
+import slavsquatsuperstar.demos.spacegame.objects.ships.EnemySpaceship;
+
+import java.util.*;
+
+import static slavsquatsuperstar.demos.spacegame.objects.SpaceGameLayer.*;
+
+/**
+ * Fills a scene with thousands of enemy spaceships to compare serial and parallel
+ * script updates, and tens of thousands of drifting asteroid entities stored in the
+ * scene's {@link mayonez.ecs.EntityWorld}. Press "T" to toggle parallel updates, and
+ * the average frame time is logged every second.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class SpaceGameBenchmarkScene extends Scene {
+
+    // Constants
+    private static final int SCENE_SIZE = 8;
+    private static final int NUM_SHIPS = 3000;
+    private static final int NUM_ASTEROIDS = 30000;
+    private static final float LOG_INTERVAL_SECS = 1f;
+    private static final String SHIP_TEXTURE = "assets/spacegame/textures/ships/spaceship2.png";
+    private static final String ASTEROID_TEXTURE = "assets/spacegame/textures/asteroids/asteroid1.png";
+
+    // Timing Fields
+    private long lastFrameNanos;
+    private long elapsedNanos;
+    private int frameCount;
+
+    public SpaceGameBenchmarkScene(String name) {
+        super(name, Preferences.getScreenWidth() * SCENE_SIZE,
+                Preferences.getScreenHeight() * SCENE_SIZE, 32f);
+        setBackground(Color.grayscale(14));
+    }
+
+    @Override
+    protected void declareAssets(List<String> assets) {
+        assets.add(SHIP_TEXTURE);
+        assets.add(ASTEROID_TEXTURE);
+    }
+
+    @Override
+    protected void init() {
+        setGravity(new Vec2());
+        getLayer(SHIPS).setName("Ships");
+        getLayer(PROJECTILES).setName("Projectiles");
+
+        for (var i = 0; i < NUM_SHIPS; i++) {
+            addObject(new EnemySpaceship("Enemy Spaceship %d".formatted(i),
+                    SHIP_TEXTURE));
+        }
+        addAsteroidEntities();
+
+        lastFrameNanos = System.nanoTime();
+        elapsedNanos = 0L;
+        frameCount = 0;
+    }
+
+    private void addAsteroidEntities() {
+        var entities = getEntities();
+        var asteroidSprite = entities.addSprite(
+                Sprites.createSprite(ASTEROID_TEXTURE));
+        for (var i = 0; i < NUM_ASTEROIDS; i++) {
+            var id = entities.spawn(EntityData.TRANSFORM, EntityData.VELOCITY, EntityData.SPRITE);
+            var position = getRandomPosition();
+            var size = Random.randomFloat(0.5f, 1.5f);
+            entities.setPosition(id, position.x, position.y);
+            entities.setRotation(id, Random.randomAngle());
+            entities.setScale(id, size, size);
+            entities.setVelocity(id, Random.randomFloat(-2f, 2f), Random.randomFloat(-2f, 2f));
+            entities.setAngularVelocity(id, Random.randomFloat(-45f, 45f));
+            entities.setSprite(id, asteroidSprite);
+        }
+
+        // Wrap asteroids around the scene edges
+        var halfWidth = getWidth() * 0.5f;
+        var halfHeight = getHeight() * 0.5f;
+        entities.addSystem((world, dt) -> world.forEachChunk(chunk -> {
+            var posX = chunk.getPositionX();
+            var posY = chunk.getPositionY();
+            for (var i = 0; i < chunk.size(); i++) {
+                if (posX[i] < -halfWidth) posX[i] += 2f * halfWidth;
+                else if (posX[i] > halfWidth) posX[i] -= 2f * halfWidth;
+                if (posY[i] < -halfHeight) posY[i] += 2f * halfHeight;
+                else if (posY[i] > halfHeight) posY[i] -= 2f * halfHeight;
+            }
+        }, EntityData.TRANSFORM));
+    }
+
+    @Override
+    protected void onUserUpdate(float dt) {
+        if (KeyInput.keyPressed("t")) {
+            setParallelUpdatesEnabled(!isParallelUpdatesEnabled());
+            elapsedNanos = 0L;
+            frameCount = 0;
+        }
+
+        var nowNanos = System.nanoTime();
+        elapsedNanos += nowNanos - lastFrameNanos;
+        lastFrameNanos = nowNanos;
+        frameCount++;
+
+        if (elapsedNanos >= LOG_INTERVAL_SECS * 1e9f) {
+            Logger.debug("%s updates: %.2f ms per frame (%d objects, %d entities)",
+                    isParallelUpdatesEnabled() ? "Parallel" : "Serial",
+                    elapsedNanos * 1e-6f / frameCount, numObjects(), getEntities().numEntities());
+            elapsedNanos = 0L;
+            frameCount = 0;
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package slavsquatsuperstar.demos.spacegame;
 
 import mayonez.*;
 import mayonez.graphics.*;
+import mayonez.graphics.textures.*;
 import mayonez.input.*;
 import mayonez.math.Random;
 import mayonez.math.*;
@@ -26,6 +27,22 @@ public class SpaceGameScene extends Scene {
     private static final int SCENE_SIZE = 4;
     private static final int NUM_STARS = 2000;
     private static final boolean CAMERA_DEBUG_MODE = false;
+    private static final List<String> ATLAS_TEXTURES = List.of(
+            "assets/spacegame/textures/asteroids/asteroid1.png",
+            "assets/spacegame/textures/asteroids/asteroid2.png",
+            "assets/spacegame/textures/combat/explosion.png",
+            "assets/spacegame/textures/combat/projectiles.png",
+            "assets/spacegame/textures/ships/exhaust.png",
+            "assets/spacegame/textures/ships/satellite.png",
+            "assets/spacegame/textures/ships/spaceship1.png",
+            "assets/spacegame/textures/ships/spaceship2.png",
+            "assets/spacegame/textures/ui/black_border.png",
+            "assets/spacegame/textures/ui/gray_background.png",
+            "assets/spacegame/textures/ui/gray_border.png",
+            "assets/spacegame/textures/ui/gray_border_wide.png",
+            "assets/spacegame/textures/ui/health_bar_icon.png",
+            "assets/spacegame/textures/ui/shield_bar_icon.png"
+    );
 
     // Objects
     private final List<BackgroundObject> backgroundObjects;
@@ -41,6 +58,7 @@ public class SpaceGameScene extends Scene {
 
     @Override
     protected void init() {
+        Textures.createAtlas("spacegame", ATLAS_TEXTURES); // Before any textures are loaded
         setGravity(new Vec2());
         getCamera().setKeepInScene(true);
         setLayers();
@@ -1,5 +1,6 @@
 package slavsquatsuperstar.demos.spacegame.combat.projectiles;
 
+import mayonez.*;
 import mayonez.math.*;
 import mayonez.scripts.*;
 
@@ -8,6 +9,7 @@ import mayonez.scripts.*;
  *
  * @author SlavSquatSuperstar
  */
+@ParallelSafe
 public class EnemyFireController extends FireProjectile {
 
     private int weaponChoice, shotsLeft;
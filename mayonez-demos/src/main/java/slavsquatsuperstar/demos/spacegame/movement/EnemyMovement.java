@@ -1,5 +1,6 @@
 package slavsquatsuperstar.demos.spacegame.movement;
 
+import mayonez.*;
 import mayonez.annotations.*;
 import mayonez.math.*;
 
@@ -9,6 +10,7 @@ import mayonez.math.*;
  * @author SlavSquatSuperstar
  */
 @ExperimentalFeature
+@ParallelSafe
 public class EnemyMovement extends SpaceshipMovement {
 
     // Movement Fields
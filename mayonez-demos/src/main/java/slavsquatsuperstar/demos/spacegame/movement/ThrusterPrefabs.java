@@ -52,18 +52,12 @@ public final class ThrusterPrefabs {
     private static void addThrusterObject(
             GameObject parent, Thruster thruster, String name, Transform offsetXf
     ) {
-        parent.getScene().addObject(new GameObject(name) {
+        parent.addChild(new GameObject(name, offsetXf) {
             @Override
             protected void init() {
                 setZIndex(SpaceGameZIndex.EXHAUST);
                 addComponent(thruster);
                 addComponent(new Animator(EXHAUST_TEXTURES, 0.15f));
-                addComponent(new Script() {
-                    @Override
-                    protected void debugRender() {
-                        transform.set(parent.transform.combine(offsetXf));
-                    }
-                });
             }
         });
     }
@@ -0,0 +1,173 @@
+package mayonez.io.scanner;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Lists the resources inside the jar from a manifest written at build time, so folders
+ * can be looked up without scanning the classpath. Each line of the manifest holds
+ * one file as {@code path<TAB>size<TAB>content type}, and lines starting with
+ * {@code #} are ignored.
+ * <p>
+ * Usage: Call {@link #readClasspathManifests()} to read every manifest on the
+ * classpath. The manifest only lists the folders it was built from, so use
+ * {@link #hasFolder(String)} to check whether a folder should be scanned by a
+ * {@link ClasspathFolderScanner} instead.
+ * <p>
+ * Only manifests packaged inside a jar are read by default. Manifests in a build
+ * folder, such as when running from an IDE or Gradle, are skipped because files added
+ * since the manifest was generated would be missing until the Gradle task runs again.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class AssetManifest implements FolderScanner {
+
+    /** The path of the manifest inside the jar. */
+    public static final String MANIFEST_PATH = "META-INF/mayonez/assets.manifest";
+
+    private final Map<String, Entry> entries; // Each file by path
+    private final Map<String, List<String>> folders; // All the files inside each folder
+
+    public AssetManifest() {
+        entries = new HashMap<>();
+        folders = new HashMap<>();
+    }
+
+    // Read Methods
+
+    /**
+     * Reads and combines all the asset manifests packaged inside jars on the classpath.
+     *
+     * @return the manifest, or null if there are none or any could not be read
+     */
+    public static AssetManifest readClasspathManifests() {
+        return readClasspathManifests(false);
+    }
+
+    /**
+     * Reads and combines the asset manifests on the classpath.
+     *
+     * @param includeFolders whether to also read manifests outside jars, which may be
+     *                       out of date
+     * @return the manifest, or null if there are none or any could not be read
+     */
+    public static AssetManifest readClasspathManifests(boolean includeFolders) {
+        try {
+            return readManifests(Collections.list(ClassLoader.getSystemResources(MANIFEST_PATH)), includeFolders);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static AssetManifest readManifests(List<URL> urls, boolean includeFolders) throws IOException {
+        AssetManifest manifest = null;
+        for (var url : urls) {
+            if (!includeFolders && !url.getProtocol().equals("jar")) continue; // Not packaged
+            if (manifest == null) manifest = new AssetManifest();
+            try (var reader = new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)) {
+                manifest.read(reader);
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Adds all the entries from a manifest. Files that are already listed are skipped.
+     *
+     * @param reader the manifest contents
+     * @throws IOException if the manifest cannot be read or a line is malformed
+     */
+    public void read(Reader reader) throws IOException {
+        var lines = new BufferedReader(reader);
+        String line;
+        for (var lineNum = 1; (line = lines.readLine()) != null; lineNum++) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+
+            var tokens = line.split("\t");
+            if (tokens.length != 3) {
+                throw new IOException("Malformed asset manifest line %d".formatted(lineNum));
+            }
+            try {
+                addEntry(new Entry(tokens[0], Long.parseLong(tokens[1]), tokens[2]));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid file size on asset manifest line %d".formatted(lineNum));
+            }
+        }
+    }
+
+    private void addEntry(Entry entry) {
+        if (entries.putIfAbsent(entry.path(), entry) != null) return;
+
+        // Add the file to all its parent folders
+        var path = entry.path();
+        for (var slash = path.lastIndexOf('/'); slash > 0; slash = path.lastIndexOf('/', slash - 1)) {
+            folders.computeIfAbsent(path.substring(0, slash), f -> new ArrayList<>()).add(path);
+        }
+    }
+
+    // Lookup Methods
+
+    /**
+     * Recursively gets all the files inside a listed folder.
+     *
+     * @param directoryName a folder inside the jar
+     * @return the list of filenames, or an empty list if the folder is not listed
+     */
+    @Override
+    public List<String> getFiles(String directoryName) {
+        return List.copyOf(folders.getOrDefault(trimFolder(directoryName), List.of()));
+    }
+
+    /**
+     * Whether the manifest lists any files inside the given folder.
+     *
+     * @param directoryName a folder inside the jar
+     * @return if the folder is listed
+     */
+    public boolean hasFolder(String directoryName) {
+        return folders.containsKey(trimFolder(directoryName));
+    }
+
+    /**
+     * Gets the listed size and type of a file.
+     *
+     * @param filename a file inside the jar
+     * @return the entry, or null if the file is not listed
+     */
+    public Entry getEntry(String filename) {
+        return entries.get(filename);
+    }
+
+    /**
+     * The number of files listed in the manifest.
+     *
+     * @return the file count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static String trimFolder(String directoryName) {
+        return directoryName.endsWith("/")
+                ? directoryName.substring(0, directoryName.length() - 1)
+                : directoryName;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Asset Manifest (Files: %d)", size());
+    }
+
+    /**
+     * A file listed in the manifest.
+     *
+     * @param path        the file's path inside the jar
+     * @param size        the file size in bytes
+     * @param contentType the file's MIME type
+     */
+    public record Entry(String path, long size, String contentType) {
+    }
+
+}
@@ -0,0 +1,401 @@
+package mayonez.io.text;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Parses comma-separated value (CSV) data one row at a time from a {@link Reader},
+ * without loading the whole file or creating a string for every value. Fields may be
+ * surrounded by double quotes to hold commas, line breaks, or quotes written twice
+ * ({@code ""}). Blank lines are skipped.
+ * <p>
+ * Usage: Call {@link #readHeaders()} to read the first row, then {@link #nextRow()}
+ * to move through the data rows. Values in the current row can be read as strings or
+ * parsed as numbers by column index, and {@link #getColumn(String)} finds a column's
+ * index by its header. To read the whole table, use {@link #readRows(RowMapper)} to
+ * bind each row to an object, or {@link #readFloatColumns(String...)} and
+ * {@link #readIntColumns(String...)} to collect columns into primitive arrays.
+ *
+ * @author SlavSquatSuperstar
+ */
+public class CSVReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int END_OF_FILE = -1;
+    private static final int NO_CHAR = -2;
+
+    // Input
+    private final Reader reader;
+    private final char[] buffer;
+    private int bufferPos, bufferLength;
+    private int pushedChar; // Char read ahead after a carriage return or quote
+    private int lineNum; // Last line read from the input
+
+    // Current Row
+    private final StringBuilder row; // All field values in the row, without quotes
+    private int[] fieldStarts, fieldEnds;
+    private int fieldCount;
+    private int rowLineNum;
+
+    // Headers
+    private String[] headers;
+    private Map<String, Integer> columns;
+
+    public CSVReader(Reader reader) {
+        this.reader = reader;
+        buffer = new char[BUFFER_SIZE];
+        pushedChar = NO_CHAR;
+        row = new StringBuilder();
+        fieldStarts = new int[16];
+        fieldEnds = new int[16];
+    }
+
+    // Parse Methods
+
+    /**
+     * Reads the next row as the table headers.
+     *
+     * @return the headers, or an empty array if there are no rows
+     * @throws IOException if the input cannot be read or a quote is not closed
+     */
+    public String[] readHeaders() throws IOException {
+        headers = nextRow() ? getFields() : new String[0];
+        columns = new HashMap<>();
+        for (var col = 0; col < headers.length; col++) columns.putIfAbsent(headers[col], col);
+        return headers.clone();
+    }
+
+    /**
+     * Moves to the next non-blank row.
+     *
+     * @return if there was another row, or false if the end of the input was reached
+     * @throws IOException if the input cannot be read or a quote is not closed
+     */
+    public boolean nextRow() throws IOException {
+        row.setLength(0);
+        fieldCount = 0;
+
+        var c = read();
+        while (c == '\r' || c == '\n') { // Skip blank lines
+            skipLineBreak(c);
+            c = read();
+        }
+        if (c == END_OF_FILE) return false;
+        rowLineNum = lineNum + 1;
+
+        var fieldStart = 0;
+        var inQuotes = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == END_OF_FILE) {
+                    throw new IOException("Unclosed quote in CSV row on line %d".formatted(rowLineNum));
+                } else if (c == '"') {
+                    var next = read();
+                    if (next == '"') {
+                        row.append('"'); // Escaped quote
+                    } else {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) lineNum++;
+                    row.append((char) c);
+                }
+            } else if (c == '"' && row.length() == fieldStart) {
+                inQuotes = true; // Only quotes at the start of a field are special
+            } else if (c == ',') {
+                addField(fieldStart);
+                fieldStart = row.length();
+            } else if (c == '\r' || c == '\n' || c == END_OF_FILE) {
+                if (c != END_OF_FILE) skipLineBreak(c);
+                addField(fieldStart);
+                return true;
+            } else {
+                row.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private void addField(int start) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = row.length();
+        fieldCount++;
+    }
+
+    // Table Methods
+
+    /**
+     * Binds each remaining row to an object.
+     *
+     * @param mapper creates an object from the values in the current row
+     * @param <T>    the row type
+     * @return the list of row objects
+     * @throws IOException if the input cannot be read or a value cannot be parsed
+     */
+    public <T> List<T> readRows(RowMapper<T> mapper) throws IOException {
+        var rows = new ArrayList<T>();
+        while (nextRow()) {
+            try {
+                rows.add(mapper.mapRow(this));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new IOException("Could not read CSV row on line %d".formatted(rowLineNum), e);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Parses the given columns of each remaining row as floats.
+     *
+     * @param columnHeaders the headers of the columns to read
+     * @return one array of values for each header, in the same order
+     * @throws IOException if the input cannot be read or a value cannot be parsed
+     */
+    public float[][] readFloatColumns(String... columnHeaders) throws IOException {
+        var indices = getColumns(columnHeaders);
+        var values = new float[indices.length][16];
+        var numRows = 0;
+        while (nextRow()) {
+            if (numRows == values[0].length) {
+                for (var i = 0; i < values.length; i++) values[i] = Arrays.copyOf(values[i], numRows * 2);
+            }
+            for (var i = 0; i < indices.length; i++) values[i][numRows] = parseFloat(indices[i]);
+            numRows++;
+        }
+        for (var i = 0; i < values.length; i++) values[i] = Arrays.copyOf(values[i], numRows);
+        return values;
+    }
+
+    /**
+     * Parses the given columns of each remaining row as ints.
+     *
+     * @param columnHeaders the headers of the columns to read
+     * @return one array of values for each header, in the same order
+     * @throws IOException if the input cannot be read or a value cannot be parsed
+     */
+    public int[][] readIntColumns(String... columnHeaders) throws IOException {
+        var indices = getColumns(columnHeaders);
+        var values = new int[indices.length][16];
+        var numRows = 0;
+        while (nextRow()) {
+            if (numRows == values[0].length) {
+                for (var i = 0; i < values.length; i++) values[i] = Arrays.copyOf(values[i], numRows * 2);
+            }
+            for (var i = 0; i < indices.length; i++) values[i][numRows] = parseInt(indices[i]);
+            numRows++;
+        }
+        for (var i = 0; i < values.length; i++) values[i] = Arrays.copyOf(values[i], numRows);
+        return values;
+    }
+
+    private int[] getColumns(String[] columnHeaders) {
+        if (columnHeaders.length == 0) throw new IllegalArgumentException("No CSV columns given");
+        var indices = new int[columnHeaders.length];
+        for (var i = 0; i < indices.length; i++) {
+            indices[i] = getColumn(columnHeaders[i]);
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException("CSV column \"%s\" does not exist".formatted(columnHeaders[i]));
+            }
+        }
+        return indices;
+    }
+
+    private float parseFloat(int col) throws IOException {
+        try {
+            return getFloat(col);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IOException("Invalid number in CSV row on line %d".formatted(rowLineNum), e);
+        }
+    }
+
+    private int parseInt(int col) throws IOException {
+        try {
+            return getInt(col);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IOException("Invalid number in CSV row on line %d".formatted(rowLineNum), e);
+        }
+    }
+
+    // Field Getters
+
+    /**
+     * Gets the value in the given column of the current row.
+     *
+     * @param col the column index
+     * @return the value as a string
+     */
+    public String getField(int col) {
+        checkColumn(col);
+        return row.substring(fieldStarts[col], fieldEnds[col]);
+    }
+
+    /**
+     * Gets all the values in the current row.
+     *
+     * @return the values as strings
+     */
+    public String[] getFields() {
+        var fields = new String[fieldCount];
+        for (var col = 0; col < fieldCount; col++) fields[col] = getField(col);
+        return fields;
+    }
+
+    /**
+     * Parses the value in the given column of the current row as an int, without
+     * creating a string.
+     *
+     * @param col the column index
+     * @return the value
+     * @throws NumberFormatException if the value is not an integer
+     */
+    public int getInt(int col) {
+        checkColumn(col);
+        return Integer.parseInt(row, fieldStarts[col], fieldEnds[col], 10);
+    }
+
+    /**
+     * Parses the value in the given column of the current row as a long, without
+     * creating a string.
+     *
+     * @param col the column index
+     * @return the value
+     * @throws NumberFormatException if the value is not an integer
+     */
+    public long getLong(int col) {
+        checkColumn(col);
+        return Long.parseLong(row, fieldStarts[col], fieldEnds[col], 10);
+    }
+
+    /**
+     * Parses the value in the given column of the current row as a float.
+     *
+     * @param col the column index
+     * @return the value
+     * @throws NumberFormatException if the value is not a number
+     */
+    public float getFloat(int col) {
+        return Float.parseFloat(getField(col));
+    }
+
+    /**
+     * Parses the value in the given column of the current row as a double.
+     *
+     * @param col the column index
+     * @return the value
+     * @throws NumberFormatException if the value is not a number
+     */
+    public double getDouble(int col) {
+        return Double.parseDouble(getField(col));
+    }
+
+    /**
+     * Parses the value in the given column of the current row as a boolean.
+     *
+     * @param col the column index
+     * @return if the value is "true", ignoring case
+     */
+    public boolean getBoolean(int col) {
+        return Boolean.parseBoolean(getField(col));
+    }
+
+    private void checkColumn(int col) {
+        if (col < 0 || col >= fieldCount) {
+            throw new IndexOutOfBoundsException("CSV row on line %d has no column %d".formatted(rowLineNum, col));
+        }
+    }
+
+    // Row Getters
+
+    /**
+     * The number of values in the current row.
+     *
+     * @return the field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * The line in the input where the current row starts, counting from 1.
+     *
+     * @return the line number
+     */
+    public int getLineNumber() {
+        return rowLineNum;
+    }
+
+    /**
+     * Finds the index of the column with the given header.
+     *
+     * @param header the column header
+     * @return the column index, or -1 if there is no such header or headers have not been read
+     */
+    public int getColumn(String header) {
+        if (columns == null) return -1;
+        return columns.getOrDefault(header, -1);
+    }
+
+    public String[] getHeaders() {
+        return (headers == null) ? new String[0] : headers.clone();
+    }
+
+    // Read Helper Methods
+
+    private int read() throws IOException {
+        if (pushedChar != NO_CHAR) {
+            var c = pushedChar;
+            pushedChar = NO_CHAR;
+            return c;
+        }
+        if (bufferPos == bufferLength) {
+            bufferLength = reader.read(buffer);
+            bufferPos = 0;
+            if (bufferLength <= 0) {
+                bufferLength = 0;
+                return END_OF_FILE;
+            }
+        }
+        return buffer[bufferPos++];
+    }
+
+    private int peek() throws IOException {
+        if (pushedChar == NO_CHAR) pushedChar = read();
+        return pushedChar;
+    }
+
+    /** Consumes the rest of a \n, \r, or \r\n line break. */
+    private void skipLineBreak(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') read();
+        lineNum++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Creates an object from the values in the {@link CSVReader}'s current row.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        /**
+         * Creates an object from the current row.
+         *
+         * @param row the reader, positioned at the row
+         * @return the row object
+         * @throws NumberFormatException     if a value cannot be parsed
+         * @throws IndexOutOfBoundsException if the row is missing a column
+         */
+        T mapRow(CSVReader row);
+    }
+
+}
@@ -0,0 +1,123 @@
+package mayonez.util;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * A fixed-size, lock-free queue that many threads can add to and remove from at the
+ * same time. Each slot stores a sequence number that tells producers whether the slot
+ * is free and consumers whether it has been filled, so threads only compete over the
+ * head or tail counter and never wait on a lock. The capacity is rounded up to a power
+ * of two.
+ * <p>
+ * Source: Dmitry Vyukov, "Bounded MPMC queue"
+ *
+ * @param <E> the type of element contained by this buffer
+ * @author SlavSquatSuperstar
+ */
+public class RingBuffer<E> {
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences; // Which lap each slot is ready for
+    private final int mask;
+    private final AtomicLong head; // Next slot to read
+    private final AtomicLong tail; // Next slot to write
+
+    public RingBuffer(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Ring buffer capacity must be positive");
+        var length = Integer.highestOneBit(capacity);
+        if (length < capacity) length <<= 1;
+
+        elements = new AtomicReferenceArray<>(length);
+        sequences = new AtomicLongArray(length);
+        for (var i = 0; i < length; i++) sequences.set(i, i);
+        mask = length - 1;
+        head = new AtomicLong();
+        tail = new AtomicLong();
+    }
+
+    // Queue Methods
+
+    /**
+     * Add an element to the end of the buffer if there is space.
+     *
+     * @param elem the element to add, not null
+     * @return if the element was added, or false if the buffer is full
+     */
+    public boolean offer(E elem) {
+        if (elem == null) throw new NullPointerException("Ring buffer elements cannot be null");
+        var pos = tail.get();
+        while (true) {
+            var index = (int) (pos & mask);
+            var diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements.set(index, elem);
+                    sequences.set(index, pos + 1); // Publish to consumers
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // Slot hasn't been read since the last lap
+            } else {
+                pos = tail.get(); // Another producer took the slot
+            }
+        }
+    }
+
+    /**
+     * Remove the element at the front of the buffer.
+     *
+     * @return the element, or null if the buffer is empty
+     */
+    public E poll() {
+        var pos = head.get();
+        while (true) {
+            var index = (int) (pos & mask);
+            var diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    var elem = elements.getAndSet(index, null);
+                    sequences.set(index, pos + mask + 1); // Free for the next lap
+                    return elem;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null; // Slot hasn't been written yet
+            } else {
+                pos = head.get(); // Another consumer took the slot
+            }
+        }
+    }
+
+    // Size Methods
+
+    /**
+     * The number of elements waiting in the buffer. May be out of date if other
+     * threads are using the buffer.
+     *
+     * @return the element count
+     */
+    public int size() {
+        var size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * The most elements the buffer can hold at once.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Ring Buffer (Size: %d, Capacity: %d)", size(), capacity());
+    }
+
+}
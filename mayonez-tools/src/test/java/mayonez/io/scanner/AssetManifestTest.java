@@ -0,0 +1,97 @@
+package mayonez.io.scanner;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.jar.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.io.scanner.AssetManifest} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class AssetManifestTest {
+
+    private static final String MANIFEST = """
+            # Test manifest
+            assets/fonts/font.png\t1024\timage/png
+            assets/fonts/font.json\t256\tapplication/json
+            assets/shaders/default.glsl\t512\ttext/x-glsl
+            """;
+
+    private AssetManifest manifest;
+
+    @BeforeEach
+    void readManifest() throws IOException {
+        manifest = new AssetManifest();
+        manifest.read(new StringReader(MANIFEST));
+    }
+
+    @Test
+    void listedFolderHasAllFiles() {
+        assertEquals(3, manifest.size());
+        assertTrue(manifest.hasFolder("assets"));
+        assertEquals(3, manifest.getFiles("assets").size());
+
+        var fonts = manifest.getFiles("assets/fonts/");
+        assertEquals(2, fonts.size());
+        assertTrue(fonts.contains("assets/fonts/font.png"));
+        assertTrue(fonts.contains("assets/fonts/font.json"));
+    }
+
+    @Test
+    void unlistedFolderIsEmpty() {
+        assertFalse(manifest.hasFolder("testassets"));
+        assertTrue(manifest.getFiles("testassets").isEmpty());
+        assertFalse(manifest.hasFolder("assets/fonts/font.png"));
+    }
+
+    @Test
+    void entryHasSizeAndType() {
+        var entry = manifest.getEntry("assets/shaders/default.glsl");
+        assertEquals(512L, entry.size());
+        assertEquals("text/x-glsl", entry.contentType());
+        assertNull(manifest.getEntry("assets/shaders/ui.glsl"));
+    }
+
+    @Test
+    void duplicateFileListedOnce() throws IOException {
+        manifest.read(new StringReader("assets/fonts/font.png\t1024\timage/png"));
+        assertEquals(3, manifest.size());
+        assertEquals(2, manifest.getFiles("assets/fonts").size());
+    }
+
+    @Test
+    void folderManifestsSkippedUnlessIncluded(@TempDir Path directory) throws IOException {
+        var folderManifest = directory.resolve("classes").resolve(AssetManifest.MANIFEST_PATH);
+        Files.createDirectories(folderManifest.getParent());
+        Files.writeString(folderManifest, "assets/old.png\t16\timage/png");
+
+        var jarFile = directory.resolve("game.jar");
+        try (var jar = new JarOutputStream(Files.newOutputStream(jarFile))) {
+            jar.putNextEntry(new JarEntry(AssetManifest.MANIFEST_PATH));
+            jar.write(MANIFEST.getBytes(StandardCharsets.UTF_8));
+            jar.closeEntry();
+        }
+
+        var folderUrl = folderManifest.toUri().toURL();
+        var jarUrl = new URL("jar:" + jarFile.toUri() + "!/" + AssetManifest.MANIFEST_PATH);
+        assertNull(AssetManifest.readManifests(List.of(folderUrl), false));
+        assertEquals(3, AssetManifest.readManifests(List.of(folderUrl, jarUrl), false).size());
+        assertEquals(4, AssetManifest.readManifests(List.of(folderUrl, jarUrl), true).size());
+    }
+
+    @Test
+    void malformedLineThrowsException() {
+        assertThrows(IOException.class, () -> manifest.read(new StringReader("assets/font.png\t1024")));
+        assertThrows(IOException.class, () -> manifest.read(new StringReader("assets/font.png\tbig\timage/png")));
+    }
+
+}
@@ -0,0 +1,111 @@
+package mayonez.io.text;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.io.text.CSVReader} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class CSVReaderTest {
+
+    private static final String THRUSTERS = """
+            name,x,y,count
+            main,0.0,-1.5,2
+
+            left,-0.75,0.5,1
+            right,0.75,0.5,1
+            """;
+
+    @Test
+    void headersAndRowsAreRead() throws IOException {
+        var csv = new CSVReader(new StringReader(THRUSTERS));
+        assertArrayEquals(new String[]{"name", "x", "y", "count"}, csv.readHeaders());
+        assertEquals(2, csv.getColumn("y"));
+        assertEquals(-1, csv.getColumn("z"));
+
+        assertTrue(csv.nextRow());
+        assertEquals(4, csv.getFieldCount());
+        assertEquals("main", csv.getField(0));
+        assertEquals(-1.5f, csv.getFloat(2));
+        assertEquals(2, csv.getInt(3));
+        assertEquals(2, csv.getLineNumber());
+
+        assertTrue(csv.nextRow()); // Skip blank line
+        assertEquals("left", csv.getField(0));
+        assertEquals(4, csv.getLineNumber());
+        assertTrue(csv.nextRow());
+        assertFalse(csv.nextRow());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndLineBreaks() throws IOException {
+        var csv = new CSVReader(new StringReader(
+                "\"Hello, world\",plain,\"multi\nline\",\"\"\n" +
+                "next,\"say \"\"hi\"\"\",,end"
+        ));
+        assertTrue(csv.nextRow());
+        assertArrayEquals(new String[]{"Hello, world", "plain", "multi\nline", ""}, csv.getFields());
+        assertTrue(csv.nextRow());
+        assertArrayEquals(new String[]{"next", "say \"hi\"", "", "end"}, csv.getFields());
+        assertEquals(3, csv.getLineNumber());
+        assertFalse(csv.nextRow());
+    }
+
+    @Test
+    void carriageReturnsEndRows() throws IOException {
+        var csv = new CSVReader(new StringReader("a,b\r\nc,d\re,f"));
+        var rows = csv.readRows(CSVReader::getFields);
+        assertEquals(3, rows.size());
+        assertArrayEquals(new String[]{"e", "f"}, rows.get(2));
+    }
+
+    @Test
+    void unclosedQuoteThrowsException() {
+        var csv = new CSVReader(new StringReader("a,\"b\nc,d"));
+        assertThrows(IOException.class, csv::nextRow);
+    }
+
+    @Test
+    void rowsBoundToObjects() throws IOException {
+        var csv = new CSVReader(new StringReader(THRUSTERS));
+        csv.readHeaders();
+        var xCol = csv.getColumn("x");
+        var countCol = csv.getColumn("count");
+        var thrusters = csv.readRows(row -> new Thruster(row.getField(0), row.getFloat(xCol), row.getInt(countCol)));
+
+        assertEquals(3, thrusters.size());
+        assertEquals(new Thruster("right", 0.75f, 1), thrusters.get(2));
+    }
+
+    @Test
+    void invalidNumberThrowsException() {
+        var csv = new CSVReader(new StringReader("name,count\nmain,two"));
+        assertThrows(IOException.class, () -> {
+            csv.readHeaders();
+            csv.readRows(row -> row.getInt(1));
+        });
+    }
+
+    @Test
+    void columnsReadIntoArrays() throws IOException {
+        var csv = new CSVReader(new StringReader(THRUSTERS));
+        csv.readHeaders();
+        var positions = csv.readFloatColumns("x", "y");
+        assertArrayEquals(new float[]{0f, -0.75f, 0.75f}, positions[0]);
+        assertArrayEquals(new float[]{-1.5f, 0.5f, 0.5f}, positions[1]);
+
+        var counts = new CSVReader(new StringReader(THRUSTERS));
+        counts.readHeaders();
+        assertArrayEquals(new int[]{2, 1, 1}, counts.readIntColumns("count")[0]);
+        assertThrows(IllegalArgumentException.class, () -> counts.readIntColumns("z"));
+    }
+
+    private record Thruster(String name, float x, int count) {
+    }
+
+}
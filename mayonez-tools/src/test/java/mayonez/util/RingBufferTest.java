@@ -0,0 +1,81 @@
+package mayonez.util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link mayonez.util.RingBuffer} class.
+ *
+ * @author SlavSquatSuperstar
+ */
+class RingBufferTest {
+
+    @Test
+    void capacityRoundedToPowerOfTwo() {
+        assertEquals(1, new RingBuffer<Integer>(1).capacity());
+        assertEquals(8, new RingBuffer<Integer>(5).capacity());
+        assertEquals(16, new RingBuffer<Integer>(16).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>(0));
+    }
+
+    @Test
+    void elementsRemovedInOrder() {
+        var buffer = new RingBuffer<Integer>(4);
+        for (var lap = 0; lap < 3; lap++) {
+            for (var i = 0; i < 4; i++) assertTrue(buffer.offer(i));
+            assertEquals(4, buffer.size());
+            for (var i = 0; i < 4; i++) assertEquals(i, buffer.poll());
+            assertTrue(buffer.isEmpty());
+        }
+    }
+
+    @Test
+    void fullBufferRejectsElements() {
+        var buffer = new RingBuffer<Integer>(2);
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+
+        assertEquals(1, buffer.poll());
+        assertTrue(buffer.offer(3));
+        assertEquals(2, buffer.poll());
+        assertEquals(3, buffer.poll());
+    }
+
+    @Test
+    void emptyBufferReturnsNull() {
+        var buffer = new RingBuffer<String>(2);
+        assertNull(buffer.poll());
+        assertThrows(NullPointerException.class, () -> buffer.offer(null));
+    }
+
+    @Test
+    void concurrentProducersLoseNoElements() throws Exception {
+        final var numThreads = 4;
+        final var numElements = 10000;
+        var buffer = new RingBuffer<Integer>(64);
+        var executor = Executors.newFixedThreadPool(numThreads);
+        for (var t = 0; t < numThreads; t++) {
+            var offset = t * numElements;
+            executor.execute(() -> {
+                for (var i = 0; i < numElements; i++) {
+                    while (!buffer.offer(offset + i)) Thread.onSpinWait();
+                }
+            });
+        }
+
+        var received = new HashSet<Integer>();
+        while (received.size() < numThreads * numElements) {
+            var elem = buffer.poll();
+            if (elem != null) assertTrue(received.add(elem));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(buffer.isEmpty());
+    }
+
+}